@@ -2,11 +2,15 @@ package club.revived.duels;
 
 import club.revived.commons.inventories.impl.InventoryManager;
 import club.revived.duels.database.DatabaseManager;
+import club.revived.duels.game.arena.pooling.ArenaCapacityReporter;
 import club.revived.duels.game.arena.pooling.ArenaPoolManager;
 import club.revived.duels.game.chat.listener.PlayerChatListener;
 import club.revived.duels.game.command.ExitSpectatingCommand;
+import club.revived.duels.game.command.RematchCommand;
 import club.revived.duels.game.duels.listener.PlayerListener;
+import club.revived.duels.service.broker.MessageBroker;
 import club.revived.duels.service.broker.RedisBroker;
+import club.revived.duels.service.broker.RedisStreamsBroker;
 import club.revived.duels.service.cache.RedisCacheService;
 import club.revived.duels.service.cluster.Cluster;
 import club.revived.duels.service.cluster.ServiceType;
@@ -30,7 +34,8 @@ public final class Duels extends JavaPlugin {
    * </p>
    * Sets the singleton instance, registers the inventory manager, sets up cluster
    * and database
-   * connections, instantiates player listener/manager/chat listener components,
+   * connections, starts reporting arena capacity to the queue,
+   * instantiates player listener/manager/chat listener components,
    * and marks the
    * cluster status as available.
    */
@@ -44,11 +49,13 @@ public final class Duels extends JavaPlugin {
     this.connectDatabase();
 
     ArenaPoolManager.getInstance().initialize();
+    new ArenaCapacityReporter();
 
     new PlayerListener();
     new PlayerManager();
     new PlayerChatListener();
     new ExitSpectatingCommand();
+    new RematchCommand();
 
     Cluster.STATUS = ServiceStatus.AVAILABLE;
   }
@@ -65,12 +72,14 @@ public final class Duels extends JavaPlugin {
    * Marks the cluster as shutting down when the plugin is disabled.
    *
    * <p>
-   * Sets Cluster.STATUS to ServiceStatus.SHUTTING_DOWN.
+   * Sets Cluster.STATUS to ServiceStatus.SHUTTING_DOWN and flushes the messages
+   * still queued in the broker.
    * </p>
    */
   @Override
   public void onDisable() {
     Cluster.STATUS = ServiceStatus.SHUTTING_DOWN;
+    Cluster.getInstance().getBroker().close();
   }
 
   /**
@@ -88,12 +97,29 @@ public final class Duels extends JavaPlugin {
     final int port = Integer.parseInt(System.getenv("REDIS_PORT"));
 
     new Cluster(
-        new RedisBroker(host, port, ""),
+        this.broker(host, port, hostName),
         new RedisCacheService(host, port, ""),
         ServiceType.DUEL,
         hostName);
   }
 
+  /**
+   * Creates the message broker selected by MESSAGE_BROKER: "streams" carries messages over Redis streams,
+   * read through a consumer group named after this service, anything else over Redis pub/sub.
+   *
+   * @param host     the Redis host
+   * @param port     the Redis port
+   * @param hostName the id of this service
+   * @return the message broker
+   */
+  private MessageBroker broker(final String host, final int port, final String hostName) {
+    if ("streams".equalsIgnoreCase(System.getenv("MESSAGE_BROKER"))) {
+      return new RedisStreamsBroker(host, port, "", hostName);
+    }
+
+    return new RedisBroker(host, port, "");
+  }
+
   /**
    * Establishes a connection to the configured MongoDB instance using environment
    * variables.
@@ -6,13 +6,16 @@ import club.revived.commons.worldedit.SchematicPaster;
 import club.revived.duels.game.arena.ArenaType;
 import club.revived.duels.game.arena.IArena;
 import org.bukkit.Location;
+import org.bukkit.block.Block;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.entity.EntityType;
 import org.jetbrains.annotations.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * DuelArena
@@ -33,7 +36,10 @@ public final class DuelArena implements IArena {
 
     private final File schematic;
 
-    private final List<Location> modifiedLocations = new ArrayList<>();
+    /**
+     * The block data every modified location had before its first modification in the current duel.
+     */
+    private final Map<Location, BlockData> originals = new HashMap<>();
 
     /**
      * Creates a DuelArena with an auto-generated identifier and the specified corners, arena type, and schematic.
@@ -191,13 +197,58 @@ public final class DuelArena implements IArena {
     }
 
     /**
-     * Provides the list of locations that have been modified in this arena.
-     * <p></p>
-     * The returned list is the internal, mutable list used to track modified locations.
+     * Records a block that is about to change, keeping its current data as the state to restore. Later changes
+     * of the same location keep the data recorded first.
+     *
+     * @param block the block before the change
+     */
+    public void recordModification(final @NotNull Block block) {
+        this.recordModification(block.getLocation(), block.getBlockData());
+    }
+
+    /**
+     * Records a location whose block has changed, keeping the given data as the state to restore. Later changes
+     * of the same location keep the data recorded first.
      *
-     * @return the internal mutable List of modified Location objects
+     * @param location the changed location
+     * @param original the block data the location had before the change
+     */
+    public void recordModification(
+            final @NotNull Location location,
+            final @NotNull BlockData original
+    ) {
+        this.originals.putIfAbsent(location, original.clone());
+    }
+
+    /**
+     * Checks whether the block at the location has been changed during the current duel.
+     *
+     * @param location the block location
+     * @return {@code true} if the location was recorded as modified
+     */
+    public boolean isModified(final @NotNull Location location) {
+        return this.originals.containsKey(location);
+    }
+
+    /**
+     * Resets the arena in place by restoring every recorded location to the block data it had before it was
+     * first modified, without pasting the schematic again.
+     * <p></p>
+     * Placed blocks become what they replaced, and blocks that burned, faded, formed or were flooded get their
+     * original data back. Physics are not applied while restoring, so fluids do not flow again. Must be called
+     * on the server's main thread.
      */
-    public List<Location> getModifiedLocations() {
-        return modifiedLocations;
+    public void reset() {
+        for (final var original : this.originals.entrySet()) {
+            original.getKey().getBlock().setBlockData(original.getValue(), false);
+        }
+
+        for (final var entity : this.region.getEntities()) {
+            if (entity.getType() != EntityType.PLAYER) {
+                entity.remove();
+            }
+        }
+
+        this.originals.clear();
     }
-}
\ No newline at end of file
+}
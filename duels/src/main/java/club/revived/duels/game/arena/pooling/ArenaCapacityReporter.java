@@ -0,0 +1,63 @@
+package club.revived.duels.game.arena.pooling;
+
+import club.revived.duels.Duels;
+import club.revived.duels.game.arena.ArenaType;
+import club.revived.duels.game.duels.KitType;
+import club.revived.duels.service.cluster.Cluster;
+import club.revived.duels.service.cluster.ServiceType;
+import club.revived.duels.service.messaging.impl.ArenaCapacity;
+import org.bukkit.Bukkit;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Reports this server's ready arenas to every queue service once a second, so the queue can place matches
+ * without asking each duel server for its status first.
+ *
+ * @author yyuh - DL
+ * @since 1/8/26
+ */
+public final class ArenaCapacityReporter {
+
+    private static final long INTERVAL_TICKS = 20L;
+
+    private final Map<String, String> kitArenas = new HashMap<>();
+
+    /**
+     * Creates the reporter and starts the asynchronous report task.
+     */
+    public ArenaCapacityReporter() {
+        for (final KitType kitType : KitType.values()) {
+            this.kitArenas.put(kitType.name(), kitType.getArenaType().name());
+        }
+
+        Bukkit.getScheduler().runTaskTimerAsynchronously(Duels.getInstance(), this::report, INTERVAL_TICKS, INTERVAL_TICKS);
+    }
+
+    /**
+     * Sends the current number of pooled arenas per arena type to every known queue service.
+     */
+    private void report() {
+        final Map<String, Integer> freeArenas = new HashMap<>();
+
+        for (final ArenaType arenaType : ArenaType.values()) {
+            freeArenas.put(arenaType.name(), ArenaPoolManager.getInstance().getFreeArenas(arenaType));
+        }
+
+        final var cluster = Cluster.getInstance();
+        final var capacity = new ArenaCapacity(
+                cluster.getServiceId(),
+                Cluster.STATUS,
+                freeArenas,
+                this.kitArenas,
+                System.currentTimeMillis()
+        );
+
+        cluster.getServices()
+                .values()
+                .stream()
+                .filter(service -> service.getType() == ServiceType.QUEUE)
+                .forEach(service -> service.sendMessage(capacity));
+    }
+}
@@ -77,6 +77,31 @@ public final class ArenaPoolManager {
         return generateArena(arenaType);
     }
 
+    /**
+     * Hands back an arena that was taken from the pool but never played in, so the next match gets it. An
+     * arena the full pool has no room for is dropped, its replacement was generated when it was taken.
+     *
+     * @param arena the unused arena
+     */
+    public void returnArena(final @NotNull IArena arena) {
+        final var arenas = arenaPool.computeIfAbsent(arena.getArenaType(), _ -> new ArrayDeque<>());
+
+        if (arenas.size() < ARENA_POOL_SIZE) {
+            arenas.addFirst(arena);
+        }
+    }
+
+    /**
+     * Counts the ready arenas currently pooled for the arena type.
+     *
+     * @param arenaType the arena type to count
+     * @return the number of pooled arenas, 0 if the pool has not been created yet
+     */
+    public int getFreeArenas(final @NotNull ArenaType arenaType) {
+        final var arenas = arenaPool.get(arenaType);
+        return arenas == null ? 0 : arenas.size();
+    }
+
     /**
      * Refills the pool for the specified arena type until it contains ARENA_POOL_SIZE arenas.
      * <p></p>
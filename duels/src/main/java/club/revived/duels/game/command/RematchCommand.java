@@ -0,0 +1,22 @@
+package club.revived.duels.game.command;
+
+import club.revived.duels.game.duels.DuelManager;
+import dev.jorel.commandapi.CommandTree;
+import dev.jorel.commandapi.arguments.LiteralArgument;
+
+public final class RematchCommand {
+
+  public RematchCommand() {
+    new CommandTree("rematch")
+        .executesPlayer((player, args) -> {
+          DuelManager.getInstance().acceptRematch(player);
+        })
+        .then(new LiteralArgument("decline")
+            .executesPlayer((player, args) -> {
+              if (!DuelManager.getInstance().declineRematch(player.getUniqueId())) {
+                player.sendRichMessage("<red>You don't have a rematch to decline");
+              }
+            }))
+        .register("revived");
+  }
+}
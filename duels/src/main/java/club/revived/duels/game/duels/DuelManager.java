@@ -4,7 +4,9 @@ import club.revived.commons.inventories.util.ColorUtils;
 import club.revived.commons.location.BukkitCuboidRegion;
 import club.revived.commons.player.PlayerJoinTracker;
 import club.revived.duels.Duels;
+import club.revived.duels.game.arena.ArenaType;
 import club.revived.duels.game.arena.IArena;
+import club.revived.duels.game.arena.impl.DuelArena;
 import club.revived.duels.game.arena.pooling.ArenaPoolManager;
 import club.revived.duels.game.duels.ffa.FFA;
 import club.revived.duels.game.kit.EditedDuelKit;
@@ -13,6 +15,7 @@ import club.revived.duels.service.cluster.ServiceType;
 import club.revived.duels.service.messaging.impl.*;
 import club.revived.duels.service.player.NetworkPlayer;
 import club.revived.duels.service.player.PlayerManager;
+import club.revived.duels.service.status.ServiceStatus;
 import net.kyori.adventure.title.Title;
 
 import org.bukkit.Bukkit;
@@ -22,11 +25,16 @@ import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 
 /**
@@ -37,8 +45,16 @@ import java.util.stream.Collectors;
  */
 public final class DuelManager {
 
+  private static final long REMATCH_WINDOW_TICKS = 200L;
+  private static final long DISPATCH_MEMORY_TICKS = 1_200L;
+  private static final long ARENA_TIMEOUT_MILLIS = 1_500L;
+
   private final Map<UUID, Game> runningGames = new ConcurrentHashMap<>();
   private final Map<UUID, Game> spectating = new ConcurrentHashMap<>();
+  private final Map<KitType, Long> fencingTokens = new ConcurrentHashMap<>();
+  private final Map<UUID, Rematch> rematches = new ConcurrentHashMap<>();
+  private final Map<UUID, CompletableFuture<MatchDispatchAck>> dispatches = new ConcurrentHashMap<>();
+  private final Set<UUID> starting = ConcurrentHashMap.newKeySet();
 
   private final Cluster cluster = Cluster.getInstance();
 
@@ -48,13 +64,14 @@ public final class DuelManager {
    * Initializes the DuelManager singleton and registers message handlers for duel
    * lifecycle messages.
    * <p>
-   * Sets the static instance reference and registers handlers for DuelStart and
-   * MigrateGame with the cluster messaging service.
+   * Sets the static instance reference and registers handlers for DuelStart,
+   * MatchDispatch and MigrateGame with the cluster messaging service.
    */
   public DuelManager() {
     instance = this;
 
     this.cluster.getMessagingService().registerMessageHandler(DuelStart.class, this::startDuel);
+    this.cluster.getMessagingService().registerAsyncHandler(MatchDispatch.class, this::acceptMatch);
     this.cluster.getMessagingService().registerMessageHandler(MigrateGame.class, this::migrateGame);
     this.cluster.getMessagingService().registerMessageHandler(FFAStart.class, this::startFFA);
     this.cluster.getMessagingService().registerMessageHandler(StartSpectating.class, this::startSpectating);
@@ -132,7 +149,7 @@ public final class DuelManager {
     final int blueScore = game.blueScore();
     final int redScore = game.redScore();
 
-    ArenaPoolManager.getInstance().getArena(kitType).thenAccept(arena -> {
+    return pendingArena.thenAccept(arena -> {
       final var duel = new Duel(
           blueTeam,
           redTeam,
@@ -245,6 +262,107 @@ public final class DuelManager {
     });
   }
 
+  /**
+   * Starts a match dispatched by the queue and acknowledges it once its arena
+   * is secured and its players are registered here, or rejects it if that
+   * fails.
+   * <p>
+   * The match is rejected while this server is not AVAILABLE or if one of its
+   * players is already in a game here or held by another match that is still
+   * starting, so the queue can put the players back and place the match
+   * elsewhere. Matches fenced with an older token than the highest one seen
+   * for the kit come from a queue service that lost the kit's shard and are
+   * rejected as well.
+   * <p>
+   * A match whose arena is not ready within {@link #ARENA_TIMEOUT_MILLIS} is
+   * rejected, well before the queue stops waiting for the acknowledgement; the
+   * arena goes back to the pool once it is ready.
+   * Dispatches are idempotent by match id: the queue sends a match again if
+   * its acknowledgement got lost, and every delivery of the same match is
+   * answered with the outcome of the first one instead of starting it twice.
+   *
+   * @param matchDispatch the dispatched match
+   * @return the acknowledgement telling the queue whether the match was started
+   */
+  private CompletableFuture<MatchDispatchAck> acceptMatch(final MatchDispatch matchDispatch) {
+    final UUID matchId = matchDispatch.matchId();
+    final var ack = new CompletableFuture<MatchDispatchAck>();
+    final var previous = this.dispatches.putIfAbsent(matchId, ack);
+
+    if (previous != null) {
+      return previous;
+    }
+
+    Bukkit.getScheduler().runTaskLaterAsynchronously(
+        Duels.getInstance(),
+        () -> this.dispatches.remove(matchId),
+        DISPATCH_MEMORY_TICKS);
+
+    final var duelStart = matchDispatch.duelStart();
+    final List<UUID> players = new ArrayList<>(duelStart.blueTeam());
+    players.addAll(duelStart.redTeam());
+
+    if (!this.admit(matchDispatch, players)) {
+      ack.complete(new MatchDispatchAck(matchId, false));
+      return ack;
+    }
+
+    // Answer well within the queue's ack timeout, a match started after it gave up would be matched twice.
+    // The timeout goes on a copy, so the arena itself still arrives and can go back to the pool.
+    final var pending = ArenaPoolManager.getInstance().getArena(duelStart.kitType());
+    final var arena = pending.copy().orTimeout(ARENA_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+
+    arena.whenComplete((_, throwable) -> {
+      if (throwable instanceof TimeoutException) {
+        pending.thenAccept(ArenaPoolManager.getInstance()::returnArena);
+      }
+    });
+
+    this.startDuel(duelStart, arena).whenComplete((_, throwable) -> {
+      players.forEach(this.starting::remove);
+
+      if (throwable != null) {
+        System.err.printf("Could not start match %s: %s%n", matchId, throwable.getMessage());
+      }
+
+      ack.complete(new MatchDispatchAck(matchId, throwable == null));
+    });
+
+    return ack;
+  }
+
+  /**
+   * Checks whether a dispatched match may start here and, if so, holds its
+   * players until it has started.
+   *
+   * @param matchDispatch the dispatched match
+   * @param players       every player of the match
+   * @return {@code true} if the match may start
+   */
+  private synchronized boolean admit(
+      final MatchDispatch matchDispatch,
+      final List<UUID> players) {
+    if (Cluster.STATUS != ServiceStatus.AVAILABLE) {
+      return false;
+    }
+
+    final long token = matchDispatch.fencingToken();
+
+    if (this.fencingTokens.merge(matchDispatch.duelStart().kitType(), token, Math::max) > token) {
+      System.err.printf("Rejecting match %s fenced with stale token %d%n", matchDispatch.matchId(), token);
+      return false;
+    }
+
+    for (final UUID player : players) {
+      if (this.runningGames.containsKey(player) || this.starting.contains(player)) {
+        return false;
+      }
+    }
+
+    this.starting.addAll(players);
+    return true;
+  }
+
   /**
    * Initiates a duel using the provided DuelStart message.
    * <p>
@@ -258,13 +376,28 @@ public final class DuelManager {
    *                  and the kit type to use for the duel
    */
   private void startDuel(final DuelStart duelStart) {
+    this.startDuel(duelStart, ArenaPoolManager.getInstance().getArena(duelStart.kitType()));
+  }
+
+  /**
+   * Initiates a duel in the arena the given future provides, see
+   * {@link #startDuel(DuelStart)}.
+   *
+   * @param duelStart    the duel to start
+   * @param pendingArena the future of the arena to start it in
+   * @return a future completing once the arena is secured and the players are
+   *         registered in the duel, or exceptionally if that failed
+   */
+  private CompletableFuture<Void> startDuel(
+      final DuelStart duelStart,
+      final CompletableFuture<IArena> pendingArena) {
     final List<UUID> blueTeam = duelStart.blueTeam();
     final List<UUID> redTeam = duelStart.redTeam();
 
     final int rounds = duelStart.rounds();
     final KitType kitType = duelStart.kitType();
 
-    ArenaPoolManager.getInstance().getArena(kitType).thenAccept(arena -> {
+    return pendingArena.thenAccept(arena -> {
       final var duel = new Duel(
           blueTeam,
           redTeam,
@@ -335,6 +468,10 @@ public final class DuelManager {
    * then sends a DuelEnd message to the least-loaded lobby service containing
    * winner and loser UUIDs,
    * rounds, final scores, and the duel's kit type.
+   * <p>
+   * If the arena can be reset in place, the players are offered a rematch
+   * first and stay registered in the ENDING duel while the offer is open, see
+   * {@link #acceptRematch(Player)}.
    *
    * @param duel   the duel to finalize
    * @param winner the team that won the duel
@@ -362,8 +499,13 @@ public final class DuelManager {
       spectator.sendRichMessage(String.format("<green>%s won the duel", winners));
     }
 
+    final boolean rematch = this.canRematch(duel);
+
     for (final var player : duel.getPlayers()) {
-      this.runningGames.remove(player.getUniqueId());
+      if (!rematch) {
+        this.runningGames.remove(player.getUniqueId());
+      }
+
       this.healPlayer(player);
 
       player.sendRichMessage("""
@@ -384,31 +526,221 @@ public final class DuelManager {
           losers));
     }
 
-    Bukkit.getScheduler().runTaskLater(Duels.getInstance(), () -> {
+    if (rematch) {
+      this.offerRematch(duel, winner, loser);
+      return;
+    }
 
-      duel.deleteGame();
+    Bukkit.getScheduler().runTaskLater(Duels.getInstance(), () -> this.finishDuel(duel, winner, loser), 60L);
+  }
 
-      for (final var player : duel.getSpectatingPlayers()) {
-        this.spectating.remove(player.getUniqueId());
-        final var service = Cluster.getInstance().getLeastLoadedService(ServiceType.LOBBY);
+  /**
+   * Sends the players and spectators of an ended duel back to a lobby.
+   * <p>
+   * Unregisters the duel, moves its spectators to the least-loaded lobby and
+   * sends the DuelEnd message that brings the players there as well.
+   *
+   * @param duel   the ended duel
+   * @param winner the team that won the duel
+   * @param loser  the team that lost the duel
+   */
+  private void finishDuel(
+      final Duel duel,
+      final DuelTeam winner,
+      final DuelTeam loser) {
+    for (final UUID uuid : duel.getUUIDs()) {
+      this.runningGames.remove(uuid, duel);
+    }
 
-        final var networkPlayer = PlayerManager.getInstance()
-            .fromBukkitPlayer(player);
+    duel.deleteGame();
 
-        networkPlayer.connect(service);
+    for (final var player : duel.getSpectatingPlayers()) {
+      this.spectating.remove(player.getUniqueId());
+      final var service = Cluster.getInstance().getLeastLoadedService(ServiceType.LOBBY);
+
+      final var networkPlayer = PlayerManager.getInstance()
+          .fromBukkitPlayer(player);
+
+      networkPlayer.connect(service);
+    }
+
+    this.cluster.getLeastLoadedService(ServiceType.LOBBY)
+        .sendMessage(new DuelEnd(
+            winner.getUuids(),
+            loser.getUuids(),
+            duel.getRounds(),
+            winner.getScore(),
+            loser.getScore(),
+            duel.getKitType(),
+            0L // TODO: Impl
+    ));
+  }
+
+  /**
+   * Checks whether an ended duel can be restarted on this server.
+   * <p>
+   * Only arenas that track every block change can be reset in place, and every
+   * player has to still be online.
+   *
+   * @param duel the ended duel
+   * @return {@code true} if a rematch can be offered
+   */
+  private boolean canRematch(final Duel duel) {
+    return Cluster.STATUS == ServiceStatus.AVAILABLE
+        && duel.getArena() instanceof final DuelArena arena
+        && arena.getArenaType() == ArenaType.RESTRICTED
+        && duel.getPlayers().size() == duel.getUUIDs().size();
+  }
+
+  /**
+   * Offers every player of the ended duel a rematch for
+   * {@link #REMATCH_WINDOW_TICKS}. The players go back to a lobby once the
+   * window runs out or anyone declines.
+   *
+   * @param duel   the ended duel
+   * @param winner the team that won the duel
+   * @param loser  the team that lost the duel
+   */
+  private void offerRematch(
+      final Duel duel,
+      final DuelTeam winner,
+      final DuelTeam loser) {
+    final var rematch = new Rematch(duel, winner, loser);
+
+    for (final UUID uuid : duel.getUUIDs()) {
+      this.rematches.put(uuid, rematch);
+    }
+
+    for (final var player : duel.getPlayers()) {
+      player.sendRichMessage("<click:run_command:'/rematch'><hover:show_text:'<green>Play again in this arena'>"
+          + "<#3B82F6><bold>[Rematch]</bold></hover></click> "
+          + "<click:run_command:'/rematch decline'><hover:show_text:'<red>Back to the lobby'>"
+          + "<gray>[Leave]</hover></click>");
+    }
+
+    rematch.setExpiry(Bukkit.getScheduler().runTaskLater(
+        Duels.getInstance(),
+        () -> this.closeRematch(rematch),
+        REMATCH_WINDOW_TICKS));
+  }
+
+  /**
+   * Accepts the rematch offered to the player. Once every player accepted, the
+   * duel restarts in the same arena without going through the queue or
+   * moving anybody to another server.
+   *
+   * @param player the accepting player
+   */
+  public void acceptRematch(final Player player) {
+    final Rematch rematch = this.rematches.get(player.getUniqueId());
+
+    if (rematch == null) {
+      player.sendRichMessage("<red>You don't have a rematch to accept");
+      return;
+    }
+
+    final Duel duel = rematch.getDuel();
+
+    if (!rematch.accept(player.getUniqueId())) {
+      for (final var duelPlayer : duel.getPlayers()) {
+        duelPlayer.sendRichMessage("<gray>» <player> wants a rematch <dark_gray>(<accepted>/<total>)"
+            .replace("<player>", player.getName())
+            .replace("<accepted>", String.valueOf(rematch.getAccepted()))
+            .replace("<total>", String.valueOf(duel.getUUIDs().size())));
       }
 
-      this.cluster.getLeastLoadedService(ServiceType.LOBBY)
-          .sendMessage(new DuelEnd(
-              winner.getUuids(),
-              loser.getUuids(),
-              duel.getRounds(),
-              winner.getScore(),
-              loser.getScore(),
-              duel.getKitType(),
-              0L // TODO: Impl
-      ));
-    }, 60L);
+      return;
+    }
+
+    rematch.cancelExpiry();
+
+    for (final UUID uuid : duel.getUUIDs()) {
+      this.rematches.remove(uuid, rematch);
+    }
+
+    if (!this.canRematch(duel)) {
+      this.finishDuel(duel, rematch.getWinner(), rematch.getLoser());
+      return;
+    }
+
+    this.restartDuel(duel);
+  }
+
+  /**
+   * Declines the rematch offered to the player and sends everybody back to a
+   * lobby right away.
+   *
+   * @param uuid the declining player
+   * @return {@code true} if a rematch was open for the player
+   */
+  public boolean declineRematch(final UUID uuid) {
+    final Rematch rematch = this.rematches.get(uuid);
+
+    if (rematch == null) {
+      return false;
+    }
+
+    for (final var player : rematch.getDuel().getPlayers()) {
+      player.sendRichMessage("<red>The rematch was declined");
+    }
+
+    this.closeRematch(rematch);
+    return true;
+  }
+
+  /**
+   * Closes a rematch offer without restarting the duel.
+   *
+   * @param rematch the open offer
+   */
+  private void closeRematch(final Rematch rematch) {
+    rematch.cancelExpiry();
+
+    for (final UUID uuid : rematch.getDuel().getUUIDs()) {
+      this.rematches.remove(uuid, rematch);
+    }
+
+    this.finishDuel(rematch.getDuel(), rematch.getWinner(), rematch.getLoser());
+  }
+
+  /**
+   * Restarts an ended duel with the same teams, rounds and kit in its arena,
+   * which is reset instead of being replaced. Spectators keep watching.
+   *
+   * @param previous the ended duel
+   */
+  private void restartDuel(final Duel previous) {
+    previous.deleteGame();
+
+    final var arena = previous.getArena();
+
+    if (arena instanceof final DuelArena duelArena) {
+      duelArena.reset();
+    }
+
+    final var duel = new Duel(
+        previous.getBlueTeam().getUuids(),
+        previous.getRedTeam().getUuids(),
+        previous.getRounds(),
+        previous.getKitType(),
+        arena);
+
+    for (final UUID uuid : duel.getUUIDs()) {
+      this.runningGames.put(uuid, duel);
+    }
+
+    for (final UUID spectator : previous.getSpectators()) {
+      duel.addSpectator(spectator);
+      this.spectating.replace(spectator, duel);
+    }
+
+    for (final var player : duel.getPlayers()) {
+      player.sendRichMessage("<#3B82F6><bold>Rematch!</bold> <white>First to <#3B82F6><to>"
+          .replace("<to>", String.valueOf(duel.getRounds())));
+    }
+
+    new ArenaScanTask(duel).runTaskTimer(Duels.getInstance(), 20L, 20L);
+    this.startNewRound(duel);
   }
 
   public void endFFA(
@@ -0,0 +1,109 @@
+package club.revived.duels.game.duels;
+
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Rematch - a rematch offered to the players of a finished duel.
+ * <p>
+ * The offer stays open for a short window after the duel ended. If every
+ * player accepts in time, the duel is restarted in the same arena on this
+ * server; otherwise the players go back to a lobby as usual.
+ *
+ * @author yyuh - DL
+ * @since 1/8/26
+ */
+public final class Rematch {
+
+  private final Duel duel;
+  private final DuelTeam winner;
+  private final DuelTeam loser;
+  private final Set<UUID> accepted = new HashSet<>();
+
+  private BukkitTask expiry;
+
+  /**
+   * Creates the offer for a finished duel.
+   *
+   * @param duel   the finished duel
+   * @param winner the team that won it
+   * @param loser  the team that lost it
+   */
+  public Rematch(
+      final @NotNull Duel duel,
+      final @NotNull DuelTeam winner,
+      final @NotNull DuelTeam loser) {
+    this.duel = duel;
+    this.winner = winner;
+    this.loser = loser;
+  }
+
+  /**
+   * Records a player's acceptance.
+   *
+   * @param uuid the accepting player
+   * @return {@code true} if every player of the duel has accepted now
+   */
+  public boolean accept(final @NotNull UUID uuid) {
+    this.accepted.add(uuid);
+    return this.accepted.containsAll(this.duel.getUUIDs());
+  }
+
+  /**
+   * Number of players that accepted so far.
+   *
+   * @return the accepted count
+   */
+  public int getAccepted() {
+    return this.accepted.size();
+  }
+
+  /**
+   * Sets the task closing the offer once the window ran out.
+   *
+   * @param expiry the scheduled expiry task
+   */
+  public void setExpiry(final @NotNull BukkitTask expiry) {
+    this.expiry = expiry;
+  }
+
+  /**
+   * Cancels the expiry task, if any.
+   */
+  public void cancelExpiry() {
+    if (this.expiry != null) {
+      this.expiry.cancel();
+    }
+  }
+
+  /**
+   * The finished duel.
+   *
+   * @return the duel this rematch restarts
+   */
+  public Duel getDuel() {
+    return duel;
+  }
+
+  /**
+   * The team that won the finished duel.
+   *
+   * @return the winning team
+   */
+  public DuelTeam getWinner() {
+    return winner;
+  }
+
+  /**
+   * The team that lost the finished duel.
+   *
+   * @return the losing team
+   */
+  public DuelTeam getLoser() {
+    return loser;
+  }
+}
@@ -167,6 +167,8 @@ public final class PlayerListener implements Listener {
         final Player player = event.getPlayer();
         event.quitMessage(null);
 
+        if (duelManager.declineRematch(player.getUniqueId())) return;
+
         if (!duelManager.isPlaying(player)) return;
 
         final Game game = duelManager.getDuel(player);
@@ -496,7 +498,7 @@ public final class PlayerListener implements Listener {
     /**
      * Handles block placement during duels, restricting placement based on duel state and arena type and recording placed blocks for non-interactive duel arenas.
      * <p></p>
-     * If the player is not in a duel this handler does nothing. Placement is cancelled when the duel is STARTING or ENDING. Placement is allowed without tracking in arenas of type INTERACTIVE. For arenas that are instances of DuelArena, the placed block's location is added to the arena's modifiedLocations set for later restoration or tracking.
+     * If the player is not in a duel this handler does nothing. Placement is cancelled when the duel is STARTING or ENDING. Placement is allowed without tracking in arenas of type INTERACTIVE. For arenas that are instances of DuelArena, the placed block's location is recorded together with the block it replaced, so a reset restores it.
      *
      * @param event the BlockPlaceEvent representing the attempted block placement
      */
@@ -526,8 +528,31 @@ public final class PlayerListener implements Listener {
 
 
         if (arena instanceof final DuelArena duelArena) {
-            final Location location = event.getBlock().getLocation();
-            duelArena.getModifiedLocations().add(location);
+            duelArena.recordModification(event.getBlock().getLocation(), event.getBlockReplacedState().getBlockData());
+        }
+    }
+
+    /**
+     * Records the block a player pours a fluid into, so a reset removes the source again.
+     * <p></p>
+     * Follows the same rules as block placement: nothing is recorded outside duels or in INTERACTIVE arenas.
+     *
+     * @param event the PlayerBucketEmptyEvent representing the fluid about to be placed
+     */
+    @EventHandler
+    public void onBucketEmpty(final PlayerBucketEmptyEvent event) {
+        final var player = event.getPlayer();
+
+        if (!duelManager.isPlaying(player)) return;
+
+        final var game = duelManager.getDuel(player);
+
+        if (game == null || game.getArena().getArenaType() == ArenaType.INTERACTIVE) {
+            return;
+        }
+
+        if (game.getArena() instanceof final DuelArena duelArena) {
+            duelArena.recordModification(event.getBlock());
         }
     }
 
@@ -562,28 +587,22 @@ public final class PlayerListener implements Listener {
         if (arena instanceof final DuelArena duelArena) {
             final Location location = event.getBlock().getLocation();
 
-            if (!duelArena.getModifiedLocations().contains(location)) {
+            if (!duelArena.isModified(location)) {
                 event.setCancelled(true);
             }
         }
     }
 
     /**
-     * Registers the destination location as a modified arena block when a block flow results in certain solid block types.
+     * Registers the block a fluid is about to flow into as a modified arena block.
      * <p></p>
-     * Evaluates the event's destination block and, if its resulting material is COBBLESTONE, STONE, OBSIDIAN, or BASALT,
-     * records the block location so arena modifications can be tracked/restored.
+     * The event fires before the flow, so the destination still holds its original data, which a reset restores.
      *
      * @param event the block-from-to event describing a block changing position/state due to fluid flow
      */
     @EventHandler
     public void onBlockFromTo(final BlockFromToEvent event) {
-        final Block block = event.getToBlock();
-        final Material newType = block.getType();
-
-        if (newType == Material.COBBLESTONE || newType == Material.STONE || newType == Material.OBSIDIAN || newType == Material.BASALT) {
-            trackModifiedBlockInArena(block.getLocation());
-        }
+        trackModifiedBlockInArena(event.getToBlock());
     }
 
     /**
@@ -593,7 +612,7 @@ public final class PlayerListener implements Listener {
      */
     @EventHandler
     public void onBlockBurn(final BlockBurnEvent event) {
-        trackModifiedBlockInArena(event.getBlock().getLocation());
+        trackModifiedBlockInArena(event.getBlock());
     }
 
     /**
@@ -607,7 +626,7 @@ public final class PlayerListener implements Listener {
     @EventHandler
     public void onBlockSpread(final BlockSpreadEvent event) {
         if (event.getNewState().getType() == Material.FIRE) {
-            trackModifiedBlockInArena(event.getBlock().getLocation());
+            trackModifiedBlockInArena(event.getBlock());
         }
     }
 
@@ -620,7 +639,7 @@ public final class PlayerListener implements Listener {
      */
     @EventHandler
     public void onBlockForm(final BlockFormEvent event) {
-        trackModifiedBlockInArena(event.getBlock().getLocation());
+        trackModifiedBlockInArena(event.getBlock());
     }
 
     /**
@@ -630,7 +649,7 @@ public final class PlayerListener implements Listener {
      */
     @EventHandler
     public void onBlockFade(final BlockFadeEvent event) {
-        trackModifiedBlockInArena(event.getBlock().getLocation());
+        trackModifiedBlockInArena(event.getBlock());
     }
 
     // TODO: Implement & fix the below methods (event handlers)
@@ -665,15 +684,16 @@ public final class PlayerListener implements Listener {
     }
 
     /**
-     * Records a world location as a modified block in the first active duel arena whose region contains it.
+     * Records a block that is about to change as modified in the first active duel arena whose region contains it.
      *
      * <p>Skips duels that are in STARTING or ENDING states. Only arenas of type DuelArena are considered; when a DuelArena
-     * contains the provided location (at block precision), that location is added to the arena's modified-locations and no
-     * further duels are checked.</p>
+     * contains the block, its location is recorded with its current data and no further duels are checked.</p>
      *
-     * @param location the world location to record (evaluated at block precision)
+     * @param block the block before the change
      */
-    private void trackModifiedBlockInArena(final Location location) {
+    private void trackModifiedBlockInArena(final Block block) {
+        final Location location = block.getLocation();
+
         for (final Game game : duelManager.getRunningGames().values()) {
             if (game.getGameState() == GameState.STARTING ||
                     game.getGameState() == GameState.ENDING
@@ -688,7 +708,7 @@ public final class PlayerListener implements Listener {
                 );
 
                 if (region.contains(location)) {
-                    duelArena.getModifiedLocations().add(location);
+                    duelArena.recordModification(block);
                     break;
                 }
             }
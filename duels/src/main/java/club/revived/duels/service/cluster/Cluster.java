@@ -90,7 +90,7 @@ public final class Cluster {
         this.serviceType = serviceType;
         this.serviceId = id;
         this.ip = this.serviceIp();
-        this.messagingService = new MessagingService(broker, id);
+        this.messagingService = new MessagingService(broker, id, this.services);
         this.globalCache = cache;
 
         instance = this;
@@ -149,7 +149,7 @@ public final class Cluster {
             }
 
             return new WhereIsResponse(this.serviceId);
-        });
+        }, WhereIsRequest::uuid);
     }
 
     /**
@@ -191,14 +191,8 @@ public final class Cluster {
      */
     @NotNull
     public CompletableFuture<ClusterService> whereIsProxy(final UUID uuid) {
-        return this.messagingService.sendGlobalRequest(new WhereIsProxyRequest(uuid), WhereIsProxyResponse.class)
-                .thenApply(whereIsResponses -> {
-                    final var whereIsResponse = whereIsResponses.getFirst();
-
-                    final var id = whereIsResponse.proxy();
-
-                    return this.services.get(id);
-                });
+        return this.messagingService.findGlobal(new WhereIsProxyRequest(uuid), WhereIsProxyResponse.class)
+                .thenApply(response -> response == null ? null : this.services.get(response.proxy()));
     }
 
     /**
@@ -209,12 +203,8 @@ public final class Cluster {
      */
     @NotNull
     public CompletableFuture<ClusterService> whereIs(final UUID uuid) {
-        return this.messagingService.sendGlobalRequest(new WhereIsRequest(uuid), WhereIsResponse.class)
-                .thenApply(whereIsResponse -> {
-                    final var id = whereIsResponse.getFirst().server();
-
-                    return this.services.get(id);
-                });
+        return this.messagingService.findGlobal(new WhereIsRequest(uuid), WhereIsResponse.class)
+                .thenApply(response -> response == null ? null : this.services.get(response.server()));
     }
 
     /**
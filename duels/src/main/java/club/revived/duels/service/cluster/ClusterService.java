@@ -4,6 +4,7 @@ import club.revived.duels.service.messaging.Message;
 import club.revived.duels.service.messaging.Request;
 import club.revived.duels.service.messaging.Response;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
@@ -30,6 +31,12 @@ public final class ClusterService {
 
     private final long lastSeen;
 
+    @NotNull
+    private final List<String> codecs;
+
+    @Nullable
+    private final List<String> requests;
+
     /**
      * Creates a ClusterService representing a cluster node with identity, network address, type, current online players, and last-seen timestamp.
      *
@@ -45,12 +52,58 @@ public final class ClusterService {
             final @NotNull ServiceType type,
             final @NotNull List<OnlinePlayer> onlinePlayers,
             final long lastSeen
+    ) {
+        this(id, ip, type, onlinePlayers, lastSeen, List.of());
+    }
+
+    /**
+     * Creates a ClusterService that also advertised the envelope codecs it decodes.
+     *
+     * @param id            unique identifier of the cluster service
+     * @param ip            IP address of the cluster service
+     * @param type          category/type of the service
+     * @param onlinePlayers list of currently online players associated with this service
+     * @param lastSeen      timestamp (milliseconds since epoch) when the service was last observed
+     * @param codecs        names of the envelope codecs the service decodes, empty if it advertised none
+     */
+    public ClusterService(
+            final @NotNull String id,
+            final @NotNull String ip,
+            final @NotNull ServiceType type,
+            final @NotNull List<OnlinePlayer> onlinePlayers,
+            final long lastSeen,
+            final @NotNull List<String> codecs
+    ) {
+        this(id, ip, type, onlinePlayers, lastSeen, codecs, null);
+    }
+
+    /**
+     * Creates a ClusterService that also advertised the request types it answers.
+     *
+     * @param id            unique identifier of the cluster service
+     * @param ip            IP address of the cluster service
+     * @param type          category/type of the service
+     * @param onlinePlayers list of currently online players associated with this service
+     * @param lastSeen      timestamp (milliseconds since epoch) when the service was last observed
+     * @param codecs        names of the envelope codecs the service decodes, empty if it advertised none
+     * @param requests      names of the request types the service answers, or {@code null} if it advertised none
+     */
+    public ClusterService(
+            final @NotNull String id,
+            final @NotNull String ip,
+            final @NotNull ServiceType type,
+            final @NotNull List<OnlinePlayer> onlinePlayers,
+            final long lastSeen,
+            final @NotNull List<String> codecs,
+            final @Nullable List<String> requests
     ) {
         this.id = id;
         this.ip = ip;
         this.type = type;
         this.onlinePlayers = onlinePlayers;
         this.lastSeen = lastSeen;
+        this.codecs = codecs;
+        this.requests = requests;
     }
 
 
@@ -139,5 +192,34 @@ public final class ClusterService {
         return lastSeen;
     }
 
+    /**
+     * Envelope codecs the service advertised in its heartbeat.
+     *
+     * @return the codec names, empty for services that only understand JSON
+     */
+    public @NotNull List<String> getCodecs() {
+        return codecs;
+    }
+
+    /**
+     * Request types the service advertised a handler for in its heartbeat.
+     *
+     * @return the request type names, or {@code null} if its heartbeat advertised none
+     */
+    public @Nullable List<String> getRequests() {
+        return requests;
+    }
+
+    /**
+     * Whether the service answers requests of the given type, going by the handlers it advertised. A service
+     * whose heartbeat advertised none is assumed to answer every type.
+     *
+     * @param requestType the simple name of the request type
+     * @return {@code true} if it is expected to answer requests of the type
+     */
+    public boolean answers(final @NotNull String requestType) {
+        return this.requests == null || this.requests.contains(requestType);
+    }
+
 
 }
\ No newline at end of file
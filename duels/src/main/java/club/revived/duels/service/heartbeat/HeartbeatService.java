@@ -5,12 +5,14 @@ import club.revived.duels.service.broker.MessageHandler;
 import club.revived.duels.service.cluster.Cluster;
 import club.revived.duels.service.cluster.ClusterService;
 import club.revived.duels.service.cluster.OnlinePlayer;
+import club.revived.duels.service.messaging.MessagingService;
 import club.revived.duels.service.player.PlayerManager;
 import club.revived.duels.util.SkinUtils;
 import org.bukkit.Bukkit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
@@ -76,7 +78,9 @@ public final class HeartbeatService implements MessageHandler<Heartbeat> {
                                     SkinUtils.getSignature(player)
                             ))
                             .toList(),
-                    cluster.getIp()
+                    cluster.getIp(),
+                    MessagingService.CODECS,
+                    cluster.getMessagingService().getHandledRequests()
             ));
 
             final long now = System.currentTimeMillis();
@@ -108,7 +112,9 @@ public final class HeartbeatService implements MessageHandler<Heartbeat> {
                 message.serverIp(),
                 message.serviceType(),
                 message.onlinePlayers(),
-                message.timestamp()
+                message.timestamp(),
+                message.codecs() == null ? List.of() : message.codecs(),
+                message.requests()
         );
 
         this.lastSeen.put(
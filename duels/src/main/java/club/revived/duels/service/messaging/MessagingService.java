@@ -1,15 +1,25 @@
 package club.revived.duels.service.messaging;
 
+import club.revived.duels.service.broker.Delivery;
 import club.revived.duels.service.broker.MessageBroker;
+import club.revived.duels.service.cluster.ClusterService;
+import club.revived.duels.service.messaging.codec.BinaryEnvelopeCodec;
+import club.revived.duels.service.messaging.codec.EnvelopeCodec;
+import club.revived.duels.service.messaging.codec.JsonEnvelopeCodec;
 import com.google.gson.Gson;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Predicate;
 
 /**
  * This is an interesting Class
@@ -18,28 +28,86 @@ import java.util.function.Function;
  * @since 03.01.26
  */
 public final class MessagingService {
+
+    /**
+     * Envelope codecs this service decodes, advertised in its heartbeat, the preferred one first.
+     */
+    public static final List<String> CODECS = List.of(BinaryEnvelopeCodec.NAME, JsonEnvelopeCodec.NAME);
+
+    private static final Duration DEFAULT_REQUEST_TIMEOUT = Duration.ofSeconds(5);
+    private static final Duration DEFAULT_GLOBAL_WINDOW = Duration.ofMillis(50);
+
+    // Envelopes this service handles in process are not kept by the broker
+    private static final Delivery LOOPBACK = new Delivery.Transient(new byte[0]);
+
     private final MessageBroker broker;
     private final String serviceId;
     private final Gson gson = new Gson();
+    private final EnvelopeCodec jsonCodec = new JsonEnvelopeCodec();
+    private final EnvelopeCodec binaryCodec = new BinaryEnvelopeCodec();
+    private final Map<String, ClusterService> services;
     private final Map<UUID, CompletableFuture<Response>> pendingRequests = new ConcurrentHashMap<>();
-    private final Map<UUID, List<Response>> pendingGlobalRequests = new ConcurrentHashMap<>();
-    private final Map<String, Function<Request, Response>> requestHandlers = new ConcurrentHashMap<>();
-    private final Map<String, Consumer<Message>> messageHandlers = new ConcurrentHashMap<>();
-    private final Map<String, Class<?>> messageRegistry = new ConcurrentHashMap<>();
+    private final Map<UUID, GlobalRequest> pendingGlobalRequests = new ConcurrentHashMap<>();
+    private final MessageTypeRegistry types;
+    private final HandlerDispatcher dispatcher;
+    private final RequestTimer timer = new RequestTimer();
+    private final LongAdder requestsSent = new LongAdder();
+    private final LongAdder requestTimeouts = new LongAdder();
+    private final LongAdder loopbacks = new LongAdder();
 
     public MessagingService(
             final MessageBroker broker,
             final String serviceId
+    ) {
+        this(broker, serviceId, Map.of());
+    }
+
+    /**
+     * Creates a MessagingService that loads the message type ids assigned in the cluster so far, receives
+     * envelopes in any known codec, and sends them in the binary
+     * codec to peers that advertised it and as JSON to everybody else.
+     *
+     * @param broker    the MessageBroker used to publish and subscribe messages
+     * @param serviceId the identifier for this service instance used to scope the service-specific channel
+     * @param services  the known services by id, with the codecs they advertised
+     */
+    public MessagingService(
+            final MessageBroker broker,
+            final String serviceId,
+            final Map<String, ClusterService> services
+    ) {
+        this(broker, serviceId, services, new HandlerDispatcher());
+    }
+
+    /**
+     * Creates a MessagingService running its inbound handlers on the given dispatcher.
+     *
+     * @param broker     the MessageBroker used to publish and subscribe messages
+     * @param serviceId  the identifier for this service instance used to scope the service-specific channel
+     * @param services   the known services by id, with the codecs they advertised
+     * @param dispatcher the dispatcher inbound handlers run on
+     */
+    public MessagingService(
+            final MessageBroker broker,
+            final String serviceId,
+            final Map<String, ClusterService> services,
+            final HandlerDispatcher dispatcher
     ) {
         this.broker = broker;
         this.serviceId = serviceId;
+        this.services = services;
+        this.dispatcher = dispatcher;
+        this.types = new MessageTypeRegistry(broker);
+
+        this.types.register(RequestRejected.class);
+        this.types.register(NoResponse.class);
 
-        this.broker.subscribe("service-messages-" + serviceId, MessageEnvelope.class, this::handleEnvelope);
-        this.broker.subscribe("service-messages-global", MessageEnvelope.class, this::handleEnvelope);
+        this.broker.subscribeDeliveries("service-messages-" + serviceId, this::receive);
+        this.broker.subscribeDeliveries("service-messages-global", this::receive);
     }
 
     public void register(final Class<?> clazz) {
-        this.messageRegistry.put(clazz.getSimpleName(), clazz);
+        this.types.register(clazz);
     }
 
     @NotNull
@@ -48,28 +116,55 @@ public final class MessagingService {
             final Request request,
             final Class<T> responseType
     ) {
-        register(request.getClass());
-        register(responseType);
+        return sendRequest(targetServiceId, request, responseType, DEFAULT_REQUEST_TIMEOUT);
+    }
+
+    /**
+     * Sends a request to a specific service and returns a future for the response, failing after the given timeout.
+     *
+     * @param targetServiceId the identifier of the target service to receive the request
+     * @param request the request payload to send
+     * @param responseType the expected response class for deserialization and casting
+     * @param timeout how long to wait for the response
+     * @return a CompletableFuture that completes with the deserialized response of type `T`; the future
+     *         completes exceptionally with a `TimeoutException` if no response is received within the timeout,
+     *         or with a `RejectedExecutionException` if the target had no room to handle the request
+     */
+    @NotNull
+    public <T extends Response> CompletableFuture<T> sendRequest(
+            final String targetServiceId,
+            final Request request,
+            final Class<T> responseType,
+            final Duration timeout
+    ) {
+        final MessageTypeRegistry.Entry requestType = this.types.register(request.getClass());
+        this.types.register(responseType);
 
         final UUID correlationId = UUID.randomUUID();
         final CompletableFuture<Response> future = new CompletableFuture<>();
         pendingRequests.put(correlationId, future);
 
-        CompletableFuture.delayedExecutor(5, TimeUnit.SECONDS).execute(() -> {
+        final RequestTimer.Timeout expiry = this.timer.schedule(timeout.toMillis(), () -> {
             if (pendingRequests.remove(correlationId) != null) {
+                this.requestTimeouts.increment();
                 future.completeExceptionally(new TimeoutException("Request timed out"));
             }
         });
 
+        // Answered requests leave the timer right away instead of at their deadline
+        future.whenComplete((_, _) -> expiry.cancel());
+        this.requestsSent.increment();
+
         final MessageEnvelope envelope = new MessageEnvelope(
                 correlationId,
                 serviceId,
                 targetServiceId,
-                request.getClass().getSimpleName(),
+                requestType.id(),
+                requestType.name(),
                 gson.toJson(request)
         );
 
-        broker.publish("service-messages-" + targetServiceId, envelope);
+        this.publish(targetServiceId, envelope);
 
         return future.thenApply(responseType::cast);
     }
@@ -78,17 +173,18 @@ public final class MessagingService {
             final String targetServiceId,
             final Message message
     ) {
-        register(message.getClass());
+        final MessageTypeRegistry.Entry messageType = this.types.register(message.getClass());
 
         final MessageEnvelope envelope = new MessageEnvelope(
                 UUID.randomUUID(),
                 serviceId,
                 targetServiceId,
-                message.getClass().getSimpleName(),
+                messageType.id(),
+                messageType.name(),
                 gson.toJson(message)
         );
 
-        broker.publish("service-messages-" + targetServiceId, envelope);
+        this.publish(targetServiceId, envelope);
     }
 
     public void sendGlobalMessage(final Message message) {
@@ -100,90 +196,465 @@ public final class MessagingService {
             final Request request,
             final Class<T> responseType
     ) {
-        register(request.getClass());
-        register(responseType);
+        return sendGlobalRequest(request, responseType, DEFAULT_GLOBAL_WINDOW);
+    }
+
+    /**
+     * Broadcasts the given request to all services and collects their responses. The future completes as soon
+     * as every service of the current cluster membership that answers the request type has answered, or once
+     * the window has passed.
+     *
+     * @param request      the request payload to send to all services
+     * @param responseType the concrete Response class used to deserialize incoming replies
+     * @param window       the longest time responses are collected
+     * @return a future completing with the responses received; the list may be empty
+     */
+    @NotNull
+    public <T extends Response> CompletableFuture<List<T>> sendGlobalRequest(
+            final Request request,
+            final Class<T> responseType,
+            final Duration window
+    ) {
+        @SuppressWarnings("unchecked")
+        final CompletableFuture<List<T>> future = (CompletableFuture<List<T>>) (CompletableFuture<?>)
+                this.globalRequest(request, responseType, window, null);
+
+        return future;
+    }
+
+    /**
+     * Broadcasts the given request to all services and completes with the first response, for requests
+     * that only the service holding something answers, such as the one a player is connected to.
+     *
+     * @param request      the request payload to send to all services
+     * @param responseType the concrete Response class used to deserialize incoming replies
+     * @return a future completing with the first response, or `null` if none arrived within the window
+     */
+    @NotNull
+    public <T extends Response> CompletableFuture<@Nullable T> findGlobal(
+            final Request request,
+            final Class<T> responseType
+    ) {
+        return findGlobal(request, responseType, _ -> true);
+    }
+
+    /**
+     * Broadcasts the given request to all services and completes with the first response that matches.
+     * Without a match it completes once every service of the current cluster membership has answered, or
+     * once the default window has passed.
+     *
+     * @param request      the request payload to send to all services
+     * @param responseType the concrete Response class used to deserialize incoming replies
+     * @param match        whether a response is the one looked for
+     * @return a future completing with the first matching response, or `null` if none arrived
+     */
+    @NotNull
+    public <T extends Response> CompletableFuture<@Nullable T> findGlobal(
+            final Request request,
+            final Class<T> responseType,
+            final Predicate<? super T> match
+    ) {
+        final Predicate<Response> typedMatch = response -> responseType.isInstance(response)
+                && match.test(responseType.cast(response));
+
+        return this.globalRequest(request, responseType, DEFAULT_GLOBAL_WINDOW, typedMatch)
+                .thenApply(responses -> responses.stream()
+                        .filter(typedMatch)
+                        .findFirst()
+                        .map(responseType::cast)
+                        .orElse(null));
+    }
+
+    /**
+     * Broadcasts a request and collects responses until one matches, every known service answering its type
+     * has answered, or the window has passed. Before any such service is known only the window ends it.
+     *
+     * @param request      the request payload to send to all services
+     * @param responseType the concrete Response class used to deserialize incoming replies
+     * @param window       the longest time responses are collected
+     * @param match        completes the request on the first response it accepts, or `null` to wait for every service
+     * @return a future completing with the responses received
+     */
+    private CompletableFuture<List<Response>> globalRequest(
+            final Request request,
+            final Class<? extends Response> responseType,
+            final Duration window,
+            final @Nullable Predicate<Response> match
+    ) {
+        final MessageTypeRegistry.Entry requestType = this.types.register(request.getClass());
+        this.types.register(responseType);
 
         final UUID correlationId = UUID.randomUUID();
-        final List<Response> responses = new CopyOnWriteArrayList<>();
-        final CompletableFuture<List<T>> future = new CompletableFuture<>();
+        final int expected = this.expectedAnswers(requestType);
+        final GlobalRequest pending = new GlobalRequest(expected, match);
 
-        this.pendingGlobalRequests.put(correlationId, responses);
+        this.pendingGlobalRequests.put(correlationId, pending);
 
-        CompletableFuture.delayedExecutor(50, TimeUnit.MILLISECONDS).execute(() -> {
-            final List<Response> collected = this.pendingGlobalRequests.remove(correlationId);
-            if (collected != null) {
-                @SuppressWarnings("unchecked")
-                List<T> typedResponses = (List<T>) collected;
-                future.complete(typedResponses);
-            }
-        });
+        final RequestTimer.Timeout expiry = this.timer.schedule(
+                window.toMillis(),
+                () -> this.completeGlobalRequest(correlationId)
+        );
+
+        pending.future.whenComplete((_, _) -> expiry.cancel());
 
         final MessageEnvelope envelope = new MessageEnvelope(
                 correlationId,
                 serviceId,
                 "global",
-                request.getClass().getSimpleName(),
+                requestType.id(),
+                requestType.name(),
                 gson.toJson(request)
         );
 
-        broker.publish("service-messages-global", envelope);
-        return future;
+        this.publish("global", envelope);
+        return pending.future;
+    }
+
+    /**
+     * Counts the services a global request of the given type waits for: this service if it has a handler for
+     * it, and every other service that advertised a handler for it in its heartbeat, or advertised none at all.
+     * Services without a handler never answer, so they are not waited for.
+     *
+     * @param requestType the registered type of the request
+     * @return the number of answers, or {@link Integer#MAX_VALUE} if no service answering it is known yet
+     */
+    private int expectedAnswers(final MessageTypeRegistry.Entry requestType) {
+        if (this.services.isEmpty()) {
+            return Integer.MAX_VALUE;
+        }
+
+        int expected = requestType.requestHandler() != null ? 1 : 0;
+
+        for (final ClusterService service : this.services.values()) {
+            if (!service.getId().equals(this.serviceId) && service.answers(requestType.name())) {
+                expected++;
+            }
+        }
+
+        return expected == 0 ? Integer.MAX_VALUE : expected;
+    }
+
+    /**
+     * Completes a global request with the responses collected so far, unless it was completed already.
+     *
+     * @param correlationId the correlation id of the global request
+     */
+    private void completeGlobalRequest(final UUID correlationId) {
+        final GlobalRequest pending = this.pendingGlobalRequests.remove(correlationId);
+
+        if (pending != null) {
+            pending.future.complete(List.copyOf(pending.responses));
+        }
     }
 
     public <T extends Request> void registerHandler(
             final Class<T> requestType,
             final Function<T, Response> handler
     ) {
-        register(requestType);
+        registerHandler(requestType, handler, null);
+    }
+
+    /**
+     * Registers a request handler whose requests with the same routing key, such as the same player, are
+     * handled one at a time in arrival order. Requests with different keys are handled in parallel.
+     *
+     * @param requestType the Request class this handler will handle
+     * @param handler     a function that takes a request of type `T` and returns a Response
+     * @param routingKey  picks the routing key of a request, or `null` to handle all requests of this type in order
+     */
+    public <T extends Request> void registerHandler(
+            final Class<T> requestType,
+            final Function<T, Response> handler,
+            final @Nullable Function<T, ?> routingKey
+    ) {
+        this.registerAsyncHandler(
+                requestType,
+                request -> CompletableFuture.completedFuture(handler.apply(request)),
+                routingKey
+        );
+    }
+
+    public <T extends Request> void registerAsyncHandler(
+            final Class<T> requestType,
+            final Function<T, ? extends CompletableFuture<? extends Response>> handler
+    ) {
+        registerAsyncHandler(requestType, handler, null);
+    }
+
+    /**
+     * Registers a request handler that answers once the returned future completes, for requests whose answer
+     * depends on work that finishes later. The handler itself runs like any other, but the dispatcher does not
+     * wait for the future. A future completing with {@code null} or exceptionally sends no response.
+     *
+     * @param requestType the Request class this handler will handle
+     * @param handler     a function that takes a request of type `T` and returns a future of its Response
+     * @param routingKey  picks the routing key of a request, or `null` to handle all requests of this type in order
+     */
+    public <T extends Request> void registerAsyncHandler(
+            final Class<T> requestType,
+            final Function<T, ? extends CompletableFuture<? extends Response>> handler,
+            final @Nullable Function<T, ?> routingKey
+    ) {
+        @SuppressWarnings("unchecked")
+        Function<Request, CompletableFuture<Response>> uncheckedHandler =
+                (Function<Request, CompletableFuture<Response>>) (Function<?, ?>) handler;
         @SuppressWarnings("unchecked")
-        Function<Request, Response> uncheckedHandler = (Function<Request, Response>) handler;
-        requestHandlers.put(requestType.getSimpleName(), uncheckedHandler);
+        Function<Object, Object> uncheckedKey = (Function<Object, Object>) (Function<?, ?>) routingKey;
+
+        final MessageTypeRegistry.Entry type = this.types.register(requestType);
+        type.routingKey(uncheckedKey);
+        type.requestHandler(uncheckedHandler);
     }
 
     public <T extends Message> void registerMessageHandler(
             final Class<T> messageType,
             final Consumer<T> handler
     ) {
-        register(messageType);
+        registerMessageHandler(messageType, handler, null);
+    }
+
+    /**
+     * Registers a message handler whose messages with the same routing key, such as the same player, are
+     * handled one at a time in arrival order. Messages with different keys are handled in parallel.
+     *
+     * @param messageType the message class this handler will handle
+     * @param handler     consumer that will be called with deserialized instances of the specified message type
+     * @param routingKey  picks the routing key of a message, or `null` to handle all messages of this type in order
+     */
+    public <T extends Message> void registerMessageHandler(
+            final Class<T> messageType,
+            final Consumer<T> handler,
+            final @Nullable Function<T, ?> routingKey
+    ) {
         @SuppressWarnings("unchecked")
         Consumer<Message> uncheckedHandler = (Consumer<Message>) handler;
-        messageHandlers.put(messageType.getSimpleName(), uncheckedHandler);
+        @SuppressWarnings("unchecked")
+        Function<Object, Object> uncheckedKey = (Function<Object, Object>) (Function<?, ?>) routingKey;
+
+        final MessageTypeRegistry.Entry type = this.types.register(messageType);
+        type.routingKey(uncheckedKey);
+        type.messageHandler(uncheckedHandler);
+    }
+
+    /**
+     * Saturation of the handler queues, keyed by payload type.
+     *
+     * @return an unmodifiable view of the saturation counters
+     */
+    @NotNull
+    public Map<String, HandlerDispatcher.Saturation> getHandlerSaturation() {
+        return this.dispatcher.getSaturation();
+    }
+
+    /**
+     * Requests and global requests waiting for their responses right now.
+     *
+     * @return the in-flight request count
+     */
+    public int getRequestsInFlight() {
+        return this.pendingRequests.size() + this.pendingGlobalRequests.size();
+    }
+
+    /**
+     * Requests sent to a single service since start.
+     *
+     * @return the sent request count
+     */
+    public long getRequestsSent() {
+        return this.requestsSent.sum();
     }
 
-    private void handleEnvelope(final MessageEnvelope envelope) {
+    /**
+     * Requests to a single service that timed out since start.
+     *
+     * @return the timed out request count
+     */
+    public long getRequestTimeouts() {
+        return this.requestTimeouts.sum();
+    }
+
+    /**
+     * Envelopes this service handed to itself without the broker since start, global ones included.
+     *
+     * @return the loopback envelope count
+     */
+    public long getLoopbacks() {
+        return this.loopbacks.sum();
+    }
+
+    /**
+     * The timer every pending request's timeout is scheduled on.
+     *
+     * @return the request timer
+     */
+    @NotNull
+    public RequestTimer getRequestTimer() {
+        return this.timer;
+    }
+
+    /**
+     * The names of the request types this service answers, advertised in its heartbeat so global requests
+     * only wait for the services that answer them.
+     *
+     * @return the request type names
+     */
+    @NotNull
+    public List<String> getHandledRequests() {
+        return this.types.handledRequests();
+    }
+
+    /**
+     * Encodes an envelope in the best codec the target understands and publishes it on the target's channel.
+     * <p>
+     * Envelopes this service addresses to itself never reach the broker; they are handed straight to
+     * {@link #handleEnvelope(MessageEnvelope)}, skipping the codec and the round trip to Redis. Global envelopes
+     * are published for the other services and handed to this one the same way.
+     *
+     * @param targetId the target service id, or {@code "global"}
+     * @param envelope the envelope to send
+     */
+    private void publish(
+            final String targetId,
+            final MessageEnvelope envelope
+    ) {
+        if (targetId.equals(this.serviceId)) {
+            this.loopback(envelope);
+            return;
+        }
+
+        this.broker.publishRaw("service-messages-" + targetId, this.codecFor(targetId).encode(envelope));
+
+        if (targetId.equals("global")) {
+            this.loopback(envelope);
+        }
+    }
+
+    /**
+     * Handles an envelope of this service in process, as if it had been received.
+     * A handler the dispatcher has no room for is dropped and reported, see
+     * {@link #reject(MessageEnvelope, MessageTypeRegistry.Entry, Delivery)}.
+     *
+     * @param envelope the envelope this service sent to itself
+     */
+    private void loopback(final MessageEnvelope envelope) {
+        this.loopbacks.increment();
+        this.handleEnvelope(envelope, LOOPBACK);
+    }
+
+    /**
+     * Negotiates the codec for a target from the codecs advertised in the heartbeats. Global envelopes reach
+     * every service, so they are only sent in binary once every known service advertised it.
+     *
+     * @param targetId the target service id, or {@code "global"}
+     * @return the binary codec if the target decodes it, the JSON codec otherwise
+     */
+    @NotNull
+    private EnvelopeCodec codecFor(final String targetId) {
+        if (targetId.equals("global")) {
+            if (this.services.isEmpty()) {
+                return this.jsonCodec;
+            }
+
+            for (final ClusterService service : this.services.values()) {
+                if (!service.getCodecs().contains(BinaryEnvelopeCodec.NAME)) {
+                    return this.jsonCodec;
+                }
+            }
+
+            return this.binaryCodec;
+        }
+
+        final ClusterService target = this.services.get(targetId);
+
+        return target != null && target.getCodecs().contains(BinaryEnvelopeCodec.NAME)
+                ? this.binaryCodec
+                : this.jsonCodec;
+    }
+
+    /**
+     * Decodes a received envelope in whichever codec it was sent and dispatches it. The delivery is
+     * acknowledged once the envelope was handled or dropped.
+     *
+     * @param delivery the received bytes
+     */
+    private void receive(final Delivery delivery) {
+        final byte[] bytes = delivery.message();
+        final MessageEnvelope envelope;
+
+        try {
+            envelope = BinaryEnvelopeCodec.isBinary(bytes)
+                    ? this.binaryCodec.decode(bytes)
+                    : this.jsonCodec.decode(bytes);
+        } catch (final Exception e) {
+            System.err.println("Dropping undecodable envelope: " + e.getMessage());
+            delivery.ack();
+            return;
+        }
+
+        // This service already handled its own global envelopes through the loopback
+        if (envelope.targetId().equals("global") && envelope.senderId().equals(this.serviceId)) {
+            delivery.ack();
+            return;
+        }
+
+        this.handleEnvelope(envelope, delivery);
+    }
+
+    private void handleEnvelope(
+            final MessageEnvelope envelope,
+            final Delivery delivery
+    ) {
         if (!envelope.targetId().equals(serviceId) && !envelope.targetId().equals("global")) {
+            delivery.ack();
+            return;
+        }
+
+        // Unregistered types are dropped before their payload is deserialized, services without type ids only send the name
+        final MessageTypeRegistry.Entry type = envelope.typeId() > 0
+                ? this.types.get(envelope.typeId())
+                : this.types.get(envelope.payloadType());
+
+        if (type == null) {
+            delivery.ack();
             return;
         }
 
-        if (pendingRequests.containsKey(envelope.correlationId())) {
-            handleResponse(envelope);
+        // A request this service sent to itself carries the correlation id of its own pending request
+        if (pendingRequests.containsKey(envelope.correlationId()) && !Request.class.isAssignableFrom(type.type())) {
+            handleResponse(envelope, type);
+            delivery.ack();
             return;
         }
 
         if (envelope.targetId().equals("global")) {
-            handleIncoming(envelope);
+            handleIncoming(envelope, type, delivery);
             return;
         }
 
         if (pendingGlobalRequests.containsKey(envelope.correlationId())) {
-            handleGlobalResponse(envelope);
+            handleGlobalResponse(envelope, type);
+            delivery.ack();
             return;
         }
 
-        handleIncoming(envelope);
+        handleIncoming(envelope, type, delivery);
     }
 
-    private void handleResponse(final MessageEnvelope envelope) {
+    private void handleResponse(
+            final MessageEnvelope envelope,
+            final MessageTypeRegistry.Entry type
+    ) {
         final CompletableFuture<Response> future = pendingRequests.remove(envelope.correlationId());
         if (future != null) {
             try {
-                final Class<?> responseType = this.messageRegistry.get(envelope.payloadType());
+                final var t = gson.fromJson(envelope.payloadJson(), type.type());
 
-                if (responseType == null) {
-                    future.completeExceptionally(new ClassNotFoundException("No class registered for payload type: " + envelope.payloadType()));
+                if (t instanceof final RequestRejected rejected) {
+                    future.completeExceptionally(new RejectedExecutionException(
+                            rejected.payloadType() + " was rejected by " + envelope.senderId() + ": " + rejected.reason()
+                    ));
                     return;
                 }
-                final var t = gson.fromJson(envelope.payloadJson(), responseType);
 
                 // TODO: Fix if I can't complete with null
                 if (t instanceof final Response response) {
@@ -197,21 +668,17 @@ public final class MessagingService {
         }
     }
 
-    private void handleGlobalResponse(final MessageEnvelope envelope) {
-        final List<Response> responses = this.pendingGlobalRequests.get(envelope.correlationId());
-        if (responses != null) {
+    private void handleGlobalResponse(
+            final MessageEnvelope envelope,
+            final MessageTypeRegistry.Entry type
+    ) {
+        final GlobalRequest pending = this.pendingGlobalRequests.get(envelope.correlationId());
+        if (pending != null) {
             try {
-                final Class<?> responseType = this.messageRegistry.get(envelope.payloadType());
-
-                if (responseType == null) {
-                    System.err.println("No class registered for payload type: " + envelope.payloadType());
-                    return;
-                }
-
-                final var t = gson.fromJson(envelope.payloadJson(), responseType);
+                final var t = gson.fromJson(envelope.payloadJson(), type.type());
 
-                if (t instanceof final Response response) {
-                    responses.add(response);
+                if (t instanceof final Response response && pending.add(response)) {
+                    this.completeGlobalRequest(envelope.correlationId());
                 }
             } catch (final Exception e) {
                 System.err.println("Error handling global response: " + e.getMessage());
@@ -220,52 +687,166 @@ public final class MessagingService {
         }
     }
 
-    private void handleIncoming(final MessageEnvelope envelope) {
-        final Function<Request, Response> requestHandler = requestHandlers.get(envelope.payloadType());
-        if (requestHandler != null) {
-            handleRequest(envelope, requestHandler);
+    private void handleIncoming(
+            final MessageEnvelope envelope,
+            final MessageTypeRegistry.Entry type,
+            final Delivery delivery
+    ) {
+        final Function<Request, CompletableFuture<Response>> requestHandler = type.requestHandler();
+        final Consumer<Message> messageHandler = type.messageHandler();
+
+        if (requestHandler == null && messageHandler == null) {
+            delivery.ack();
             return;
         }
 
-        final Consumer<Message> messageHandler = messageHandlers.get(envelope.payloadType());
-        if (messageHandler != null) {
-            handleMessage(envelope, messageHandler);
+        final Object payload = gson.fromJson(envelope.payloadJson(), type.type());
+        final Function<Object, Object> routingKey = type.routingKey();
+        final Object key = routingKey == null ? null : routingKey.apply(payload);
+
+        // Payloads without a routing key are handled in order per type
+        final boolean queued = this.dispatcher.dispatch(type.name(), key == null ? type : key, () -> {
+            if (requestHandler != null) {
+                handleRequest(envelope, (Request) payload, requestHandler, delivery);
+                return;
+            }
+
+            try {
+                messageHandler.accept((Message) payload);
+            } finally {
+                delivery.ack();
+            }
+        });
+
+        if (!queued) {
+            this.reject(envelope, type, delivery);
         }
     }
 
-    private void handleRequest(final MessageEnvelope envelope, final Function<Request, Response> handler) {
+    private void handleRequest(
+            final MessageEnvelope envelope,
+            final Request request,
+            final Function<Request, CompletableFuture<Response>> handler,
+            final Delivery delivery
+    ) {
+        final CompletableFuture<Response> future;
+
         try {
-            final Class<?> requestType = this.messageRegistry.get(envelope.payloadType());
-            final Request request = (Request) gson.fromJson(envelope.payloadJson(), requestType);
-            final Response response = handler.apply(request);
+            future = handler.apply(request);
+        } catch (final RuntimeException e) {
+            delivery.ack();
+            throw e;
+        }
 
-            if (response == null) {
-                return;
+        // Settled once the answer is out, the handler may finish long after it returned
+        future.whenComplete((response, throwable) -> {
+            try {
+                if (throwable != null) {
+                    System.err.println("Error handling " + envelope.payloadType() + ": " + throwable.getMessage());
+                    return;
+                }
+
+                if (response != null) {
+                    this.reply(envelope, response);
+                } else if (envelope.targetId().equals("global")) {
+                    this.reply(envelope, new NoResponse(envelope.payloadType()));
+                }
+            } finally {
+                delivery.ack();
             }
+        });
+    }
 
-            register(response.getClass());
+    /**
+     * Reports an envelope whose handler the dispatcher dropped because its stripe is full. If the broker delivers
+     * it again, the delivery is handed back and handled once the stripe has room. Otherwise a request is answered
+     * with a {@link RequestRejected}, so its sender fails right away instead of waiting for the timeout.
+     *
+     * @param envelope the envelope that was not handled
+     * @param type     the registered payload type of the envelope
+     * @param delivery the delivery of the envelope
+     */
+    private void reject(
+            final MessageEnvelope envelope,
+            final MessageTypeRegistry.Entry type,
+            final Delivery delivery
+    ) {
+        if (delivery.redeliverable()) {
+            delivery.reject();
+            return;
+        }
 
-            final MessageEnvelope responseEnvelope = new MessageEnvelope(
-                    envelope.correlationId(),
-                    serviceId,
-                    envelope.senderId(),
-                    response.getClass().getSimpleName(),
-                    gson.toJson(response)
-            );
+        System.err.println("Rejected " + type.name() + " from " + envelope.senderId() + ", its handler queue is full");
 
-            broker.publish("service-messages-" + envelope.senderId(), responseEnvelope);
-        } catch (final Exception e) {
-            throw new RuntimeException(e);
+        if (type.requestHandler() != null) {
+            this.reply(envelope, new RequestRejected(type.name(), "handler queue full"));
         }
     }
 
-    private void handleMessage(final MessageEnvelope envelope, final Consumer<Message> handler) {
-        try {
-            final Class<?> messageType = this.messageRegistry.get(envelope.payloadType());
-            final Message message = (Message) gson.fromJson(envelope.payloadJson(), messageType);
-            handler.accept(message);
-        } catch (final Exception e) {
-            throw new RuntimeException(e);
+    /**
+     * Publishes a response to the sender of a request, under the correlation id of the request.
+     *
+     * @param envelope the request envelope
+     * @param response the response
+     */
+    private void reply(
+            final MessageEnvelope envelope,
+            final Response response
+    ) {
+        final MessageTypeRegistry.Entry responseType = this.types.register(response.getClass());
+
+        final MessageEnvelope responseEnvelope = new MessageEnvelope(
+                envelope.correlationId(),
+                serviceId,
+                envelope.senderId(),
+                responseType.id(),
+                responseType.name(),
+                gson.toJson(response)
+        );
+
+        this.publish(envelope.senderId(), responseEnvelope);
+    }
+
+    /**
+     * The responses collected for a global request and when it is answered completely.
+     */
+    private static final class GlobalRequest {
+
+        private final List<Response> responses = new CopyOnWriteArrayList<>();
+        private final CompletableFuture<List<Response>> future = new CompletableFuture<>();
+        private final AtomicInteger answered = new AtomicInteger();
+        private final int expected;
+        private final Predicate<Response> match;
+
+        /**
+         * Creates a global request waiting for its first response.
+         *
+         * @param expected the number of responses that answer it completely
+         * @param match    completes it on the first response it accepts, or `null` to wait for all expected ones
+         */
+        private GlobalRequest(
+                final int expected,
+                final @Nullable Predicate<Response> match
+        ) {
+            this.expected = expected;
+            this.match = match;
+        }
+
+        /**
+         * Collects a response. A rejection or a {@link NoResponse} counts as an answer without a response.
+         *
+         * @param response the response
+         * @return whether the request is answered completely now
+         */
+        private boolean add(final Response response) {
+            final int answered = this.answered.incrementAndGet();
+
+            if (response instanceof RequestRejected || response instanceof NoResponse) {
+                return answered >= this.expected;
+            }
+
+            this.responses.add(response);
+            return (this.match != null && this.match.test(response)) || answered >= this.expected;
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,206 @@
+package club.revived.duels.service.messaging.codec;
+
+import club.revived.duels.service.messaging.MessageEnvelope;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * BinaryEnvelopeCodec - compact envelope format with a fixed header and the payload JSON embedded as raw bytes.
+ * <p>
+ * Layout, big endian:
+ * <pre>
+ * byte   magic, {@link #MAGIC}
+ * byte   format version, {@link #VERSION}
+ * byte   flags, bit 0 set if a correlation id follows
+ * long   correlation id, most significant bits
+ * long   correlation id, least significant bits
+ * int    payload type id, 0 if the sender has none for it
+ * short  sender id length, UTF-8 bytes follow, -1 for null
+ * short  target id length, UTF-8 bytes follow, -1 for null
+ * short  payload type length, UTF-8 bytes follow, -1 for null and left out whenever a type id was sent
+ * int    payload length, UTF-8 JSON bytes follow, -1 for null
+ * </pre>
+ * Compared to the JSON envelope the payload is neither escaped nor parsed twice, and the correlation id takes
+ * 16 bytes instead of 38 and the payload type 4 bytes instead of its name. Version 1 envelopes, which carry no
+ * type id, are still decoded. The magic byte can never start a JSON document, so receivers tell both formats apart
+ * by the first byte, see {@link #isBinary(byte[])}.
+ *
+ * @author yyuh - DL
+ * @since 1/8/26
+ */
+public final class BinaryEnvelopeCodec implements EnvelopeCodec {
+
+    public static final String NAME = "binary";
+
+    private static final byte MAGIC = (byte) 0xB1;
+    private static final byte VERSION = 2;
+    private static final byte VERSION_WITHOUT_TYPE_ID = 1;
+    private static final byte HAS_CORRELATION_ID = 1;
+    private static final int HEADER = 3 + 16 + 4 + 2 * 3 + 4;
+
+    /**
+     * Checks whether the bytes start like a binary envelope.
+     *
+     * @param bytes the received bytes
+     * @return {@code true} if the bytes should be decoded by this codec
+     */
+    public static boolean isBinary(final byte @NotNull [] bytes) {
+        return bytes.length > 0 && bytes[0] == MAGIC;
+    }
+
+    @Override
+    public @NotNull String name() {
+        return NAME;
+    }
+
+    @Override
+    public byte @NotNull [] encode(final @NotNull MessageEnvelope envelope) {
+        final byte[] senderId = utf8(envelope.senderId());
+        final byte[] targetId = utf8(envelope.targetId());
+        final byte[] payloadType = envelope.typeId() > 0 ? null : utf8(envelope.payloadType());
+        final byte[] payload = utf8(envelope.payloadJson());
+
+        final ByteBuffer buffer = ByteBuffer.allocate(HEADER
+                + length(senderId)
+                + length(targetId)
+                + length(payloadType)
+                + length(payload));
+
+        final UUID correlationId = envelope.correlationId();
+
+        buffer.put(MAGIC);
+        buffer.put(VERSION);
+        buffer.put(correlationId == null ? 0 : HAS_CORRELATION_ID);
+        buffer.putLong(correlationId == null ? 0 : correlationId.getMostSignificantBits());
+        buffer.putLong(correlationId == null ? 0 : correlationId.getLeastSignificantBits());
+        buffer.putInt(envelope.typeId());
+
+        putShort(buffer, senderId);
+        putShort(buffer, targetId);
+        putShort(buffer, payloadType);
+
+        if (payload == null) {
+            buffer.putInt(-1);
+        } else {
+            buffer.putInt(payload.length);
+            buffer.put(payload);
+        }
+
+        return buffer.array();
+    }
+
+    @Override
+    public @NotNull MessageEnvelope decode(final byte @NotNull [] bytes) {
+        if (!isBinary(bytes)) {
+            throw new IllegalArgumentException("Not a binary envelope");
+        }
+
+        final ByteBuffer buffer = ByteBuffer.wrap(bytes);
+
+        try {
+            buffer.get();
+
+            final byte version = buffer.get();
+
+            if (version != VERSION && version != VERSION_WITHOUT_TYPE_ID) {
+                throw new IllegalArgumentException("Unsupported binary envelope version " + version);
+            }
+
+            final byte flags = buffer.get();
+            final long mostSignificant = buffer.getLong();
+            final long leastSignificant = buffer.getLong();
+            final int typeId = version == VERSION ? buffer.getInt() : 0;
+
+            final String senderId = getString(buffer, buffer.getShort());
+            final String targetId = getString(buffer, buffer.getShort());
+            final String payloadType = getString(buffer, buffer.getShort());
+            final String payload = getString(buffer, buffer.getInt());
+
+            return new MessageEnvelope(
+                    (flags & HAS_CORRELATION_ID) == 0 ? null : new UUID(mostSignificant, leastSignificant),
+                    senderId,
+                    targetId,
+                    typeId,
+                    payloadType,
+                    payload
+            );
+        } catch (final BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated binary envelope", e);
+        }
+    }
+
+    /**
+     * Encodes a string to UTF-8.
+     *
+     * @param value the string
+     * @return its UTF-8 bytes, or {@code null} for {@code null}
+     */
+    private static byte @Nullable [] utf8(final @Nullable String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Number of bytes a string takes after its length prefix.
+     *
+     * @param bytes the encoded string
+     * @return its length, 0 for {@code null}
+     */
+    private static int length(final byte @Nullable [] bytes) {
+        return bytes == null ? 0 : bytes.length;
+    }
+
+    /**
+     * Writes a string with a short length prefix.
+     *
+     * @param buffer the target buffer
+     * @param bytes  the encoded string, or {@code null}
+     * @throws IllegalArgumentException if the string is longer than a short length prefix allows
+     */
+    private static void putShort(
+            final @NotNull ByteBuffer buffer,
+            final byte @Nullable [] bytes
+    ) {
+        if (bytes == null) {
+            buffer.putShort((short) -1);
+            return;
+        }
+
+        if (bytes.length > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Envelope header field too long: " + bytes.length + " bytes");
+        }
+
+        buffer.putShort((short) bytes.length);
+        buffer.put(bytes);
+    }
+
+    /**
+     * Reads a string whose length prefix has already been read.
+     *
+     * @param buffer the source buffer
+     * @param length the length prefix, negative for {@code null}
+     * @return the string, or {@code null}
+     */
+    @Nullable
+    private static String getString(
+            final @NotNull ByteBuffer buffer,
+            final int length
+    ) {
+        if (length < 0) {
+            return null;
+        }
+
+        if (length > buffer.remaining()) {
+            throw new IllegalArgumentException("Truncated binary envelope");
+        }
+
+        final String value = new String(buffer.array(), buffer.position(), length, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+
+        return value;
+    }
+}
@@ -0,0 +1,42 @@
+package club.revived.duels.service.messaging.codec;
+
+import club.revived.duels.service.messaging.MessageEnvelope;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * EnvelopeCodec - wire format of the {@link MessageEnvelope}s exchanged between services.
+ * <p>
+ * Every service decodes every codec it knows, but only sends a codec to peers that advertised it in their
+ * heartbeat. JSON is the format every service understands and the fallback for peers that advertised nothing.
+ *
+ * @author yyuh - DL
+ * @since 1/8/26
+ */
+public interface EnvelopeCodec {
+
+    /**
+     * The name the codec is advertised under.
+     *
+     * @return the codec name
+     */
+    @NotNull
+    String name();
+
+    /**
+     * Encodes an envelope for publishing.
+     *
+     * @param envelope the envelope
+     * @return the encoded envelope
+     */
+    byte @NotNull [] encode(final @NotNull MessageEnvelope envelope);
+
+    /**
+     * Decodes a received envelope.
+     *
+     * @param bytes the encoded envelope
+     * @return the envelope
+     * @throws IllegalArgumentException if the bytes are not a valid envelope of this codec
+     */
+    @NotNull
+    MessageEnvelope decode(final byte @NotNull [] bytes);
+}
@@ -0,0 +1,27 @@
+package club.revived.duels.service.messaging.impl;
+
+import club.revived.duels.service.messaging.Message;
+import club.revived.duels.service.status.ServiceStatus;
+
+import java.util.Map;
+
+/**
+ * Periodic report of how many ready arenas a duel server has, sent to every queue service.
+ *
+ * @param serviceId   the id of the reporting duel server
+ * @param status      the server's current status
+ * @param freeArenas  ready, unused arenas per arena type
+ * @param kitArenas   the arena type each kit is played in, keyed by kit name
+ * @param timestamp   the time of the report in milliseconds since the epoch
+ *
+ * @author yyuh - DL
+ * @since 1/8/26
+ */
+public record ArenaCapacity(
+        String serviceId,
+        ServiceStatus status,
+        Map<String, Integer> freeArenas,
+        Map<String, String> kitArenas,
+        long timestamp
+) implements Message {
+}
@@ -0,0 +1,20 @@
+package club.revived.duels.service.messaging.impl;
+
+import club.revived.duels.service.messaging.Response;
+
+import java.util.UUID;
+
+/**
+ * A duel server's answer to a {@link MatchDispatch}.
+ *
+ * @param matchId  the id of the dispatched match
+ * @param accepted whether the duel server is starting the match
+ *
+ * @author yyuh - DL
+ * @since 1/8/26
+ */
+public record MatchDispatchAck(
+        UUID matchId,
+        boolean accepted
+) implements Response {
+}
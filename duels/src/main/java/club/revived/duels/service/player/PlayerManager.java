@@ -98,7 +98,7 @@ public final class PlayerManager {
           }
 
           player.sendRichMessage(message.message());
-        });
+        }, SendMessage::uuid);
 
     Cluster.getInstance().getMessagingService()
         .registerMessageHandler(BroadcastMessage.class, message -> {
@@ -118,7 +118,7 @@ public final class PlayerManager {
           }
 
           player.sendActionBar(ColorUtils.parse(sendActionbar.message()));
-        });
+        }, SendActionbar::uuid);
   }
 
   /**
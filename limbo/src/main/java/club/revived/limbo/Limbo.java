@@ -1,6 +1,8 @@
 package club.revived.limbo;
 
+import club.revived.limbo.service.broker.MessageBroker;
 import club.revived.limbo.service.broker.RedisBroker;
+import club.revived.limbo.service.broker.RedisStreamsBroker;
 import club.revived.limbo.service.cache.RedisCacheService;
 import club.revived.limbo.service.cluster.Cluster;
 import club.revived.limbo.service.cluster.ServiceType;
@@ -29,11 +31,12 @@ public final class Limbo extends LimboPlugin {
     /**
      * Marks the cluster as shutting down when the plugin is disabled.
      *
-     * <p>Sets Cluster.STATUS to ServiceStatus.SHUTTING_DOWN.</p>
+     * <p>Sets Cluster.STATUS to ServiceStatus.SHUTTING_DOWN and flushes the messages still queued in the broker.</p>
      */
     @Override
     public void onDisable() {
         Cluster.STATUS = ServiceStatus.SHUTTING_DOWN;
+        Cluster.getInstance().getBroker().close();
     }
 
     /**
@@ -48,10 +51,31 @@ public final class Limbo extends LimboPlugin {
         final int port = Integer.parseInt(System.getenv("REDIS_PORT"));
 
         new Cluster(
-                new RedisBroker(host, port, ""),
+                this.broker(host, port, hostName),
                 new RedisCacheService(host, port, ""),
                 ServiceType.LIMBO,
                 hostName
         );
     }
+
+    /**
+     * Creates the message broker selected by MESSAGE_BROKER: "streams" carries messages over Redis streams,
+     * read through a consumer group named after this service, anything else over Redis pub/sub.
+     *
+     * @param host     the Redis host
+     * @param port     the Redis port
+     * @param hostName the id of this service
+     * @return the message broker
+     */
+    private MessageBroker broker(
+            final String host,
+            final int port,
+            final String hostName
+    ) {
+        if ("streams".equalsIgnoreCase(System.getenv("MESSAGE_BROKER"))) {
+            return new RedisStreamsBroker(host, port, "", hostName);
+        }
+
+        return new RedisBroker(host, port, "");
+    }
 }
\ No newline at end of file
@@ -0,0 +1,294 @@
+package club.revived.limbo.service.broker;
+
+import org.jetbrains.annotations.NotNull;
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.Pipeline;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * PublishBatcher - gathers outbound publishes and sends them to Redis in pipelined batches.
+ * <p>
+ * Publishing only enqueues the message. One flusher thread takes the first queued message, gathers whatever
+ * else arrives within the batch window, up to the batch limit, and publishes the whole batch pipelined over a
+ * single pooled connection. Messages go out as PUBLISH commands unless the broker gives another command. Under
+ * load a batch fills without waiting, so a burst costs one connection borrow and one round trip instead of one
+ * per message; a lone message waits at most the window.
+ * <p>
+ * Messages are published in the order they were enqueued, so the order per channel is kept. If a batch fails
+ * its messages are dropped and counted as failed only, as a failed single publish was before.
+ * <p>
+ * Closing stops taking new messages, publishes what is still queued and waits a bounded time for the flusher
+ * to finish, so messages sent while a service shuts down still leave before the process exits.
+ *
+ * @author yyuh - DL
+ * @since 1/8/26
+ */
+public final class PublishBatcher {
+
+    public static final long DEFAULT_WINDOW_MICROS = 200;
+    public static final int DEFAULT_MAX_BATCH = 256;
+    public static final long DEFAULT_CLOSE_TIMEOUT_MILLIS = 2_000;
+
+    // Queued by close to wake the flusher, never published
+    private static final Outbound CLOSE = new Outbound(new byte[0], new byte[0]);
+
+    private final JedisPool jedisPool;
+    private final long windowNanos;
+    private final int maxBatch;
+    private final Command command;
+    private final BlockingQueue<Outbound> pending = new LinkedBlockingQueue<>();
+    private final Thread flusher;
+
+    private volatile boolean closed;
+
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder published = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder flushNanos = new LongAdder();
+
+    /**
+     * Creates a batcher sending messages as PUBLISH commands and starts its flusher thread.
+     *
+     * @param jedisPool    the pool batches are published over
+     * @param windowMicros how long a batch waits for more messages after its first one; 0 only takes what is queued
+     * @param maxBatch     the most messages published in one batch
+     */
+    public PublishBatcher(
+            final @NotNull JedisPool jedisPool,
+            final long windowMicros,
+            final int maxBatch
+    ) {
+        this(jedisPool, windowMicros, maxBatch, Pipeline::publish);
+    }
+
+    /**
+     * Creates the batcher and starts its flusher thread.
+     *
+     * @param jedisPool    the pool batches are published over
+     * @param windowMicros how long a batch waits for more messages after its first one; 0 only takes what is queued
+     * @param maxBatch     the most messages published in one batch
+     * @param command      appends the command sending one message to the pipeline of a batch
+     */
+    public PublishBatcher(
+            final @NotNull JedisPool jedisPool,
+            final long windowMicros,
+            final int maxBatch,
+            final @NotNull Command command
+    ) {
+        if (windowMicros < 0 || maxBatch <= 0) {
+            throw new IllegalArgumentException("Window must not be negative and batches must hold a message");
+        }
+
+        this.jedisPool = jedisPool;
+        this.windowNanos = TimeUnit.MICROSECONDS.toNanos(windowMicros);
+        this.maxBatch = maxBatch;
+        this.command = command;
+
+        this.flusher = Thread.ofPlatform()
+                .name("redis-publisher")
+                .daemon()
+                .start(this::run);
+    }
+
+    /**
+     * Queues a message for the next batch. Once the batcher is closed the message is dropped and counted as
+     * failed.
+     *
+     * @param channel the channel to publish to
+     * @param message the encoded message
+     */
+    public void publish(
+            final byte @NotNull [] channel,
+            final byte @NotNull [] message
+    ) {
+        if (this.closed) {
+            this.failed.increment();
+            return;
+        }
+
+        this.pending.add(new Outbound(channel, message));
+    }
+
+    /**
+     * Stops taking new messages, publishes the queued ones and waits for the flusher to finish. Whatever is
+     * still queued when the timeout passes is lost with the process.
+     *
+     * @param timeoutMillis how long to wait for the queued messages to be published
+     * @return whether every queued message was flushed in time
+     */
+    public boolean close(final long timeoutMillis) {
+        this.closed = true;
+        this.pending.add(CLOSE);
+
+        try {
+            this.flusher.join(timeoutMillis);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (this.flusher.isAlive()) {
+            System.err.printf("Publisher did not flush %d messages within %d ms%n", this.pending.size(), timeoutMillis);
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Flusher thread body: gathers a batch and publishes it, then waits for the next one. Returns once the
+     * batcher is closed and nothing is queued anymore.
+     */
+    private void run() {
+        final List<Outbound> batch = new ArrayList<>(this.maxBatch);
+
+        while (true) {
+            try {
+                this.gather(batch);
+            } catch (final InterruptedException e) {
+                return;
+            }
+
+            batch.removeIf(outbound -> outbound == CLOSE);
+
+            if (!batch.isEmpty()) {
+                this.flush(batch);
+                batch.clear();
+            }
+
+            if (this.closed && this.pending.isEmpty()) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Blocks for the first message, then adds messages until the batch is full or its window has passed.
+     *
+     * @param batch the empty batch to fill
+     * @throws InterruptedException if the flusher thread is interrupted
+     */
+    private void gather(final List<Outbound> batch) throws InterruptedException {
+        batch.add(this.pending.take());
+
+        final long deadline = System.nanoTime() + this.windowNanos;
+
+        while (batch.size() < this.maxBatch) {
+            this.pending.drainTo(batch, this.maxBatch - batch.size());
+
+            final long remaining = deadline - System.nanoTime();
+
+            if (batch.size() >= this.maxBatch || remaining <= 0) {
+                return;
+            }
+
+            final Outbound next = this.pending.poll(remaining, TimeUnit.NANOSECONDS);
+
+            if (next == null) {
+                return;
+            }
+
+            batch.add(next);
+        }
+    }
+
+    /**
+     * Publishes a batch pipelined over one connection.
+     *
+     * @param batch the messages in publish order
+     */
+    private void flush(final List<Outbound> batch) {
+        final long start = System.nanoTime();
+
+        try (final var jedis = this.jedisPool.getResource()) {
+            final Pipeline pipeline = jedis.pipelined();
+
+            for (final Outbound outbound : batch) {
+                this.command.append(pipeline, outbound.channel(), outbound.message());
+            }
+
+            pipeline.sync();
+
+            this.batches.increment();
+            this.published.add(batch.size());
+            this.flushNanos.add(System.nanoTime() - start);
+        } catch (final Exception e) {
+            this.failed.add(batch.size());
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Batches published since start, failed ones excluded.
+     *
+     * @return the batch count
+     */
+    public long getBatches() {
+        return this.batches.sum();
+    }
+
+    /**
+     * Messages published since start, failed ones excluded.
+     *
+     * @return the message count
+     */
+    public long getPublished() {
+        return this.published.sum();
+    }
+
+    /**
+     * Messages dropped since start because their batch failed.
+     *
+     * @return the failed message count
+     */
+    public long getFailed() {
+        return this.failed.sum();
+    }
+
+    /**
+     * Time spent flushing the batches that were published since start.
+     *
+     * @return the total flush time in nanoseconds
+     */
+    public long getFlushNanos() {
+        return this.flushNanos.sum();
+    }
+
+    /**
+     * Messages waiting for the next batch right now.
+     *
+     * @return the queued message count
+     */
+    public int getQueued() {
+        return this.pending.size();
+    }
+
+    /**
+     * The command a queued message is sent with.
+     */
+    @FunctionalInterface
+    public interface Command {
+
+        /**
+         * Appends the command sending one message to the pipeline of a batch.
+         *
+         * @param pipeline the pipeline of the batch
+         * @param channel  the channel or stream the message was published to
+         * @param message  the encoded message
+         */
+        void append(Pipeline pipeline, byte[] channel, byte[] message);
+    }
+
+    /**
+     * A queued publish.
+     *
+     * @param channel the channel to publish to
+     * @param message the encoded message
+     */
+    private record Outbound(byte[] channel, byte[] message) {}
+}
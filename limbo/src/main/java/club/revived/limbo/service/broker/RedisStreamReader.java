@@ -0,0 +1,636 @@
+package club.revived.limbo.service.broker;
+
+import org.jetbrains.annotations.NotNull;
+import redis.clients.jedis.DefaultJedisClientConfig;
+import redis.clients.jedis.HostAndPort;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisClientConfig;
+import redis.clients.jedis.Protocol;
+import redis.clients.jedis.exceptions.JedisDataException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * RedisStreamReader - reads every stream of the broker through one consumer group over one connection.
+ * <p>
+ * Each service reads through its own consumer group, so every service still sees every entry of a stream.
+ * Streams are read together with one blocking XREADGROUP per round on a connection opened outside of the
+ * {@code JedisPool}; a stream subscribed while a read is blocked joins the next round, at most one block
+ * interval later.
+ * <p>
+ * Handlers get each entry as a {@link Delivery} and settle it once they are done with it, possibly on another
+ * thread. An entry only leaves the pending list of the group once every handler acknowledged it; the reader
+ * sends the acknowledgements at the start of the next round. A handler that has no room for an entry rejects
+ * it: the entry stays pending, and after a short pause the reader reads the pending entries back before any
+ * new ones, so a saturated service stops taking new entries until its handlers catch up. A handler that
+ * throws acknowledges its entry, so a message it cannot take is not delivered again forever.
+ * <p>
+ * Whenever the connection is (re)opened, the entries that were delivered to this consumer but never
+ * acknowledged, because the service crashed or the connection dropped, are read back and handled again
+ * before new entries, except those still being handled. Delivery is therefore at least once, and handlers
+ * must tolerate duplicates. Entries that were trimmed from the stream while pending are acknowledged without
+ * being handled.
+ * <p>
+ * The consumer group has to keep its name across restarts for any of this to work. A service that comes back
+ * under another name leaves its old group behind, so the reader destroys the groups of its streams whose
+ * consumers have all been idle for longer than {@link #STALE_GROUP_MILLIS}, together with their pending
+ * entries, which no live service reads anymore.
+ *
+ * @author yyuh - DL
+ * @since 1/8/26
+ */
+public final class RedisStreamReader {
+
+    static final byte[] FIELD = bytes("m");
+
+    private static final int CONNECT_TIMEOUT_MILLIS = 2_000;
+    private static final int SOCKET_TIMEOUT_MILLIS = 5_000;
+    private static final int BLOCK_MILLIS = 500;
+    private static final int READ_COUNT = 256;
+    private static final long MIN_BACKOFF_MILLIS = 100;
+    private static final long MAX_BACKOFF_MILLIS = 30_000;
+    private static final long RETRY_PAUSE_MILLIS = 50;
+    private static final long STALE_GROUP_MILLIS = TimeUnit.HOURS.toMillis(1);
+    private static final long SWEEP_INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(10);
+
+    private static final String NEW_ENTRIES = ">";
+    private static final String FIRST_PENDING = "0";
+
+    private final HostAndPort address;
+    private final JedisClientConfig config;
+    private final byte[] group;
+    private final byte[] consumer;
+    private final Map<String, List<MessageHandler<Delivery>>> handlers = new ConcurrentHashMap<>();
+
+    // Only touched by the reader thread
+    private final Set<String> joined = new HashSet<>();
+    private final Map<String, String> recovering = new HashMap<>();
+    private final Set<EntryId> inFlight = new HashSet<>();
+    private long nextSweep;
+
+    // Filled by handlers on any thread, drained by the reader thread
+    private final Queue<PendingEntry> settled = new ConcurrentLinkedQueue<>();
+
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder redelivered = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * Creates the reader and starts its thread. The connection is opened once the first stream is subscribed.
+     *
+     * @param host          the Redis server hostname or IP address
+     * @param port          the Redis server port
+     * @param password      the Redis authentication password; empty string if no password is required
+     * @param consumerGroup the consumer group of this service, which is also its consumer name in the group
+     */
+    public RedisStreamReader(
+            final @NotNull String host,
+            final int port,
+            final @NotNull String password,
+            final @NotNull String consumerGroup
+    ) {
+        this.address = new HostAndPort(host, port);
+        this.config = DefaultJedisClientConfig.builder()
+                .connectionTimeoutMillis(CONNECT_TIMEOUT_MILLIS)
+                .socketTimeoutMillis(SOCKET_TIMEOUT_MILLIS)
+                .password(password.isEmpty() ? null : password)
+                .build();
+        this.group = bytes(consumerGroup);
+        this.consumer = bytes(consumerGroup);
+
+        Thread.ofPlatform()
+                .name("redis-stream-reader")
+                .daemon()
+                .start(this::run);
+    }
+
+    /**
+     * Adds a handler to a stream, which is read from the next round on. Each entry is acknowledged once the
+     * handler returns.
+     *
+     * @param stream  the Redis stream
+     * @param handler the handler invoked with each entry read from the stream
+     */
+    public void subscribe(
+            final @NotNull String stream,
+            final @NotNull MessageHandler<byte[]> handler
+    ) {
+        this.subscribeDeliveries(stream, delivery -> {
+            handler.handle(delivery.message());
+            delivery.ack();
+        });
+    }
+
+    /**
+     * Adds a handler to a stream that settles each entry itself, which is read from the next round on.
+     *
+     * @param stream  the Redis stream
+     * @param handler the handler invoked with each entry read from the stream
+     */
+    public synchronized void subscribeDeliveries(
+            final @NotNull String stream,
+            final @NotNull MessageHandler<Delivery> handler
+    ) {
+        this.handlers.computeIfAbsent(stream, _ -> new CopyOnWriteArrayList<>()).add(handler);
+
+        // Wakes the reader thread if this is the first stream at all
+        this.notifyAll();
+    }
+
+    /**
+     * Removes every handler of a stream, which is no longer read from the next round on. The consumer group
+     * stays, so subscribing the stream again resumes after the last entry this service read.
+     *
+     * @param stream the Redis stream
+     */
+    public synchronized void unsubscribe(final @NotNull String stream) {
+        this.handlers.remove(stream);
+    }
+
+    /**
+     * Entries handed to handlers since start, redelivered ones included.
+     *
+     * @return the delivered entry count
+     */
+    public long getDelivered() {
+        return this.delivered.sum();
+    }
+
+    /**
+     * Pending entries read back and handled again after a crash or reconnect since start.
+     *
+     * @return the redelivered entry count
+     */
+    public long getRedelivered() {
+        return this.redelivered.sum();
+    }
+
+    /**
+     * Entries a handler had no room for and that were left pending to be read back since start.
+     *
+     * @return the rejected entry count
+     */
+    public long getRejected() {
+        return this.rejected.sum();
+    }
+
+    /**
+     * Reader thread body: opens the connection, reads rounds on it until it drops and reopens it with backoff.
+     */
+    private void run() {
+        long backoff = MIN_BACKOFF_MILLIS;
+
+        while (true) {
+            synchronized (this) {
+                while (this.handlers.isEmpty()) {
+                    try {
+                        this.wait();
+                    } catch (final InterruptedException e) {
+                        return;
+                    }
+                }
+            }
+
+            // A new connection starts over with the pending entries of every stream
+            this.joined.clear();
+            this.recovering.clear();
+            this.nextSweep = 0;
+
+            try (final var jedis = new Jedis(this.address, this.config)) {
+                while (!this.handlers.isEmpty()) {
+                    this.round(jedis);
+                    backoff = MIN_BACKOFF_MILLIS;
+                }
+
+                continue;
+            } catch (final Exception e) {
+                System.err.println("Redis stream read failed, reconnecting in " + backoff + "ms: " + e.getMessage());
+            }
+
+            try {
+                Thread.sleep(backoff + ThreadLocalRandom.current().nextLong(backoff / 2 + 1));
+            } catch (final InterruptedException e) {
+                return;
+            }
+
+            backoff = Math.min(backoff * 2, MAX_BACKOFF_MILLIS);
+        }
+    }
+
+    /**
+     * Reads one round: sends the acknowledgements of the entries handled since the last round, then reads the
+     * next page of pending entries while any stream is recovering, new entries otherwise.
+     *
+     * @param jedis the reader connection
+     */
+    private void round(final Jedis jedis) {
+        final Set<String> retry = this.settle(jedis);
+
+        if (!retry.isEmpty()) {
+            // Gives the handlers time to make room before their rejected entries are read back
+            retry.forEach(stream -> this.recovering.put(stream, FIRST_PENDING));
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(RETRY_PAUSE_MILLIS));
+        }
+
+        final Set<String> streams = Set.copyOf(this.handlers.keySet());
+
+        this.joined.retainAll(streams);
+        this.recovering.keySet().retainAll(streams);
+
+        for (final String stream : streams) {
+            if (this.joined.add(stream)) {
+                this.createGroup(jedis, stream);
+                this.recovering.put(stream, FIRST_PENDING);
+            }
+        }
+
+        final long now = System.currentTimeMillis();
+
+        if (now >= this.nextSweep) {
+            streams.forEach(stream -> this.destroyStaleGroups(jedis, stream));
+            this.nextSweep = now + SWEEP_INTERVAL_MILLIS;
+        }
+
+        if (!this.recovering.isEmpty()) {
+            final Map<String, String> page = Map.copyOf(this.recovering);
+            // A stream is recovered once reading its pending entries returns none
+            this.recovering.keySet().retainAll(this.read(jedis, page, false));
+            return;
+        }
+
+        final Map<String, String> next = new HashMap<>();
+        streams.forEach(stream -> next.put(stream, NEW_ENTRIES));
+
+        this.read(jedis, next, true);
+    }
+
+    /**
+     * Acknowledges the entries every handler acknowledged since the last round. Entries a handler rejected are
+     * left pending; on failure everything is settled again on the next connection.
+     *
+     * @param jedis the reader connection
+     * @return the streams with rejected entries to read back
+     */
+    private Set<String> settle(final Jedis jedis) {
+        final List<PendingEntry> batch = new ArrayList<>();
+        final Map<String, List<byte[]>> acks = new HashMap<>();
+        final Set<String> retry = new HashSet<>();
+
+        PendingEntry next;
+
+        while ((next = this.settled.poll()) != null) {
+            batch.add(next);
+
+            if (next.rejected) {
+                retry.add(next.id.stream());
+            } else {
+                acks.computeIfAbsent(next.id.stream(), _ -> new ArrayList<>()).add(bytes(next.id.id()));
+            }
+        }
+
+        try {
+            acks.forEach((stream, ids) -> jedis.xack(bytes(stream), this.group, ids.toArray(byte[][]::new)));
+        } catch (final RuntimeException e) {
+            this.settled.addAll(batch);
+            throw e;
+        }
+
+        for (final PendingEntry entry : batch) {
+            this.inFlight.remove(entry.id);
+
+            if (entry.rejected) {
+                this.rejected.increment();
+            }
+        }
+
+        return retry;
+    }
+
+    /**
+     * Creates the consumer group of this service on a stream, creating the stream too if it does not exist.
+     * A new group starts at the end of the stream.
+     *
+     * @param jedis  the reader connection
+     * @param stream the Redis stream
+     */
+    private void createGroup(
+            final Jedis jedis,
+            final String stream
+    ) {
+        try {
+            jedis.xgroupCreate(bytes(stream), this.group, bytes("$"), true);
+        } catch (final JedisDataException e) {
+            if (e.getMessage() == null || !e.getMessage().startsWith("BUSYGROUP")) {
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Destroys the consumer groups of other services on a stream whose consumers have all been idle for longer
+     * than {@link #STALE_GROUP_MILLIS}. A live service reads every block interval, so only groups left behind
+     * by services that are gone get that idle. Groups without consumers hold no pending entries and are kept.
+     *
+     * @param jedis  the reader connection
+     * @param stream the Redis stream
+     */
+    private void destroyStaleGroups(
+            final Jedis jedis,
+            final String stream
+    ) {
+        final byte[] key = bytes(stream);
+
+        try {
+            for (final Object reply : (List<?>) jedis.sendCommand(Protocol.Command.XINFO, bytes("GROUPS"), key)) {
+                final Map<String, Object> info = fields(reply);
+                final byte[] name = (byte[]) info.get("name");
+
+                if (Arrays.equals(name, this.group) || (Long) info.get("consumers") == 0) {
+                    continue;
+                }
+
+                long idle = Long.MAX_VALUE;
+
+                for (final Object consumer : (List<?>) jedis.sendCommand(
+                        Protocol.Command.XINFO,
+                        bytes("CONSUMERS"),
+                        key,
+                        name
+                )) {
+                    idle = Math.min(idle, (Long) fields(consumer).get("idle"));
+                }
+
+                if (idle > STALE_GROUP_MILLIS) {
+                    jedis.xgroupDestroy(key, name);
+                    System.err.printf(
+                            "Destroyed stale consumer group %s of %s with %d pending entries%n",
+                            new String(name, StandardCharsets.UTF_8),
+                            stream,
+                            (Long) info.get("pending")
+                    );
+                }
+            }
+        } catch (final JedisDataException e) {
+            System.err.println("Could not clean up the consumer groups of " + stream + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Reads entries of the given streams and hands them to the handlers, which settle them later.
+     *
+     * @param jedis   the reader connection
+     * @param streams the id to read after, by stream
+     * @param block   whether to wait up to one block interval for entries
+     * @return the streams that returned entries
+     */
+    private Set<String> read(
+            final Jedis jedis,
+            final Map<String, String> streams,
+            final boolean block
+    ) {
+        final List<byte[]> args = new ArrayList<>(8 + streams.size() * 2);
+        args.add(bytes("GROUP"));
+        args.add(this.group);
+        args.add(this.consumer);
+        args.add(bytes("COUNT"));
+        args.add(bytes(Integer.toString(READ_COUNT)));
+
+        if (block) {
+            args.add(bytes("BLOCK"));
+            args.add(bytes(Integer.toString(BLOCK_MILLIS)));
+        }
+
+        args.add(bytes("STREAMS"));
+        streams.keySet().forEach(stream -> args.add(bytes(stream)));
+        streams.values().forEach(id -> args.add(bytes(id)));
+
+        final Object reply = jedis.sendCommand(Protocol.Command.XREADGROUP, args.toArray(byte[][]::new));
+        final Set<String> returned = new HashSet<>();
+
+        if (!(reply instanceof final List<?> streamReplies)) {
+            // The block interval passed without new entries
+            return returned;
+        }
+
+        for (final Object streamReply : streamReplies) {
+            final List<?> parts = (List<?>) streamReply;
+            final byte[] stream = (byte[]) parts.get(0);
+            final List<?> entries = (List<?>) parts.get(1);
+
+            if (entries.isEmpty()) {
+                continue;
+            }
+
+            final String name = new String(stream, StandardCharsets.UTF_8);
+            String last = null;
+
+            for (final Object item : entries) {
+                final List<?> entry = (List<?>) item;
+                last = new String((byte[]) entry.get(0), StandardCharsets.UTF_8);
+
+                if (this.dispatch(new EntryId(name, last), (List<?>) entry.get(1)) && !block) {
+                    this.redelivered.increment();
+                }
+            }
+
+            if (!block) {
+                this.recovering.put(name, last);
+            }
+
+            returned.add(name);
+        }
+
+        return returned;
+    }
+
+    /**
+     * Hands the message of an entry to the handlers of its stream. An entry without a message or handlers is
+     * acknowledged right away, one that was read back while its handlers still run is skipped.
+     *
+     * @param id     the entry
+     * @param fields the field-value pairs of the entry, or {@code null} if it was trimmed while pending
+     * @return whether the entry was handed to handlers
+     */
+    private boolean dispatch(
+            final EntryId id,
+            final List<?> fields
+    ) {
+        if (!this.inFlight.add(id)) {
+            return false;
+        }
+
+        final List<MessageHandler<Delivery>> streamHandlers = this.handlers.get(id.stream());
+        final byte[] message = fields == null ? null : message(fields);
+
+        if (message == null || streamHandlers == null || streamHandlers.isEmpty()) {
+            this.settled.add(new PendingEntry(id, 0));
+            return false;
+        }
+
+        final List<MessageHandler<Delivery>> snapshot = List.copyOf(streamHandlers);
+        final PendingEntry entry = new PendingEntry(id, snapshot.size());
+        this.delivered.increment();
+
+        for (final MessageHandler<Delivery> handler : snapshot) {
+            final StreamDelivery delivery = new StreamDelivery(message, entry);
+
+            try {
+                handler.handle(delivery);
+            } catch (final Exception e) {
+                delivery.ack();
+                e.printStackTrace();
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Finds the message among the field-value pairs of an entry.
+     *
+     * @param fields the field-value pairs of the entry
+     * @return the message, or {@code null} if the entry has none
+     */
+    private static byte[] message(final List<?> fields) {
+        for (int i = 0; i + 1 < fields.size(); i += 2) {
+            if (Arrays.equals((byte[]) fields.get(i), FIELD)) {
+                return (byte[]) fields.get(i + 1);
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Reads the field-value pairs of an XINFO reply.
+     *
+     * @param reply the flat list of field names and values
+     * @return the values by field name
+     */
+    private static Map<String, Object> fields(final Object reply) {
+        final List<?> pairs = (List<?>) reply;
+        final Map<String, Object> fields = new HashMap<>();
+
+        for (int i = 0; i + 1 < pairs.size(); i += 2) {
+            fields.put(new String((byte[]) pairs.get(i), StandardCharsets.UTF_8), pairs.get(i + 1));
+        }
+
+        return fields;
+    }
+
+    /**
+     * Encodes a stream name, id or keyword the way Redis receives it.
+     *
+     * @param value the string
+     * @return the UTF-8 bytes of the string
+     */
+    private static byte[] bytes(final String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * An entry of a stream.
+     *
+     * @param stream the stream
+     * @param id     the entry id
+     */
+    private record EntryId(String stream, String id) {}
+
+    /**
+     * An entry handed to handlers, queued for the reader thread once the last of them settled it.
+     */
+    private final class PendingEntry {
+
+        private final EntryId id;
+        private final AtomicInteger unsettled;
+        private volatile boolean rejected;
+
+        /**
+         * Creates an entry no handler settled yet.
+         *
+         * @param id       the entry
+         * @param handlers the number of handlers that settle it
+         */
+        private PendingEntry(
+                final EntryId id,
+                final int handlers
+        ) {
+            this.id = id;
+            this.unsettled = new AtomicInteger(handlers);
+        }
+
+        /**
+         * Settles the entry for one handler; the entry stays pending if any handler rejected it.
+         *
+         * @param acknowledged whether the handler acknowledged the entry
+         */
+        private void settle(final boolean acknowledged) {
+            if (!acknowledged) {
+                this.rejected = true;
+            }
+
+            if (this.unsettled.decrementAndGet() == 0) {
+                settled.add(this);
+            }
+        }
+    }
+
+    /**
+     * The delivery of an entry to one handler.
+     */
+    private static final class StreamDelivery implements Delivery {
+
+        private final byte[] message;
+        private final PendingEntry entry;
+        private final AtomicBoolean settled = new AtomicBoolean();
+
+        private StreamDelivery(
+                final byte[] message,
+                final PendingEntry entry
+        ) {
+            this.message = message;
+            this.entry = entry;
+        }
+
+        @Override
+        public byte @NotNull [] message() {
+            return this.message;
+        }
+
+        @Override
+        public void ack() {
+            if (this.settled.compareAndSet(false, true)) {
+                this.entry.settle(true);
+            }
+        }
+
+        @Override
+        public void reject() {
+            if (this.settled.compareAndSet(false, true)) {
+                this.entry.settle(false);
+            }
+        }
+
+        @Override
+        public boolean redeliverable() {
+            return true;
+        }
+    }
+}
@@ -12,5 +12,6 @@ public enum ServiceType {
     DUEL,
     LIMBO,
     PROXY,
+    QUEUE,
     UNASSIGNED
 }
@@ -5,11 +5,13 @@ import club.revived.limbo.service.broker.MessageHandler;
 import club.revived.limbo.service.cluster.Cluster;
 import club.revived.limbo.service.cluster.ClusterService;
 import club.revived.limbo.service.cluster.OnlinePlayer;
+import club.revived.limbo.service.messaging.MessagingService;
 import club.revived.limbo.service.player.PlayerManager;
 import com.loohp.limbo.Limbo;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
@@ -75,7 +77,9 @@ public final class HeartbeatService implements MessageHandler<Heartbeat> {
                                     ""
                             ))
                             .toList(),
-                    cluster.getIp()
+                    cluster.getIp(),
+                    MessagingService.CODECS,
+                    cluster.getMessagingService().getHandledRequests()
             ));
 
             for (final String server : lastSeen.keySet()) {
@@ -105,7 +109,9 @@ public final class HeartbeatService implements MessageHandler<Heartbeat> {
                 message.serverIp(),
                 message.serviceType(),
                 message.onlinePlayers(),
-                message.timestamp()
+                message.timestamp(),
+                message.codecs() == null ? List.of() : message.codecs(),
+                message.requests()
         );
 
         this.lastSeen.put(
@@ -0,0 +1,17 @@
+package club.revived.limbo.service.messaging;
+
+/**
+ * The answer to a request a service dropped without handling it, so the sender fails right away instead of
+ * waiting for its timeout.
+ *
+ * @param payloadType the type of the rejected request
+ * @param reason      why it was not handled
+ *
+ * @author yyuh - DL
+ * @since 1/8/26
+ */
+public record RequestRejected(
+        String payloadType,
+        String reason
+) implements Response {
+}
@@ -97,7 +97,7 @@ public final class PlayerManager {
                     }
 
                     player.sendMessage(ColorUtils.parse(message.message()));
-                });
+                }, SendMessage::uuid);
 
         Cluster.getInstance().getMessagingService()
                 .registerMessageHandler(SendActionbar.class, sendActionbar -> {
@@ -110,7 +110,7 @@ public final class PlayerManager {
                     }
 
                     player.sendActionBar(ColorUtils.parse(sendActionbar.message()));
-                });
+                }, SendActionbar::uuid);
     }
 
     /**
@@ -9,6 +9,7 @@ import club.revived.lobby.game.billboard.listener.BillboardListener;
 import club.revived.lobby.game.billboard.listener.BillboardPacketListener;
 import club.revived.lobby.game.command.*;
 import club.revived.lobby.game.duel.DuelManager;
+import club.revived.lobby.game.duel.QueueReplica;
 import club.revived.lobby.game.item.ExecutableItemRegistry;
 import club.revived.lobby.game.item.impl.LobbySelectorItem;
 import club.revived.lobby.game.item.impl.MatchBrowserItem;
@@ -18,7 +19,9 @@ import club.revived.lobby.game.listener.PlayerChatListener;
 import club.revived.lobby.game.listener.PlayerListener;
 import club.revived.lobby.game.listener.SpawnListener;
 import club.revived.lobby.game.player.PlayerProfileManager;
+import club.revived.lobby.service.broker.MessageBroker;
 import club.revived.lobby.service.broker.RedisBroker;
+import club.revived.lobby.service.broker.RedisStreamsBroker;
 import club.revived.lobby.service.cache.RedisCacheService;
 import club.revived.lobby.service.cluster.Cluster;
 import club.revived.lobby.service.cluster.ClusterService;
@@ -85,6 +88,7 @@ public final class Lobby extends JavaPlugin {
 
     new PlayerManager();
     new DuelManager();
+    new QueueReplica();
 
     this.setupCommands();
     this.registerListeners();
@@ -102,7 +106,8 @@ public final class Lobby extends JavaPlugin {
    * Perform shutdown tasks for the plugin.
    * <p>
    * Updates the cluster status to ServiceStatus.SHUTTING_DOWN so other services
-   * are informed that this plugin is stopping.
+   * are informed that this plugin is stopping, then flushes the messages still
+   * queued in the broker.
    */
   @Override
   public void onDisable() {
@@ -120,6 +125,8 @@ public final class Lobby extends JavaPlugin {
 
       networkPlayer.connect(limboServers.getFirst());
     }
+
+    Cluster.getInstance().getBroker().close();
   }
 
   /**
@@ -217,12 +224,29 @@ public final class Lobby extends JavaPlugin {
     final int port = Integer.parseInt(System.getenv("REDIS_PORT"));
 
     new Cluster(
-        new RedisBroker(host, port, ""),
+        this.broker(host, port, hostName),
         new RedisCacheService(host, port, ""),
         ServiceType.LOBBY,
         hostName);
   }
 
+  /**
+   * Creates the message broker selected by MESSAGE_BROKER: "streams" carries messages over Redis streams,
+   * read through a consumer group named after this service, anything else over Redis pub/sub.
+   *
+   * @param host     the Redis host
+   * @param port     the Redis port
+   * @param hostName the id of this service
+   * @return the message broker
+   */
+  private MessageBroker broker(final String host, final int port, final String hostName) {
+    if ("streams".equalsIgnoreCase(System.getenv("MESSAGE_BROKER"))) {
+      return new RedisStreamsBroker(host, port, "", hostName);
+    }
+
+    return new RedisBroker(host, port, "");
+  }
+
   /**
    * Accesses the singleton Lobby instance.
    *
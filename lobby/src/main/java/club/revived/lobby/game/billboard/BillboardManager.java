@@ -4,10 +4,8 @@ import club.revived.commons.inventories.util.ColorUtils;
 import club.revived.lobby.database.DatabaseManager;
 import club.revived.lobby.game.duel.DuelManager;
 import club.revived.lobby.game.duel.KitType;
+import club.revived.lobby.game.duel.QueueRouter;
 import club.revived.lobby.game.duel.QueueType;
-import club.revived.lobby.service.cluster.Cluster;
-import club.revived.lobby.service.messaging.impl.IsQueuedRequest;
-import club.revived.lobby.service.messaging.impl.IsQueuedResponse;
 import club.revived.lobby.service.player.PlayerManager;
 import com.github.retrooper.packetevents.protocol.entity.type.EntityTypes;
 import com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerEntityMetadata;
@@ -80,12 +78,8 @@ public final class BillboardManager {
                             QueueType.SOLO
                     );
 
-                    Cluster.getInstance().getMessagingService().sendRequest(
-                            "queue-service",
-                            new IsQueuedRequest(player.getUniqueId()),
-                            IsQueuedResponse.class
-                    ).thenAccept(isQueuedResponse -> {
-                        if (isQueuedResponse.queued()) {
+                    QueueRouter.isQueued(player.getUniqueId()).thenAccept(queued -> {
+                        if (queued) {
                             meta.setText(ColorUtils.parse("<green>Queueing...</green>"));
                         } else {
                             meta.setText(ColorUtils.parse("<green>Click Me</green>"));
@@ -3,9 +3,7 @@ package club.revived.lobby.game.billboard;
 import club.revived.commons.inventories.util.ColorUtils;
 import club.revived.lobby.Lobby;
 import club.revived.lobby.game.duel.KitType;
-import club.revived.lobby.service.cluster.Cluster;
-import club.revived.lobby.service.messaging.impl.IsQueuedRequest;
-import club.revived.lobby.service.messaging.impl.IsQueuedResponse;
+import club.revived.lobby.game.duel.QueueRouter;
 import com.github.retrooper.packetevents.protocol.entity.type.EntityTypes;
 import com.github.retrooper.packetevents.util.Vector3d;
 import com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerEntityMetadata;
@@ -200,12 +198,8 @@ public final class ClickableBillboard {
 
         meta.setNotifyAboutChanges(false);
 
-        Cluster.getInstance().getMessagingService().sendRequest(
-                "queue-service",
-                new IsQueuedRequest(player.getUniqueId()),
-                IsQueuedResponse.class
-        ).thenAccept(isQueuedResponse -> {
-            if (isQueuedResponse.queued()) {
+        QueueRouter.isQueued(player.getUniqueId()).thenAccept(queued -> {
+            if (queued) {
                 meta.setText(ColorUtils.parse("<green>Queueing...</green>"));
             } else {
                 meta.setText(ColorUtils.parse("<green>Click Me</green>"));
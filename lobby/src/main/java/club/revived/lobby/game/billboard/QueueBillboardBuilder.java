@@ -1,12 +1,11 @@
 package club.revived.lobby.game.billboard;
 
+import club.revived.commons.generic.ElapsedTimeFormatter;
 import club.revived.commons.inventories.util.ColorUtils;
 import club.revived.lobby.Lobby;
 import club.revived.lobby.game.duel.KitType;
+import club.revived.lobby.game.duel.QueueReplica;
 import club.revived.lobby.game.duel.QueueType;
-import club.revived.lobby.service.cluster.Cluster;
-import club.revived.lobby.service.messaging.impl.QueuedAmountRequest;
-import club.revived.lobby.service.messaging.impl.QueuedAmountResponse;
 import com.github.retrooper.packetevents.protocol.entity.type.EntityTypes;
 import io.github.retrooper.packetevents.util.SpigotConversionUtil;
 import me.tofaa.entitylib.meta.display.AbstractDisplayMeta;
@@ -109,31 +108,26 @@ public final class QueueBillboardBuilder {
     /**
      * Periodically updates the given billboard's displayed text to show the current solo queue count for this builder's KitType.
      * <p>
-     * The task runs every 20 ticks and replaces the billboard's text with a formatted string containing the kit name and current queued players.
+     * The task runs every 20 ticks and replaces the billboard's text with a formatted string containing the kit name, current queued players
+     * and the expected wait, both read from the {@link QueueReplica} the queue services keep up to date.
      *
      * @param billboard the wrapper entity whose TextDisplayMeta will be updated on each interval
      */
     private void queueUpdateTask(final WrapperEntity billboard) {
         Bukkit.getScheduler().runTaskTimer(Lobby.getInstance(), () -> {
-            Cluster.getInstance().getMessagingService()
-                    .sendRequest(
-                            "queue-service",
-                            new QueuedAmountRequest(kitType, QueueType.SOLO),
-                            QueuedAmountResponse.class
-                    )
-                    .thenAccept(queuedAmountResponse -> {
-                        final TextDisplayMeta textMeta = (TextDisplayMeta) billboard.getEntityMeta();
-
-                        textMeta.setText(ColorUtils.parse("""
-                                <#3B82F6><bold><type> Queue<reset>
-                                <gray><queue>/2
-                                
-                                """
-                                .replace("<type>", this.kitType.getBeautifiedName())
-                                .replace("<queue>", String.valueOf(queuedAmountResponse.amount()))
-                        ));
-                    });
-
+            final TextDisplayMeta textMeta = (TextDisplayMeta) billboard.getEntityMeta();
+            final long wait = QueueReplica.getInstance().estimatedWait(this.kitType, QueueType.SOLO);
+
+            textMeta.setText(ColorUtils.parse("""
+                    <#3B82F6><bold><type> Queue<reset>
+                    <gray><queue>/2
+                    <dark_gray>Est. wait: <wait>
+                    
+                    """
+                    .replace("<type>", this.kitType.getBeautifiedName())
+                    .replace("<queue>", String.valueOf(QueueReplica.getInstance().queued(this.kitType, QueueType.SOLO)))
+                    .replace("<wait>", wait < 0 ? "-" : ElapsedTimeFormatter.formatMillis(wait))
+            ));
         }, 0, 20L);
     }
 
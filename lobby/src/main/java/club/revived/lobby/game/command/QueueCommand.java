@@ -5,6 +5,11 @@ import club.revived.lobby.game.duel.KitType;
 import club.revived.lobby.game.duel.QueueType;
 import club.revived.lobby.service.player.PlayerManager;
 import dev.jorel.commandapi.CommandTree;
+import dev.jorel.commandapi.arguments.GreedyStringArgument;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 /**
  * QueueCommand
@@ -15,8 +20,8 @@ import dev.jorel.commandapi.CommandTree;
 public final class QueueCommand {
 
     /**
-     * Registers the "queue" command (alias "revived") and sets its player execution handler to enqueue
-     * the invoking player for a solo Sword kit match.
+     * Registers the "queue" command (alias "revived"). Without arguments it enqueues the invoking player for
+     * a solo Sword kit match; with a space separated list of kits it queues them for all of those kits at once.
      */
     public QueueCommand() {
         new CommandTree("queue")
@@ -29,6 +34,43 @@ public final class QueueCommand {
                             QueueType.SOLO
                     );
 
-                })).register("revived");
+                }))
+                .then(new GreedyStringArgument("kits")
+                        .replaceSuggestions((info, builder) -> {
+                            final String remaining = builder.getRemaining();
+                            final String prefix = remaining.substring(0, remaining.lastIndexOf(' ') + 1);
+
+                            for (final String kit : KitType.toStringArray()) {
+                                builder.suggest(prefix + kit);
+                            }
+
+                            return builder.buildFuture();
+                        })
+                        .executesPlayer((sender, args) -> {
+                            final List<KitType> kits = new ArrayList<>();
+
+                            for (final String name : ((String) args.get("kits")).trim().split("\\s+")) {
+                                final KitType kit = Arrays.stream(KitType.values())
+                                        .filter(type -> type.name().equalsIgnoreCase(name))
+                                        .findFirst()
+                                        .orElse(null);
+
+                                if (kit == null) {
+                                    sender.sendRichMessage("<red>Unknown kit " + name);
+                                    return;
+                                }
+
+                                if (!kits.contains(kit)) {
+                                    kits.add(kit);
+                                }
+                            }
+
+                            DuelManager.getInstance().queue(
+                                    PlayerManager.getInstance().fromBukkitPlayer(sender),
+                                    kits,
+                                    QueueType.SOLO
+                            );
+                        }))
+                .register("revived");
     }
-}
\ No newline at end of file
+}
@@ -1,5 +1,6 @@
 package club.revived.lobby.game.duel;
 
+import club.revived.lobby.game.parties.Party;
 import club.revived.lobby.service.cluster.Cluster;
 import club.revived.lobby.service.cluster.ServiceType;
 import club.revived.lobby.service.exception.ServiceUnavailableException;
@@ -17,7 +18,9 @@ import club.revived.lobby.service.status.StatusRequest;
 import club.revived.lobby.service.status.StatusResponse;
 
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 /**
@@ -29,6 +32,11 @@ import java.util.UUID;
  */
 public final class DuelManager {
 
+  /**
+   * Rating sent with queue requests until per-kit ratings are tracked.
+   */
+  private static final int DEFAULT_RATING = 1000;
+
   private static DuelManager instance;
 
   /**
@@ -170,7 +178,7 @@ public final class DuelManager {
 
   /**
    * Adds the given player to the matchmaking queue for the specified kit and
-   * queue type.
+   * queue type on the queue service that owns the kit.
    *
    * @param networkPlayer the player to add to the queue
    * @param kitType       the kit type to queue for
@@ -180,12 +188,63 @@ public final class DuelManager {
       final NetworkPlayer networkPlayer,
       final KitType kitType,
       final QueueType queueType) {
+    this.queue(networkPlayer, List.of(kitType), queueType);
+  }
+
+  /**
+   * Adds the given player to the matchmaking queue for several kits at once.
+   * The player waits for all of them until the first one finds a match,
+   * which takes them out of the others. The request is routed by the first
+   * kit; kits that another queue service is responsible for are skipped.
+   *
+   * @param networkPlayer the player to add to the queue
+   * @param kitTypes      the kit types to queue for, the primary kit first
+   * @param queueType     the queue category to join
+   */
+  public void queue(
+      final NetworkPlayer networkPlayer,
+      final List<KitType> kitTypes,
+      final QueueType queueType) {
+    final KitType kitType = kitTypes.getFirst();
+
     Cluster.getInstance().getMessagingService().sendMessage(
-        "queue-service",
+        QueueRouter.ownerOf(kitType),
         new AddToQueue(
             networkPlayer.getUuid(),
+            List.of(networkPlayer.getUuid()),
+            queueType,
+            kitType,
+            List.copyOf(kitTypes),
+            DEFAULT_RATING));
+  }
+
+  /**
+   * Adds a whole party to the matchmaking queue as one group entry, so all
+   * of its members end up in the same team. Sending it again while the party
+   * is queued takes it out of the queue.
+   *
+   * @param party     the party to queue, its owner leading the entry
+   * @param kitType   the kit type to queue for
+   * @param queueType the queue category to join; the party has to fit into
+   *                  one of its teams
+   */
+  public void queue(
+      final Party party,
+      final KitType kitType,
+      final QueueType queueType) {
+    final Set<UUID> members = new LinkedHashSet<>();
+    members.add(party.getOwner());
+    members.addAll(party.getMembers());
+
+    Cluster.getInstance().getMessagingService().sendMessage(
+        QueueRouter.ownerOf(kitType),
+        new AddToQueue(
+            party.getOwner(),
+            List.copyOf(members),
             queueType,
-            kitType));
+            kitType,
+            List.of(kitType),
+            DEFAULT_RATING));
   }
 
   /**
@@ -0,0 +1,249 @@
+package club.revived.lobby.game.duel;
+
+import club.revived.lobby.service.broker.MessageHandler;
+import club.revived.lobby.service.cluster.Cluster;
+import club.revived.lobby.service.messaging.impl.QueueState;
+import club.revived.lobby.service.messaging.impl.QueueStateResync;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * QueueReplica - local copy of the queue state every queue service pushes on {@code queue:state}.
+ * <p>
+ * Membership checks, depths and wait estimates are answered from memory instead of a request round trip
+ * per billboard refresh or click. Each queue service is replicated on its own: changes are applied only on
+ * top of the previous version of the same run, anything else marks the service unsynced and asks it for a
+ * full snapshot. While any service is unsynced, membership answers are unknown and callers fall back to
+ * asking the queue services directly.
+ *
+ * @author yyuh - DL
+ * @since 1/8/26
+ */
+public final class QueueReplica implements MessageHandler<QueueState> {
+
+    private static final String CHANNEL = "queue:state";
+    private static final String RESYNC_CHANNEL = "queue:state:resync";
+
+    private static final long EXPIRE_MS = 15_000;
+    private static final long RESYNC_INTERVAL_MS = 1_000;
+
+    private static QueueReplica instance;
+
+    private final Map<String, ServiceState> services = new ConcurrentHashMap<>();
+
+    /**
+     * Subscribes to the queue state channel and asks every queue service for a full snapshot.
+     */
+    public QueueReplica() {
+        instance = this;
+
+        Cluster.getInstance().getBroker().subscribe(CHANNEL, QueueState.class, this);
+        Cluster.getInstance().getBroker().publish(RESYNC_CHANNEL, new QueueStateResync(null));
+    }
+
+    /**
+     * Applies a published state to the replica of its service.
+     *
+     * @param state the published state
+     */
+    @Override
+    public void handle(final @NotNull QueueState state) {
+        final ServiceState service = this.services.computeIfAbsent(state.serviceId(), _ -> new ServiceState());
+        final boolean resync;
+
+        synchronized (service) {
+            resync = service.apply(state, System.currentTimeMillis());
+        }
+
+        if (resync) {
+            Cluster.getInstance().getBroker().publish(RESYNC_CHANNEL, new QueueStateResync(state.serviceId()));
+        }
+    }
+
+    /**
+     * Checks whether the player is waiting in any queue.
+     *
+     * @param uuid the player's UUID
+     * @return whether the player is queued, or {@code null} while some queue service is not in sync
+     */
+    @Nullable
+    public Boolean isQueued(final @NotNull UUID uuid) {
+        final long now = System.currentTimeMillis();
+        boolean synced = true;
+
+        for (final ServiceState service : this.live(now).values()) {
+            synchronized (service) {
+                if (service.members.containsKey(uuid)) {
+                    return true;
+                }
+
+                synced &= service.synced;
+            }
+        }
+
+        return synced ? false : null;
+    }
+
+    /**
+     * Sums the players queued in a bucket across all queue services.
+     *
+     * @param kitType   the kit
+     * @param queueType the queue type
+     * @return the number of queued players
+     */
+    public int queued(
+            final @NotNull KitType kitType,
+            final @NotNull QueueType queueType
+    ) {
+        int queued = 0;
+
+        for (final ServiceState service : this.live(System.currentTimeMillis()).values()) {
+            synchronized (service) {
+                final int[] depths = service.depths.get(kitType);
+
+                if (depths != null && depths.length > queueType.ordinal()) {
+                    queued += depths[queueType.ordinal()];
+                }
+            }
+        }
+
+        return queued;
+    }
+
+    /**
+     * Reads the wait estimate for a solo player published by the queue service owning the kit.
+     *
+     * @param kitType   the kit
+     * @param queueType the queue type
+     * @return the estimated wait in milliseconds, or -1 if it is unknown
+     */
+    public long estimatedWait(
+            final @NotNull KitType kitType,
+            final @NotNull QueueType queueType
+    ) {
+        final ServiceState service = this.live(System.currentTimeMillis()).get(QueueRouter.ownerOf(kitType));
+
+        if (service == null) {
+            return -1;
+        }
+
+        synchronized (service) {
+            final long[] waits = service.waits.get(kitType);
+
+            if (waits == null || waits.length <= queueType.ordinal()) {
+                return -1;
+            }
+
+            return waits[queueType.ordinal()];
+        }
+    }
+
+    /**
+     * Drops services that stopped publishing and returns the remaining ones.
+     *
+     * @param now the current time in milliseconds since the epoch
+     * @return the replicated services by id
+     */
+    @NotNull
+    private Map<String, ServiceState> live(final long now) {
+        this.services.values().removeIf(service -> now - service.lastSeen > EXPIRE_MS);
+        return this.services;
+    }
+
+    /**
+     * Gets the singleton instance of QueueReplica.
+     *
+     * @return the QueueReplica instance
+     */
+    public static QueueReplica getInstance() {
+        if (instance == null) {
+            return new QueueReplica();
+        }
+
+        return instance;
+    }
+
+    /**
+     * Replicated state of one queue service. Guarded by its own monitor.
+     */
+    private static final class ServiceState {
+
+        private final Map<UUID, QueueState.Entry> members = new HashMap<>();
+        private Map<KitType, int[]> depths = Map.of();
+        private Map<KitType, long[]> waits = Map.of();
+
+        private long epoch;
+        private long version;
+        private long lastSeen = System.currentTimeMillis();
+        private long lastResync;
+        private boolean synced;
+
+        /**
+         * Applies a published state. Depths and waits are always taken over; membership only from a full
+         * snapshot or from the changes directly following the known version.
+         *
+         * @param state the published state
+         * @param now   the current time in milliseconds since the epoch
+         * @return {@code true} if a resync should be requested from the service
+         */
+        private boolean apply(
+                final @NotNull QueueState state,
+                final long now
+        ) {
+            this.lastSeen = now;
+            this.depths = state.depths() == null ? Map.of() : state.depths();
+            this.waits = state.waits() == null ? Map.of() : state.waits();
+
+            if (state.full()) {
+                this.members.clear();
+                this.join(state);
+
+                this.epoch = state.epoch();
+                this.version = state.version();
+                this.synced = true;
+                return false;
+            }
+
+            if (this.synced && state.epoch() == this.epoch && state.version() == this.version + 1) {
+                if (state.left() != null) {
+                    state.left().forEach(this.members::remove);
+                }
+
+                this.join(state);
+                this.version = state.version();
+                return false;
+            }
+
+            this.synced = false;
+
+            if (now - this.lastResync < RESYNC_INTERVAL_MS) {
+                return false;
+            }
+
+            this.lastResync = now;
+            return true;
+        }
+
+        /**
+         * Indexes every joined entry under all of its members.
+         *
+         * @param state the published state
+         */
+        private void join(final @NotNull QueueState state) {
+            if (state.joined() == null) {
+                return;
+            }
+
+            for (final QueueState.Entry entry : state.joined()) {
+                for (final UUID member : entry.members()) {
+                    this.members.put(member, entry);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package club.revived.lobby.game.duel;
+
+import club.revived.lobby.service.cluster.Cluster;
+import club.revived.lobby.service.cluster.ClusterService;
+import club.revived.lobby.service.cluster.ServiceType;
+import club.revived.lobby.service.messaging.impl.IsQueuedRequest;
+import club.revived.lobby.service.messaging.impl.IsQueuedResponse;
+import club.revived.lobby.service.messaging.impl.WaitEstimateRequest;
+import club.revived.lobby.service.messaging.impl.WaitEstimateResponse;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Routes queue traffic to the queue service that owns a kit.
+ * <p>
+ * The queue is sharded by kit across all running queue services. The owner of a kit is picked by
+ * rendezvous hashing over the ids of the live queue services, which must stay identical to the
+ * {@code ShardRouter} of the queue service so both sides agree on the mapping.
+ *
+ * @author yyuh - DL
+ * @since 1/8/26
+ */
+public final class QueueRouter {
+
+    private static final String DEFAULT_QUEUE_SERVICE = "queue-service";
+
+    private QueueRouter() {
+    }
+
+    /**
+     * Resolves the queue service responsible for the given kit.
+     *
+     * @param kitType the kit to queue for
+     * @return the id of the owning queue service, or "queue-service" while no queue service is known
+     */
+    @NotNull
+    public static String ownerOf(final @NotNull KitType kitType) {
+        final List<String> services = Cluster.getInstance().getServices()
+                .values()
+                .stream()
+                .filter(service -> service.getType() == ServiceType.QUEUE)
+                .map(ClusterService::getId)
+                .toList();
+
+        String owner = null;
+        long best = Long.MIN_VALUE;
+
+        for (final String service : services) {
+            final long weight = weight(kitType.name(), service);
+
+            if (owner == null || weight > best || (weight == best && service.compareTo(owner) < 0)) {
+                owner = service;
+                best = weight;
+            }
+        }
+
+        return owner == null ? DEFAULT_QUEUE_SERVICE : owner;
+    }
+
+    /**
+     * Checks whether the player is waiting in any kit. Answered from the {@link QueueReplica} while it is in
+     * sync with every queue service, otherwise every queue service is asked.
+     *
+     * @param uuid the player's UUID
+     * @return a future completing with {@code true} if any queue service has the player queued
+     */
+    @NotNull
+    public static CompletableFuture<Boolean> isQueued(final @NotNull UUID uuid) {
+        final Boolean replicated = QueueReplica.getInstance().isQueued(uuid);
+
+        if (replicated != null) {
+            return CompletableFuture.completedFuture(replicated);
+        }
+
+        return Cluster.getInstance().getMessagingService()
+                .findGlobal(new IsQueuedRequest(uuid), IsQueuedResponse.class, IsQueuedResponse::queued)
+                .thenApply(Objects::nonNull);
+    }
+
+    /**
+     * Asks the queue service owning the kit how long a group of the given size joining now would wait. The
+     * answer comes from precomputed rates, so it is cheap enough to poll from menus and billboards.
+     *
+     * @param kitType   the kit
+     * @param queueType the queue type
+     * @param size      the number of players queueing together
+     * @return a future completing with the estimate; its wait is -1 while the queue cannot estimate it
+     */
+    @NotNull
+    public static CompletableFuture<WaitEstimateResponse> estimateWait(
+            final @NotNull KitType kitType,
+            final @NotNull QueueType queueType,
+            final int size
+    ) {
+        return Cluster.getInstance().getMessagingService().sendRequest(
+                ownerOf(kitType),
+                new WaitEstimateRequest(kitType, queueType, size),
+                WaitEstimateResponse.class
+        );
+    }
+
+    /**
+     * Hashes the kit and service pair with 64-bit FNV-1a followed by a murmur3 finalizer.
+     *
+     * @param kit     the kit name
+     * @param service the queue service id
+     * @return the pair's weight
+     */
+    private static long weight(
+            final @NotNull String kit,
+            final @NotNull String service
+    ) {
+        long hash = 0xcbf29ce484222325L;
+
+        for (final byte b : (kit + '|' + service).getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+
+        return hash;
+    }
+}
@@ -3,10 +3,9 @@ package club.revived.lobby.service.broker;
 import com.google.gson.Gson;
 import redis.clients.jedis.JedisPool;
 import redis.clients.jedis.JedisPoolConfig;
-import redis.clients.jedis.JedisPubSub;
 
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
 
 /**
  * This is an interesting Class
@@ -17,15 +16,37 @@ import java.util.concurrent.Executors;
 public final class RedisBroker implements MessageBroker {
 
     private final JedisPool jedisPool;
-    private final ExecutorService subServer = Executors.newVirtualThreadPerTaskExecutor();
+    private final RedisSubscriber subscriber;
+    private final PublishBatcher publisher;
     private final Gson gson = new Gson();
 
     public RedisBroker(
             final String host,
             final int port,
             final String password
+    ) {
+        this(host, port, password, PublishBatcher.DEFAULT_WINDOW_MICROS, PublishBatcher.DEFAULT_MAX_BATCH);
+    }
+
+    /**
+     * Creates a RedisBroker connected to the specified Redis instance that batches publishes as configured.
+     *
+     * @param host         the Redis server hostname or IP address
+     * @param port         the Redis server port
+     * @param password     the Redis authentication password; empty string if no password is required
+     * @param windowMicros how long a publish batch waits for more messages after its first one
+     * @param maxBatch     the most messages published in one batch
+     */
+    public RedisBroker(
+            final String host,
+            final int port,
+            final String password,
+            final long windowMicros,
+            final int maxBatch
     ) {
         this.jedisPool = this.connect(host, port, password);
+        this.subscriber = new RedisSubscriber(host, port, password);
+        this.publisher = new PublishBatcher(this.jedisPool, windowMicros, maxBatch);
 
         try (final var jedis = this.jedisPool.getResource()) {
             System.out.println("Checking connection...");
@@ -66,13 +87,11 @@ public final class RedisBroker implements MessageBroker {
             final String topic,
             final T message
     ) {
-        try (final var jedis = jedisPool.getResource()) {
-            final String json = this.gson.toJson(message);
-            jedis.publish(topic, json);
-        } catch (final Exception e) {
-            throw new RuntimeException(e);
-        }
-     }
+        this.publisher.publish(
+                topic.getBytes(StandardCharsets.UTF_8),
+                this.gson.toJson(message).getBytes(StandardCharsets.UTF_8)
+        );
+    }
 
     @Override
     public <T> void subscribe(
@@ -80,23 +99,63 @@ public final class RedisBroker implements MessageBroker {
             final Class<T> type,
             final MessageHandler<T> handler
     ) {
-        subServer.submit(() -> {
-            try (final var jedis = jedisPool.getResource()) {
-                jedis.subscribe(new JedisPubSub() {
-                    @Override
-                    public void onMessage(
-                            final String channel,
-                            final String message
-                    ) {
-                        try {
-                            final T obj = gson.fromJson(message, type);
-                            handler.handle(obj);
-                        } catch (final Exception e) {
-                            // TODO: Log
-                        }
-                    }
-                }, topic);
-            }
-        });
+        this.subscriber.subscribe(topic, message -> handler.handle(this.gson.fromJson(
+                new String(message, StandardCharsets.UTF_8),
+                type
+        )));
+    }
+
+    @Override
+    public void publishRaw(
+            final String topic,
+            final byte[] message
+    ) {
+        this.publisher.publish(topic.getBytes(StandardCharsets.UTF_8), message);
+    }
+
+    /**
+     * The batcher outbound publishes go through.
+     *
+     * @return the publish batcher
+     */
+    public PublishBatcher getPublisher() {
+        return this.publisher;
+    }
+
+    /**
+     * Flushes the publish batcher, waiting at most {@link PublishBatcher#DEFAULT_CLOSE_TIMEOUT_MILLIS}. The
+     * subscriptions keep running until the process exits.
+     */
+    @Override
+    public void close() {
+        this.publisher.close(PublishBatcher.DEFAULT_CLOSE_TIMEOUT_MILLIS);
+    }
+
+    @Override
+    public void subscribeRaw(
+            final String topic,
+            final MessageHandler<byte[]> handler
+    ) {
+        this.subscriber.subscribe(topic, handler);
+    }
+
+    /**
+     * Unsubscribes a Redis topic, dropping every handler subscribed to it.
+     *
+     * @param topic the Redis channel to unsubscribe from
+     */
+    @Override
+    public void unsubscribe(final String topic) {
+        this.subscriber.unsubscribe(topic);
+    }
+
+    @Override
+    public Map<String, Integer> typeIds() {
+        return RedisTypeIds.load(this.jedisPool);
+    }
+
+    @Override
+    public int typeId(final String typeName) {
+        return RedisTypeIds.assign(this.jedisPool, typeName);
     }
 }
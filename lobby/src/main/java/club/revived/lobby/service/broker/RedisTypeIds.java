@@ -0,0 +1,66 @@
+package club.revived.lobby.service.broker;
+
+import org.jetbrains.annotations.NotNull;
+import redis.clients.jedis.JedisPool;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * RedisTypeIds - the cluster-wide message type ids kept in Redis, shared by every broker talking to Redis.
+ *
+ * @author yyuh - DL
+ * @since 1/8/26
+ */
+public final class RedisTypeIds {
+
+    private static final String TYPE_IDS_KEY = "messaging:type-ids";
+    private static final String NEXT_TYPE_ID_KEY = "messaging:type-ids:next";
+
+    private static final String ASSIGN_TYPE_ID = """
+            local id = redis.call('HGET', KEYS[1], ARGV[1])
+            if id then
+                return tonumber(id)
+            end
+            id = redis.call('INCR', KEYS[2])
+            redis.call('HSET', KEYS[1], ARGV[1], id)
+            return id
+            """;
+
+    private RedisTypeIds() {
+    }
+
+    /**
+     * Loads every type id from the {@code messaging:type-ids} hash.
+     *
+     * @param jedisPool the pool to borrow a connection from
+     * @return the assigned type ids by type name
+     */
+    @NotNull
+    public static Map<String, Integer> load(final @NotNull JedisPool jedisPool) {
+        try (final var jedis = jedisPool.getResource()) {
+            final Map<String, Integer> ids = new HashMap<>();
+            jedis.hgetAll(TYPE_IDS_KEY).forEach((name, id) -> ids.put(name, Integer.parseInt(id)));
+            return ids;
+        }
+    }
+
+    /**
+     * Looks up or assigns the type id in one Lua script, so two services registering the same new type at
+     * the same time still end up with one id.
+     *
+     * @param jedisPool the pool to borrow a connection from
+     * @param typeName  the simple name of the message type
+     * @return the type id
+     */
+    public static int assign(
+            final @NotNull JedisPool jedisPool,
+            final @NotNull String typeName
+    ) {
+        try (final var jedis = jedisPool.getResource()) {
+            final Object id = jedis.eval(ASSIGN_TYPE_ID, List.of(TYPE_IDS_KEY, NEXT_TYPE_ID_KEY), List.of(typeName));
+            return ((Long) id).intValue();
+        }
+    }
+}
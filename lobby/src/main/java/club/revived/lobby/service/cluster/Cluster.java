@@ -71,7 +71,7 @@ public final class Cluster {
         this.serviceType = serviceType;
         this.serviceId = id;
         this.ip = this.serviceIp();
-        this.messagingService = new MessagingService(broker, id);
+        this.messagingService = new MessagingService(broker, id, this.services);
         this.globalCache = cache;
 
         instance = this;
@@ -120,7 +120,7 @@ public final class Cluster {
             }
 
             return new WhereIsResponse(this.serviceId);
-        });
+        }, WhereIsRequest::uuid);
     }
 
     public <T> void send(
@@ -149,14 +149,8 @@ public final class Cluster {
      */
     @NotNull
     public CompletableFuture<ClusterService> whereIsProxy(final UUID uuid) {
-        return this.messagingService.sendGlobalRequest(new WhereIsProxyRequest(uuid), WhereIsProxyResponse.class)
-                .thenApply(whereIsResponses -> {
-                    final var whereIsResponse = whereIsResponses.getFirst();
-
-                    final var id = whereIsResponse.proxy();
-
-                    return this.services.get(id);
-                });
+        return this.messagingService.findGlobal(new WhereIsProxyRequest(uuid), WhereIsProxyResponse.class)
+                .thenApply(response -> response == null ? null : this.services.get(response.proxy()));
     }
 
     /**
@@ -167,14 +161,8 @@ public final class Cluster {
      */
     @NotNull
     public CompletableFuture<ClusterService> whereIs(final UUID uuid) {
-        return this.messagingService.sendGlobalRequest(new WhereIsRequest(uuid), WhereIsResponse.class)
-                .thenApply(whereIsResponses -> {
-                    final var whereIsResponse = whereIsResponses.getFirst();
-
-                    final var id = whereIsResponse.server();
-
-                    return this.services.get(id);
-                });
+        return this.messagingService.findGlobal(new WhereIsRequest(uuid), WhereIsResponse.class)
+                .thenApply(response -> response == null ? null : this.services.get(response.server()));
     }
 
     @NotNull
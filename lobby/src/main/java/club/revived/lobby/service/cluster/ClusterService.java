@@ -4,6 +4,7 @@ import club.revived.lobby.service.messaging.Message;
 import club.revived.lobby.service.messaging.Request;
 import club.revived.lobby.service.messaging.Response;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -34,18 +35,49 @@ public final class ClusterService {
 
     private final long lastSeen;
 
+    @NotNull
+    private final List<String> codecs;
+
+    @Nullable
+    private final List<String> requests;
+
     public ClusterService(
             final @NotNull String id,
             final @NotNull String ip,
             final @NotNull ServiceType type,
             final @NotNull List<OnlinePlayer> onlinePlayers,
             final long lastSeen
+    ) {
+        this(id, ip, type, onlinePlayers, lastSeen, List.of());
+    }
+
+    public ClusterService(
+            final @NotNull String id,
+            final @NotNull String ip,
+            final @NotNull ServiceType type,
+            final @NotNull List<OnlinePlayer> onlinePlayers,
+            final long lastSeen,
+            final @NotNull List<String> codecs
+    ) {
+        this(id, ip, type, onlinePlayers, lastSeen, codecs, null);
+    }
+
+    public ClusterService(
+            final @NotNull String id,
+            final @NotNull String ip,
+            final @NotNull ServiceType type,
+            final @NotNull List<OnlinePlayer> onlinePlayers,
+            final long lastSeen,
+            final @NotNull List<String> codecs,
+            final @Nullable List<String> requests
     ) {
         this.id = id;
         this.ip = ip;
         this.type = type;
         this.onlinePlayers = onlinePlayers;
         this.lastSeen = lastSeen;
+        this.codecs = codecs;
+        this.requests = requests;
     }
 
 
@@ -89,5 +121,24 @@ public final class ClusterService {
         return lastSeen;
     }
 
+    public @NotNull List<String> getCodecs() {
+        return codecs;
+    }
+
+    public @Nullable List<String> getRequests() {
+        return requests;
+    }
+
+    /**
+     * Whether the service answers requests of the given type, going by the handlers it advertised. A service
+     * whose heartbeat advertised none is assumed to answer every type.
+     *
+     * @param requestType the simple name of the request type
+     * @return {@code true} if it is expected to answer requests of the type
+     */
+    public boolean answers(final @NotNull String requestType) {
+        return this.requests == null || this.requests.contains(requestType);
+    }
+
 
 }
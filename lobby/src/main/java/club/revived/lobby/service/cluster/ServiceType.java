@@ -12,6 +12,7 @@ public enum ServiceType {
     DUEL,
     LIMBO,
     PROXY,
+    QUEUE,
 
     UNASSIGNED
 }
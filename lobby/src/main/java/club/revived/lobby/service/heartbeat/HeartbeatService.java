@@ -5,12 +5,14 @@ import club.revived.lobby.service.broker.MessageHandler;
 import club.revived.lobby.service.cluster.Cluster;
 import club.revived.lobby.service.cluster.ClusterService;
 import club.revived.lobby.service.cluster.OnlinePlayer;
+import club.revived.lobby.service.messaging.MessagingService;
 import club.revived.lobby.service.player.PlayerManager;
 import club.revived.lobby.util.SkinUtils;
 import org.bukkit.Bukkit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
@@ -66,7 +68,9 @@ public final class HeartbeatService implements MessageHandler<Heartbeat> {
                                         SkinUtils.getSignature(player)
                                 ))
                                 .toList(),
-                        cluster.getIp()
+                        cluster.getIp(),
+                        MessagingService.CODECS,
+                        cluster.getMessagingService().getHandledRequests()
                 ));
 
                 final long now = System.currentTimeMillis();
@@ -92,7 +96,9 @@ public final class HeartbeatService implements MessageHandler<Heartbeat> {
                 message.serverIp(),
                 message.serviceType(),
                 message.onlinePlayers(),
-                message.timestamp()
+                message.timestamp(),
+                message.codecs() == null ? List.of() : message.codecs(),
+                message.requests()
         );
 
         this.lastSeen.put(
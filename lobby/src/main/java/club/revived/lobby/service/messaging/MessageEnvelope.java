@@ -12,6 +12,7 @@ public record MessageEnvelope(
         UUID correlationId, 
         String senderId, 
         String targetId, 
+        int typeId,
         String payloadType, 
         String payloadJson
 ) {
@@ -0,0 +1,252 @@
+package club.revived.lobby.service.messaging;
+
+import club.revived.lobby.service.broker.MessageBroker;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * MessageTypeRegistry - cluster-wide numeric ids of the message types and the handlers registered for them.
+ * <p>
+ * Ids are assigned once per type name through the broker, which keeps them in Redis, so every service maps
+ * a name to the same id. On start the registry loads every id assigned so far; a type nobody used before is
+ * assigned the next free id when it is first registered. Registered types sit in an array indexed by their
+ * id, so resolving an inbound envelope is a bounds check and an array read, and a type that was never
+ * registered on this service resolves to {@code null} before anything is deserialized.
+ * <p>
+ * Ids are only as stable as the Redis hash holding them. If it is ever lost, every service has to be
+ * restarted so they load the same ids again.
+ *
+ * @author yyuh - DL
+ * @since 1/8/26
+ */
+public final class MessageTypeRegistry {
+
+    private static final int MAX_ID = 1 << 16;
+
+    private final MessageBroker broker;
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Entry> byClass = new ConcurrentHashMap<>();
+    private volatile Entry[] byId = new Entry[64];
+
+    /**
+     * Creates the registry and loads the ids assigned in the cluster so far.
+     *
+     * @param broker the broker the ids are shared through
+     */
+    public MessageTypeRegistry(final @NotNull MessageBroker broker) {
+        this.broker = broker;
+        this.ids.putAll(broker.typeIds());
+    }
+
+    /**
+     * Registers a type, assigning it a cluster-wide id if it has none yet. Registering a type twice is a
+     * map lookup. A different class with the same simple name replaces the one registered before.
+     *
+     * @param type the message class
+     * @return the registered entry
+     * @throws IllegalStateException if the broker hands out an id outside of the supported range
+     */
+    @NotNull
+    public Entry register(final @NotNull Class<?> type) {
+        final Entry known = this.byClass.get(type);
+
+        if (known != null) {
+            return known;
+        }
+
+        synchronized (this) {
+            final Entry registered = this.byClass.get(type);
+
+            if (registered != null) {
+                return registered;
+            }
+
+            final String name = type.getSimpleName();
+            final int id = this.ids.computeIfAbsent(name, this.broker::typeId);
+
+            if (id <= 0 || id >= MAX_ID) {
+                throw new IllegalStateException("Message type id " + id + " of " + name + " is out of range");
+            }
+
+            Entry[] table = this.byId;
+
+            if (id >= table.length) {
+                table = Arrays.copyOf(table, Integer.highestOneBit(id) << 1);
+            }
+
+            final Entry entry = new Entry(id, name, type);
+            table[id] = entry;
+
+            // The volatile write publishes the new slot, whether or not the table grew
+            this.byId = table;
+            this.byClass.put(type, entry);
+
+            return entry;
+        }
+    }
+
+    /**
+     * Resolves an inbound type id.
+     *
+     * @param id the type id of the envelope
+     * @return the entry, or {@code null} if no type with this id is registered on this service
+     */
+    @Nullable
+    public Entry get(final int id) {
+        final Entry[] table = this.byId;
+        return id > 0 && id < table.length ? table[id] : null;
+    }
+
+    /**
+     * Resolves an inbound type name, for envelopes of services that send no type ids.
+     *
+     * @param name the simple name of the payload type
+     * @return the entry, or {@code null} if no type with this name is registered on this service
+     */
+    @Nullable
+    public Entry get(final @Nullable String name) {
+        if (name == null) {
+            return null;
+        }
+
+        final Integer id = this.ids.get(name);
+        return id == null ? null : this.get(id);
+    }
+
+    /**
+     * The names of the request types a handler is registered for on this service.
+     *
+     * @return the request type names
+     */
+    @NotNull
+    public List<String> handledRequests() {
+        return this.byClass.values().stream()
+                .filter(entry -> entry.requestHandler() != null)
+                .map(Entry::name)
+                .toList();
+    }
+
+    /**
+     * A registered message type with the handlers registered for it.
+     */
+    public static final class Entry {
+
+        private final int id;
+        private final String name;
+        private final Class<?> type;
+
+        private volatile Function<Request, Response> requestHandler;
+        private volatile Consumer<Message> messageHandler;
+        private volatile Function<Object, Object> routingKey;
+
+        /**
+         * Creates the entry of a freshly registered type.
+         *
+         * @param id   the cluster-wide type id
+         * @param name the simple name of the type
+         * @param type the message class
+         */
+        private Entry(
+                final int id,
+                final @NotNull String name,
+                final @NotNull Class<?> type
+        ) {
+            this.id = id;
+            this.name = name;
+            this.type = type;
+        }
+
+        /**
+         * The cluster-wide type id.
+         *
+         * @return the id, always positive
+         */
+        public int id() {
+            return id;
+        }
+
+        /**
+         * The simple name of the type, as sent to services without type ids.
+         *
+         * @return the type name
+         */
+        @NotNull
+        public String name() {
+            return name;
+        }
+
+        /**
+         * The message class payloads of this type deserialize to.
+         *
+         * @return the message class
+         */
+        @NotNull
+        public Class<?> type() {
+            return type;
+        }
+
+        /**
+         * The handler answering requests of this type.
+         *
+         * @return the request handler, or {@code null} if none is registered
+         */
+        @Nullable
+        public Function<Request, Response> requestHandler() {
+            return requestHandler;
+        }
+
+        /**
+         * Sets the handler answering requests of this type.
+         *
+         * @param requestHandler the request handler
+         */
+        public void requestHandler(final @NotNull Function<Request, Response> requestHandler) {
+            this.requestHandler = requestHandler;
+        }
+
+        /**
+         * The handler consuming messages of this type.
+         *
+         * @return the message handler, or {@code null} if none is registered
+         */
+        @Nullable
+        public Consumer<Message> messageHandler() {
+            return messageHandler;
+        }
+
+        /**
+         * Sets the handler consuming messages of this type.
+         *
+         * @param messageHandler the message handler
+         */
+        public void messageHandler(final @NotNull Consumer<Message> messageHandler) {
+            this.messageHandler = messageHandler;
+        }
+
+        /**
+         * The function picking the key whose payloads of this type are handled in order.
+         *
+         * @return the routing key function, or {@code null} if payloads of this type are handled in order overall
+         */
+        @Nullable
+        public Function<Object, Object> routingKey() {
+            return routingKey;
+        }
+
+        /**
+         * Sets the function picking the key whose payloads of this type are handled in order.
+         *
+         * @param routingKey the routing key function, or {@code null} to handle this type in order overall
+         */
+        public void routingKey(final @Nullable Function<Object, Object> routingKey) {
+            this.routingKey = routingKey;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package club.revived.lobby.service.messaging.codec;
+
+import club.revived.lobby.service.messaging.MessageEnvelope;
+import com.google.gson.Gson;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * JsonEnvelopeCodec - the original envelope format, the envelope and its JSON payload encoded to JSON once more.
+ * <p>
+ * What services without codec support publish and expect, so it is the fallback for them. They ignore the
+ * type id and resolve the payload type by its name, which is why this format always carries both.
+ *
+ * @author yyuh - DL
+ * @since 1/8/26
+ */
+public final class JsonEnvelopeCodec implements EnvelopeCodec {
+
+    public static final String NAME = "json";
+
+    private final Gson gson = new Gson();
+
+    @Override
+    public @NotNull String name() {
+        return NAME;
+    }
+
+    @Override
+    public byte @NotNull [] encode(final @NotNull MessageEnvelope envelope) {
+        return this.gson.toJson(envelope).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public @NotNull MessageEnvelope decode(final byte @NotNull [] bytes) {
+        final MessageEnvelope envelope = this.gson.fromJson(new String(bytes, StandardCharsets.UTF_8), MessageEnvelope.class);
+
+        if (envelope == null) {
+            throw new IllegalArgumentException("Empty envelope");
+        }
+
+        return envelope;
+    }
+}
@@ -4,17 +4,28 @@ import club.revived.lobby.game.duel.KitType;
 import club.revived.lobby.game.duel.QueueType;
 import club.revived.lobby.service.messaging.Message;
 
+import java.util.List;
 import java.util.UUID;
 
 /**
- * QueuePlayer
+ * QueuePlayer - queues a player, or a whole party as one group entry.
+ * <p>
+ * {@code uuid} is the player who queued (the party owner for groups), {@code members} every player of the
+ * group including them. A {@code null} or empty member list queues {@code uuid} alone.
+ * <p>
+ * {@code kitTypes} lists further kits to wait for at the same time; the first kit to match the players takes
+ * them out of all others. {@code kitType} is the primary kit the request is routed by, and kits assigned to
+ * another queue service than the primary one are ignored.
  *
  * @author yyuh - DL
  * @since 1/8/26
  */
 public record AddToQueue(
         UUID uuid,
+        List<UUID> members,
         QueueType queueType,
-        KitType kitType
+        KitType kitType,
+        List<KitType> kitTypes,
+        int rating
 ) implements Message {
 }
\ No newline at end of file
@@ -7,8 +7,12 @@ import java.util.UUID;
 /**
  * IsQueued
  *
+ * @param uuid                the player's UUID
+ * @param queued              whether the player is waiting in a bucket of this queue service
+ * @param estimatedWaitMillis the expected wait of the player's bucket, or -1 if not queued or unknown
+ *
  * @author yyuh
  * @since 09.01.26
  */
-public record IsQueuedResponse(UUID uuid, boolean queued) implements Response {
+public record IsQueuedResponse(UUID uuid, boolean queued, long estimatedWaitMillis) implements Response {
 }
@@ -0,0 +1,22 @@
+package club.revived.lobby.service.messaging.impl;
+
+import club.revived.lobby.game.duel.KitType;
+import club.revived.lobby.game.duel.QueueType;
+import club.revived.lobby.service.messaging.Request;
+
+/**
+ * Asks the queue service owning the kit how long an entry joining the bucket now would wait.
+ *
+ * @param kitType   the kit
+ * @param queueType the queue type
+ * @param size      the number of players that would queue together, at least 1
+ *
+ * @author yyuh - DL
+ * @since 1/8/26
+ */
+public record WaitEstimateRequest(
+        KitType kitType,
+        QueueType queueType,
+        int size
+) implements Request {
+}
@@ -0,0 +1,20 @@
+package club.revived.lobby.service.messaging.impl;
+
+import club.revived.lobby.service.messaging.Response;
+
+/**
+ * Expected wait of a bucket, answered from precomputed rates.
+ *
+ * @param queued              the players currently waiting in the bucket
+ * @param estimatedWaitMillis the expected wait in milliseconds, or -1 while it cannot be estimated
+ * @param matchRate           players leaving the bucket through matches per second
+ *
+ * @author yyuh - DL
+ * @since 1/8/26
+ */
+public record WaitEstimateResponse(
+        int queued,
+        long estimatedWaitMillis,
+        double matchRate
+) implements Response {
+}
@@ -4,6 +4,7 @@ import club.revived.commons.inventories.util.ColorUtils;
 import club.revived.lobby.service.cluster.Cluster;
 import club.revived.lobby.service.exception.UnregisteredPlayerException;
 import club.revived.lobby.service.messaging.impl.BroadcastMessage;
+import club.revived.lobby.service.messaging.impl.BulkActionbar;
 import club.revived.lobby.service.messaging.impl.SendActionbar;
 import club.revived.lobby.service.messaging.impl.SendMessage;
 import org.bukkit.Bukkit;
@@ -60,10 +61,11 @@ public final class PlayerManager {
     /**
      * Installs messaging handlers to deliver player-targeted and broadcast chat and action-bar messages.
      *
-     * <p>Registers three handlers on the cluster messaging service:
+     * <p>Registers four handlers on the cluster messaging service:
      * - A SendMessage handler that resolves the target player by UUID and delivers the provided rich chat message.
      * - A BroadcastMessage handler that delivers the provided rich chat message to every currently online player.
      * - A SendActionbar handler that resolves the target player by UUID and sends the provided message to the player's action bar after parsing.
+     * - A BulkActionbar handler that fills the template for every recipient online on this server and sends it to their action bar.
      *
      * @throws UnregisteredPlayerException if a SendMessage or SendActionbar targets a UUID with no corresponding online player
      */
@@ -78,7 +80,7 @@ public final class PlayerManager {
                     }
 
                     player.sendRichMessage(message.message());
-                });
+                }, SendMessage::uuid);
 
         Cluster.getInstance().getMessagingService()
                 .registerMessageHandler(BroadcastMessage.class, message -> {
@@ -97,6 +99,23 @@ public final class PlayerManager {
                     }
 
                     player.sendActionBar(ColorUtils.parse(sendActionbar.message()));
+                }, SendActionbar::uuid);
+
+        Cluster.getInstance().getMessagingService()
+                .registerMessageHandler(BulkActionbar.class, bulkActionbar -> {
+                    for (final var recipient : bulkActionbar.recipients()) {
+                        final var player = Bukkit.getPlayer(recipient.uuid());
+
+                        if (player == null) {
+                            continue;
+                        }
+
+                        player.sendActionBar(ColorUtils.parse(bulkActionbar.template()
+                                .replace("<kit>", recipient.kit())
+                                .replace("<queue>", recipient.queue())
+                                .replace("<wait>", String.valueOf(recipient.waitSeconds()))
+                        ));
+                    }
                 });
     }
 
@@ -1,7 +1,9 @@
 package club.revived.proxy;
 
 import club.revived.proxy.listener.PlayerListener;
+import club.revived.proxy.service.broker.MessageBroker;
 import club.revived.proxy.service.broker.RedisBroker;
+import club.revived.proxy.service.broker.RedisStreamsBroker;
 import club.revived.proxy.service.cache.RedisCacheService;
 import club.revived.proxy.service.cluster.Cluster;
 import club.revived.proxy.service.cluster.ServiceType;
@@ -81,13 +83,34 @@ public final class ProxyPlugin {
         final int port = Integer.parseInt(System.getenv("REDIS_PORT"));
 
         new Cluster(
-                new RedisBroker(host, port, ""),
+                this.broker(host, port, hostName),
                 new RedisCacheService(host, port, ""),
                 ServiceType.PROXY,
                 hostName
         );
     }
 
+    /**
+     * Creates the message broker selected by MESSAGE_BROKER: "streams" carries messages over Redis streams,
+     * read through a consumer group named after this service, anything else over Redis pub/sub.
+     *
+     * @param host     the Redis host
+     * @param port     the Redis port
+     * @param hostName the id of this service
+     * @return the message broker
+     */
+    private MessageBroker broker(
+            final String host,
+            final int port,
+            final String hostName
+    ) {
+        if ("streams".equalsIgnoreCase(System.getenv("MESSAGE_BROKER"))) {
+            return new RedisStreamsBroker(host, port, "", hostName);
+        }
+
+        return new RedisBroker(host, port, "");
+    }
+
     /**
      * Retrieve the singleton ProxyPlugin instance.
      *
@@ -0,0 +1,61 @@
+package club.revived.proxy.service.broker;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Delivery - a received message together with the way to settle it with the broker.
+ * <p>
+ * A broker that keeps messages until they are acknowledged delivers a message again after a crash unless it
+ * was acknowledged, and delivers a rejected message again a little later. Brokers that forget a message once
+ * it was handed out hand out {@link Transient} deliveries, which need no settling.
+ *
+ * @author yyuh - DL
+ * @since 1/8/26
+ */
+public interface Delivery {
+
+    /**
+     * The received bytes, as they were published.
+     *
+     * @return the encoded message
+     */
+    byte @NotNull [] message();
+
+    /**
+     * Acknowledges the message once it was handled, from any thread. Only the first settling call counts.
+     */
+    void ack();
+
+    /**
+     * Hands the message back unhandled, so it is delivered again later. Only the first settling call counts.
+     */
+    void reject();
+
+    /**
+     * Whether the message is delivered again if it is rejected or never acknowledged.
+     *
+     * @return {@code true} if the broker keeps the message until it is acknowledged
+     */
+    boolean redeliverable();
+
+    /**
+     * A delivery of a broker that does not keep messages, settling it does nothing.
+     *
+     * @param message the received bytes
+     */
+    record Transient(byte @NotNull [] message) implements Delivery {
+
+        @Override
+        public void ack() {
+        }
+
+        @Override
+        public void reject() {
+        }
+
+        @Override
+        public boolean redeliverable() {
+            return false;
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package club.revived.proxy.service.broker;
 
+import java.util.Map;
+
 /**
  * This is an interesting Class
  *
@@ -24,6 +26,67 @@ public interface MessageBroker {
      */
     <T> void subscribe(String topic, Class<T> type, MessageHandler<T> handler);
 
+    /**
+     * Publishes already encoded bytes to the specified topic, untouched.
+     *
+     * @param topic   the topic name to publish the message to
+     * @param message the encoded message
+     */
+    void publishRaw(String topic, byte[] message);
+
+    /**
+     * Subscribes a handler to the raw bytes published to the given topic, whichever way they were encoded.
+     *
+     * @param topic   the topic to subscribe to
+     * @param handler the handler that processes the received bytes
+     */
+    void subscribeRaw(String topic, MessageHandler<byte[]> handler);
+
+    /**
+     * Subscribes a handler to the raw bytes published to the given topic, handing each message over as a
+     * {@link Delivery} the handler settles once it is done with it. Brokers that do not keep messages until
+     * they are acknowledged hand over {@link Delivery.Transient} deliveries.
+     *
+     * @param topic   the topic to subscribe to
+     * @param handler the handler that processes and settles the received deliveries
+     */
+    default void subscribeDeliveries(
+            final String topic,
+            final MessageHandler<Delivery> handler
+    ) {
+        this.subscribeRaw(topic, message -> handler.handle(new Delivery.Transient(message)));
+    }
+
+    /**
+     * Unsubscribes every handler from the given topic.
+     *
+     * @param topic the topic to unsubscribe from
+     */
+    void unsubscribe(String topic);
+
+    /**
+     * Loads the numeric ids of every message type assigned in the cluster so far.
+     *
+     * @return the assigned type ids by type name
+     */
+    Map<String, Integer> typeIds();
+
+    /**
+     * Returns the cluster-wide numeric id of a message type, assigning the next free one if it has none yet.
+     * Ids start at 1 and never change once assigned.
+     *
+     * @param typeName the simple name of the message type
+     * @return the type id
+     */
+    int typeId(String typeName);
+
+    /**
+     * Publishes what is still queued and stops publishing, waiting a bounded time for the queued messages to
+     * leave. Messages published afterwards are dropped. Brokers that deliver right away have nothing to flush.
+     */
+    default void close() {
+    }
+
     /**
      * Establishes a connection to a message broker at the specified host and port using the provided password.
      *
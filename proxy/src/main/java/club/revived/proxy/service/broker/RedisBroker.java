@@ -1,14 +1,11 @@
 package club.revived.proxy.service.broker;
 
 import com.google.gson.Gson;
-import redis.clients.jedis.Jedis;
 import redis.clients.jedis.JedisPool;
 import redis.clients.jedis.JedisPoolConfig;
-import redis.clients.jedis.JedisPubSub;
 
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
 
 /**
  * This is an interesting Class
@@ -19,7 +16,8 @@ import java.util.concurrent.Executors;
 public final class RedisBroker implements MessageBroker {
 
     private final JedisPool jedisPool;
-    private final ExecutorService subServer = Executors.newVirtualThreadPerTaskExecutor();
+    private final RedisSubscriber subscriber;
+    private final PublishBatcher publisher;
     private final Gson gson = new Gson();
 
     /**
@@ -33,8 +31,29 @@ public final class RedisBroker implements MessageBroker {
             final String host,
             final int port,
             final String password
+    ) {
+        this(host, port, password, PublishBatcher.DEFAULT_WINDOW_MICROS, PublishBatcher.DEFAULT_MAX_BATCH);
+    }
+
+    /**
+     * Creates a RedisBroker connected to the specified Redis instance that batches publishes as configured.
+     *
+     * @param host         the Redis server hostname or IP address
+     * @param port         the Redis server port
+     * @param password     the Redis authentication password; empty string if no password is required
+     * @param windowMicros how long a publish batch waits for more messages after its first one
+     * @param maxBatch     the most messages published in one batch
+     */
+    public RedisBroker(
+            final String host,
+            final int port,
+            final String password,
+            final long windowMicros,
+            final int maxBatch
     ) {
         this.jedisPool = this.connect(host, port, password);
+        this.subscriber = new RedisSubscriber(host, port, password);
+        this.publisher = new PublishBatcher(this.jedisPool, windowMicros, maxBatch);
 
         try (final var jedis = this.jedisPool.getResource()) {
             System.out.println("Checking connection...");
@@ -95,7 +114,8 @@ public final class RedisBroker implements MessageBroker {
     /**
       * Publishes the given message to the specified Redis topic after serializing it to JSON.
       *
-      * <p>Any exceptions thrown during serialization or publish are caught and not propagated.</p>
+      * <p>Only queues the message; it is sent pipelined with the next publish batch. Any exceptions thrown
+      * during the publish are caught and not propagated.</p>
       *
       * @param topic   the Redis channel to publish the message to
       * @param message the object to serialize to JSON and send to the topic
@@ -105,22 +125,18 @@ public final class RedisBroker implements MessageBroker {
             final String topic,
             final T message
     ) {
-         CompletableFuture.runAsync(() -> {
-             try (final var jedis = jedisPool.getResource()) {
-                 final String json = this.gson.toJson(message);
-                 jedis.publish(topic, json);
-             } catch (final Exception e) {
-                 throw new RuntimeException(e);
-             }
-         }, this.subServer);
-     }
+        this.publisher.publish(
+                topic.getBytes(StandardCharsets.UTF_8),
+                this.gson.toJson(message).getBytes(StandardCharsets.UTF_8)
+        );
+    }
 
     /**
      * Subscribes to a Redis topic and delivers incoming JSON messages to the given handler.
      *
-     * Subscription is performed asynchronously on the broker's executor; each received message
+     * The topic is multiplexed over the broker's single subscriber connection; each received message
      * is deserialized to the provided type using Gson and passed to the handler. Exceptions
-     * thrown while deserializing or handling a message are caught and suppressed.
+     * thrown while deserializing or handling a message are caught and logged.
      *
      * @param topic   the Redis channel/topic to subscribe to
      * @param type    the target class to deserialize incoming JSON messages into
@@ -134,25 +150,90 @@ public final class RedisBroker implements MessageBroker {
     ) {
         System.out.println("Subscribing to redis with handler for " + type.getName());
 
-        subServer.submit(() -> {
-            try (final Jedis jedis = jedisPool.getResource()) {
-                jedis.subscribe(new JedisPubSub() {
-                    @Override
-                    public void onMessage(
-                            final String channel,
-                            final String message
-                    ) {
-                        try {
-                            final T obj = gson.fromJson(message, type);
-                            handler.handle(obj);
-                        } catch (final Exception e) {
-                            throw new RuntimeException(e);
-                        }
-                    }
-                }, topic);
-            } catch (Exception e) {
-                e.printStackTrace();
-            }
-        });
+        this.subscriber.subscribe(topic, message -> handler.handle(this.gson.fromJson(
+                new String(message, StandardCharsets.UTF_8),
+                type
+        )));
+    }
+
+    /**
+     * Publishes already encoded bytes to a Redis topic using the binary publish command.
+     * <p>
+     * Only queues the message; it is sent pipelined with the next publish batch.
+     *
+     * @param topic   the Redis channel name to publish to
+     * @param message the encoded message
+     */
+    @Override
+    public void publishRaw(
+            final String topic,
+            final byte[] message
+    ) {
+        this.publisher.publish(topic.getBytes(StandardCharsets.UTF_8), message);
+    }
+
+    /**
+     * The batcher outbound publishes go through.
+     *
+     * @return the publish batcher
+     */
+    public PublishBatcher getPublisher() {
+        return this.publisher;
+    }
+
+    /**
+     * Flushes the publish batcher, waiting at most {@link PublishBatcher#DEFAULT_CLOSE_TIMEOUT_MILLIS}. The
+     * subscriptions keep running until the process exits.
+     */
+    @Override
+    public void close() {
+        this.publisher.close(PublishBatcher.DEFAULT_CLOSE_TIMEOUT_MILLIS);
+    }
+
+    /**
+     * Subscribes to a Redis topic through the binary pub/sub API and hands every received message to the
+     * handler as it arrived, without decoding it to a string first.
+     *
+     * @param topic   the Redis channel to subscribe to
+     * @param handler the handler invoked with each received message
+     */
+    @Override
+    public void subscribeRaw(
+            final String topic,
+            final MessageHandler<byte[]> handler
+    ) {
+        this.subscriber.subscribe(topic, handler);
+    }
+
+    /**
+     * Unsubscribes a Redis topic, dropping every handler subscribed to it.
+     *
+     * @param topic the Redis channel to unsubscribe from
+     */
+    @Override
+    public void unsubscribe(final String topic) {
+        this.subscriber.unsubscribe(topic);
+    }
+
+    /**
+     * Loads every type id from the {@code messaging:type-ids} hash.
+     *
+     * @return the assigned type ids by type name
+     */
+    @Override
+    public Map<String, Integer> typeIds() {
+        return RedisTypeIds.load(this.jedisPool);
+    }
+
+    /**
+     * Looks up or assigns the type id in one Lua script, so two services registering the same new type at
+     * the same time still end up with one id.
+     *
+     * @param typeName the simple name of the message type
+     * @return the type id
+     */
+    @Override
+    public int typeId(final String typeName) {
+        return RedisTypeIds.assign(this.jedisPool, typeName);
     }
-}
\ No newline at end of file
+}
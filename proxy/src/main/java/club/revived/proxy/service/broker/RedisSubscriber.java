@@ -0,0 +1,274 @@
+package club.revived.proxy.service.broker;
+
+import org.jetbrains.annotations.NotNull;
+import redis.clients.jedis.BinaryJedisPubSub;
+import redis.clients.jedis.DefaultJedisClientConfig;
+import redis.clients.jedis.HostAndPort;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisClientConfig;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RedisSubscriber - one pub/sub connection per process that every channel of the broker is multiplexed over.
+ * <p>
+ * The connection is opened outside of the {@code JedisPool}, so subscriptions never hold a pooled connection
+ * and the pool stays free for publishes and commands. Channels are subscribed and unsubscribed on the live
+ * connection as handlers come and go. Every message is handed to the handlers of its channel on the one
+ * subscriber thread, which is why handlers must return quickly.
+ * <p>
+ * When the connection drops, it is reopened with exponential backoff and every channel that has a handler
+ * is subscribed again. Messages published while it was down are lost, as with any Redis pub/sub. A ping
+ * is sent periodically so a silently dead connection runs into the socket timeout instead of hanging.
+ *
+ * @author yyuh - DL
+ * @since 1/8/26
+ */
+public final class RedisSubscriber {
+
+    private static final int CONNECT_TIMEOUT_MILLIS = 2_000;
+    private static final int SOCKET_TIMEOUT_MILLIS = 30_000;
+    private static final long PING_INTERVAL_SECONDS = 10;
+    private static final long MIN_BACKOFF_MILLIS = 100;
+    private static final long MAX_BACKOFF_MILLIS = 30_000;
+
+    private final HostAndPort address;
+    private final JedisClientConfig config;
+    private final Map<String, List<MessageHandler<byte[]>>> handlers = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService pinger = Executors.newSingleThreadScheduledExecutor();
+
+    private Connection connection;
+
+    /**
+     * Creates the subscriber and starts its thread. The connection is opened once the first channel is subscribed.
+     *
+     * @param host     the Redis server hostname or IP address
+     * @param port     the Redis server port
+     * @param password the Redis authentication password; empty string if no password is required
+     */
+    public RedisSubscriber(
+            final @NotNull String host,
+            final int port,
+            final @NotNull String password
+    ) {
+        this.address = new HostAndPort(host, port);
+        this.config = DefaultJedisClientConfig.builder()
+                .connectionTimeoutMillis(CONNECT_TIMEOUT_MILLIS)
+                .socketTimeoutMillis(SOCKET_TIMEOUT_MILLIS)
+                .password(password.isEmpty() ? null : password)
+                .build();
+
+        Thread.ofPlatform()
+                .name("redis-subscriber")
+                .daemon()
+                .start(this::run);
+
+        this.pinger.scheduleAtFixedRate(this::ping, PING_INTERVAL_SECONDS, PING_INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Adds a handler to a channel, subscribing the channel if it is the first handler of it.
+     *
+     * @param channel the Redis channel
+     * @param handler the handler invoked with each message received on the channel
+     */
+    public synchronized void subscribe(
+            final @NotNull String channel,
+            final @NotNull MessageHandler<byte[]> handler
+    ) {
+        final List<MessageHandler<byte[]>> channelHandlers = this.handlers.computeIfAbsent(
+                channel,
+                _ -> new CopyOnWriteArrayList<>()
+        );
+
+        channelHandlers.add(handler);
+
+        if (channelHandlers.size() == 1 && this.connection != null && this.connection.synced) {
+            this.connection.subscribe(bytes(channel));
+        }
+
+        // Wakes the subscriber thread if this is the first channel at all
+        this.notifyAll();
+    }
+
+    /**
+     * Removes every handler of a channel and unsubscribes it.
+     *
+     * @param channel the Redis channel
+     */
+    public synchronized void unsubscribe(final @NotNull String channel) {
+        if (this.handlers.remove(channel) != null && this.connection != null && this.connection.synced) {
+            this.connection.unsubscribe(bytes(channel));
+        }
+    }
+
+    /**
+     * Subscriber thread body: opens the connection, blocks on it until it drops and reopens it with backoff.
+     */
+    private void run() {
+        long backoff = MIN_BACKOFF_MILLIS;
+
+        while (true) {
+            final Connection current;
+
+            synchronized (this) {
+                while (this.handlers.isEmpty()) {
+                    try {
+                        this.wait();
+                    } catch (final InterruptedException e) {
+                        return;
+                    }
+                }
+
+                current = new Connection(Set.copyOf(this.handlers.keySet()));
+                this.connection = current;
+            }
+
+            try (final var jedis = new Jedis(this.address, this.config)) {
+                // Returns normally once the last channel was unsubscribed
+                jedis.subscribe(current, current.initial.stream().map(RedisSubscriber::bytes).toArray(byte[][]::new));
+                continue;
+            } catch (final Exception e) {
+                System.err.println("Redis subscription lost, reconnecting in " + backoff + "ms: " + e.getMessage());
+            } finally {
+                synchronized (this) {
+                    this.connection = null;
+                }
+            }
+
+            if (current.synced) {
+                backoff = MIN_BACKOFF_MILLIS;
+            }
+
+            try {
+                Thread.sleep(backoff + ThreadLocalRandom.current().nextLong(backoff / 2 + 1));
+            } catch (final InterruptedException e) {
+                return;
+            }
+
+            backoff = Math.min(backoff * 2, MAX_BACKOFF_MILLIS);
+        }
+    }
+
+    /**
+     * Pings the live connection, so a dead one times out on its next read.
+     */
+    private synchronized void ping() {
+        if (this.connection == null || !this.connection.synced) {
+            return;
+        }
+
+        try {
+            this.connection.ping();
+        } catch (final Exception e) {
+            // The subscriber thread notices the broken connection and reconnects
+        }
+    }
+
+    /**
+     * Encodes a channel name the way Redis receives it.
+     *
+     * @param channel the channel name
+     * @return the UTF-8 bytes of the name
+     */
+    private static byte[] bytes(final String channel) {
+        return channel.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * The pub/sub state of one connection attempt.
+     */
+    private final class Connection extends BinaryJedisPubSub {
+
+        private final Set<String> initial;
+
+        /**
+         * Whether the subscriptions of this connection were brought in line with the registered channels,
+         * after which channels are subscribed and unsubscribed on it directly.
+         */
+        private volatile boolean synced;
+
+        /**
+         * Creates the state of a connection that opens with the given channels.
+         *
+         * @param initial the channels subscribed when the connection opens
+         */
+        private Connection(final Set<String> initial) {
+            this.initial = initial;
+        }
+
+        /**
+         * Catches up on channels added or removed between opening the connection and its first confirmed
+         * subscription, which is the earliest point commands can be sent on it.
+         *
+         * @param channel            the subscribed channel
+         * @param subscribedChannels the number of channels subscribed on the connection
+         */
+        @Override
+        public void onSubscribe(
+                final byte[] channel,
+                final int subscribedChannels
+        ) {
+            if (this.synced) {
+                return;
+            }
+
+            synchronized (RedisSubscriber.this) {
+                this.synced = true;
+
+                final byte[][] added = handlers.keySet().stream()
+                        .filter(name -> !this.initial.contains(name))
+                        .map(RedisSubscriber::bytes)
+                        .toArray(byte[][]::new);
+
+                final byte[][] removed = this.initial.stream()
+                        .filter(name -> !handlers.containsKey(name))
+                        .map(RedisSubscriber::bytes)
+                        .toArray(byte[][]::new);
+
+                if (added.length > 0) {
+                    this.subscribe(added);
+                }
+
+                if (removed.length > 0) {
+                    this.unsubscribe(removed);
+                }
+            }
+        }
+
+        /**
+         * Hands a message to the handlers of its channel.
+         *
+         * @param channel the channel the message was received on
+         * @param message the message as published
+         */
+        @Override
+        public void onMessage(
+                final byte[] channel,
+                final byte[] message
+        ) {
+            final List<MessageHandler<byte[]>> channelHandlers = handlers.get(new String(channel, StandardCharsets.UTF_8));
+
+            if (channelHandlers == null) {
+                return;
+            }
+
+            for (final MessageHandler<byte[]> handler : channelHandlers) {
+                try {
+                    handler.handle(message);
+                } catch (final Exception e) {
+                    e.printStackTrace();
+                }
+            }
+        }
+    }
+}
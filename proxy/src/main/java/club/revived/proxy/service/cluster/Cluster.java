@@ -89,7 +89,7 @@ public final class Cluster {
         this.serviceType = serviceType;
         this.serviceId = id;
         this.ip = this.serviceIp();
-        this.messagingService = new MessagingService(broker, id);
+        this.messagingService = new MessagingService(broker, id, this.services);
         this.globalCache = cache;
 
         System.out.println( "Setting up cluster...");
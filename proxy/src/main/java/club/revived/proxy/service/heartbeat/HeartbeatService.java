@@ -5,6 +5,7 @@ import club.revived.proxy.service.broker.MessageBroker;
 import club.revived.proxy.service.broker.MessageHandler;
 import club.revived.proxy.service.cluster.Cluster;
 import club.revived.proxy.service.cluster.ClusterService;
+import club.revived.proxy.service.messaging.MessagingService;
 import club.revived.proxy.service.player.PlayerManager;
 import club.revived.proxy.service.status.ServiceStatus;
 import club.revived.proxy.service.status.StatusRequest;
@@ -72,7 +73,9 @@ public final class HeartbeatService implements MessageHandler<Heartbeat> {
                     cluster.getServiceId(),
                     0,
                     List.of(),
-                    cluster.getIp()
+                    cluster.getIp(),
+                    MessagingService.CODECS,
+                    cluster.getMessagingService().getHandledRequests()
             ));
 
             services.forEach(service -> {
@@ -185,7 +188,9 @@ public final class HeartbeatService implements MessageHandler<Heartbeat> {
                 message.serverIp(),
                 message.serviceType(),
                 message.onlinePlayers(),
-                message.timestamp()
+                message.timestamp(),
+                message.codecs() == null ? List.of() : message.codecs(),
+                message.requests()
         );
 
         this.lastSeen.put(
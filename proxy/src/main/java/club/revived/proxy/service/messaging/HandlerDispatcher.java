@@ -0,0 +1,221 @@
+package club.revived.proxy.service.messaging;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * HandlerDispatcher - runs inbound message handlers off the broker's subscriber thread, in order per routing key.
+ * <p>
+ * Handlers are spread over a fixed number of stripes by the hash of their routing key. A stripe runs its
+ * handlers one after another on the executor, so two handlers with the same key, typically the same player,
+ * never overlap and run in the order they arrived, while different keys run in parallel. A stripe only
+ * occupies an executor thread while it has work queued.
+ * <p>
+ * Every stripe queue is bounded. Once a stripe is full further handlers for it are rejected instead of
+ * blocking the subscriber thread, which would stall every other key again. The messaging service hands a
+ * rejected delivery back to a broker that delivers it again, such as the Redis streams broker, and otherwise
+ * answers a rejected request with a {@link RequestRejected} so its sender fails right away. Submitted,
+ * rejected and queued handlers are counted per payload type.
+ *
+ * @author yyuh - DL
+ * @since 1/8/26
+ */
+public final class HandlerDispatcher {
+
+    private static final int DEFAULT_STRIPES = 64;
+    private static final int DEFAULT_CAPACITY = 1_024;
+    private static final int DRAIN_BATCH = 256;
+
+    private final Executor executor;
+    private final Stripe[] stripes;
+    private final Map<String, Saturation> saturation = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a dispatcher running handlers on virtual threads with the default number and size of stripes.
+     */
+    public HandlerDispatcher() {
+        this(Executors.newVirtualThreadPerTaskExecutor(), DEFAULT_STRIPES, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a dispatcher.
+     *
+     * @param executor the executor stripes are drained on
+     * @param stripes  the number of stripes, rounded up to a power of two
+     * @param capacity the number of handlers a stripe queues before rejecting more
+     */
+    public HandlerDispatcher(
+            final @NotNull Executor executor,
+            final int stripes,
+            final int capacity
+    ) {
+        if (stripes <= 0 || capacity <= 0) {
+            throw new IllegalArgumentException("Stripes and capacity must be positive");
+        }
+
+        this.executor = executor;
+        this.stripes = new Stripe[stripes == 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1];
+
+        for (int i = 0; i < this.stripes.length; i++) {
+            this.stripes[i] = new Stripe(capacity);
+        }
+    }
+
+    /**
+     * Queues a handler on the stripe of its routing key.
+     *
+     * @param type       the payload type the handler handles, for the metrics
+     * @param routingKey the key whose handlers must run in order
+     * @param handler    the handler invocation
+     * @return {@code true} if the handler was queued, {@code false} if its stripe is full
+     */
+    public boolean dispatch(
+            final @NotNull String type,
+            final @NotNull Object routingKey,
+            final @NotNull Runnable handler
+    ) {
+        final Saturation metrics = this.saturation.computeIfAbsent(type, _ -> new Saturation());
+        final int hash = routingKey.hashCode();
+        final Stripe stripe = this.stripes[(hash ^ hash >>> 16) & this.stripes.length - 1];
+
+        final Runnable task = () -> {
+            metrics.queued.decrementAndGet();
+            handler.run();
+        };
+
+        metrics.queued.incrementAndGet();
+
+        if (!stripe.queue.offer(task)) {
+            metrics.queued.decrementAndGet();
+            metrics.rejected.increment();
+            return false;
+        }
+
+        metrics.submitted.increment();
+        metrics.peak.accumulateAndGet(metrics.queued.get(), Math::max);
+        stripe.schedule();
+
+        return true;
+    }
+
+    /**
+     * Saturation counters per payload type.
+     *
+     * @return an unmodifiable view of the counters, keyed by payload type
+     */
+    @NotNull
+    public Map<String, Saturation> getSaturation() {
+        return Collections.unmodifiableMap(this.saturation);
+    }
+
+    /**
+     * Handlers of one payload type that were submitted, rejected and are queued right now.
+     */
+    public static final class Saturation {
+
+        private final LongAdder submitted = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+        private final AtomicInteger queued = new AtomicInteger();
+        private final AtomicInteger peak = new AtomicInteger();
+
+        /**
+         * Handlers queued since start.
+         *
+         * @return the submitted count
+         */
+        public long submitted() {
+            return submitted.sum();
+        }
+
+        /**
+         * Handlers dropped since start because their stripe was full.
+         *
+         * @return the rejected count
+         */
+        public long rejected() {
+            return rejected.sum();
+        }
+
+        /**
+         * Handlers waiting to run right now.
+         *
+         * @return the queued count
+         */
+        public int queued() {
+            return queued.get();
+        }
+
+        /**
+         * Most handlers ever waiting at once.
+         *
+         * @return the peak queued count
+         */
+        public int peak() {
+            return peak.get();
+        }
+    }
+
+    /**
+     * A bounded queue of handlers drained by at most one executor task at a time.
+     */
+    private final class Stripe implements Runnable {
+
+        private final ArrayBlockingQueue<Runnable> queue;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        /**
+         * Creates an empty stripe.
+         *
+         * @param capacity the number of handlers it queues
+         */
+        private Stripe(final int capacity) {
+            this.queue = new ArrayBlockingQueue<>(capacity);
+        }
+
+        /**
+         * Hands the stripe to the executor unless it is queued there or running already.
+         */
+        private void schedule() {
+            if (this.scheduled.compareAndSet(false, true)) {
+                executor.execute(this);
+            }
+        }
+
+        /**
+         * Runs queued handlers in order. After a batch the stripe goes back to the executor, so a busy key
+         * cannot hold a platform thread forever.
+         */
+        @Override
+        public void run() {
+            for (int i = 0; i < DRAIN_BATCH; i++) {
+                final Runnable task = this.queue.poll();
+
+                if (task == null) {
+                    break;
+                }
+
+                try {
+                    task.run();
+                } catch (final Throwable e) {
+                    e.printStackTrace();
+                }
+            }
+
+            this.scheduled.set(false);
+
+            // A handler queued after the last poll but before the flag was cleared saw the stripe as scheduled
+            if (!this.queue.isEmpty()) {
+                this.schedule();
+            }
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package club.revived.proxy.service.messaging;
+
+/**
+ * The answer to a global request whose handler had nothing to reply, so the sender counts this service as
+ * answered instead of waiting for the window to pass.
+ *
+ * @param payloadType the type of the request
+ *
+ * @author yyuh - DL
+ * @since 1/8/26
+ */
+public record NoResponse(
+        String payloadType
+) implements Response {
+}
@@ -0,0 +1,338 @@
+package club.revived.proxy.service.messaging;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * RequestTimer - hashed-wheel timer for the timeouts of pending requests.
+ * <p>
+ * Timeouts are hashed by their deadline into the buckets of a wheel that one thread advances by one bucket
+ * per tick, expiring what is due in the bucket it reaches. Timeouts further away than one turn of the wheel
+ * wait for as many turns as they need. Scheduling and cancelling only append to a lock-free queue; the
+ * timer thread moves new timeouts into their bucket and unlinks cancelled ones on its next tick. So a request
+ * costs one small object and two queue appends no matter how many are in flight, and an answered request
+ * leaves the wheel within a tick instead of lingering until its deadline.
+ * <p>
+ * Timeouts fire up to one tick late. Expired tasks run on the executor, never on the timer thread.
+ *
+ * @author yyuh - DL
+ * @since 1/8/26
+ */
+public final class RequestTimer {
+
+    private static final long DEFAULT_TICK_MILLIS = 10;
+    private static final int DEFAULT_WHEEL_SIZE = 512;
+    private static final int MAX_TRANSFERS_PER_TICK = 100_000;
+
+    private final Executor executor;
+    private final long tickNanos;
+    private final Bucket[] wheel;
+    private final long startNanos = System.nanoTime();
+
+    private final Queue<Timeout> scheduled = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout> cancelled = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger pending = new AtomicInteger();
+    private final LongAdder expired = new LongAdder();
+    private final LongAdder cancellations = new LongAdder();
+
+    private long tick;
+
+    /**
+     * Creates a timer with 10ms ticks and 512 buckets, running expired tasks on virtual threads.
+     */
+    public RequestTimer() {
+        this(Executors.newVirtualThreadPerTaskExecutor(), DEFAULT_TICK_MILLIS, DEFAULT_WHEEL_SIZE);
+    }
+
+    /**
+     * Creates a timer and starts its thread.
+     *
+     * @param executor   the executor expired tasks run on
+     * @param tickMillis the length of a tick, which is also the precision of the timer
+     * @param wheelSize  the number of buckets, rounded up to a power of two
+     */
+    public RequestTimer(
+            final @NotNull Executor executor,
+            final long tickMillis,
+            final int wheelSize
+    ) {
+        if (tickMillis <= 0 || wheelSize <= 0) {
+            throw new IllegalArgumentException("Tick and wheel size must be positive");
+        }
+
+        this.executor = executor;
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMillis);
+        this.wheel = new Bucket[wheelSize == 1 ? 1 : Integer.highestOneBit(wheelSize - 1) << 1];
+
+        for (int i = 0; i < this.wheel.length; i++) {
+            this.wheel[i] = new Bucket();
+        }
+
+        Thread.ofPlatform()
+                .name("request-timer")
+                .daemon()
+                .start(this::run);
+    }
+
+    /**
+     * Schedules a task to run once the delay has passed, unless it is cancelled before.
+     *
+     * @param delayMillis the delay in milliseconds
+     * @param task        the task to run when the timeout expires
+     * @return the timeout, to cancel it
+     */
+    @NotNull
+    public Timeout schedule(
+            final long delayMillis,
+            final @NotNull Runnable task
+    ) {
+        final long deadline = System.nanoTime() - this.startNanos + TimeUnit.MILLISECONDS.toNanos(Math.max(0, delayMillis));
+        final Timeout timeout = new Timeout(task, deadline);
+
+        this.pending.incrementAndGet();
+        this.scheduled.add(timeout);
+
+        return timeout;
+    }
+
+    /**
+     * Timeouts that were neither cancelled nor expired yet.
+     *
+     * @return the pending count
+     */
+    public int getPending() {
+        return this.pending.get();
+    }
+
+    /**
+     * Timeouts that expired since start.
+     *
+     * @return the expired count
+     */
+    public long getExpired() {
+        return this.expired.sum();
+    }
+
+    /**
+     * Timeouts that were cancelled since start.
+     *
+     * @return the cancelled count
+     */
+    public long getCancelled() {
+        return this.cancellations.sum();
+    }
+
+    /**
+     * Timer thread body: waits for each tick and expires the bucket it reaches.
+     */
+    private void run() {
+        while (true) {
+            final long deadline = this.tickNanos * (this.tick + 1);
+            final long sleepNanos = deadline - (System.nanoTime() - this.startNanos);
+
+            if (sleepNanos > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(sleepNanos);
+                } catch (final InterruptedException e) {
+                    return;
+                }
+            }
+
+            this.unlinkCancelled();
+            this.transferScheduled();
+            this.wheel[(int) (this.tick & (this.wheel.length - 1))].expire(deadline);
+            this.tick++;
+        }
+    }
+
+    /**
+     * Moves newly scheduled timeouts into the bucket of their deadline. Timeouts that are already overdue go
+     * into the bucket of the current tick.
+     */
+    private void transferScheduled() {
+        for (int i = 0; i < MAX_TRANSFERS_PER_TICK; i++) {
+            final Timeout timeout = this.scheduled.poll();
+
+            if (timeout == null) {
+                return;
+            }
+
+            if (timeout.state.get() != Timeout.PENDING) {
+                continue;
+            }
+
+            final long due = timeout.deadline / this.tickNanos;
+            timeout.rounds = (due - this.tick) / this.wheel.length;
+
+            this.wheel[(int) (Math.max(due, this.tick) & (this.wheel.length - 1))].add(timeout);
+        }
+    }
+
+    /**
+     * Unlinks cancelled timeouts from their bucket, so they are not held until their deadline.
+     */
+    private void unlinkCancelled() {
+        Timeout timeout;
+
+        while ((timeout = this.cancelled.poll()) != null) {
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+        }
+    }
+
+    /**
+     * A scheduled task that either expires or is cancelled, exactly once.
+     */
+    public final class Timeout {
+
+        private static final int PENDING = 0;
+        private static final int CANCELLED = 1;
+        private static final int EXPIRED = 2;
+
+        private final Runnable task;
+        private final long deadline;
+        private final AtomicInteger state = new AtomicInteger(PENDING);
+
+        // Only touched by the timer thread
+        private long rounds;
+        private Bucket bucket;
+        private Timeout previous;
+        private Timeout next;
+
+        /**
+         * Creates a pending timeout.
+         *
+         * @param task     the task to run on expiry
+         * @param deadline the deadline in nanoseconds since the timer started
+         */
+        private Timeout(
+                final Runnable task,
+                final long deadline
+        ) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        /**
+         * Cancels the timeout, so its task never runs.
+         *
+         * @return {@code true} if it was cancelled, {@code false} if it had expired or was cancelled before
+         */
+        public boolean cancel() {
+            if (!this.state.compareAndSet(PENDING, CANCELLED)) {
+                return false;
+            }
+
+            pending.decrementAndGet();
+            cancellations.increment();
+            cancelled.add(this);
+
+            return true;
+        }
+
+        /**
+         * Hands the task to the executor unless the timeout was cancelled in the meantime.
+         */
+        private void expire() {
+            if (!this.state.compareAndSet(PENDING, EXPIRED)) {
+                return;
+            }
+
+            pending.decrementAndGet();
+            expired.increment();
+
+            try {
+                executor.execute(this.task);
+            } catch (final Exception e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * The timeouts hashed into one slot of the wheel, as a doubly linked list.
+     */
+    private static final class Bucket {
+
+        private Timeout head;
+        private Timeout tail;
+
+        /**
+         * Appends a timeout.
+         *
+         * @param timeout the timeout, not in any bucket yet
+         */
+        private void add(final Timeout timeout) {
+            timeout.bucket = this;
+
+            if (this.head == null) {
+                this.head = this.tail = timeout;
+                return;
+            }
+
+            this.tail.next = timeout;
+            timeout.previous = this.tail;
+            this.tail = timeout;
+        }
+
+        /**
+         * Expires every timeout in this bucket whose last round has come, and drops cancelled ones.
+         *
+         * @param deadline the end of the current tick in nanoseconds since the timer started
+         */
+        private void expire(final long deadline) {
+            Timeout timeout = this.head;
+
+            while (timeout != null) {
+                final Timeout next = timeout.next;
+
+                if (timeout.state.get() != Timeout.PENDING) {
+                    this.remove(timeout);
+                } else if (timeout.rounds <= 0 && timeout.deadline <= deadline) {
+                    this.remove(timeout);
+                    timeout.expire();
+                } else {
+                    timeout.rounds--;
+                }
+
+                timeout = next;
+            }
+        }
+
+        /**
+         * Unlinks a timeout.
+         *
+         * @param timeout the timeout, which must be in this bucket
+         */
+        private void remove(final Timeout timeout) {
+            if (timeout.bucket != this) {
+                return;
+            }
+
+            if (timeout.previous == null) {
+                this.head = timeout.next;
+            } else {
+                timeout.previous.next = timeout.next;
+            }
+
+            if (timeout.next == null) {
+                this.tail = timeout.previous;
+            } else {
+                timeout.next.previous = timeout.previous;
+            }
+
+            timeout.previous = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+    }
+}
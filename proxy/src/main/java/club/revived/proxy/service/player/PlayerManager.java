@@ -113,7 +113,7 @@ public final class PlayerManager {
                             }, () -> {
                                 throw new UnregisteredPlayerException("tried to message unregistered player");
                             });
-                });
+                }, SendMessage::uuid);
 
         Cluster.getInstance().getMessagingService().registerMessageHandler(Connect.class, connect -> {
             final var uuid = connect.uuid();
@@ -128,7 +128,7 @@ public final class PlayerManager {
                                         player.createConnectionRequest(server).fireAndForget();
                                     }, () -> player.sendRichMessage("<red>Failed to connect to: " + connect.server())
                             ));
-        });
+        }, Connect::uuid);
 
         System.out.println("Registered player message handlers...");
     }
@@ -1,6 +1,8 @@
 plugins {
     id("java")
+    `java-test-fixtures`
     alias(libs.plugins.shadow)
+    alias(libs.plugins.jmh)
 }
 
 group = "club.revived.queue"
@@ -13,12 +15,29 @@ repositories {
 dependencies {
     implementation(libs.jedis)
     implementation(libs.jetbrainsannotations)
+
+    // The in-memory broker and cache, shared by the tests and the benchmarks
+    testFixturesImplementation(libs.jedis)
+    testFixturesImplementation(libs.jetbrainsannotations)
+    jmhImplementation(testFixtures(project))
+
+    testImplementation(platform(libs.junit.bom))
+    testImplementation(libs.junit.jupiter)
+    testRuntimeOnly(libs.junit.platform.launcher)
 }
 
 tasks.test {
     useJUnitPlatform()
 }
 
+jmh {
+    jmhVersion.set(libs.versions.jmh.get())
+    profilers.add("gc")
+    resultFormat.set("JSON")
+
+    (findProperty("jmh.includes") as String?)?.let { includes.add(it) }
+}
+
 tasks.jar {
     manifest {
         attributes(
@@ -0,0 +1,153 @@
+package club.revived.queue.benchmark;
+
+import club.revived.queue.cluster.broker.MessageBroker;
+import club.revived.queue.cluster.broker.RedisBroker;
+import club.revived.queue.cluster.broker.RedisStreamsBroker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import redis.clients.jedis.Jedis;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * BrokerTransportBenchmark - pub/sub against streams as the transport of the message broker, on a real Redis.
+ * <p>
+ * {@code roundTrip} is the time from publishing one message until its subscriber has it, the latency a request
+ * pays on each leg. {@code burst} publishes {@link #BURST} messages at once and waits for the last one, the
+ * cost per message when the broker is busy. Both brokers batch their publishes the same way, so the difference
+ * is PUBLISH against XADD with trimming, and pushed pub/sub delivery against XREADGROUP with XACK.
+ * <p>
+ * Needs a Redis at REDIS_HOST and REDIS_PORT, localhost:6379 by default.
+ *
+ * @author yyuh - DL
+ * @since 1/8/26
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BrokerTransportBenchmark {
+
+    private static final int BURST = 1_000;
+    private static final long DELIVERY_TIMEOUT_SECONDS = 5;
+    private static final byte[] MESSAGE = new byte[128];
+
+    @Param({"pubsub", "streams"})
+    public String transport;
+
+    private final AtomicInteger received = new AtomicInteger();
+
+    private String host;
+    private int port;
+    private String topic;
+    private MessageBroker broker;
+
+    private volatile int awaited;
+    private volatile CompletableFuture<Void> delivery;
+
+    /**
+     * Connects the broker and subscribes to a fresh topic, then waits until a message makes it through.
+     *
+     * @throws Exception if the first message is not delivered in time
+     */
+    @Setup
+    public void setup() throws Exception {
+        final String redisHost = System.getenv("REDIS_HOST");
+        final String redisPort = System.getenv("REDIS_PORT");
+
+        this.host = redisHost == null || redisHost.isBlank() ? "localhost" : redisHost;
+        this.port = redisPort == null || redisPort.isBlank() ? 6379 : Integer.parseInt(redisPort);
+        this.topic = "benchmark-" + UUID.randomUUID();
+
+        this.broker = this.transport.equals("streams")
+                ? new RedisStreamsBroker(this.host, this.port, "", "benchmark-" + UUID.randomUUID())
+                : new RedisBroker(this.host, this.port, "");
+
+        this.broker.subscribeRaw(this.topic, _ -> {
+            if (this.received.incrementAndGet() >= this.awaited) {
+                this.delivery.complete(null);
+            }
+        });
+
+        // Both transports attach their subscription in the background
+        for (int attempt = 0; ; attempt++) {
+            try {
+                this.roundTrip();
+                return;
+            } catch (final Exception e) {
+                if (attempt == 3) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /**
+     * Unsubscribes and deletes the stream the streams transport left behind.
+     */
+    @TearDown
+    public void tearDown() {
+        this.broker.unsubscribe(this.topic);
+
+        try (final var jedis = new Jedis(this.host, this.port)) {
+            jedis.del(this.topic);
+        }
+    }
+
+    /**
+     * Publishes one message and waits until the subscriber has it.
+     *
+     * @throws Exception if the message is not delivered in time
+     */
+    @Benchmark
+    public void roundTrip() throws Exception {
+        this.publish(1);
+    }
+
+    /**
+     * Publishes {@link #BURST} messages back to back and waits until the subscriber has the last one.
+     *
+     * @throws Exception if the messages are not delivered in time
+     */
+    @Benchmark
+    @OperationsPerInvocation(BURST)
+    public void burst() throws Exception {
+        this.publish(BURST);
+    }
+
+    /**
+     * Publishes messages and waits until the subscriber has all of them.
+     *
+     * @param count the number of messages
+     * @throws Exception if the messages are not delivered in time
+     */
+    private void publish(final int count) throws Exception {
+        final CompletableFuture<Void> delivered = new CompletableFuture<>();
+
+        this.received.set(0);
+        this.awaited = count;
+        this.delivery = delivered;
+
+        for (int i = 0; i < count; i++) {
+            this.broker.publishRaw(this.topic, MESSAGE);
+        }
+
+        delivered.get(DELIVERY_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    }
+}
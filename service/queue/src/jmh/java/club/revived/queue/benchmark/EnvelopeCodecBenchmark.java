@@ -0,0 +1,169 @@
+package club.revived.queue.benchmark;
+
+import club.revived.queue.KitType;
+import club.revived.queue.cluster.cluster.OnlinePlayer;
+import club.revived.queue.cluster.cluster.ServiceType;
+import club.revived.queue.cluster.heartbeat.Heartbeat;
+import club.revived.queue.cluster.messaging.MessageEnvelope;
+import club.revived.queue.cluster.messaging.MessagingService;
+import club.revived.queue.cluster.messaging.codec.BinaryEnvelopeCodec;
+import club.revived.queue.cluster.messaging.codec.EnvelopeCodec;
+import club.revived.queue.cluster.messaging.codec.JsonEnvelopeCodec;
+import club.revived.queue.cluster.messaging.impl.DuelStart;
+import com.google.gson.Gson;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * EnvelopeCodecBenchmark - encode and decode cost of a message envelope per codec, payload serialization included.
+ * <p>
+ * {@code encode} is what a sender pays from the payload object to the bytes handed to the broker, {@code decode}
+ * what a receiver pays from those bytes back to the payload object. The bytes on the wire of every combination
+ * are printed once per trial. A heartbeat of a full lobby stands for large payloads, a match start for the small
+ * ones that make up most of the traffic.
+ *
+ * @author yyuh - DL
+ * @since 1/8/26
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EnvelopeCodecBenchmark {
+
+    private static final int LOBBY_PLAYERS = 100;
+    private static final int TYPE_ID = 7;
+
+    @Param({JsonEnvelopeCodec.NAME, BinaryEnvelopeCodec.NAME})
+    public String codecName;
+
+    @Param({"HEARTBEAT", "DUEL_START"})
+    public Payload payload;
+
+    private final Gson gson = new Gson();
+
+    private EnvelopeCodec codec;
+    private Object message;
+    private Class<?> type;
+    private UUID correlationId;
+    private byte[] encoded;
+
+    /**
+     * Builds the payload and encodes it once for the decode benchmark.
+     */
+    @Setup
+    public void setup() {
+        this.codec = this.codecName.equals(BinaryEnvelopeCodec.NAME)
+                ? new BinaryEnvelopeCodec()
+                : new JsonEnvelopeCodec();
+
+        final Random random = new Random(42);
+
+        this.message = switch (this.payload) {
+            case HEARTBEAT -> heartbeat(random);
+            case DUEL_START -> new DuelStart(
+                    List.of(new UUID(random.nextLong(), random.nextLong())),
+                    List.of(new UUID(random.nextLong(), random.nextLong())),
+                    1,
+                    KitType.values()[0]
+            );
+        };
+
+        this.type = this.message.getClass();
+        this.correlationId = UUID.randomUUID();
+        this.encoded = this.encode();
+
+        System.out.printf("%n%s %s: %d bytes on the wire%n", this.codecName, this.payload, this.encoded.length);
+    }
+
+    /**
+     * Serializes the payload and encodes its envelope.
+     *
+     * @return the bytes handed to the broker
+     */
+    @Benchmark
+    public byte[] encode() {
+        return this.codec.encode(new MessageEnvelope(
+                this.correlationId,
+                "lobby-1",
+                "queue-1",
+                TYPE_ID,
+                this.type.getSimpleName(),
+                this.gson.toJson(this.message)
+        ));
+    }
+
+    /**
+     * Decodes the envelope and deserializes its payload.
+     *
+     * @return the payload
+     */
+    @Benchmark
+    public Object decode() {
+        final MessageEnvelope envelope = this.codec.decode(this.encoded);
+        return this.gson.fromJson(envelope.payloadJson(), this.type);
+    }
+
+    /**
+     * Builds the heartbeat of a lobby with {@link #LOBBY_PLAYERS} players, skins included.
+     *
+     * @param random the source of player data
+     * @return the heartbeat
+     */
+    private static Heartbeat heartbeat(final Random random) {
+        final List<OnlinePlayer> players = new ArrayList<>(LOBBY_PLAYERS);
+
+        for (int i = 0; i < LOBBY_PLAYERS; i++) {
+            final byte[] skin = new byte[450];
+            final byte[] signature = new byte[512];
+            random.nextBytes(skin);
+            random.nextBytes(signature);
+
+            players.add(new OnlinePlayer(
+                    new UUID(random.nextLong(), random.nextLong()),
+                    "Player" + i,
+                    "lobby-1",
+                    random.nextInt(200),
+                    Base64.getEncoder().encodeToString(skin),
+                    Base64.getEncoder().encodeToString(signature)
+            ));
+        }
+
+        return new Heartbeat(
+                System.currentTimeMillis(),
+                ServiceType.LOBBY,
+                "lobby-1",
+                players.size(),
+                players,
+                "10.0.0.1:3000",
+                MessagingService.CODECS,
+                List.of("WhereIsRequest")
+        );
+    }
+
+    /**
+     * The benchmarked payloads.
+     */
+    public enum Payload {
+        HEARTBEAT,
+        DUEL_START
+    }
+}
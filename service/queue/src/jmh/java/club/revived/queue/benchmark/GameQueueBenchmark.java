@@ -0,0 +1,171 @@
+package club.revived.queue.benchmark;
+
+import club.revived.queue.GameQueue;
+import club.revived.queue.QueueEntry;
+import club.revived.queue.cluster.messaging.impl.AddToQueue;
+import club.revived.queue.cluster.player.PlayerManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * GameQueueBenchmark - push, remove and membership throughput of a running {@link GameQueue}, plus
+ * {@link AddToQueue} handlers racing each other.
+ * <p>
+ * The queue runs inside a {@link QueueCluster} that does not match, so the measured entries stay where they
+ * are put. It starts with {@code population} waiting players spread over the buckets, registered as online
+ * so the queue's one second sweep keeps them. Churned players are not registered, which keeps the chat
+ * notifications of joining and leaving out of the numbers.
+ *
+ * @author yyuh - DL
+ * @since 1/8/26
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GameQueueBenchmark {
+
+    private static final int CHURN = 1 << 16;
+
+    @Param({"1000", "10000"})
+    public int population;
+
+    @Param({"UNIFORM", "SKEWED"})
+    public QueueWorkload.Distribution distribution;
+
+    private final AtomicLong seeds = new AtomicLong(1);
+
+    private QueueCluster cluster;
+    private GameQueue gameQueue;
+    private UUID[] queued;
+    private QueueEntry[] churn;
+    private int cursor;
+
+    /**
+     * Boots the cluster and fills the queue.
+     */
+    @Setup
+    public void setup() {
+        this.cluster = new QueueCluster(false);
+        this.gameQueue = this.cluster.getGameQueue();
+
+        final long now = System.currentTimeMillis();
+        final var workload = new QueueWorkload(this.distribution, 42);
+        final QueueEntry[] entries = workload.entries(this.population, now);
+
+        this.queued = new UUID[this.population];
+
+        for (int i = 0; i < this.population; i++) {
+            this.gameQueue.push(entries[i]);
+            this.queued[i] = entries[i].uuid();
+
+            for (final UUID member : entries[i].members()) {
+                PlayerManager.getInstance().registerPlayer(member, member.toString(), QueueCluster.LOBBY_ID);
+            }
+        }
+
+        this.churn = workload.entries(CHURN, now);
+    }
+
+    /**
+     * Stops the cluster's background tasks.
+     */
+    @TearDown
+    public void tearDown() {
+        this.cluster.shutdown();
+    }
+
+    /**
+     * Enqueues an entry and takes it out again.
+     */
+    @Benchmark
+    public void pushRemove() {
+        final QueueEntry entry = this.churn[this.cursor++ & (CHURN - 1)];
+
+        this.gameQueue.push(entry);
+        this.gameQueue.remove(entry.uuid());
+    }
+
+    /**
+     * Checks a queued player, as every lobby billboard and queue item does.
+     *
+     * @return {@code true}
+     */
+    @Benchmark
+    public boolean isQueued() {
+        return this.gameQueue.isQueued(this.queued[(this.cursor++ & Integer.MAX_VALUE) % this.population]);
+    }
+
+    /**
+     * Four lobby threads send {@link AddToQueue} for their own players through the broker. Every request
+     * toggles the player, so half of them join and half of them leave the queue. The measured path is the
+     * subscriber side, decoding the envelope and queuing the handler on the player's stripe; the handlers
+     * themselves run on the dispatcher's virtual threads, and once the stripes are full they are rejected.
+     *
+     * @param lobby the sending thread's players
+     */
+    @Benchmark
+    @Threads(4)
+    public void addToQueueContended(final LobbyThread lobby) {
+        final QueueEntry entry = lobby.next();
+
+        this.cluster.getLobby().sendMessage(QueueCluster.QUEUE_ID, new AddToQueue(
+                entry.uuid(),
+                entry.members(),
+                entry.queueType(),
+                entry.kitType(),
+                List.of(entry.kitType()),
+                entry.rating()
+        ));
+    }
+
+    /**
+     * Players one lobby thread toggles in and out of the queue.
+     */
+    @State(Scope.Thread)
+    public static class LobbyThread {
+
+        private static final int PLAYERS = 1 << 10;
+
+        private QueueEntry[] players;
+        private int cursor;
+
+        /**
+         * Generates the thread's players from its own seed.
+         *
+         * @param benchmark the benchmark state
+         */
+        @Setup
+        public void setup(final GameQueueBenchmark benchmark) {
+            final var workload = new QueueWorkload(benchmark.distribution, benchmark.seeds.incrementAndGet() * 31);
+            this.players = workload.entries(PLAYERS, System.currentTimeMillis());
+        }
+
+        /**
+         * The next player to toggle.
+         *
+         * @return the player's entry
+         */
+        private QueueEntry next() {
+            return this.players[this.cursor++ & (PLAYERS - 1)];
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package club.revived.queue.benchmark;
+
+import club.revived.queue.GameQueue;
+import club.revived.queue.KitType;
+import club.revived.queue.QueueType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GameQueueMatchBenchmark - end-to-end match throughput and latency of a running {@link GameQueue}.
+ * <p>
+ * Every operation queues exactly one match worth of players into a bucket drawn from the workload and waits
+ * until the duel server has acknowledged the match. That covers the push, the matchmaking loop waking up,
+ * the bucket's matcher, arena placement and the dispatch round trip. Team queues are filled with a mix of
+ * groups and solo players, so the group matcher has to pack them.
+ *
+ * @author yyuh - DL
+ * @since 1/8/26
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GameQueueMatchBenchmark {
+
+    @Param({"UNIFORM", "SKEWED"})
+    public QueueWorkload.Distribution distribution;
+
+    private QueueCluster cluster;
+    private GameQueue gameQueue;
+    private QueueWorkload workload;
+    private long expectedMatches;
+
+    /**
+     * Boots a matching cluster.
+     */
+    @Setup
+    public void setup() {
+        this.cluster = new QueueCluster(true);
+        this.gameQueue = this.cluster.getGameQueue();
+        this.workload = new QueueWorkload(this.distribution, 42);
+        this.expectedMatches = this.gameQueue.getMetrics().getMatches();
+    }
+
+    /**
+     * Stops the cluster's background tasks.
+     */
+    @TearDown
+    public void tearDown() {
+        this.cluster.shutdown();
+    }
+
+    /**
+     * Queues one match and waits for its acknowledgement.
+     */
+    @Benchmark
+    public void match() {
+        final long now = System.currentTimeMillis();
+        final KitType kit = this.workload.kit();
+        final QueueType queueType = this.workload.queueType();
+
+        switch (queueType) {
+            case SOLO -> {
+                this.push(kit, queueType, 1, now);
+                this.push(kit, queueType, 1, now);
+            }
+            case DUO -> {
+                this.push(kit, queueType, 2, now);
+                this.push(kit, queueType, 1, now);
+                this.push(kit, queueType, 1, now);
+            }
+            case TRIO -> {
+                this.push(kit, queueType, 3, now);
+                this.push(kit, queueType, 2, now);
+                this.push(kit, queueType, 1, now);
+            }
+        }
+
+        final long target = ++this.expectedMatches;
+
+        while (this.gameQueue.getMetrics().getMatches() < target) {
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Queues one new entry.
+     *
+     * @param kit       the kit
+     * @param queueType the queue type
+     * @param size      the number of players in the entry
+     * @param now       the enqueue time
+     */
+    private void push(
+            final KitType kit,
+            final QueueType queueType,
+            final int size,
+            final long now
+    ) {
+        this.gameQueue.push(this.workload.next(kit, queueType, size, now));
+    }
+}
@@ -0,0 +1,124 @@
+package club.revived.queue.benchmark;
+
+import club.revived.queue.GameQueue;
+import club.revived.queue.KitType;
+import club.revived.queue.cluster.broker.InMemoryMessageBroker;
+import club.revived.queue.cluster.cache.InMemoryGlobalCache;
+import club.revived.queue.cluster.cluster.Cluster;
+import club.revived.queue.cluster.cluster.ServiceType;
+import club.revived.queue.cluster.messaging.MessagingService;
+import club.revived.queue.cluster.messaging.impl.ArenaCapacity;
+import club.revived.queue.cluster.messaging.impl.MatchDispatch;
+import club.revived.queue.cluster.messaging.impl.MatchDispatchAck;
+import club.revived.queue.cluster.status.ServiceStatus;
+import club.revived.queue.shard.LocalLeaseStore;
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * QueueCluster - a queue service, a lobby and a duel server wired together over an {@link InMemoryMessageBroker}.
+ * <p>
+ * The duel server accepts every match and reports far more free arenas than a benchmark can use. If the
+ * queue service should not match, every kit shard lease is held by a standby service that never shows up
+ * in the cluster, so the queue accepts and indexes players but its matchmaking loop stays idle.
+ *
+ * @author yyuh - DL
+ * @since 1/8/26
+ */
+public final class QueueCluster {
+
+    public static final String QUEUE_ID = "queue-bench";
+    public static final String LOBBY_ID = "lobby-bench";
+    public static final String DUELS_ID = "duels-bench";
+
+    private static final String STANDBY_ID = "queue-standby";
+    private static final String ARENA_TYPE = "BENCHMARK";
+    private static final int FREE_ARENAS = 1_000_000_000;
+
+    private final InMemoryMessageBroker broker = new InMemoryMessageBroker();
+    private final ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor();
+
+    @NotNull
+    private final GameQueue gameQueue;
+
+    @NotNull
+    private final MessagingService lobby;
+
+    /**
+     * Boots the cluster.
+     *
+     * @param matching whether the queue service owns its kit shards and matches players
+     */
+    public QueueCluster(final boolean matching) {
+        final var leases = new LocalLeaseStore();
+
+        if (!matching) {
+            for (final KitType kit : KitType.values()) {
+                leases.acquire("queue:shard:" + kit.name(), STANDBY_ID, Duration.ofDays(1).toMillis());
+            }
+        }
+
+        new Cluster(this.broker, new InMemoryGlobalCache(), ServiceType.QUEUE, QUEUE_ID);
+
+        this.lobby = new MessagingService(this.broker, LOBBY_ID);
+
+        final var duels = new MessagingService(this.broker, DUELS_ID);
+        duels.registerHandler(MatchDispatch.class, dispatch -> new MatchDispatchAck(dispatch.matchId(), true));
+
+        this.gameQueue = new GameQueue(leases);
+        this.reporter.scheduleAtFixedRate(() -> duels.sendMessage(QUEUE_ID, this.capacity()), 0, 1, TimeUnit.SECONDS);
+    }
+
+    /**
+     * The capacity report of the benchmark duel server, playing every kit in one huge arena pool.
+     *
+     * @return the report
+     */
+    @NotNull
+    private ArenaCapacity capacity() {
+        final Map<String, String> kitArenas = new HashMap<>();
+
+        for (final KitType kit : KitType.values()) {
+            kitArenas.put(kit.name(), ARENA_TYPE);
+        }
+
+        return new ArenaCapacity(
+                DUELS_ID,
+                ServiceStatus.AVAILABLE,
+                Map.of(ARENA_TYPE, FREE_ARENAS),
+                kitArenas,
+                System.currentTimeMillis()
+        );
+    }
+
+    /**
+     * Stops reporting arena capacity.
+     */
+    public void shutdown() {
+        this.reporter.shutdownNow();
+    }
+
+    /**
+     * The queue service.
+     *
+     * @return the game queue
+     */
+    public @NotNull GameQueue getGameQueue() {
+        return gameQueue;
+    }
+
+    /**
+     * The lobby's messaging service, used to send queue requests the way lobbies do.
+     *
+     * @return the lobby messaging service
+     */
+    public @NotNull MessagingService getLobby() {
+        return lobby;
+    }
+}
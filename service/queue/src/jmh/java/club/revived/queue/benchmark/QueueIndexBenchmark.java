@@ -0,0 +1,188 @@
+package club.revived.queue.benchmark;
+
+import club.revived.queue.KitType;
+import club.revived.queue.QueueEntry;
+import club.revived.queue.QueueIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * QueueIndexBenchmark - push, remove, membership and match throughput of the bucket index on its own.
+ * <p>
+ * The index starts with {@code population} waiting entries spread over all buckets by the workload
+ * distribution, so lookups hit a realistically sized map. Churn entries come from a pre-generated ring and
+ * are reused once they have left the queue. Multi-kit churn queues the same players for {@link #MULTI_KIT}
+ * consecutive kits at once.
+ *
+ * @author yyuh - DL
+ * @since 1/8/26
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class QueueIndexBenchmark {
+
+    private static final int CHURN = 1 << 16;
+    private static final int MULTI_KIT = 4;
+
+    @Param({"1000", "10000"})
+    public int population;
+
+    @Param({"UNIFORM", "SKEWED"})
+    public QueueWorkload.Distribution distribution;
+
+    private QueueIndex index;
+    private UUID[] queued;
+    private QueueEntry[] churn;
+    private List<List<QueueEntry>> multiKitChurn;
+    private int cursor;
+
+    /**
+     * Fills the index and generates the churn ring.
+     */
+    @Setup
+    public void setup() {
+        final long now = System.currentTimeMillis();
+        final var workload = new QueueWorkload(this.distribution, 42);
+
+        this.index = new QueueIndex();
+        this.queued = new UUID[this.population];
+
+        for (int i = 0; i < this.population; i++) {
+            final QueueEntry entry = workload.next(now);
+
+            this.index.push(entry);
+            this.queued[i] = entry.uuid();
+        }
+
+        this.churn = workload.entries(CHURN, now);
+        this.multiKitChurn = new ArrayList<>(CHURN);
+
+        final KitType[] kits = KitType.values();
+
+        for (final QueueEntry entry : workload.entries(CHURN, now)) {
+            final List<QueueEntry> entries = new ArrayList<>(MULTI_KIT);
+
+            for (int i = 0; i < MULTI_KIT; i++) {
+                entries.add(new QueueEntry(
+                        entry.uuid(),
+                        entry.members(),
+                        entry.queueType(),
+                        kits[(entry.kitType().ordinal() + i) % kits.length],
+                        entry.queuedAt(),
+                        entry.rating()
+                ));
+            }
+
+            this.multiKitChurn.add(entries);
+        }
+    }
+
+    /**
+     * Enqueues an entry and takes it out again, the path of a player who leaves the queue.
+     *
+     * @return the removed entry
+     */
+    @Benchmark
+    public QueueEntry pushRemove() {
+        final QueueEntry entry = this.nextChurn();
+
+        this.index.push(entry);
+        return this.index.remove(entry.uuid());
+    }
+
+    /**
+     * Checks a player that is queued.
+     *
+     * @return {@code true}
+     */
+    @Benchmark
+    public boolean containsQueued() {
+        return this.index.contains(this.queued[(this.cursor++ & Integer.MAX_VALUE) % this.population]);
+    }
+
+    /**
+     * Checks a player that is not queued.
+     *
+     * @return {@code false}
+     */
+    @Benchmark
+    public boolean containsAbsent() {
+        return this.index.contains(this.nextChurn().uuid());
+    }
+
+    /**
+     * Enqueues an entry and polls a match out of its bucket, the path every push into a bucket that
+     * completes a match takes.
+     *
+     * @return the match, or {@code null} if the bucket cannot form one yet
+     */
+    @Benchmark
+    public List<List<QueueEntry>> pushAndMatch() {
+        final QueueEntry entry = this.nextChurn();
+
+        this.index.push(entry);
+        return this.index.pollMatch(
+                this.index.bucket(entry.kitType(), entry.queueType()),
+                System.currentTimeMillis()
+        );
+    }
+
+    /**
+     * Queues players for several kits at once and takes them out again, which has to withdraw them from
+     * every bucket they joined.
+     *
+     * @return the removed primary entry
+     */
+    @Benchmark
+    public QueueEntry pushRemoveMultiKit() {
+        final List<QueueEntry> entries = this.multiKitChurn.get(this.cursor++ & (CHURN - 1));
+
+        this.index.push(entries);
+        return this.index.remove(entries.getFirst().uuid());
+    }
+
+    /**
+     * Queues players for several kits at once and polls a match out of the primary kit's bucket. A match
+     * claims the players' ticket and withdraws them from the other kits.
+     *
+     * @return the match, or {@code null} if the bucket cannot form one yet
+     */
+    @Benchmark
+    public List<List<QueueEntry>> pushAndMatchMultiKit() {
+        final List<QueueEntry> entries = this.multiKitChurn.get(this.cursor++ & (CHURN - 1));
+        final QueueEntry entry = entries.getFirst();
+
+        this.index.push(entries);
+        return this.index.pollMatch(
+                this.index.bucket(entry.kitType(), entry.queueType()),
+                System.currentTimeMillis()
+        );
+    }
+
+    /**
+     * The next entry of the churn ring.
+     *
+     * @return the entry
+     */
+    private QueueEntry nextChurn() {
+        return this.churn[this.cursor++ & (CHURN - 1)];
+    }
+}
@@ -0,0 +1,121 @@
+package club.revived.queue.benchmark;
+
+import club.revived.queue.QueueEntry;
+import club.revived.queue.QueueIndex;
+import club.revived.queue.journal.QueueJournal;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * QueueJournalBenchmark - cost the journal adds to pushing into and removing from the queue index.
+ * <p>
+ * Runs the same churn against an index without a journal and one recording into a journal in a temporary
+ * directory, so the difference between both is the journaling overhead per operation. The journal's own
+ * background compaction runs as it would in production.
+ *
+ * @author yyuh - DL
+ * @since 1/8/26
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class QueueJournalBenchmark {
+
+    private static final int CHURN = 1 << 16;
+
+    @Param({"false", "true"})
+    public boolean journaled;
+
+    private Path directory;
+    private QueueJournal journal;
+    private QueueIndex index;
+    private QueueEntry[] churn;
+    private int cursor;
+
+    /**
+     * Creates the index, with a fresh journal if journaling is measured, and generates the churn ring.
+     *
+     * @throws IOException if the temporary directory cannot be created
+     */
+    @Setup
+    public void setup() throws IOException {
+        if (this.journaled) {
+            this.directory = Files.createTempDirectory("queue-journal");
+            this.journal = new QueueJournal(this.directory.resolve("queue.journal"));
+            this.journal.start();
+            this.index = new QueueIndex(this.journal);
+        } else {
+            this.index = new QueueIndex();
+        }
+
+        this.churn = new QueueWorkload(QueueWorkload.Distribution.UNIFORM, 42)
+                .entries(CHURN, System.currentTimeMillis());
+    }
+
+    /**
+     * Closes the journal and deletes its directory.
+     *
+     * @throws IOException if the files cannot be deleted
+     */
+    @TearDown
+    public void tearDown() throws IOException {
+        if (this.journal == null) {
+            return;
+        }
+
+        this.journal.close();
+
+        try (final var files = Files.list(this.directory)) {
+            for (final Path file : files.toList()) {
+                Files.delete(file);
+            }
+        }
+
+        Files.delete(this.directory);
+    }
+
+    /**
+     * Enqueues an entry, one push record when journaled.
+     *
+     * @return {@code true} if the entry was added
+     */
+    @Benchmark
+    public boolean push() {
+        final QueueEntry entry = this.churn[this.cursor++ & (CHURN - 1)];
+
+        // Leaves the previous round of the ring first so every push lands on an empty slot
+        this.index.remove(entry.uuid());
+        return this.index.push(entry);
+    }
+
+    /**
+     * Enqueues an entry and takes it out again, one push and one remove record when journaled.
+     *
+     * @return the removed entry
+     */
+    @Benchmark
+    public QueueEntry pushRemove() {
+        final QueueEntry entry = this.churn[this.cursor++ & (CHURN - 1)];
+
+        this.index.push(entry);
+        return this.index.remove(entry.uuid());
+    }
+}
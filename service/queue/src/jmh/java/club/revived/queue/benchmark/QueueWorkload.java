@@ -0,0 +1,188 @@
+package club.revived.queue.benchmark;
+
+import club.revived.queue.KitType;
+import club.revived.queue.QueueEntry;
+import club.revived.queue.QueueType;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * QueueWorkload - deterministic generator of queue entries with a realistic spread over buckets.
+ * <p>
+ * Kits are drawn either uniformly or from a Zipf-like popularity curve over the 13 {@link KitType}s, where
+ * the first kit is played about as often as the last five together. Queue types follow the usual split of
+ * {@link #SOLO_SHARE} solo, {@link #DUO_SHARE} duo and the rest trio queues, and team queues carry a share
+ * of pre-made groups. Ratings are normally distributed around the default rating.
+ *
+ * @author yyuh - DL
+ * @since 1/8/26
+ */
+public final class QueueWorkload {
+
+    public static final double SOLO_SHARE = 0.7;
+    public static final double DUO_SHARE = 0.2;
+
+    private static final int DEFAULT_RATING = 1_000;
+    private static final int RATING_DEVIATION = 250;
+    private static final double ZIPF_EXPONENT = 1.1;
+
+    /**
+     * How queued players spread over the kits.
+     */
+    public enum Distribution {
+        /**
+         * Every kit is equally popular.
+         */
+        UNIFORM,
+
+        /**
+         * A few kits hold most of the players, as on the live network.
+         */
+        SKEWED
+    }
+
+    private final SplittableRandom random;
+    private final double[] kitWeights = new double[KitType.values().length];
+
+    /**
+     * Creates a workload.
+     *
+     * @param distribution how players spread over the kits
+     * @param seed         the random seed, the same seed always produces the same entries
+     */
+    public QueueWorkload(
+            final @NotNull Distribution distribution,
+            final long seed
+    ) {
+        this.random = new SplittableRandom(seed);
+
+        double total = 0;
+
+        for (int i = 0; i < this.kitWeights.length; i++) {
+            total += distribution == Distribution.UNIFORM ? 1 : 1 / Math.pow(i + 1, ZIPF_EXPONENT);
+            this.kitWeights[i] = total;
+        }
+
+        for (int i = 0; i < this.kitWeights.length; i++) {
+            this.kitWeights[i] /= total;
+        }
+    }
+
+    /**
+     * Draws a kit from the distribution.
+     *
+     * @return the kit
+     */
+    @NotNull
+    public KitType kit() {
+        final double roll = this.random.nextDouble();
+
+        for (int i = 0; i < this.kitWeights.length - 1; i++) {
+            if (roll < this.kitWeights[i]) {
+                return KitType.values()[i];
+            }
+        }
+
+        return KitType.values()[this.kitWeights.length - 1];
+    }
+
+    /**
+     * Draws a queue type from the usual split.
+     *
+     * @return the queue type
+     */
+    @NotNull
+    public QueueType queueType() {
+        final double roll = this.random.nextDouble();
+
+        if (roll < SOLO_SHARE) {
+            return QueueType.SOLO;
+        }
+
+        return roll < SOLO_SHARE + DUO_SHARE ? QueueType.DUO : QueueType.TRIO;
+    }
+
+    /**
+     * Draws a group size for the queue type: team queues get pre-made groups of up to a full team.
+     *
+     * @param queueType the queue type
+     * @return the number of players queueing together
+     */
+    public int groupSize(final @NotNull QueueType queueType) {
+        if (queueType.teamSize() == 1 || this.random.nextDouble() < 0.5) {
+            return 1;
+        }
+
+        return 2 + this.random.nextInt(queueType.teamSize() - 1);
+    }
+
+    /**
+     * Draws a rating.
+     *
+     * @return a rating around the default rating
+     */
+    public int rating() {
+        return (int) Math.max(0, this.random.nextGaussian(DEFAULT_RATING, RATING_DEVIATION));
+    }
+
+    /**
+     * Creates the next entry of the workload.
+     *
+     * @param queuedAt the enqueue time of the entry
+     * @return a new entry with fresh player UUIDs
+     */
+    @NotNull
+    public QueueEntry next(final long queuedAt) {
+        final QueueType queueType = this.queueType();
+        return this.next(this.kit(), queueType, this.groupSize(queueType), queuedAt);
+    }
+
+    /**
+     * Creates an entry for the given bucket.
+     *
+     * @param kit       the kit
+     * @param queueType the queue type
+     * @param size      the number of players in the entry
+     * @param queuedAt  the enqueue time of the entry
+     * @return a new entry with fresh player UUIDs
+     */
+    @NotNull
+    public QueueEntry next(
+            final @NotNull KitType kit,
+            final @NotNull QueueType queueType,
+            final int size,
+            final long queuedAt
+    ) {
+        final List<UUID> members = new ArrayList<>(size);
+
+        for (int i = 0; i < size; i++) {
+            members.add(new UUID(this.random.nextLong(), this.random.nextLong()));
+        }
+
+        return new QueueEntry(members.getFirst(), List.copyOf(members), queueType, kit, queuedAt, this.rating());
+    }
+
+    /**
+     * Creates {@code count} entries.
+     *
+     * @param count    the number of entries
+     * @param queuedAt the enqueue time of every entry
+     * @return the entries
+     */
+    public @NotNull QueueEntry @NotNull [] entries(
+            final int count,
+            final long queuedAt
+    ) {
+        final QueueEntry[] entries = new QueueEntry[count];
+
+        for (int i = 0; i < count; i++) {
+            entries[i] = this.next(queuedAt);
+        }
+
+        return entries;
+    }
+}
@@ -0,0 +1,95 @@
+package club.revived.queue.benchmark;
+
+import club.revived.queue.KitType;
+import club.revived.queue.QueueBucket;
+import club.revived.queue.QueueType;
+import club.revived.queue.matchmaking.RatingMatcher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RatingMatcherBenchmark - match throughput of a ranked bucket holding {@code population} entries.
+ * <p>
+ * Every operation selects one match and refills the bucket with as many new entries as were matched, so the
+ * bucket stays at its population and the matcher always works on fresh arrivals, like a busy ranked queue.
+ * Enqueue times are spread over the last minute, so search windows of the backlog have widened differently.
+ *
+ * @author yyuh - DL
+ * @since 1/8/26
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RatingMatcherBenchmark {
+
+    private static final long BACKLOG_SPREAD_MS = 60_000;
+
+    @Param({"1000", "10000", "50000"})
+    public int population;
+
+    @Param({"SOLO", "DUO"})
+    public QueueType queueType;
+
+    private QueueBucket bucket;
+    private QueueWorkload workload;
+
+    /**
+     * Fills the bucket.
+     */
+    @Setup
+    public void setup() {
+        final long now = System.currentTimeMillis();
+
+        this.workload = new QueueWorkload(QueueWorkload.Distribution.UNIFORM, 42);
+        this.bucket = new QueueBucket(KitType.UHC, this.queueType, new RatingMatcher(this.queueType));
+
+        for (int i = 0; i < this.population; i++) {
+            final long queuedAt = now - (long) i * BACKLOG_SPREAD_MS / this.population;
+            this.add(queuedAt);
+        }
+    }
+
+    /**
+     * Selects a match and replaces its entries.
+     *
+     * @return the matched nodes, or {@code null} if nobody could be matched
+     */
+    @Benchmark
+    public List<QueueBucket.Node> selectAndRefill() {
+        final long now = System.currentTimeMillis();
+        final List<QueueBucket.Node> match = this.bucket.pollMatch(now);
+
+        if (match != null) {
+            for (int i = 0; i < match.size(); i++) {
+                this.add(now);
+            }
+        }
+
+        return match;
+    }
+
+    /**
+     * Links a new solo entry into the bucket.
+     *
+     * @param queuedAt the enqueue time of the entry
+     */
+    private void add(final long queuedAt) {
+        final var entry = this.workload.next(KitType.UHC, this.queueType, 1, queuedAt);
+        this.bucket.addLast(new QueueBucket.Node(entry, this.bucket));
+    }
+}
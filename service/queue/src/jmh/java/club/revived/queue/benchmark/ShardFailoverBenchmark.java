@@ -0,0 +1,184 @@
+package club.revived.queue.benchmark;
+
+import club.revived.queue.KitType;
+import club.revived.queue.shard.Lease;
+import club.revived.queue.shard.LeaseStore;
+import club.revived.queue.shard.LocalLeaseStore;
+import club.revived.queue.shard.ShardCoordinator;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ShardFailoverBenchmark - time from a queue service dying until its hot standby matches all of its kits.
+ * <p>
+ * Two coordinators share a {@link LocalLeaseStore} as a stand-in for Redis and see each other as members,
+ * so each one is the standby of every kit of the other. Each invocation kills the leader in-process: its
+ * lease store stops answering, as if the process was gone, and its coordinator is stopped without releasing
+ * anything. The measured time ends once the standby holds every lease the leader held. It is bounded by the
+ * lease time to live plus one watch interval, independent of how long membership takes to notice the death.
+ *
+ * @author yyuh - DL
+ * @since 1/8/26
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 10)
+@Fork(1)
+public class ShardFailoverBenchmark {
+
+    private static final ShardCoordinator.Listener IGNORE = new ShardCoordinator.Listener() {
+        @Override
+        public void acquired(
+                final @NotNull KitType kit,
+                final @NotNull Lease lease
+        ) {
+        }
+
+        @Override
+        public void released(
+                final @NotNull KitType kit,
+                final @Nullable String newOwner
+        ) {
+        }
+    };
+
+    @Param({"1000", "3000"})
+    public long leaseTtl;
+
+    private KillableLeaseStore leaderStore;
+    private ShardCoordinator leader;
+    private ShardCoordinator standby;
+    private List<KitType> leaderKits;
+
+    /**
+     * Starts both coordinators and waits until every kit is owned and the standby has seen the leader's leases.
+     *
+     * @throws InterruptedException if interrupted while waiting
+     */
+    @Setup(Level.Invocation)
+    public void setup() throws InterruptedException {
+        final LocalLeaseStore store = new LocalLeaseStore();
+
+        this.leaderStore = new KillableLeaseStore(store);
+        this.leader = new ShardCoordinator(this.leaderStore, "queue-a", () -> List.of("queue-b"), IGNORE, this.leaseTtl);
+        this.standby = new ShardCoordinator(store, "queue-b", () -> List.of("queue-a"), IGNORE, this.leaseTtl);
+
+        this.leader.start();
+        this.standby.start();
+
+        this.leaderKits = new ArrayList<>();
+
+        for (final KitType kit : KitType.values()) {
+            if (this.leader.assignedOwner(kit).equals("queue-a")) {
+                this.leaderKits.add(kit);
+            }
+        }
+
+        while (!this.leaderKits.stream().allMatch(this.leader::owns)) {
+            Thread.sleep(1);
+        }
+
+        // The standby only takes over leases it has seen held at least once
+        Thread.sleep(this.leaseTtl * ShardCoordinator.WATCH_INTERVAL_MS / ShardCoordinator.LEASE_TTL_MS * 2);
+    }
+
+    /**
+     * Stops both coordinators.
+     */
+    @TearDown(Level.Invocation)
+    public void tearDown() {
+        this.leader.shutdown();
+        this.standby.shutdown();
+    }
+
+    /**
+     * Kills the leader and waits for the standby to own every one of its kits.
+     *
+     * @return the number of kits taken over
+     * @throws InterruptedException if interrupted while waiting
+     */
+    @Benchmark
+    public int failover() throws InterruptedException {
+        this.leaderStore.kill();
+        this.leader.shutdown();
+
+        while (!this.leaderKits.stream().allMatch(this.standby::owns)) {
+            Thread.sleep(1);
+        }
+
+        return this.leaderKits.size();
+    }
+
+    /**
+     * Lease store of a service that can be killed: afterwards it neither acquires, renews nor releases.
+     */
+    private static final class KillableLeaseStore implements LeaseStore {
+
+        private final LeaseStore delegate;
+        private volatile boolean killed;
+
+        /**
+         * Wraps the shared store.
+         *
+         * @param delegate the store every service talks to
+         */
+        private KillableLeaseStore(final @NotNull LeaseStore delegate) {
+            this.delegate = delegate;
+        }
+
+        /**
+         * Cuts the service off the store, its leases run out on their own.
+         */
+        private void kill() {
+            this.killed = true;
+        }
+
+        @Override
+        public @Nullable Lease acquire(
+                final @NotNull String key,
+                final @NotNull String owner,
+                final long ttlMillis
+        ) {
+            return this.killed ? null : this.delegate.acquire(key, owner, ttlMillis);
+        }
+
+        @Override
+        public boolean renew(
+                final @NotNull Lease lease,
+                final long ttlMillis
+        ) {
+            return !this.killed && this.delegate.renew(lease, ttlMillis);
+        }
+
+        @Override
+        public void release(final @NotNull Lease lease) {
+            if (!this.killed) {
+                this.delegate.release(lease);
+            }
+        }
+
+        @Override
+        public @Nullable String owner(final @NotNull String key) {
+            return this.killed ? null : this.delegate.owner(key);
+        }
+    }
+}
@@ -1,61 +1,149 @@
 package club.revived.queue;
 
 import club.revived.queue.cluster.cluster.Cluster;
+import club.revived.queue.cluster.cluster.ClusterService;
 import club.revived.queue.cluster.cluster.ServiceType;
 import club.revived.queue.cluster.messaging.impl.*;
+import club.revived.queue.cluster.player.NetworkPlayer;
 import club.revived.queue.cluster.player.PlayerManager;
-import club.revived.queue.cluster.status.ServiceStatus;
-import club.revived.queue.cluster.status.StatusRequest;
-import club.revived.queue.cluster.status.StatusResponse;
+import club.revived.queue.estimate.WaitTimeEstimator;
+import club.revived.queue.journal.QueueJournal;
+import club.revived.queue.matchmaking.MatchmakingLoop;
+import club.revived.queue.metrics.QueueMetrics;
+import club.revived.queue.placement.PlacementEngine;
+import club.revived.queue.placement.Reservation;
+import club.revived.queue.shard.Lease;
+import club.revived.queue.shard.LeaseStore;
+import club.revived.queue.shard.ShardCoordinator;
+import club.revived.queue.snapshot.QueueStatePublisher;
+import club.revived.queue.snapshot.QueueStateReplica;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.*;
 
 /**
  * GameQueue - matches players for duels and sends them to sub-servers.
+ * <p>
+ * The queue is sharded by {@link KitType} across all running queue services. A service accepts players for
+ * the kits assigned to it, but only matches the kits it holds the lease for (see {@link ShardCoordinator}).
+ * Entries of kits assigned elsewhere are handed over to their owner with a {@link QueueHandover}. Each
+ * service also replicates the queue of the others and, as the standby of a dead owner's kits, queues its
+ * players again when it takes the kits over.
  *
  * @author yyuh
  * @since 1/8/26
  */
-public final class GameQueue implements IQueue<UUID, QueueEntry> {
-
-    private final Map<KitType, Map<QueueType, Deque<QueueEntry>>> queue = new ConcurrentHashMap<>();
+public final class GameQueue implements IQueue<UUID, QueueEntry>, ShardCoordinator.Listener {
+
+    private static final Duration DISPATCH_TIMEOUT = Duration.ofSeconds(2);
+    private static final String QUEUE_ACTIONBAR = "<gray>You are searching for <kit> duel... Type: <queue> <dark_gray>(<wait>s)";
+
+    private final WaitTimeEstimator estimator = new WaitTimeEstimator(System.currentTimeMillis());
+    private final QueueStatePublisher statePublisher = new QueueStatePublisher(
+            Cluster.getInstance().getBroker(),
+            Cluster.getInstance().getServiceId(),
+            this.estimator
+    );
+    private final QueueStateReplica stateReplica = new QueueStateReplica(
+            Cluster.getInstance().getBroker(),
+            Cluster.getInstance().getServiceId()
+    );
+    private final QueueIndex queue;
     private final ScheduledExecutorService executorService = Executors.newScheduledThreadPool(1);
+    private final QueueMetrics metrics = new QueueMetrics();
+    private final MatchmakingLoop matchmakingLoop = new MatchmakingLoop(this::match);
+    private final PlacementEngine placement = new PlacementEngine();
+    private final ShardCoordinator shards;
+
+    @Nullable
+    private final QueueJournal journal;
+
+    /**
+     * Initializes the GameQueue without a journal, so nothing survives a restart.
+     *
+     * @param leaseStore the store the kit shard leases are kept in
+     */
+    public GameQueue(final @NotNull LeaseStore leaseStore) {
+        this(leaseStore, null);
+    }
 
     /**
-     * Initializes the GameQueue and populates its internal data structure for all kit and queue types.
+     * Initializes the GameQueue with one bucket per kit and queue type, refilled from the journal if one is
+     * given, and starts claiming kit shards and publishing the queue state to lobbies.
+     * <p>
+     * Restored players keep their original enqueue time. Entries of kits that moved to another queue service
+     * in the meantime are handed over by the first sweep, players that went offline are dropped by it.
      *
-     * <p>For each KitType, creates an EnumMap that maps every QueueType to a new ConcurrentLinkedDeque to hold QueueEntry instances.
+     * @param leaseStore the store the kit shard leases are kept in
+     * @param journal    the journal to restore from and record to, or {@code null} to keep the queue in memory only
      */
-    public GameQueue() {
-        for (final KitType kit : KitType.values()) {
-            final Map<QueueType, Deque<QueueEntry>> map = new EnumMap<>(QueueType.class);
+    public GameQueue(
+            final @NotNull LeaseStore leaseStore,
+            final @Nullable QueueJournal journal
+    ) {
+        final String serviceId = Cluster.getInstance().getServiceId();
 
-            for (final QueueType type : QueueType.values()) {
-                map.put(type, new ConcurrentLinkedDeque<>());
+        this.journal = journal;
+        this.queue = new QueueIndex(journal == null ? this.statePublisher : this.statePublisher.andThen(journal));
+
+        if (journal != null) {
+            final var restored = journal.restore();
+
+            for (final var entries : restored) {
+                this.queue.push(entries);
             }
 
-            queue.put(kit, map);
+            System.out.printf("Restored %d queue entries from the journal%n", restored.size());
         }
 
+        this.shards = new ShardCoordinator(
+                leaseStore,
+                serviceId,
+                () -> Cluster.getInstance().getServices()
+                        .values()
+                        .stream()
+                        .filter(service -> service.getType() == ServiceType.QUEUE)
+                        .map(ClusterService::getId)
+                        .filter(id -> !id.equals(serviceId))
+                        .toList(),
+                this
+        );
+
         Runtime.getRuntime().addShutdownHook(new Thread(() -> {
-            for (final KitType kit : KitType.values()) {
-                for (final QueueType type : QueueType.values()) {
-                    final Deque<QueueEntry> queued = queue.get(kit).get(type);
+            this.shards.shutdown();
+            this.statePublisher.shutdown();
 
-                    for (final var entry : queued) {
-                        final var networkPlayer = PlayerManager.getInstance().fromBukkitPlayer(entry.uuid());
-                        networkPlayer.sendMessage("<red>The queue service encountered an error. Please try again in 15–30 seconds.");
-                    }
+            // Closed before the queue is emptied, so the next start picks up every waiting player again
+            if (this.journal != null) {
+                this.journal.close();
+            }
+
+            for (final QueueBucket bucket : this.queue.buckets()) {
+                for (final var entry : bucket.entries()) {
+                    this.sendMessage(entry, this.journal == null
+                            ? "<red>The queue service encountered an error. Please try again in 15–30 seconds."
+                            : "<gray>The queue service is restarting, you keep your place in the queue.");
                 }
             }
 
             this.queue.clear();
+
+            // Last, so the messages above still leave before the process exits
+            Cluster.getInstance().getBroker().close();
         }));
 
         this.registerMessageHandlers();
         this.startTask();
+        this.statePublisher.start(this.queue);
+
+        if (journal != null) {
+            journal.start();
+        }
+
+        this.shards.start();
     }
 
     /**
@@ -65,206 +153,712 @@ public final class GameQueue implements IQueue<UUID, QueueEntry> {
         Cluster.getInstance().getMessagingService()
                 .registerHandler(QueuedAmountRequest.class, queuedAmountRequest -> {
                     final var kitType = queuedAmountRequest.kitType();
+                    final var queueType = queuedAmountRequest.queueType();
 
-                    if (!this.queue.containsKey(kitType)) {
-                        return new QueuedAmountResponse(0);
+                    if (kitType == null || queueType == null) {
+                        return new QueuedAmountResponse(0, WaitTimeEstimator.UNKNOWN);
                     }
 
-                    final var allQueues = this.queue.get(kitType);
+                    final var bucket = this.queue.bucket(kitType, queueType);
+                    return new QueuedAmountResponse(bucket.players(), this.estimator.estimate(bucket, 1));
+                });
+
+        Cluster.getInstance().getMessagingService()
+                .registerHandler(WaitEstimateRequest.class, waitEstimateRequest -> {
+                    final var kitType = waitEstimateRequest.kitType();
+                    final var queueType = waitEstimateRequest.queueType();
 
-                    if (!allQueues.containsKey(queuedAmountRequest.queueType())) {
-                        return new QueuedAmountResponse(0);
+                    if (kitType == null || queueType == null) {
+                        return new WaitEstimateResponse(0, WaitTimeEstimator.UNKNOWN, 0);
                     }
 
-                    final var queued = allQueues.get(queuedAmountRequest.queueType());
+                    final var bucket = this.queue.bucket(kitType, queueType);
 
-                    return new QueuedAmountResponse(queued.size());
+                    return new WaitEstimateResponse(
+                            bucket.players(),
+                            this.estimator.estimate(bucket, Math.max(1, waitEstimateRequest.size())),
+                            this.estimator.matchRate(kitType, queueType)
+                    );
                 });
 
         Cluster.getInstance().getMessagingService()
                 .registerMessageHandler(AddToQueue.class, addToQueue -> {
                     final UUID uuid = addToQueue.uuid();
 
-                    final boolean alreadyQueued = this.queue.values().stream()
-                            .flatMap(map -> map.values().stream())
-                            .flatMap(Collection::stream)
-                            .anyMatch(entry -> entry.uuid().equals(uuid));
+                    // Players of foreign kits are still accepted here and handed over by the next sweep,
+                    // forwarding the request could bounce while two services disagree about the membership
 
-                    if (alreadyQueued) {
+                    if (this.isQueued(uuid)) {
                         this.remove(uuid);
                         return;
                     }
 
                     System.out.printf("Adding %s to the queue!%n", uuid);
 
-                    final var queueEntry = new QueueEntry(
-                            uuid,
-                            addToQueue.queueType(),
-                            addToQueue.kitType()
-                    );
+                    final Set<UUID> members = new LinkedHashSet<>();
+                    members.add(uuid);
 
-                    this.push(queueEntry);
-                });
+                    if (addToQueue.members() != null) {
+                        members.addAll(addToQueue.members());
+                    }
+
+                    // A player waits on one queue service only, so kits another service is assigned are dropped
+                    final String owner = this.shards.assignedOwner(addToQueue.kitType());
+                    final Set<KitType> kits = new LinkedHashSet<>();
+                    kits.add(addToQueue.kitType());
+
+                    if (addToQueue.kitTypes() != null) {
+                        for (final KitType kit : addToQueue.kitTypes()) {
+                            if (kit != null && this.shards.assignedOwner(kit).equals(owner)) {
+                                kits.add(kit);
+                            }
+                        }
+                    }
+
+                    final long now = System.currentTimeMillis();
+                    final List<QueueEntry> entries = new ArrayList<>(kits.size());
+
+                    for (final KitType kit : kits) {
+                        entries.add(new QueueEntry(
+                                uuid,
+                                List.copyOf(members),
+                                addToQueue.queueType(),
+                                kit,
+                                now,
+                                addToQueue.rating()
+                        ));
+                    }
+
+                    this.push(entries);
+                }, AddToQueue::uuid);
 
         Cluster.getInstance().getMessagingService()
                 .registerHandler(IsQueuedRequest.class, isQueuedRequest -> {
                     final var uuid = isQueuedRequest.uuid();
 
-                    System.out.println("queue request");
+                    final var entry = this.queue.get(uuid);
 
-                    final boolean alreadyQueued = this.queue.values().stream()
-                            .flatMap(map -> map.values().stream())
-                            .flatMap(Collection::stream)
-                            .anyMatch(entry -> entry.uuid().equals(uuid));
+                    if (entry == null) {
+                        return new IsQueuedResponse(uuid, false, WaitTimeEstimator.UNKNOWN);
+                    }
+
+                    final var bucket = this.queue.bucket(entry.kitType(), entry.queueType());
 
-                    return new IsQueuedResponse(uuid, alreadyQueued);
+                    return new IsQueuedResponse(
+                            uuid,
+                            true,
+                            this.estimator.estimate(bucket, Math.max(0, bucket.players() - entry.size()), entry.size())
+                    );
+                }, IsQueuedRequest::uuid);
+
+        Cluster.getInstance().getMessagingService()
+                .registerMessageHandler(ArenaCapacity.class, this.placement::update);
+
+        Cluster.getInstance().getMessagingService()
+                .registerMessageHandler(QueueHandover.class, queueHandover -> {
+                    for (final var ticket : queueHandover.tickets()) {
+                        this.queue.push(ticket);
+                    }
+
+                    for (final KitType kit : queueHandover.kitTypes()) {
+                        if (this.shards.owns(kit)) {
+                            this.signal(kit);
+                        }
+                    }
                 });
     }
 
 
     /**
-     * Starts the recurring task that processes all kit and queue-type queues.
+     * Starts the recurring task that notifies queued players and sweeps all buckets.
      * <p>
-     * Every second it notifies players who are currently present in a queue with an action
-     * bar message and, when a queue has at least the required number of entries for a
-     * QueueType, removes that many entries and dispatches them to be matched via {@code pop(...)}.
+     * Every second it sends each queued player an action bar with their wait time, hands over entries of kits
+     * that are assigned to another queue service and signals every owned bucket that holds enough entries for
+     * a match. Matches are normally made as soon as {@code push(...)} fills a bucket, so this sweep is only a
+     * fallback. It also folds the last second's traffic into the wait time estimates.
      */
     @Override
     public void startTask() {
         executorService.scheduleAtFixedRate(() -> {
             try {
-                for (final KitType kit : KitType.values()) {
-                    for (final QueueType type : QueueType.values()) {
+                this.estimator.tick(System.currentTimeMillis());
+                this.sendQueueActionbars();
 
-                        final Deque<QueueEntry> queued = queue.get(kit).get(type);
+                final Map<String, Set<KitType>> handOvers = new HashMap<>();
 
-                        for (final var entry : queued) {
-                            try {
-                                final var networkPlayer = PlayerManager.getInstance().fromBukkitPlayer(entry.uuid());
-                                networkPlayer.sendActionbar(String.format("<gray>You are searching for %s duel... Type: %s", entry.kitType(), entry.queueType()));
-                            } catch (final Exception e) {
-                                queued.remove(entry);
-                            }
+                for (final KitType kit : KitType.values()) {
+                    final String owner = this.shards.assignedOwner(kit);
 
-                        }
+                    // A kit taken over as standby stays here until the membership drops its dead owner
+                    if (!owner.equals(this.shards.getServiceId()) && !this.shards.owns(kit)) {
+                        handOvers.computeIfAbsent(owner, _ -> EnumSet.noneOf(KitType.class)).add(kit);
+                    }
+                }
 
-                        final int required = type.totalPlayers();
+                handOvers.forEach((owner, kits) -> this.handOver(kits, owner));
 
-                        if (queued.size() < required) {
-                            continue;
-                        }
-
-                        final List<QueueEntry> entries = new ArrayList<>(required);
+                for (final QueueBucket bucket : this.queue.buckets()) {
+                    if (bucket.players() >= bucket.getQueueType().totalPlayers()) {
+                        this.signal(bucket);
+                    }
+                }
+            } catch (final Exception e) {
+                e.printStackTrace();
+            }
+        }, 0, 1, TimeUnit.SECONDS);
+    }
 
-                        for (int i = 0; i < required; i++) {
-                            final QueueEntry entry = queued.pollFirst();
+    /**
+     * Sends the queue actionbar to every queued player with one {@link BulkActionbar} per server.
+     * <p>
+     * Recipients are grouped by the server the player is on, which is already known from the heartbeats,
+     * so no per-player lookup is needed. Players queued for several kits see the first of them. Entries with a
+     * member that is no longer registered are removed from the queue as a whole.
+     */
+    private void sendQueueActionbars() {
+        final long now = System.currentTimeMillis();
+        final Map<String, List<BulkActionbar.Recipient>> recipients = new HashMap<>();
+
+        final Set<UUID> notified = new HashSet<>();
+
+        for (final QueueBucket bucket : this.queue.buckets()) {
+            entries:
+            for (final var entry : bucket.entries()) {
+                // Players queued for several kits show up in several buckets but get one action bar
+                if (!notified.add(entry.uuid())) {
+                    continue;
+                }
 
-                            if (entry == null) {
-                                entries.forEach(queued::addFirst);
-                                break;
-                            }
+                final List<NetworkPlayer> networkPlayers = new ArrayList<>(entry.size());
 
-                            entries.add(entry);
-                        }
+                for (final UUID member : entry.members()) {
+                    final var networkPlayer = PlayerManager.getInstance().getNetworkPlayers().get(member);
 
-                        if (entries.size() == required) {
-                            pop(entries.toArray(new QueueEntry[0]));
-                        }
+                    if (networkPlayer == null) {
+                        this.queue.remove(entry.uuid());
+                        continue entries;
                     }
+
+                    networkPlayers.add(networkPlayer);
+                }
+
+                for (final var networkPlayer : networkPlayers) {
+                    recipients.computeIfAbsent(networkPlayer.getCurrentServer(), _ -> new ArrayList<>())
+                            .add(new BulkActionbar.Recipient(
+                                    networkPlayer.getUuid(),
+                                    entry.kitType().name(),
+                                    entry.queueType().name(),
+                                    (now - entry.queuedAt()) / 1_000
+                            ));
                 }
-            } catch (final Exception e) {
-                e.printStackTrace();
             }
-        }, 0, 1, TimeUnit.SECONDS);
+        }
+
+        recipients.forEach((server, players) -> Cluster.getInstance()
+                .getMessagingService()
+                .sendMessage(server, new BulkActionbar(QUEUE_ACTIONBAR, players)));
+    }
+
+    /**
+     * Drains every match the bucket's matcher can make and dispatches it via {@code pop(...)}.
+     * <p>
+     * Runs on the matchmaking loop thread. All matches are polled before any is dispatched, so entries that
+     * are requeued because no duel server can take them are not matched again in the same pass. Buckets of
+     * kits this service does not hold the lease for are left untouched.
+     *
+     * @param bucket the signalled bucket
+     */
+    private void match(final QueueBucket bucket) {
+        if (!this.shards.owns(bucket.getKitType())) {
+            return;
+        }
+
+        final List<List<List<QueueEntry>>> matches = new ArrayList<>();
+        List<List<QueueEntry>> tickets;
+
+        while ((tickets = this.queue.pollMatch(bucket, System.currentTimeMillis())) != null) {
+            matches.add(tickets);
+        }
+
+        for (final var match : matches) {
+            this.dispatch(bucket.getKitType(), match);
+        }
     }
 
 
     /**
      * Enqueues the given entry into the queue corresponding to its kit and queue type.
+     * <p>
+     * Does nothing if any member of the entry is already waiting in any bucket. Groups the bucket's matcher
+     * cannot fit into one team are rejected. Once the bucket holds enough players for a match the matchmaking
+     * loop is woken immediately.
      *
-     * @param entry the QueueEntry that identifies the player, kit, and queue type to add
+     * @param entry the QueueEntry that identifies the players, kit, and queue type to add
      */
     @Override
     public void push(final QueueEntry entry) {
-        queue.get(entry.kitType())
-                .get(entry.queueType())
-                .add(entry);
-
-        if (PlayerManager.getInstance().getNetworkPlayers().containsKey(entry.uuid())) {
-            final var networkPlayers = PlayerManager.getInstance().fromBukkitPlayer(entry.uuid());
-            networkPlayers.sendActionbar("<gray>You joined the queue");
-            networkPlayers.sendMessage("<gray>You joined the queue");
+        this.push(List.of(entry));
+    }
+
+    /**
+     * Enqueues the same players for several kits at once. They wait in every kit's bucket until the first one
+     * matches them, which withdraws them from all the others.
+     * <p>
+     * Kits whose bucket cannot fit the group into one team are left out; if that leaves none, the request is
+     * rejected. Does nothing if any member is already waiting in any bucket.
+     *
+     * @param entries one entry per kit with the same members and queue type, the primary kit first
+     */
+    public void push(final @NotNull List<QueueEntry> entries) {
+        final List<QueueEntry> accepted = new ArrayList<>(entries.size());
+
+        for (final QueueEntry entry : entries) {
+            if (this.queue.bucket(entry.kitType(), entry.queueType()).accepts(entry)) {
+                accepted.add(entry);
+            }
+        }
+
+        if (accepted.isEmpty()) {
+            this.sendMessage(entries.getFirst(), "<red>Your party does not fit into a team of this queue");
+            return;
+        }
+
+        if (!this.queue.push(accepted)) {
+            return;
+        }
+
+        this.metrics.recordPush();
+
+        for (final QueueEntry entry : accepted) {
+            final var bucket = this.queue.bucket(entry.kitType(), entry.queueType());
+            this.estimator.recordPush(entry);
+
+            if (bucket.players() >= entry.queueType().totalPlayers()) {
+                this.signal(bucket);
+            }
+        }
+
+        final QueueEntry entry = accepted.getFirst();
+
+        for (final UUID member : entry.members()) {
+            if (PlayerManager.getInstance().getNetworkPlayers().containsKey(member)) {
+                final var networkPlayers = PlayerManager.getInstance().fromBukkitPlayer(member);
+                networkPlayers.sendActionbar("<gray>You joined the queue");
+                networkPlayers.sendMessage("<gray>You joined the queue");
+            }
         }
     }
 
     /**
-     * Creates a DuelStart from the provided queue entries and submits it to an available duel service.
+     * Sends a chat message to every member of the entry that is still online.
+     *
+     * @param entry   the queue entry
+     * @param message the message to send
+     */
+    private void sendMessage(
+            final @NotNull QueueEntry entry,
+            final @NotNull String message
+    ) {
+        for (final UUID member : entry.members()) {
+            if (PlayerManager.getInstance().getNetworkPlayers().containsKey(member)) {
+                PlayerManager.getInstance().fromBukkitPlayer(member).sendMessage(message);
+            }
+        }
+    }
+
+    /**
+     * Wakes the matchmaking loop for the bucket if this service owns its kit.
+     *
+     * @param bucket the bucket that may hold a full match
+     */
+    private void signal(final @NotNull QueueBucket bucket) {
+        if (this.shards.owns(bucket.getKitType())) {
+            this.matchmakingLoop.signal(bucket);
+        }
+    }
+
+    /**
+     * Wakes the matchmaking loop for every bucket of the kit.
+     *
+     * @param kit the kit whose buckets may hold full matches
+     */
+    private void signal(final @NotNull KitType kit) {
+        for (final QueueType type : QueueType.values()) {
+            this.signal(this.queue.bucket(kit, type));
+        }
+    }
+
+    /**
+     * Moves every entry queued for the kits to the given queue service, keeping their enqueue times. Players
+     * queued for several of the kits move as one ticket with all of them. Players that are also waiting for
+     * kits this service keeps stay here and only drop the moved kits, as a player waits on one queue service
+     * only.
+     *
+     * @param kits   the kits whose entries are handed over, all owned by the target now
+     * @param target the id of the queue service that owns the kits now
+     */
+    private void handOver(
+            final @NotNull Set<KitType> kits,
+            final @NotNull String target
+    ) {
+        final var tickets = this.queue.withdraw(kits);
+
+        if (tickets.isEmpty()) {
+            return;
+        }
+
+        System.out.printf("Handing %d %s tickets over to %s%n", tickets.size(), kits, target);
+
+        Cluster.getInstance().getMessagingService()
+                .sendMessage(target, new QueueHandover(List.copyOf(kits), tickets));
+    }
+
+    /**
+     * Starts matching the kit as soon as its lease has been taken over.
      * <p>
-     * The first entry determines the queue type and kit. The method groups the entries into two teams:
-     * the first `teamSize` entries as the blue team and the next `teamSize` entries as the red team,
-     * builds a DuelStart with their UUIDs and the kit, and sends it to a duel service if one reports
-     * AVAILABLE status.
+     * If the previous owner died, the tickets it had queued for the kit are taken from the state replica and
+     * queued again with their original enqueue time. Like any ticket, they keep only the kits that stay on
+     * this service: the ones it owns or is about to take over as standby as well.
+     *
+     * @param kit   the kit shard
+     * @param lease the acquired lease
+     */
+    @Override
+    public void acquired(
+            final @NotNull KitType kit,
+            final @NotNull Lease lease
+    ) {
+        System.out.printf("Acquired shard %s (token %d)%n", kit, lease.token());
+
+        final String serviceId = this.shards.getServiceId();
+        final var orphaned = this.stateReplica.takeOver(kit, System.currentTimeMillis());
+
+        for (final QueueState.Entry ticket : orphaned) {
+            final List<QueueEntry> entries = new ArrayList<>(ticket.kitTypes().size());
+
+            for (final KitType kitType : ticket.kitTypes()) {
+                if (kitType == kit || this.shards.owns(kitType) || serviceId.equals(this.shards.standbyOf(kitType))) {
+                    entries.add(new QueueEntry(
+                            ticket.members().getFirst(),
+                            ticket.members(),
+                            ticket.queueType(),
+                            kitType,
+                            ticket.queuedAt(),
+                            ticket.rating()
+                    ));
+                }
+            }
+
+            this.queue.push(entries);
+        }
+
+        if (!orphaned.isEmpty()) {
+            System.out.printf("Took over %d queued tickets of shard %s%n", orphaned.size(), kit);
+        }
+
+        this.signal(kit);
+    }
+
+    /**
+     * Hands the kit's queued entries over to its new owner. Without a known owner they stay here until the
+     * next sweep finds one.
+     *
+     * @param kit      the kit shard
+     * @param newOwner the service the kit's queued players should be handed to, or {@code null} if unknown
+     */
+    @Override
+    public void released(
+            final @NotNull KitType kit,
+            final @Nullable String newOwner
+    ) {
+        System.out.printf("Released shard %s to %s%n", kit, newOwner);
+
+        if (newOwner != null && !newOwner.equals(this.shards.getServiceId())) {
+            this.handOver(EnumSet.of(kit), newOwner);
+        }
+    }
+
+    /**
+     * Creates a DuelStart from the provided queue entries and submits it to an available duel service, see
+     * {@link #dispatch(KitType, List)}. Each entry is requeued on its own if the match cannot be started.
      *
-     * @param entries an array of queue entries representing players to form the match; must contain
-     *                exactly `2 * teamSize` entries where `teamSize` is taken from `entries[0].queueType()`
+     * @param entries an array of queue entries representing players to form the match; their members must
+     *                add up to exactly `2 * teamSize` players where `teamSize` is taken from `entries[0].queueType()`
      */
     @Override
     public void pop(final QueueEntry... entries) {
-        System.out.println("Found match!");
-        final QueueType type = entries[0].queueType();
+        final List<List<QueueEntry>> tickets = new ArrayList<>(entries.length);
+
+        for (final QueueEntry entry : entries) {
+            tickets.add(List.of(entry));
+        }
+
+        this.dispatch(entries[0].kitType(), tickets);
+    }
+
+    /**
+     * Creates a DuelStart from the tickets of a match and submits it to an available duel service.
+     * <p>
+     * The matched kit determines each ticket's entry, and the first of them the queue type. The method splits
+     * the entries into two teams in order: entries go to the blue team until it holds `teamSize` players, the
+     * rest to the red team. Groups are never split because the matcher orders them that way. It builds a
+     * DuelStart with every member's UUID and the kit, and dispatches it to the duel server the
+     * {@link PlacementEngine} reserved an arena on.
+     * <p>
+     * The duel server acknowledges the match once its arena is secured. If the acknowledgement does not arrive
+     * within {@link #DISPATCH_TIMEOUT} the same dispatch is sent once more: duel servers answer every delivery
+     * of a match with the outcome of the first one, so a lost acknowledgement is recovered without starting
+     * the match twice. If the server rejects the match, does not answer either dispatch or no server can take
+     * it, the reservation is released, the server is suspended from placement for a few seconds so the next
+     * attempt lands on another server, and the tickets are requeued, see {@link #requeue(List)}. Retries of a
+     * requeued match are driven by the one second sweep.
+     * <p>
+     * Every dispatch carries the fencing token of the kit's lease, so a duel server rejects matches of a
+     * service that lost the kit to a standby without noticing yet. Matches of a kit whose lease is already
+     * gone are requeued right away and handed over by the next sweep.
+     *
+     * @param kit     the matched kit
+     * @param tickets the matched tickets, each with its entry of every kit it was waiting for
+     */
+    private void dispatch(
+            final @NotNull KitType kit,
+            final @NotNull List<List<QueueEntry>> tickets
+    ) {
+        final List<QueueEntry> entries = new ArrayList<>(tickets.size());
+
+        for (final List<QueueEntry> ticket : tickets) {
+            for (final QueueEntry entry : ticket) {
+                if (entry.kitType() == kit) {
+                    entries.add(entry);
+                    break;
+                }
+            }
+        }
 
-        final List<QueueEntry> blue = Arrays.stream(entries)
-                .limit(type.teamSize())
-                .toList();
+        final QueueType type = entries.getFirst().queueType();
 
-        final List<QueueEntry> red = Arrays.stream(entries)
-                .skip(type.teamSize())
-                .limit(type.teamSize())
-                .toList();
+        final List<UUID> blue = new ArrayList<>(type.teamSize());
+        final List<UUID> red = new ArrayList<>(type.teamSize());
+
+        for (final QueueEntry entry : entries) {
+            (blue.size() < type.teamSize() ? blue : red).addAll(entry.members());
+        }
 
         final DuelStart duelStart = new DuelStart(
-                blue.stream().map(QueueEntry::uuid).toList(),
-                red.stream().map(QueueEntry::uuid).toList(),
+                blue,
+                red,
                 type.teamSize(),
-                entries[0].kitType()
+                kit
         );
 
-        final var service = Cluster.getInstance()
-                .getLeastLoadedService(ServiceType.DUEL);
+        final Lease lease = this.shards.lease(kit);
+
+        if (lease == null) {
+            System.err.printf("Lost shard %s before dispatching a match%n", kit);
+            this.requeue(tickets);
+            return;
+        }
+
+        final Reservation reservation = this.placement.reserve(kit);
+
+        if (reservation == null) {
+            System.err.println("No duel service available for match");
+            this.metrics.recordDispatchFailure();
+            this.requeue(tickets);
+            return;
+        }
+
+        final var matchDispatch = new MatchDispatch(UUID.randomUUID(), duelStart, lease.token());
+        this.metrics.recordDispatch();
 
-        service.sendRequest(new StatusRequest(), StatusResponse.class)
-                .thenAccept(status -> {
-                    if (status.status() == ServiceStatus.AVAILABLE) {
-                        service.sendMessage(duelStart);
+        this.send(reservation.serviceId(), matchDispatch, 1).whenComplete((ack, throwable) -> {
+            if (throwable == null && ack != null && ack.accepted()) {
+                this.metrics.recordMatch(entries, System.currentTimeMillis());
+                this.estimator.recordMatch(entries);
+                return;
+            }
+
+            System.err.printf(
+                    "Match %s was not acknowledged by %s: %s%n",
+                    matchDispatch.matchId(),
+                    reservation.serviceId(),
+                    throwable == null ? "rejected" : throwable.getMessage()
+            );
+
+            this.placement.release(reservation);
+            this.placement.suspend(reservation.serviceId());
+            this.metrics.recordDispatchFailure();
+            this.requeue(tickets);
+        });
+    }
+
+    /**
+     * Sends a match to a duel server, sending the same dispatch again if it is not acknowledged in time.
+     *
+     * @param serviceId the duel server
+     * @param dispatch  the match
+     * @param retries   how many more times to send it after a timeout
+     * @return the acknowledgement of the duel server
+     */
+    private CompletableFuture<MatchDispatchAck> send(
+            final @NotNull String serviceId,
+            final @NotNull MatchDispatch dispatch,
+            final int retries
+    ) {
+        return Cluster.getInstance().getMessagingService()
+                .sendRequest(serviceId, dispatch, MatchDispatchAck.class, DISPATCH_TIMEOUT)
+                .exceptionallyCompose(throwable -> {
+                    final Throwable cause = throwable instanceof CompletionException ? throwable.getCause() : throwable;
+
+                    if (retries > 0 && cause instanceof TimeoutException) {
+                        System.err.printf(
+                                "Match %s was not acknowledged in time, asking %s again%n",
+                                dispatch.matchId(),
+                                serviceId
+                        );
+                        return this.send(serviceId, dispatch, retries - 1);
                     }
+
+                    return CompletableFuture.failedFuture(cause);
                 });
     }
 
+    /**
+     * Puts the tickets of a match that could not be started back at the head of their buckets with every kit
+     * they were waiting for, keeping their original enqueue time. Tickets are inserted in reverse so the match
+     * keeps its order.
+     * <p>
+     * Members who went offline in the meantime are left out, and so are members who queued again, who keep
+     * their new ticket. A group keeps its remaining members; a ticket without any is dropped.
+     *
+     * @param tickets the tickets of the failed match
+     */
+    private void requeue(final @NotNull List<List<QueueEntry>> tickets) {
+        final Map<UUID, NetworkPlayer> online = PlayerManager.getInstance().getNetworkPlayers();
+
+        for (int i = tickets.size() - 1; i >= 0; i--) {
+            final List<QueueEntry> ticket = tickets.get(i);
+            final List<UUID> members = new ArrayList<>(ticket.getFirst().size());
+
+            for (final UUID member : ticket.getFirst().members()) {
+                if (online.containsKey(member) && !this.queue.contains(member)) {
+                    members.add(member);
+                }
+            }
+
+            if (members.isEmpty()) {
+                continue;
+            }
+
+            if (members.size() == ticket.getFirst().size()) {
+                this.queue.pushFirst(ticket);
+                continue;
+            }
+
+            final List<QueueEntry> remaining = new ArrayList<>(ticket.size());
+
+            for (final QueueEntry entry : ticket) {
+                remaining.add(new QueueEntry(
+                        members.getFirst(),
+                        List.copyOf(members),
+                        entry.queueType(),
+                        entry.kitType(),
+                        entry.queuedAt(),
+                        entry.rating()
+                ));
+            }
+
+            this.queue.pushFirst(remaining);
+        }
+    }
 
     /**
-     * Removes any queue entries with the given player UUID from all kit and queue-type queues.
+     * Removes the queue entry with the given player UUID, resolved through the queue index. If the player
+     * queued as part of a group, the whole group leaves the queue.
      *
      * @param uuid the player's UUID whose entries should be removed
      */
     @Override
     public void remove(final UUID uuid) {
-        this.queue.forEach((_, queueEntries) ->
-                queueEntries.values().forEach(entries ->
-                        entries.removeIf(queueEntry -> queueEntry.uuid().equals(uuid))));
+        final QueueEntry entry = this.queue.remove(uuid);
 
-        if (PlayerManager.getInstance().getNetworkPlayers().containsKey(uuid)) {
-            final var networkPlayers = PlayerManager.getInstance().fromBukkitPlayer(uuid);
-            networkPlayers.sendMessage("<red>You left the queue");
+        if (entry == null) {
+            return;
         }
+
+        this.metrics.recordRemoval();
+        this.sendMessage(entry, "<red>You left the queue");
+    }
+
+    /**
+     * Checks whether the player is waiting in any kit or queue-type bucket.
+     *
+     * @param uuid the player's UUID
+     * @return {@code true} if the player is queued
+     */
+    @Override
+    public boolean isQueued(final UUID uuid) {
+        return this.queue.contains(uuid);
     }
 
     /**
-     * Retrieve the current queued entries across all kits and queue types (currently always empty).
+     * Retrieve the current queued entries across all kits and queue types.
      *
-     * @return a list containing all queued `QueueEntry` objects; currently an empty list
+     * @return a snapshot of all queued `QueueEntry` objects, ordered by kit, queue type and queue position
      */
     @Override
     public @NotNull List<QueueEntry> queued() {
-        return List.of();
+        final List<QueueEntry> entries = new ArrayList<>(this.queue.size());
+
+        for (final QueueBucket bucket : this.queue.buckets()) {
+            entries.addAll(bucket.entries());
+        }
+
+        return entries;
+    }
+
+    /**
+     * Lists every bucket of this queue service, ordered by kit and then queue type.
+     *
+     * @return an unmodifiable view of all buckets
+     */
+    public @NotNull List<QueueBucket> getBuckets() {
+        return this.queue.buckets();
+    }
+
+    /**
+     * The coordinator deciding which kits this queue service matches.
+     *
+     * @return the shard coordinator
+     */
+    public @NotNull ShardCoordinator getShards() {
+        return shards;
+    }
+
+    /**
+     * Arrival and match rates per bucket and the wait times estimated from them.
+     *
+     * @return the wait time estimator
+     */
+    public @NotNull WaitTimeEstimator getEstimator() {
+        return estimator;
+    }
+
+    /**
+     * Throughput counters and the time-to-match histogram of this queue.
+     *
+     * @return the queue metrics
+     */
+    public @NotNull QueueMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * The placement engine picking the duel server of every match.
+     *
+     * @return the placement engine
+     */
+    public @NotNull PlacementEngine getPlacement() {
+        return placement;
     }
 }
\ No newline at end of file
@@ -33,6 +33,14 @@ public interface IQueue<K, V> {
      */
     void remove(final K k);
 
+    /**
+     * Checks whether any item associated with the given key is currently queued.
+     *
+     * @param k the key to look up
+     * @return {@code true} if an item for the key is waiting in the queue
+     */
+    boolean isQueued(final K k);
+
     /**
      * Begins processing items in the queue.
      * <p>
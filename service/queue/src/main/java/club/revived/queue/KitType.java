@@ -8,18 +8,37 @@ package club.revived.queue;
  */
 public enum KitType {
 
-    UHC,
-    SWORD,
-    MACE,
-    CART,
-    SMP,
-    NETHERITE_POTION,
-    DIAMOND_POTION,
-    TNT,
-    SPLEEF,
-    AXE,
-    CRYSTAL,
-    DRAIN,
-    EVAL;
+    UHC(false),
+    SWORD(false),
+    MACE(false),
+    CART(false),
+    SMP(false),
+    NETHERITE_POTION(false),
+    DIAMOND_POTION(false),
+    TNT(false),
+    SPLEEF(false),
+    AXE(false),
+    CRYSTAL(false),
+    DRAIN(false),
+    EVAL(false);
 
-}
\ No newline at end of file
+    private final boolean isRanked;
+
+    /**
+     * Creates a KitType with the given ranked flag, mirroring the lobby and duels kit definitions.
+     *
+     * @param ranked whether the kit is matched by rating instead of strictly first come, first served
+     */
+    KitType(final boolean ranked) {
+        this.isRanked = ranked;
+    }
+
+    /**
+     * Indicates whether this kit type is ranked.
+     *
+     * @return `true` if the kit is ranked, `false` otherwise.
+     */
+    public boolean isRanked() {
+        return this.isRanked;
+    }
+}
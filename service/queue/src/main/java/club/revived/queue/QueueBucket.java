@@ -0,0 +1,452 @@
+package club.revived.queue;
+
+import club.revived.queue.matchmaking.Matcher;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * QueueBucket - FIFO ordering of all entries waiting for one {@link KitType} / {@link QueueType} pair.
+ * <p>
+ * The bucket is an intrusive doubly linked list: every queued entry is wrapped in a {@link Node} that
+ * is also referenced from the {@link QueueIndex} under each of its members, so appending, unlinking a known
+ * node and polling the head are all constant-time operations. All structural changes happen while holding the bucket's monitor.
+ * <p>
+ * Which entries form a match is decided by the bucket's {@link Matcher}, which is told about every node that
+ * is linked or unlinked. A node may become stale while it is still linked, when its {@link QueueTicket} is
+ * claimed through another bucket; polling skips and unlinks such nodes.
+ *
+ * @author yyuh - DL
+ * @since 1/8/26
+ */
+public final class QueueBucket {
+
+    @NotNull
+    private final KitType kitType;
+
+    @NotNull
+    private final QueueType queueType;
+
+    @NotNull
+    private final Matcher matcher;
+
+    @Nullable
+    private Node head;
+
+    @Nullable
+    private Node tail;
+
+    private volatile int size;
+    private volatile int players;
+
+    /**
+     * Creates an empty bucket for the given kit and queue type.
+     *
+     * @param kitType   the kit every entry of this bucket queues for
+     * @param queueType the queue type every entry of this bucket queues for
+     * @param matcher   the matcher deciding which entries of this bucket form a match
+     */
+    public QueueBucket(
+            final @NotNull KitType kitType,
+            final @NotNull QueueType queueType,
+            final @NotNull Matcher matcher
+    ) {
+        this.kitType = kitType;
+        this.queueType = queueType;
+        this.matcher = matcher;
+    }
+
+    /**
+     * Appends the node to the tail of the bucket.
+     *
+     * @param node an unlinked node created for this bucket
+     */
+    public synchronized void addLast(final @NotNull Node node) {
+        if (node.linked) {
+            return;
+        }
+
+        node.prev = this.tail;
+        node.next = null;
+
+        if (this.tail == null) {
+            this.head = node;
+        } else {
+            this.tail.next = node;
+        }
+
+        this.tail = node;
+        node.linked = true;
+        this.size++;
+        this.players += node.entry.size();
+        this.matcher.added(node);
+    }
+
+    /**
+     * Inserts the node at the head of the bucket so it is the next one to be matched.
+     *
+     * @param node an unlinked node created for this bucket
+     */
+    public synchronized void addFirst(final @NotNull Node node) {
+        if (node.linked) {
+            return;
+        }
+
+        node.prev = null;
+        node.next = this.head;
+
+        if (this.head == null) {
+            this.tail = node;
+        } else {
+            this.head.prev = node;
+        }
+
+        this.head = node;
+        node.linked = true;
+        this.size++;
+        this.players += node.entry.size();
+        this.matcher.added(node);
+    }
+
+    /**
+     * Unlinks the node from this bucket.
+     *
+     * @param node the node to unlink
+     * @return {@code true} if the node was linked and has been removed, {@code false} if it was already gone
+     */
+    public synchronized boolean unlink(final @NotNull Node node) {
+        if (!node.linked) {
+            return false;
+        }
+
+        if (node.prev == null) {
+            this.head = node.next;
+        } else {
+            node.prev.next = node.next;
+        }
+
+        if (node.next == null) {
+            this.tail = node.prev;
+        } else {
+            node.next.prev = node.prev;
+        }
+
+        node.prev = null;
+        node.next = null;
+        node.linked = false;
+        this.size--;
+        this.players -= node.entry.size();
+        this.matcher.removed(node);
+
+        return true;
+    }
+
+    /**
+     * Removes the first {@code amount} nodes of the bucket, oldest first, and claims their tickets. Stale
+     * nodes are unlinked on the way but not returned, nodes of tickets that are still being indexed are skipped.
+     *
+     * @param amount the number of nodes to remove
+     * @return the removed nodes in FIFO order, or {@code null} if fewer than {@code amount} are linked. May
+     *         hold fewer than {@code amount} nodes if some of them turned out to be stale
+     */
+    @Nullable
+    public synchronized List<Node> pollFirst(final int amount) {
+        if (this.size < amount) {
+            return null;
+        }
+
+        final List<Node> polled = new ArrayList<>(amount);
+        Node node = this.head;
+
+        while (node != null && polled.size() < amount) {
+            final Node next = node.next;
+
+            if (node.ticket.claim()) {
+                this.unlink(node);
+                polled.add(node);
+            } else if (node.ticket.isClaimed()) {
+                this.unlink(node);
+            }
+
+            node = next;
+        }
+
+        return polled;
+    }
+
+    /**
+     * Asks the matcher for the next match, claims the tickets of its nodes and unlinks them.
+     * <p>
+     * If a selected node turns out to be stale it is unlinked and the matcher is asked again. If one is held
+     * by somebody else for the moment, e.g. a ticket whose nodes are still being linked, the bucket backs
+     * off and returns {@code null}; whoever holds it signals the bucket again once it is done.
+     *
+     * @param now the current time in milliseconds since the epoch
+     * @return the matched nodes, the blue team first, or {@code null} if no match can be made right now
+     */
+    @Nullable
+    public synchronized List<Node> pollMatch(final long now) {
+        while (true) {
+            final List<Node> match = this.matcher.select(this, now);
+
+            if (match == null) {
+                return null;
+            }
+
+            final Node conflict = this.reserve(match);
+
+            if (conflict == null) {
+                for (final var node : match) {
+                    node.ticket.commit();
+                    this.unlink(node);
+                }
+
+                return match;
+            }
+
+            if (!conflict.ticket.isClaimed()) {
+                return null;
+            }
+
+            // Matched or removed through another bucket, its claimer withdraws it from here as well
+            this.unlink(conflict);
+        }
+    }
+
+    /**
+     * Tentatively claims the ticket of every selected node, giving all of them up again on the first conflict.
+     *
+     * @param match the selected nodes
+     * @return the first node whose ticket could not be reserved, or {@code null} if all of them are pending now
+     */
+    @Nullable
+    private Node reserve(final @NotNull List<Node> match) {
+        for (int i = 0; i < match.size(); i++) {
+            if (match.get(i).ticket.tryReserve()) {
+                continue;
+            }
+
+            for (int j = 0; j < i; j++) {
+                match.get(j).ticket.abort();
+            }
+
+            return match.get(i);
+        }
+
+        return null;
+    }
+
+    /**
+     * Unlinks every node of the bucket without claiming their tickets. Nodes of tickets that are still being
+     * indexed stay linked.
+     *
+     * @return the unlinked nodes in FIFO order
+     */
+    @NotNull
+    public synchronized List<Node> drain() {
+        final List<Node> drained = new ArrayList<>(this.size);
+        Node node = this.head;
+
+        while (node != null) {
+            final Node next = node.next;
+
+            if (!node.ticket.isReserved()) {
+                this.unlink(node);
+                drained.add(node);
+            }
+
+            node = next;
+        }
+
+        return drained;
+    }
+
+    /**
+     * The longest waiting node of this bucket. Only stable while holding the bucket's monitor.
+     *
+     * @return the head node, or {@code null} if the bucket is empty
+     */
+    @Nullable
+    public Node first() {
+        return this.head;
+    }
+
+    /**
+     * Copies the entries of this bucket in FIFO order.
+     *
+     * @return a snapshot of the queued entries, oldest first
+     */
+    @NotNull
+    public synchronized List<QueueEntry> entries() {
+        final List<QueueEntry> entries = new ArrayList<>(this.size);
+
+        for (Node node = this.head; node != null; node = node.next) {
+            entries.add(node.entry);
+        }
+
+        return entries;
+    }
+
+    /**
+     * Number of entries currently linked into this bucket. A group counts as one entry.
+     *
+     * @return the bucket size, read without locking
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Number of players waiting in this bucket, counting every member of a group.
+     *
+     * @return the player count, read without locking
+     */
+    public int players() {
+        return this.players;
+    }
+
+    /**
+     * Checks whether the bucket's matcher can place the entry, i.e. whether its group fits into a team.
+     *
+     * @param entry the entry to check
+     * @return {@code true} if the entry may be queued in this bucket
+     */
+    public boolean accepts(final @NotNull QueueEntry entry) {
+        return entry.size() >= 1 && entry.size() <= this.matcher.maxGroupSize();
+    }
+
+    /**
+     * The kit every entry of this bucket queues for.
+     *
+     * @return the bucket's kit type
+     */
+    public @NotNull KitType getKitType() {
+        return kitType;
+    }
+
+    /**
+     * The queue type every entry of this bucket queues for.
+     *
+     * @return the bucket's queue type
+     */
+    public @NotNull QueueType getQueueType() {
+        return queueType;
+    }
+
+    /**
+     * A queued entry together with its position in the owning bucket.
+     */
+    public static final class Node {
+
+        private static final AtomicLong SEQUENCE = new AtomicLong();
+
+        @NotNull
+        private final QueueEntry entry;
+
+        @NotNull
+        private final QueueBucket bucket;
+
+        @NotNull
+        private final QueueTicket ticket;
+
+        @Nullable
+        private Node prev;
+
+        @Nullable
+        private Node next;
+
+        private volatile boolean linked;
+
+        private final long sequence = SEQUENCE.getAndIncrement();
+
+        /**
+         * Wraps the entry for insertion into the given bucket under a ticket of its own.
+         *
+         * @param entry  the queued entry
+         * @param bucket the bucket the node belongs to
+         */
+        public Node(
+                final @NotNull QueueEntry entry,
+                final @NotNull QueueBucket bucket
+        ) {
+            this(entry, bucket, new QueueTicket(false));
+        }
+
+        /**
+         * Wraps the entry for insertion into the given bucket as one of the nodes of a ticket.
+         *
+         * @param entry  the queued entry
+         * @param bucket the bucket the node belongs to
+         * @param ticket the ticket shared with the entry's nodes in other buckets
+         */
+        Node(
+                final @NotNull QueueEntry entry,
+                final @NotNull QueueBucket bucket,
+                final @NotNull QueueTicket ticket
+        ) {
+            this.entry = entry;
+            this.bucket = bucket;
+            this.ticket = ticket;
+
+            ticket.add(this);
+        }
+
+        /**
+         * The wrapped queue entry.
+         *
+         * @return the entry held by this node
+         */
+        public @NotNull QueueEntry getEntry() {
+            return entry;
+        }
+
+        /**
+         * The node queued behind this one. Only stable while holding the bucket's monitor.
+         *
+         * @return the next node, or {@code null} if this is the tail
+         */
+        @Nullable
+        public Node getNext() {
+            return next;
+        }
+
+        /**
+         * Process-wide creation order of this node, used as a tie breaker by ordered matchers.
+         *
+         * @return the node's sequence number
+         */
+        public long getSequence() {
+            return sequence;
+        }
+
+        /**
+         * Whether this node is currently linked into its bucket.
+         *
+         * @return {@code true} while the entry is waiting in the bucket
+         */
+        public boolean isLinked() {
+            return linked;
+        }
+
+        /**
+         * The ticket this node shares with the entry's nodes in other buckets.
+         *
+         * @return the node's ticket
+         */
+        public @NotNull QueueTicket getTicket() {
+            return ticket;
+        }
+
+        /**
+         * The bucket this node is (or was) linked into.
+         *
+         * @return the owning bucket
+         */
+        public @NotNull QueueBucket getBucket() {
+            return bucket;
+        }
+    }
+}
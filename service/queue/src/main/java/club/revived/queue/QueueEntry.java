@@ -1,15 +1,57 @@
 package club.revived.queue;
 
+import java.util.List;
 import java.util.UUID;
 
 /**
- * QueueEntry
+ * QueueEntry - one solo player or one group of players waiting together.
+ * <p>
+ * A group is a single entry: all members share the entry's enqueue time and always end up in the same team.
  *
  * @author yyuh - DL
  * @since 1/8/26
+ *
+ * @param uuid      the queued player, or the leader of a group
+ * @param members   every player of the entry, the leader first
+ * @param queueType the queue type the entry is waiting in
+ * @param kitType   the kit the entry is waiting for
+ * @param queuedAt  the time the entry joined the queue, in milliseconds since the epoch
+ * @param rating    the entry's rating for the kit, used by ranked buckets
  */
 public record QueueEntry(
         UUID uuid,
+        List<UUID> members,
         QueueType queueType,
-        KitType kitType
-) {}
+        KitType kitType,
+        long queuedAt,
+        int rating
+) {
+
+    /**
+     * Creates the entry of a single player.
+     *
+     * @param uuid      the queued player
+     * @param queueType the queue type the player is waiting in
+     * @param kitType   the kit the player is waiting for
+     * @param queuedAt  the time the player joined the queue, in milliseconds since the epoch
+     * @param rating    the player's rating for the kit
+     */
+    public QueueEntry(
+            final UUID uuid,
+            final QueueType queueType,
+            final KitType kitType,
+            final long queuedAt,
+            final int rating
+    ) {
+        this(uuid, List.of(uuid), queueType, kitType, queuedAt, rating);
+    }
+
+    /**
+     * Number of players in this entry.
+     *
+     * @return 1 for a solo player, the group size otherwise
+     */
+    public int size() {
+        return members.size();
+    }
+}
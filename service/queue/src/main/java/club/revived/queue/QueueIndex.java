@@ -0,0 +1,556 @@
+package club.revived.queue;
+
+import club.revived.queue.matchmaking.FifoMatcher;
+import club.revived.queue.matchmaking.GroupMatcher;
+import club.revived.queue.matchmaking.Matcher;
+import club.revived.queue.matchmaking.RatingMatcher;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * QueueIndex - all queue buckets plus a UUID to ticket index over them.
+ * <p>
+ * A player may wait for several kits at once. Each request is one {@link QueueTicket} with a node in the
+ * bucket of every kit, and the index maps each member to that ticket. Membership checks, pushes and removals
+ * resolve the ticket through the index and touch only the buckets its nodes live in, so none of them scan the
+ * {@link KitType} x {@link QueueType} buckets.
+ * <p>
+ * Whichever bucket matches a ticket first claims it with a single compare-and-set; the claimer then unlinks
+ * the ticket's other nodes and drops it from the index. Until that is done a claimed ticket may still be
+ * indexed, which is why it is treated as absent.
+ * <p>
+ * An optional {@link Listener} sees every entry that enters or leaves the index, whichever way it does.
+ *
+ * @author yyuh - DL
+ * @since 1/8/26
+ */
+public final class QueueIndex {
+
+    private final Map<KitType, Map<QueueType, QueueBucket>> buckets = new EnumMap<>(KitType.class);
+    private final List<QueueBucket> bucketList = new ArrayList<>();
+    private final Map<UUID, QueueTicket> tickets = new ConcurrentHashMap<>();
+
+    @NotNull
+    private final Listener listener;
+
+    /**
+     * Creates an index without a listener.
+     */
+    public QueueIndex() {
+        this(new Listener() {
+        });
+    }
+
+    /**
+     * Creates an empty bucket for every kit and queue type combination, each with the matcher picked by
+     * {@link #matcher(KitType, QueueType)}.
+     *
+     * @param listener notified of every entry added to or removed from the index
+     */
+    public QueueIndex(final @NotNull Listener listener) {
+        this.listener = listener;
+
+        for (final KitType kit : KitType.values()) {
+            final Map<QueueType, QueueBucket> map = new EnumMap<>(QueueType.class);
+
+            for (final QueueType type : QueueType.values()) {
+                final var bucket = new QueueBucket(kit, type, this.matcher(kit, type));
+
+                map.put(type, bucket);
+                this.bucketList.add(bucket);
+            }
+
+            this.buckets.put(kit, map);
+        }
+    }
+
+    /**
+     * Picks the matcher of a bucket. Ranked kits are matched by rating and only take solo players; team
+     * queues of unranked kits are bin-packed from groups; everything else is first come first served.
+     *
+     * @param kit  the bucket's kit
+     * @param type the bucket's queue type
+     * @return a new matcher for the bucket
+     */
+    @NotNull
+    private Matcher matcher(
+            final @NotNull KitType kit,
+            final @NotNull QueueType type
+    ) {
+        if (kit.isRanked()) {
+            return new RatingMatcher(type);
+        }
+
+        if (type.teamSize() > 1) {
+            return new GroupMatcher(type);
+        }
+
+        return new FifoMatcher(type);
+    }
+
+    /**
+     * Appends the entry to the tail of its bucket unless one of its members is already queued.
+     *
+     * @param entry the entry to enqueue
+     * @return {@code true} if the entry was added, {@code false} if a member was already queued or the group
+     *         does not fit into a team of the bucket
+     */
+    public boolean push(final @NotNull QueueEntry entry) {
+        return this.insert(List.of(entry), false);
+    }
+
+    /**
+     * Queues the same players for several kits at once as one ticket, appending an entry to the tail of each
+     * kit's bucket. The first bucket to match them takes them out of all the others.
+     *
+     * @param entries one entry per kit, all with the same members and queue type, the primary kit first
+     * @return {@code true} if the entries were added, {@code false} if a member was already queued or the group
+     *         fits into none of the buckets
+     */
+    public boolean push(final @NotNull List<QueueEntry> entries) {
+        return this.insert(entries, false);
+    }
+
+    /**
+     * Puts the entry back at the head of its bucket unless one of its members is already queued, e.g. after a
+     * match could not be started. The entry keeps its original enqueue time.
+     *
+     * @param entry the entry to requeue
+     * @return {@code true} if the entry was added, {@code false} if a member was already queued
+     */
+    public boolean pushFirst(final @NotNull QueueEntry entry) {
+        return this.insert(List.of(entry), true);
+    }
+
+    /**
+     * Puts a ticket back at the head of each of its kits' buckets unless one of its members is already queued,
+     * e.g. after a match could not be started. The entries keep their original enqueue time.
+     *
+     * @param entries one entry per kit, all with the same members and queue type, the primary kit first
+     * @return {@code true} if the entries were added, {@code false} if a member was already queued or the group
+     *         fits into none of the buckets
+     */
+    public boolean pushFirst(final @NotNull List<QueueEntry> entries) {
+        return this.insert(entries, true);
+    }
+
+    /**
+     * Links a new ticket for the entries into their buckets and the index unless one of their members is
+     * already queued. Entries whose bucket does not accept the group are left out.
+     * <p>
+     * The ticket is first claimed under every member's UUID while it is still reserved, then its nodes are
+     * linked into their buckets. If any member is taken the claims made so far are rolled back and nothing is
+     * linked.
+     *
+     * @param entries the entries to enqueue, one per kit
+     * @param first   whether to insert at the head instead of the tail of the buckets
+     * @return {@code true} if the entries were added
+     */
+    private boolean insert(
+            final @NotNull List<QueueEntry> entries,
+            final boolean first
+    ) {
+        final var ticket = new QueueTicket(true);
+
+        for (final QueueEntry entry : entries) {
+            final QueueBucket bucket = this.bucket(entry.kitType(), entry.queueType());
+
+            if (bucket.accepts(entry)) {
+                new QueueBucket.Node(entry, bucket, ticket);
+            }
+        }
+
+        if (ticket.getNodes().isEmpty()) {
+            return false;
+        }
+
+        final QueueEntry entry = ticket.getEntry();
+        final List<UUID> claimed = new ArrayList<>(entry.size());
+
+        for (final UUID member : entry.members()) {
+            final var current = this.tickets.compute(member, (_, existing) -> {
+                if (existing != null && existing.isActive()) {
+                    return existing;
+                }
+
+                return ticket;
+            });
+
+            if (current != ticket) {
+                for (final UUID uuid : claimed) {
+                    this.tickets.remove(uuid, ticket);
+                }
+
+                return false;
+            }
+
+            claimed.add(member);
+        }
+
+        for (final var node : ticket.getNodes()) {
+            if (first) {
+                node.getBucket().addFirst(node);
+            } else {
+                node.getBucket().addLast(node);
+            }
+        }
+
+        ticket.release();
+        this.listener.added(ticket);
+        return true;
+    }
+
+    /**
+     * Removes the player from every bucket they are waiting in. If the player is part of a group the whole
+     * group leaves the queue.
+     *
+     * @param uuid the player's UUID
+     * @return the removed primary entry, or {@code null} if the player was not queued
+     */
+    @Nullable
+    public QueueEntry remove(final @NotNull UUID uuid) {
+        final QueueTicket ticket = this.tickets.get(uuid);
+
+        if (ticket == null || !ticket.claim()) {
+            return null;
+        }
+
+        this.withdraw(ticket, null);
+        return ticket.getEntry();
+    }
+
+    /**
+     * Checks whether the player is currently waiting in any bucket.
+     *
+     * @param uuid the player's UUID
+     * @return {@code true} if the player is queued
+     */
+    public boolean contains(final @NotNull UUID uuid) {
+        final QueueTicket ticket = this.tickets.get(uuid);
+        return ticket != null && ticket.isQueued();
+    }
+
+    /**
+     * Looks up the entry a player is currently queued with.
+     *
+     * @param uuid the player's UUID
+     * @return the player's primary entry, or {@code null} if the player is not queued
+     */
+    @Nullable
+    public QueueEntry get(final @NotNull UUID uuid) {
+        final QueueTicket ticket = this.tickets.get(uuid);
+
+        if (ticket == null || !ticket.isQueued()) {
+            return null;
+        }
+
+        return ticket.getEntry();
+    }
+
+    /**
+     * Lists every kit the player is currently queued for.
+     *
+     * @param uuid the player's UUID
+     * @return one entry per kit still waited for, the primary kit first, or an empty list if the player is not queued
+     */
+    @NotNull
+    public List<QueueEntry> entries(final @NotNull UUID uuid) {
+        final QueueTicket ticket = this.tickets.get(uuid);
+
+        if (ticket == null || !ticket.isQueued()) {
+            return List.of();
+        }
+
+        final List<QueueEntry> entries = new ArrayList<>(ticket.getNodes().size());
+
+        for (final var node : ticket.getNodes()) {
+            if (node.isLinked()) {
+                entries.add(node.getEntry());
+            }
+        }
+
+        return entries;
+    }
+
+    /**
+     * Removes the next match the bucket's matcher selects and withdraws its players from every other bucket.
+     *
+     * @param bucket the bucket to match
+     * @param now    the current time in milliseconds since the epoch
+     * @return one list per matched ticket, the blue team first, holding the ticket's entry of every kit it
+     *         was still waiting for in the order it was queued with, or {@code null} if no match can be made
+     */
+    @Nullable
+    public List<List<QueueEntry>> pollMatch(
+            final @NotNull QueueBucket bucket,
+            final long now
+    ) {
+        final List<QueueBucket.Node> polled = bucket.pollMatch(now);
+
+        if (polled == null) {
+            return null;
+        }
+
+        final List<List<QueueEntry>> tickets = new ArrayList<>(polled.size());
+
+        for (final var node : polled) {
+            final List<QueueEntry> entries = new ArrayList<>(node.getTicket().getNodes().size());
+
+            for (final var other : node.getTicket().getNodes()) {
+                if (other == node || other.isLinked()) {
+                    entries.add(other.getEntry());
+                }
+            }
+
+            this.withdraw(node.getTicket(), node);
+            tickets.add(entries);
+        }
+
+        return tickets;
+    }
+
+    /**
+     * Removes the oldest {@code amount} entries of a bucket and withdraws their players from every other bucket.
+     *
+     * @param bucket the bucket to poll
+     * @param amount the number of entries required
+     * @return the polled entries in FIFO order, or {@code null} if the bucket holds fewer than {@code amount}
+     */
+    @Nullable
+    public List<QueueEntry> poll(
+            final @NotNull QueueBucket bucket,
+            final int amount
+    ) {
+        return this.unindex(bucket.pollFirst(amount));
+    }
+
+    /**
+     * Empties the buckets of the given kits, e.g. because they moved to another queue service. Players who are
+     * also waiting for kits that are not moved stay queued for those; everyone else leaves the queue with every
+     * moved kit they were waiting for, so a ticket queued for several of them is moved as a whole.
+     *
+     * @param kits the kits whose buckets to empty
+     * @return one list per ticket that left the queue entirely, holding its entries of the moved kits with the
+     *         primary kit first, in FIFO order of the bucket each ticket was first found in
+     */
+    @NotNull
+    public List<List<QueueEntry>> withdraw(final @NotNull Set<KitType> kits) {
+        final Map<QueueTicket, List<QueueBucket.Node>> drained = new LinkedHashMap<>();
+
+        for (final KitType kit : kits) {
+            for (final QueueBucket bucket : this.buckets.get(kit).values()) {
+                for (final var node : bucket.drain()) {
+                    drained.computeIfAbsent(node.getTicket(), _ -> new ArrayList<>(1)).add(node);
+                }
+            }
+        }
+
+        final List<List<QueueEntry>> tickets = new ArrayList<>(drained.size());
+
+        for (final var withdrawn : drained.entrySet()) {
+            final QueueTicket ticket = withdrawn.getKey();
+            final List<QueueBucket.Node> nodes = withdrawn.getValue();
+            boolean waiting = false;
+
+            for (final var other : ticket.getNodes()) {
+                waiting |= other.isLinked();
+            }
+
+            if (waiting) {
+                for (final var node : nodes) {
+                    this.listener.withdrawn(ticket, node.getEntry());
+                }
+            } else if (ticket.claim()) {
+                this.withdraw(ticket, null);
+
+                final List<QueueEntry> entries = new ArrayList<>(nodes.size());
+
+                for (final var node : ticket.getNodes()) {
+                    if (nodes.contains(node)) {
+                        entries.add(node.getEntry());
+                    }
+                }
+
+                tickets.add(entries);
+            }
+        }
+
+        return tickets;
+    }
+
+    /**
+     * Drops the tickets of already claimed and unlinked nodes from the other buckets and the index.
+     *
+     * @param polled the nodes removed from their bucket, may be {@code null}
+     * @return the entries of the nodes in the same order, or {@code null} if {@code polled} was {@code null}
+     */
+    @Nullable
+    private List<QueueEntry> unindex(final @Nullable List<QueueBucket.Node> polled) {
+        if (polled == null) {
+            return null;
+        }
+
+        final List<QueueEntry> entries = new ArrayList<>(polled.size());
+
+        for (final var node : polled) {
+            this.withdraw(node.getTicket(), node);
+            entries.add(node.getEntry());
+        }
+
+        return entries;
+    }
+
+    /**
+     * Unlinks the nodes of a claimed ticket and drops the ticket from the index.
+     *
+     * @param ticket the claimed ticket
+     * @param taken  the node the ticket was claimed through, which is already unlinked, or {@code null}
+     */
+    private void withdraw(
+            final @NotNull QueueTicket ticket,
+            final @Nullable QueueBucket.Node taken
+    ) {
+        for (final var node : ticket.getNodes()) {
+            if (node != taken) {
+                node.getBucket().unlink(node);
+            }
+        }
+
+        for (final UUID member : ticket.getEntry().members()) {
+            this.tickets.remove(member, ticket);
+        }
+
+        this.listener.removed(taken == null ? ticket.getEntry() : taken.getEntry());
+    }
+
+    /**
+     * Resolves the bucket for the given kit and queue type.
+     *
+     * @param kitType   the kit type
+     * @param queueType the queue type
+     * @return the matching bucket
+     */
+    @NotNull
+    public QueueBucket bucket(
+            final @NotNull KitType kitType,
+            final @NotNull QueueType queueType
+    ) {
+        return this.buckets.get(kitType).get(queueType);
+    }
+
+    /**
+     * Lists every bucket, ordered by kit and then queue type.
+     *
+     * @return an unmodifiable view of all buckets of this index
+     */
+    @NotNull
+    public List<QueueBucket> buckets() {
+        return Collections.unmodifiableList(this.bucketList);
+    }
+
+    /**
+     * Number of players currently queued across all buckets, counting every member of a group.
+     *
+     * @return the total amount of queued players
+     */
+    public int size() {
+        int size = 0;
+
+        for (final var bucket : this.bucketList) {
+            size += bucket.players();
+        }
+
+        return size;
+    }
+
+    /**
+     * Drops every queued entry from all buckets and the index.
+     */
+    public void clear() {
+        for (final var bucket : this.bucketList) {
+            this.poll(bucket, bucket.size());
+        }
+
+        this.tickets.clear();
+    }
+
+    /**
+     * Observes entries entering and leaving the index. Called on the thread that changed the index, after the
+     * change is visible. A player queued for several kits is reported once, as their ticket when they join and
+     * with the entry of the kit they left through.
+     */
+    public interface Listener {
+
+        /**
+         * A ticket was queued.
+         *
+         * @param ticket the new ticket, with one node per kit
+         */
+        default void added(final @NotNull QueueTicket ticket) {
+        }
+
+        /**
+         * An entry left the queue, matched, removed or handed over.
+         *
+         * @param entry the removed entry
+         */
+        default void removed(final @NotNull QueueEntry entry) {
+        }
+
+        /**
+         * A ticket stopped waiting for one of its kits but is still queued for others.
+         *
+         * @param ticket the ticket, whose node of the dropped kit is already unlinked
+         * @param entry  the entry of the dropped kit
+         */
+        default void withdrawn(
+                final @NotNull QueueTicket ticket,
+                final @NotNull QueueEntry entry
+        ) {
+        }
+
+        /**
+         * Combines this listener with another one, which is notified after this one.
+         *
+         * @param next the listener to notify second
+         * @return a listener notifying both
+         */
+        @NotNull
+        default Listener andThen(final @NotNull Listener next) {
+            final Listener first = this;
+
+            return new Listener() {
+                @Override
+                public void added(final @NotNull QueueTicket ticket) {
+                    first.added(ticket);
+                    next.added(ticket);
+                }
+
+                @Override
+                public void removed(final @NotNull QueueEntry entry) {
+                    first.removed(entry);
+                    next.removed(entry);
+                }
+
+                @Override
+                public void withdrawn(
+                        final @NotNull QueueTicket ticket,
+                        final @NotNull QueueEntry entry
+                ) {
+                    first.withdrawn(ticket, entry);
+                    next.withdrawn(ticket, entry);
+                }
+            };
+        }
+    }
+}
@@ -1,8 +1,17 @@
 package club.revived.queue;
 
+import club.revived.queue.cluster.broker.MessageBroker;
+import club.revived.queue.cluster.broker.PublishBatcher;
 import club.revived.queue.cluster.broker.RedisBroker;
+import club.revived.queue.cluster.broker.RedisStreamsBroker;
 import club.revived.queue.cluster.cache.RedisCacheService;
 import club.revived.queue.cluster.cluster.Cluster;
+import club.revived.queue.cluster.cluster.ServiceType;
+import club.revived.queue.journal.QueueJournal;
+import club.revived.queue.metrics.MetricsServer;
+import club.revived.queue.shard.RedisLeaseStore;
+
+import java.nio.file.Path;
 
 /**
  * QueueManager
@@ -12,31 +21,133 @@ import club.revived.queue.cluster.cluster.Cluster;
  */
 public final class QueueManager {
 
+    private static final String DEFAULT_SERVICE_ID = "queue-service";
+    private static final int DEFAULT_METRICS_PORT = 6767;
+    private static final String DEFAULT_JOURNAL = "data/queue.journal";
+
     /**
-     * Initializes cluster integration and creates the game queue.
+     * Initializes cluster integration, the kit shard coordinator and the game queue.
      *
      * <p>Configures the Redis-backed cluster and cache service using environment
-     * variables and then instantiates the GameQueue.
+     * variables, instantiates the GameQueue, which claims its kit shards through
+     * Redis leases and restores its players from the journal, and serves its
+     * metrics over HTTP.
      */
     public QueueManager() {
-        this.setupCluster();
-        new GameQueue();
+        final String host = System.getenv("REDIS_HOST");
+        final int port = Integer.parseInt(System.getenv("REDIS_PORT"));
+
+        final String serviceId = this.serviceId();
+        final MessageBroker broker = this.broker(host, port, serviceId);
+
+        this.setupCluster(broker, host, port, serviceId);
+
+        final var gameQueue = new GameQueue(new RedisLeaseStore(host, port, ""), this.journal());
+
+        new MetricsServer(
+                this.metricsPort(),
+                gameQueue,
+                Cluster.getInstance().getMessagingService(),
+                this.publisher(broker),
+                Cluster.getInstance().getServiceId()
+        );
     }
 
     /**
-     * Initializes the application's Cluster using Redis configuration from environment variables.
+     * Opens the queue journal at QUEUE_JOURNAL, defaulting to "data/queue.journal" in the working directory,
+     * which is where the queue-data volume is mounted in the container. Setting it to "none" keeps the queue in
+     * memory only.
      *
-     * Reads REDIS_HOST and REDIS_PORT and configures a Redis-backed broker and cache, registering
-     * the service under the name "queue-service".
+     * @return the journal, or {@code null} if journaling is disabled
      */
-    private void setupCluster() {
-        final String host = System.getenv("REDIS_HOST");
-        final int port = Integer.parseInt(System.getenv("REDIS_PORT"));
+    private QueueJournal journal() {
+        final String path = System.getenv("QUEUE_JOURNAL");
+
+        if ("none".equalsIgnoreCase(path)) {
+            return null;
+        }
+
+        return new QueueJournal(Path.of(path == null || path.isBlank() ? DEFAULT_JOURNAL : path));
+    }
+
+    /**
+     * Reads the port of the metrics endpoint from METRICS_PORT, defaulting to the port the container exposes.
+     *
+     * @return the metrics port
+     */
+    private int metricsPort() {
+        final String port = System.getenv("METRICS_PORT");
+        return port == null || port.isBlank() ? DEFAULT_METRICS_PORT : Integer.parseInt(port);
+    }
+
+    /**
+     * Reads the id of this service from HOSTNAME, falling back to "queue-service", so several queue services
+     * can run side by side. The id names the stream consumer group as well, so it has to be set per replica and
+     * stay the same when the container is recreated rather than be the container id Docker assigns.
+     *
+     * @return the service id
+     */
+    private String serviceId() {
+        final String hostName = System.getenv("HOSTNAME");
+        return hostName == null || hostName.isBlank() ? DEFAULT_SERVICE_ID : hostName;
+    }
+
+    /**
+     * Creates the message broker selected by MESSAGE_BROKER: "streams" carries messages over Redis streams,
+     * read through a consumer group named after this service, anything else over Redis pub/sub.
+     *
+     * @param host      the Redis host
+     * @param port      the Redis port
+     * @param serviceId the id of this service
+     * @return the message broker
+     */
+    private MessageBroker broker(
+            final String host,
+            final int port,
+            final String serviceId
+    ) {
+        if ("streams".equalsIgnoreCase(System.getenv("MESSAGE_BROKER"))) {
+            return new RedisStreamsBroker(host, port, "", serviceId);
+        }
+
+        return new RedisBroker(host, port, "");
+    }
 
+    /**
+     * The batcher outbound messages of the broker go through, for the metrics.
+     *
+     * @param broker the broker created by {@link #broker(String, int, String)}
+     * @return the publish batcher of the broker
+     */
+    private PublishBatcher publisher(final MessageBroker broker) {
+        if (broker instanceof final RedisStreamsBroker streams) {
+            return streams.getPublisher();
+        }
+
+        return ((RedisBroker) broker).getPublisher();
+    }
+
+    /**
+     * Initializes the application's Cluster using the given Redis connection.
+     *
+     * Registers the service as {@link ServiceType#QUEUE} under its service id.
+     *
+     * @param broker    the broker the cluster communicates through
+     * @param host      the Redis host
+     * @param port      the Redis port
+     * @param serviceId the id of this service
+     */
+    private void setupCluster(
+            final MessageBroker broker,
+            final String host,
+            final int port,
+            final String serviceId
+    ) {
         new Cluster(
-                new RedisBroker(host, port, ""),
+                broker,
                 new RedisCacheService(host, port, ""),
-                "queue-service"
+                ServiceType.QUEUE,
+                serviceId
         );
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,168 @@
+package club.revived.queue;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * QueueTicket - one queue request that may wait in several buckets at once, one {@link QueueBucket.Node} per kit.
+ * <p>
+ * The ticket is what the {@link QueueIndex} maps every member to, and its state decides which bucket gets the
+ * players. Whoever moves it to {@code CLAIMED} first, a match or a removal, owns it; every other node of the
+ * ticket is stale from that moment on and is withdrawn from its bucket by the claimer. Claiming is a single
+ * compare-and-set, so taking a player out of every other kit costs the same no matter how many kits they
+ * queued for.
+ * <p>
+ * A match claims several tickets, so it first marks each of them {@code PENDING} and only commits once it
+ * holds all of them. A match that runs into a ticket somebody else is holding backs off instead of waiting,
+ * so two matches can never block each other.
+ *
+ * @author yyuh - DL
+ * @since 1/8/26
+ */
+public final class QueueTicket {
+
+    private static final int WAITING = 0;
+    private static final int PENDING = 1;
+    private static final int CLAIMED = 2;
+
+    private final AtomicInteger state = new AtomicInteger(WAITING);
+    private final List<QueueBucket.Node> nodes = new ArrayList<>(1);
+
+    private volatile boolean reserved;
+
+    /**
+     * Creates an unclaimed ticket.
+     *
+     * @param reserved whether the ticket is still being indexed, see {@link #isReserved()}
+     */
+    QueueTicket(final boolean reserved) {
+        this.reserved = reserved;
+    }
+
+    /**
+     * Adds a node of this ticket. Only called while the ticket is created, before it is published.
+     *
+     * @param node the node waiting in one more bucket
+     */
+    void add(final @NotNull QueueBucket.Node node) {
+        this.nodes.add(node);
+    }
+
+    /**
+     * Tentatively takes the ticket for a match.
+     *
+     * @return {@code true} if the ticket is now pending for the caller, {@code false} if it is still being
+     *         indexed, held by another match or already claimed
+     */
+    boolean tryReserve() {
+        return !this.reserved && this.state.compareAndSet(WAITING, PENDING);
+    }
+
+    /**
+     * Finalizes a tentative claim made with {@link #tryReserve()}.
+     */
+    void commit() {
+        this.state.set(CLAIMED);
+    }
+
+    /**
+     * Gives up a tentative claim made with {@link #tryReserve()}.
+     */
+    void abort() {
+        this.state.set(WAITING);
+    }
+
+    /**
+     * Claims the ticket for good, e.g. to remove it from the queue. Waits out a match that is holding the
+     * ticket tentatively, which only ever lasts for the few instructions it takes to reserve the rest of
+     * the match.
+     *
+     * @return {@code true} if the caller owns the ticket now, {@code false} if it is still being indexed or
+     *         somebody else claimed it
+     */
+    boolean claim() {
+        while (!this.reserved) {
+            final int current = this.state.get();
+
+            if (current == CLAIMED) {
+                return false;
+            }
+
+            if (current == WAITING && this.state.compareAndSet(WAITING, CLAIMED)) {
+                return true;
+            }
+
+            Thread.onSpinWait();
+        }
+
+        return false;
+    }
+
+    /**
+     * Whether the ticket has been claimed by a match or a removal.
+     *
+     * @return {@code true} once the ticket's nodes no longer belong to the queue
+     */
+    public boolean isClaimed() {
+        return this.state.get() == CLAIMED;
+    }
+
+    /**
+     * Whether the ticket is still being indexed and not all of its nodes have been linked. A reserved ticket
+     * holds its members' index slots but cannot be matched or removed yet.
+     *
+     * @return {@code true} until the ticket has been fully linked or abandoned
+     */
+    public boolean isReserved() {
+        return this.reserved;
+    }
+
+    /**
+     * Ends the reservation of the ticket, see {@link #isReserved()}.
+     */
+    void release() {
+        this.reserved = false;
+    }
+
+    /**
+     * Whether the ticket still holds its members' index slots.
+     *
+     * @return {@code true} while the ticket is being indexed or has not been claimed
+     */
+    boolean isActive() {
+        return this.reserved || !this.isClaimed();
+    }
+
+    /**
+     * Whether the ticket's players are waiting in the queue.
+     *
+     * @return {@code true} once the ticket is fully linked and until it has been claimed
+     */
+    public boolean isQueued() {
+        return !this.reserved && !this.isClaimed();
+    }
+
+    /**
+     * The entry of the first kit the ticket was queued for.
+     *
+     * @return the primary entry
+     */
+    @NotNull
+    public QueueEntry getEntry() {
+        return this.nodes.getFirst().getEntry();
+    }
+
+    /**
+     * Every node of this ticket, one per kit.
+     *
+     * @return an unmodifiable view of the nodes
+     */
+    @NotNull
+    public List<QueueBucket.Node> getNodes() {
+        return Collections.unmodifiableList(this.nodes);
+    }
+}
@@ -0,0 +1,255 @@
+package club.revived.queue.cluster.broker;
+
+import com.google.gson.Gson;
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.JedisPoolConfig;
+import redis.clients.jedis.params.XAddParams;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * RedisStreamsBroker - a {@link MessageBroker} that carries every topic as a Redis stream instead of a pub/sub
+ * channel.
+ * <p>
+ * Publishing appends an entry to the stream of the topic, pipelined in batches like {@link RedisBroker} does,
+ * and trims the stream to roughly its maximum length on the way. Every service reads through a consumer
+ * group of its own and acknowledges what it handled, so unlike pub/sub a message published while a service
+ * is down or reconnecting is not lost: the service reads it once it is back, as long as it was not trimmed
+ * in the meantime, and reads back what it had received but not handled before a crash. The price is a
+ * little latency on the read side and delivery that is at least once rather than at most once.
+ *
+ * @author yyuh - DL
+ * @since 1/8/26
+ */
+public final class RedisStreamsBroker implements MessageBroker {
+
+    public static final long DEFAULT_MAX_LENGTH = 10_000;
+
+    private final JedisPool jedisPool;
+    private final RedisStreamReader reader;
+    private final PublishBatcher publisher;
+    private final Gson gson = new Gson();
+
+    /**
+     * Creates a RedisStreamsBroker connected to the specified Redis instance that keeps up to
+     * {@value #DEFAULT_MAX_LENGTH} entries per stream.
+     *
+     * @param host          the Redis server hostname or IP address
+     * @param port          the Redis server port
+     * @param password      the Redis authentication password; empty string if no password is required
+     * @param consumerGroup the consumer group of this service, usually its service id; must stay the same
+     *                      across restarts, or the entries the service missed while down are skipped
+     */
+    public RedisStreamsBroker(
+            final String host,
+            final int port,
+            final String password,
+            final String consumerGroup
+    ) {
+        this(host, port, password, consumerGroup, DEFAULT_MAX_LENGTH);
+    }
+
+    /**
+     * Creates a RedisStreamsBroker connected to the specified Redis instance.
+     *
+     * @param host          the Redis server hostname or IP address
+     * @param port          the Redis server port
+     * @param password      the Redis authentication password; empty string if no password is required
+     * @param consumerGroup the consumer group of this service, usually its service id; must stay the same
+     *                      across restarts, or the entries the service missed while down are skipped
+     * @param maxLength     the number of entries a stream is trimmed to, approximately
+     */
+    public RedisStreamsBroker(
+            final String host,
+            final int port,
+            final String password,
+            final String consumerGroup,
+            final long maxLength
+    ) {
+        if (maxLength <= 0) {
+            throw new IllegalArgumentException("Streams must keep at least one entry");
+        }
+
+        final XAddParams append = XAddParams.xAddParams()
+                .maxLen(maxLength)
+                .approximateTrimming();
+
+        this.jedisPool = this.connect(host, port, password);
+        this.reader = new RedisStreamReader(host, port, password, consumerGroup);
+        this.publisher = new PublishBatcher(
+                this.jedisPool,
+                PublishBatcher.DEFAULT_WINDOW_MICROS,
+                PublishBatcher.DEFAULT_MAX_BATCH,
+                (pipeline, stream, message) -> pipeline.xadd(stream, append, Map.of(RedisStreamReader.FIELD, message))
+        );
+    }
+
+    /**
+     * Creates and returns a configured JedisPool for the specified Redis instance.
+     *
+     * @param host     the Redis server host
+     * @param port     the Redis server port
+     * @param password the password for authentication; empty string disables authentication
+     * @return         a configured {@link JedisPool} connected to the specified host and port
+     */
+    @Override
+    public JedisPool connect(
+            final String host,
+            final int port,
+            final String password
+    ) {
+        final JedisPoolConfig config = new JedisPoolConfig();
+        config.setMaxIdle(20);
+        config.setMaxTotal(50);
+        config.setTestOnBorrow(true);
+        config.setTestOnReturn(true);
+
+        if (password.isEmpty()) {
+            return new JedisPool(config, host, port, 0);
+        } else {
+            return new JedisPool(config, host, port, 0, password, false);
+        }
+    }
+
+    /**
+     * Appends a message to the stream of a topic after serializing it to JSON.
+     * <p>
+     * Only queues the message; it is appended pipelined with the next publish batch.
+     *
+     * @param topic   the Redis stream to append to
+     * @param message the message object to serialize as JSON and publish
+     */
+    @Override
+    public <T> void publish(
+            final String topic,
+            final T message
+    ) {
+        this.publisher.publish(
+                topic.getBytes(StandardCharsets.UTF_8),
+                this.gson.toJson(message).getBytes(StandardCharsets.UTF_8)
+        );
+    }
+
+    /**
+     * Reads the stream of a topic and dispatches each JSON message, deserialized to the given type, to the handler.
+     *
+     * @param topic   the Redis stream to read
+     * @param type    the class to deserialize incoming JSON messages into
+     * @param handler the handler invoked for each deserialized message
+     */
+    @Override
+    public <T> void subscribe(
+            final String topic,
+            final Class<T> type,
+            final MessageHandler<T> handler
+    ) {
+        this.reader.subscribe(topic, message -> handler.handle(this.gson.fromJson(
+                new String(message, StandardCharsets.UTF_8),
+                type
+        )));
+    }
+
+    /**
+     * Appends already encoded bytes to the stream of a topic.
+     * <p>
+     * Only queues the message; it is appended pipelined with the next publish batch.
+     *
+     * @param topic   the Redis stream to append to
+     * @param message the encoded message
+     */
+    @Override
+    public void publishRaw(
+            final String topic,
+            final byte[] message
+    ) {
+        this.publisher.publish(topic.getBytes(StandardCharsets.UTF_8), message);
+    }
+
+    /**
+     * Reads the stream of a topic and hands every message to the handler as it was appended.
+     *
+     * @param topic   the Redis stream to read
+     * @param handler the handler invoked with each received message
+     */
+    @Override
+    public void subscribeRaw(
+            final String topic,
+            final MessageHandler<byte[]> handler
+    ) {
+        this.reader.subscribe(topic, handler);
+    }
+
+    /**
+     * Reads the stream of a topic and hands every message to the handler, which acknowledges it once it was
+     * handled. A rejected message is read back after a short pause, before any new ones.
+     *
+     * @param topic   the Redis stream to read
+     * @param handler the handler invoked with each received delivery
+     */
+    @Override
+    public void subscribeDeliveries(
+            final String topic,
+            final MessageHandler<Delivery> handler
+    ) {
+        this.reader.subscribeDeliveries(topic, handler);
+    }
+
+    /**
+     * Stops reading the stream of a topic, dropping every handler subscribed to it.
+     *
+     * @param topic the Redis stream to stop reading
+     */
+    @Override
+    public void unsubscribe(final String topic) {
+        this.reader.unsubscribe(topic);
+    }
+
+    /**
+     * The batcher outbound messages go through.
+     *
+     * @return the publish batcher
+     */
+    public PublishBatcher getPublisher() {
+        return this.publisher;
+    }
+
+    /**
+     * Flushes the publish batcher, waiting at most {@link PublishBatcher#DEFAULT_CLOSE_TIMEOUT_MILLIS}. The
+     * subscriptions keep running until the process exits.
+     */
+    @Override
+    public void close() {
+        this.publisher.close(PublishBatcher.DEFAULT_CLOSE_TIMEOUT_MILLIS);
+    }
+
+    /**
+     * The reader inbound messages come through.
+     *
+     * @return the stream reader
+     */
+    public RedisStreamReader getReader() {
+        return this.reader;
+    }
+
+    /**
+     * Loads every type id from the {@code messaging:type-ids} hash, shared with {@link RedisBroker}.
+     *
+     * @return the assigned type ids by type name
+     */
+    @Override
+    public Map<String, Integer> typeIds() {
+        return RedisTypeIds.load(this.jedisPool);
+    }
+
+    /**
+     * Looks up or assigns the type id, shared with {@link RedisBroker}.
+     *
+     * @param typeName the simple name of the message type
+     * @return the type id
+     */
+    @Override
+    public int typeId(final String typeName) {
+        return RedisTypeIds.assign(this.jedisPool, typeName);
+    }
+}
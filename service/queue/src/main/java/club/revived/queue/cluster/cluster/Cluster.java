@@ -93,7 +93,7 @@ public final class Cluster {
         this.serviceType = serviceType;
         this.serviceId = id;
         this.ip = this.serviceIp();
-        this.messagingService = new MessagingService(broker, id);
+        this.messagingService = new MessagingService(broker, id, this.services);
         this.globalCache = cache;
 
         instance = this;
@@ -201,12 +201,8 @@ public final class Cluster {
      */
     @NotNull
     public CompletableFuture<ClusterService> whereIs(final UUID uuid) {
-        return this.messagingService.sendGlobalRequest(new WhereIsRequest(uuid), WhereIsResponse.class)
-                .thenApply(whereIsResponse -> {
-                    final var id = whereIsResponse.getFirst().server();
-
-                    return this.services.get(id);
-                });
+        return this.messagingService.findGlobal(new WhereIsRequest(uuid), WhereIsResponse.class)
+                .thenApply(response -> response == null ? null : this.services.get(response.server()));
     }
 
     /**
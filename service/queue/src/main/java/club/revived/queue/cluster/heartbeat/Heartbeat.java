@@ -17,6 +17,8 @@ public record Heartbeat(
         String id,
         int playerCount,
         List<OnlinePlayer> onlinePlayers,
-        String serverIp
+        String serverIp,
+        List<String> codecs,
+        List<String> requests
 ) {
 }
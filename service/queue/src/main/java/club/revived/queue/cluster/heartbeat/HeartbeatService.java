@@ -4,10 +4,12 @@ import club.revived.queue.cluster.broker.MessageBroker;
 import club.revived.queue.cluster.broker.MessageHandler;
 import club.revived.queue.cluster.cluster.Cluster;
 import club.revived.queue.cluster.cluster.ClusterService;
+import club.revived.queue.cluster.messaging.MessagingService;
 import club.revived.queue.cluster.player.PlayerManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
@@ -22,7 +24,7 @@ import java.util.concurrent.TimeUnit;
  */
 public final class HeartbeatService implements MessageHandler<Heartbeat> {
 
-    private static final long INTERVAL = 5_000;
+    private static final long INTERVAL = 1_000;
     private static final long TIMEOUT = 15_000;
     private static final Logger log = LoggerFactory.getLogger(HeartbeatService.class);
 
@@ -48,21 +50,39 @@ public final class HeartbeatService implements MessageHandler<Heartbeat> {
     }
 
     /**
-     * Starts the scheduled background task that monitors service last-seen timestamps.
+     * Schedules a fixed-rate background task that publishes this service's heartbeat and purges stale services.
      *
-     * Schedules a fixed-rate task with no initial delay that runs every INTERVAL milliseconds.
-     * On each run it iterates the recorded last-seen timestamps and logs an error for any
-     * service whose elapsed time since its last seen timestamp is less than TIMEOUT.
+     * The queue service hosts no players, so its heartbeat carries an empty player list. It is what lets
+     * lobbies and other queue services see this instance and route kit shards to it. Services whose
+     * last-seen timestamp exceeds TIMEOUT are removed from the cluster, which hands their shards over.
      */
     public void startTask() {
         subServer.scheduleAtFixedRate(() -> {
-            for (final String server : lastSeen.keySet()) {
-                final var timestamp = lastSeen.get(server);
-                final var time = System.currentTimeMillis() - timestamp;
-
-                if (time < TIMEOUT) {
-                    log.error("{} timed out after {}ms", server, time);
+            try {
+                broker.publish("service:heartbeat", new Heartbeat(
+                        System.currentTimeMillis(),
+                        cluster.getServiceType(),
+                        cluster.getServiceId(),
+                        0,
+                        List.of(),
+                        cluster.getIp(),
+                        MessagingService.CODECS,
+                        cluster.getMessagingService().getHandledRequests()
+                ));
+
+                final long now = System.currentTimeMillis();
+                for (final String server : lastSeen.keySet()) {
+                    final var timestamp = lastSeen.get(server);
+                    final var time = now - timestamp;
+
+                    if (time > TIMEOUT) {
+                        log.error("{} timed out after {}ms", server, time);
+                        lastSeen.remove(server);
+                        Cluster.getInstance().getServices().remove(server);
+                    }
                 }
+            } catch (final Exception e) {
+                log.error("Error in heartbeat task", e);
             }
         }, 0, INTERVAL, TimeUnit.MILLISECONDS);
     }
@@ -83,7 +103,9 @@ public final class HeartbeatService implements MessageHandler<Heartbeat> {
                 message.serverIp(),
                 message.serviceType(),
                 message.onlinePlayers(),
-                message.timestamp()
+                message.timestamp(),
+                message.codecs() == null ? List.of() : message.codecs(),
+                message.requests()
         );
 
         this.lastSeen.put(
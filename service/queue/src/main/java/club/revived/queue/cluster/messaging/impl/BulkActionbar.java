@@ -0,0 +1,36 @@
+package club.revived.queue.cluster.messaging.impl;
+
+import club.revived.queue.cluster.messaging.Message;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * BulkActionbar - one actionbar template delivered to many players of the same server.
+ * <p>
+ * The template may contain the {@code <kit>}, {@code <queue>} and {@code <wait>} placeholders, which the
+ * receiving server fills in per recipient before parsing the line.
+ *
+ * @author yyuh - DL
+ * @since 1/8/26
+ */
+public record BulkActionbar(
+        String template,
+        List<Recipient> recipients
+) implements Message {
+
+    /**
+     * A single recipient of a {@link BulkActionbar} together with its placeholder values.
+     *
+     * @param uuid        the player to show the actionbar to
+     * @param kit         the value of the {@code <kit>} placeholder
+     * @param queue       the value of the {@code <queue>} placeholder
+     * @param waitSeconds the value of the {@code <wait>} placeholder
+     */
+    public record Recipient(
+            UUID uuid,
+            String kit,
+            String queue,
+            long waitSeconds
+    ) {}
+}
@@ -0,0 +1,22 @@
+package club.revived.queue.cluster.messaging.impl;
+
+import club.revived.queue.cluster.messaging.Request;
+
+import java.util.UUID;
+
+/**
+ * Asks a duel server to start a queued match; answered with a {@link MatchDispatchAck}.
+ *
+ * @param matchId      the id of the match, echoed in the acknowledgement
+ * @param duelStart    the match to start
+ * @param fencingToken the token of the kit lease the queue service matched under, higher for every new owner
+ *
+ * @author yyuh - DL
+ * @since 1/8/26
+ */
+public record MatchDispatch(
+        UUID matchId,
+        DuelStart duelStart,
+        long fencingToken
+) implements Request {
+}
@@ -0,0 +1,22 @@
+package club.revived.queue.cluster.messaging.impl;
+
+import club.revived.queue.KitType;
+import club.revived.queue.QueueEntry;
+import club.revived.queue.cluster.messaging.Message;
+
+import java.util.List;
+
+/**
+ * QueueHandover - moves the queued entries of kit shards to the queue service that now owns them.
+ * <p>
+ * Entries keep their original enqueue time, so handed over players do not lose their place or wait time. A
+ * player queued for several of the moved kits is moved as one ticket and keeps waiting for all of them.
+ *
+ * @author yyuh - DL
+ * @since 1/8/26
+ */
+public record QueueHandover(
+        List<KitType> kitTypes,
+        List<List<QueueEntry>> tickets
+) implements Message {
+}
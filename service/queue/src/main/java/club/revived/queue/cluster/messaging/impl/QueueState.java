@@ -0,0 +1,59 @@
+package club.revived.queue.cluster.messaging.impl;
+
+import club.revived.queue.KitType;
+import club.revived.queue.QueueType;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Versioned queue state of one queue service, published on the {@code queue:state} channel.
+ * <p>
+ * Depths and waits are always complete. Membership is either a full snapshot ({@code full}) that replaces
+ * everything known about the service, or the changes since the previous version. A replica may only apply
+ * changes on top of {@code version - 1} of the same {@code epoch} and has to ask for a resync otherwise.
+ *
+ * @param serviceId the publishing queue service
+ * @param epoch     identifies one run of the service, versions restart with every epoch
+ * @param version   increases by one with every published state
+ * @param full      whether {@code joined} holds every queued entry instead of the changes
+ * @param timestamp the time the state was taken in milliseconds since the epoch
+ * @param depths    queued players per kit, indexed by {@link QueueType} ordinal
+ * @param waits     estimated wait in milliseconds per kit, indexed by {@link QueueType} ordinal, -1 if unknown
+ * @param joined    tickets queued or changed since the previous version, or all queued tickets if {@code full}
+ * @param left      players that left the queue since the previous version
+ *
+ * @author yyuh - DL
+ * @since 1/8/26
+ */
+public record QueueState(
+        String serviceId,
+        long epoch,
+        long version,
+        boolean full,
+        long timestamp,
+        Map<KitType, int[]> depths,
+        Map<KitType, long[]> waits,
+        List<Entry> joined,
+        List<UUID> left
+) {
+
+    /**
+     * A queued ticket as seen by replicas, with everything a standby needs to queue it again.
+     *
+     * @param members   every player of the ticket, the leader first
+     * @param kitTypes  every kit the ticket is waiting for, the primary kit first
+     * @param queueType the queue type
+     * @param queuedAt  the time the ticket joined the queue in milliseconds since the epoch
+     * @param rating    the ticket's rating
+     */
+    public record Entry(
+            List<UUID> members,
+            List<KitType> kitTypes,
+            QueueType queueType,
+            long queuedAt,
+            int rating
+    ) {
+    }
+}
@@ -0,0 +1,12 @@
+package club.revived.queue.cluster.messaging.impl;
+
+/**
+ * Asks queue services for a full {@link QueueState}, published on the {@code queue:state:resync} channel.
+ *
+ * @param serviceId the queue service to resync, or {@code null} for all of them
+ *
+ * @author yyuh - DL
+ * @since 1/8/26
+ */
+public record QueueStateResync(String serviceId) {
+}
@@ -5,8 +5,11 @@ import club.revived.queue.cluster.messaging.Response;
 /**
  * QueuedAmount
  *
+ * @param amount              the players waiting in the bucket
+ * @param estimatedWaitMillis the expected wait for a player joining now, or -1 while it cannot be estimated
+ *
  * @author yyuh
  * @since 14.01.26
  */
-public record QueuedAmountResponse(int amount) implements Response {
+public record QueuedAmountResponse(int amount, long estimatedWaitMillis) implements Response {
 }
@@ -0,0 +1,210 @@
+package club.revived.queue.estimate;
+
+import club.revived.queue.KitType;
+import club.revived.queue.QueueBucket;
+import club.revived.queue.QueueEntry;
+import club.revived.queue.QueueType;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * WaitTimeEstimator - expected queue wait per kit and queue type from running counters.
+ * <p>
+ * Every bucket counts the players that join it and the players that leave it through an accepted match.
+ * Once a second {@link #tick(long)} folds the counts into exponentially weighted arrival and match rates
+ * with a half-life of {@link #HALF_LIFE_SECONDS}. Estimates only read those rates and the bucket's player
+ * count, so they cost the same no matter how many players are waiting and never touch the bucket itself.
+ * <p>
+ * A new entry waits for the matches of the players ahead of it to drain at the match rate and for enough
+ * players to arrive to complete its own match at the arrival rate.
+ *
+ * @author yyuh - DL
+ * @since 1/8/26
+ */
+public final class WaitTimeEstimator {
+
+    /**
+     * Returned while a bucket has not seen the traffic an estimate needs.
+     */
+    public static final long UNKNOWN = -1;
+
+    private static final double HALF_LIFE_SECONDS = 30;
+
+    private final Stats[] stats = new Stats[KitType.values().length * QueueType.values().length];
+
+    private long lastTick;
+
+    /**
+     * Creates an estimator without any observed traffic.
+     *
+     * @param now the current time in milliseconds since the epoch
+     */
+    public WaitTimeEstimator(final long now) {
+        for (int i = 0; i < this.stats.length; i++) {
+            this.stats[i] = new Stats();
+        }
+
+        this.lastTick = now;
+    }
+
+    /**
+     * Counts the players of an entry that joined the queue.
+     *
+     * @param entry the new entry
+     */
+    public void recordPush(final @NotNull QueueEntry entry) {
+        this.stats(entry.kitType(), entry.queueType()).arrivals.add(entry.size());
+    }
+
+    /**
+     * Counts the players of a match a duel server accepted.
+     *
+     * @param entries the entries of the match, all from the same bucket
+     */
+    public void recordMatch(final @NotNull List<QueueEntry> entries) {
+        int players = 0;
+
+        for (final var entry : entries) {
+            players += entry.size();
+        }
+
+        final var first = entries.getFirst();
+        this.stats(first.kitType(), first.queueType()).matched.add(players);
+    }
+
+    /**
+     * Folds the counts since the last tick into the rates. Meant to be called about once a second by a
+     * single thread.
+     *
+     * @param now the current time in milliseconds since the epoch
+     */
+    public void tick(final long now) {
+        final double seconds = (now - this.lastTick) / 1_000D;
+
+        if (seconds <= 0) {
+            return;
+        }
+
+        final double weight = 1 - Math.pow(0.5, seconds / HALF_LIFE_SECONDS);
+
+        for (final Stats bucket : this.stats) {
+            bucket.arrivalRate += weight * (bucket.arrivals.sumThenReset() / seconds - bucket.arrivalRate);
+            bucket.matchRate += weight * (bucket.matched.sumThenReset() / seconds - bucket.matchRate);
+        }
+
+        this.lastTick = now;
+    }
+
+    /**
+     * Estimates how long a new entry joining the bucket now would wait.
+     *
+     * @param bucket the bucket
+     * @param size   the number of players in the entry
+     * @return the expected wait in milliseconds, or {@link #UNKNOWN}
+     */
+    public long estimate(
+            final @NotNull QueueBucket bucket,
+            final int size
+    ) {
+        return this.estimate(bucket, bucket.players(), size);
+    }
+
+    /**
+     * Estimates how long an entry with the given number of players ahead of it waits in total.
+     *
+     * @param bucket the bucket
+     * @param ahead  the players queued in front of the entry
+     * @param size   the number of players in the entry
+     * @return the expected wait in milliseconds, or {@link #UNKNOWN}
+     */
+    public long estimate(
+            final @NotNull QueueBucket bucket,
+            final int ahead,
+            final int size
+    ) {
+        final Stats stats = this.stats(bucket.getKitType(), bucket.getQueueType());
+        final int perMatch = bucket.getQueueType().totalPlayers();
+
+        // Players up to and including the entry's own match, and the ones of them not queued yet
+        final int matchesAhead = ahead / perMatch;
+        final int missing = Math.max(0, (matchesAhead + 1) * perMatch - ahead - size);
+
+        double seconds = 0;
+
+        if (matchesAhead > 0) {
+            if (stats.matchRate <= 0) {
+                return UNKNOWN;
+            }
+
+            seconds += matchesAhead * perMatch / stats.matchRate;
+        }
+
+        if (missing > 0) {
+            if (stats.arrivalRate <= 0) {
+                return UNKNOWN;
+            }
+
+            seconds += missing / stats.arrivalRate;
+        }
+
+        return Math.round(seconds * 1_000);
+    }
+
+    /**
+     * Players joining the bucket per second, exponentially weighted.
+     *
+     * @param kitType   the kit
+     * @param queueType the queue type
+     * @return the arrival rate
+     */
+    public double arrivalRate(
+            final @NotNull KitType kitType,
+            final @NotNull QueueType queueType
+    ) {
+        return this.stats(kitType, queueType).arrivalRate;
+    }
+
+    /**
+     * Players leaving the bucket through accepted matches per second, exponentially weighted.
+     *
+     * @param kitType   the kit
+     * @param queueType the queue type
+     * @return the match rate
+     */
+    public double matchRate(
+            final @NotNull KitType kitType,
+            final @NotNull QueueType queueType
+    ) {
+        return this.stats(kitType, queueType).matchRate;
+    }
+
+    /**
+     * Resolves the stats of a bucket.
+     *
+     * @param kitType   the kit
+     * @param queueType the queue type
+     * @return the bucket's stats
+     */
+    @NotNull
+    private Stats stats(
+            final @NotNull KitType kitType,
+            final @NotNull QueueType queueType
+    ) {
+        return this.stats[kitType.ordinal() * QueueType.values().length + queueType.ordinal()];
+    }
+
+    /**
+     * Counters and rates of one bucket. Counters are added to from any thread, rates are only written by
+     * {@link #tick(long)}.
+     */
+    private static final class Stats {
+
+        private final LongAdder arrivals = new LongAdder();
+        private final LongAdder matched = new LongAdder();
+
+        private volatile double arrivalRate;
+        private volatile double matchRate;
+    }
+}
@@ -0,0 +1,489 @@
+package club.revived.queue.journal;
+
+import club.revived.queue.KitType;
+import club.revived.queue.QueueEntry;
+import club.revived.queue.QueueIndex;
+import club.revived.queue.QueueTicket;
+import club.revived.queue.QueueType;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * QueueJournal - append-only, memory-mapped log of everything that enters and leaves the queue.
+ * <p>
+ * The journal listens to the {@link QueueIndex} and appends one small binary record per event: a push with
+ * the ticket's members, kits, rating and enqueue time, a removal when the ticket left the queue, matched or
+ * otherwise, and a withdrawal when it only dropped one of its kits. Appending is a copy into the mapped file
+ * under a short lock; the kernel writes the pages back, so a crashed process loses nothing it appended and
+ * the file is forced to disk every {@link #FORCE_INTERVAL_MS} against losing the machine.
+ * <p>
+ * Every record is written behind a zero length and only becomes visible when its length is set last, so
+ * reading stops cleanly at a torn tail. The journal also keeps the live tickets in memory; once the file is
+ * half full it is compacted by writing just those into a new file that atomically replaces the old one.
+ * <p>
+ * Kits and queue types are stored by ordinal, so reordering those enums invalidates existing journals.
+ *
+ * @author yyuh - DL
+ * @since 1/8/26
+ */
+public final class QueueJournal implements QueueIndex.Listener {
+
+    private static final int MAGIC = 0x514A4E4C;
+    private static final int FORMAT = 1;
+    private static final int HEADER = 8;
+
+    private static final byte PUSH = 1;
+    private static final byte REMOVE = 2;
+    private static final byte WITHDRAW = 3;
+
+    private static final int MIN_CAPACITY = 8 << 20;
+    private static final long FORCE_INTERVAL_MS = 1_000;
+    private static final long COMPACT_INTERVAL_MS = 30_000;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<UUID, Ticket> live = new HashMap<>();
+    private final ScheduledExecutorService executorService = Executors.newSingleThreadScheduledExecutor();
+
+    @NotNull
+    private final Path path;
+
+    private MappedByteBuffer buffer;
+    private int capacity;
+    private int pending;
+    private boolean closed;
+
+    /**
+     * Opens the journal at the given path, replaying and compacting whatever an earlier run left there.
+     *
+     * @param path the journal file, created along with its directory if it does not exist
+     * @throws UncheckedIOException if the journal cannot be read or mapped
+     */
+    public QueueJournal(final @NotNull Path path) {
+        this.path = path.toAbsolutePath();
+
+        try {
+            Files.createDirectories(this.path.getParent());
+
+            if (Files.exists(this.path)) {
+                this.replay(Files.readAllBytes(this.path));
+            }
+
+            this.compact();
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Could not open queue journal " + this.path, e);
+        }
+    }
+
+    /**
+     * Starts forcing the journal to disk and compacting it in the background.
+     */
+    public void start() {
+        this.executorService.scheduleAtFixedRate(this::force, FORCE_INTERVAL_MS, FORCE_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        this.executorService.scheduleAtFixedRate(() -> {
+            this.lock.lock();
+
+            try {
+                if (!this.closed && this.buffer.position() > this.capacity / 2) {
+                    this.compact();
+                }
+            } catch (final Exception e) {
+                e.printStackTrace();
+            } finally {
+                this.lock.unlock();
+            }
+        }, COMPACT_INTERVAL_MS, COMPACT_INTERVAL_MS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * The tickets that were queued when the journal was last written, to be pushed back into a fresh index.
+     *
+     * @return one list of entries per ticket, one entry per kit, oldest ticket first
+     */
+    @NotNull
+    public List<List<QueueEntry>> restore() {
+        this.lock.lock();
+
+        try {
+            final List<Ticket> tickets = new ArrayList<>(this.live.values());
+            tickets.sort(Comparator.comparingLong(Ticket::queuedAt));
+
+            final List<List<QueueEntry>> restored = new ArrayList<>(tickets.size());
+
+            for (final Ticket ticket : tickets) {
+                if (!ticket.kits().isEmpty()) {
+                    restored.add(ticket.entries());
+                }
+            }
+
+            return restored;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public void added(final @NotNull QueueTicket queueTicket) {
+        final QueueEntry entry = queueTicket.getEntry();
+        final List<KitType> kits = new ArrayList<>(queueTicket.getNodes().size());
+
+        for (final var node : queueTicket.getNodes()) {
+            kits.add(node.getEntry().kitType());
+        }
+
+        final var ticket = new Ticket(
+                entry.uuid(),
+                entry.members(),
+                entry.queueType(),
+                kits,
+                entry.queuedAt(),
+                entry.rating()
+        );
+
+        this.lock.lock();
+
+        try {
+            // Restored tickets are pushed back unchanged, they are already on file
+            if (this.closed || ticket.equals(this.live.put(ticket.uuid(), ticket))) {
+                return;
+            }
+
+            this.write(ticket);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public void removed(final @NotNull QueueEntry entry) {
+        this.lock.lock();
+
+        try {
+            if (this.closed || this.live.remove(entry.uuid()) == null) {
+                return;
+            }
+
+            this.append(REMOVE, 16);
+            this.putUuid(entry.uuid());
+            this.commit();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public void withdrawn(
+            final @NotNull QueueTicket queueTicket,
+            final @NotNull QueueEntry entry
+    ) {
+        this.lock.lock();
+
+        try {
+            final Ticket ticket = this.live.get(entry.uuid());
+
+            if (this.closed || ticket == null) {
+                return;
+            }
+
+            final List<KitType> kits = new ArrayList<>(ticket.kits());
+            kits.remove(entry.kitType());
+            this.live.put(ticket.uuid(), ticket.withKits(kits));
+
+            this.append(WITHDRAW, 16 + 1);
+            this.putUuid(entry.uuid());
+            this.buffer.put((byte) entry.kitType().ordinal());
+            this.commit();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Stops recording, so the queue can be emptied on shutdown without losing its state, and forces the journal
+     * to disk one last time.
+     */
+    public void close() {
+        this.lock.lock();
+
+        try {
+            this.closed = true;
+        } finally {
+            this.lock.unlock();
+        }
+
+        this.executorService.shutdownNow();
+        this.buffer.force();
+    }
+
+    /**
+     * Reserves room for a record and writes its type. Compacts, and grows the file if that is not enough,
+     * when the record does not fit. Must hold the lock.
+     *
+     * @param type   the record type
+     * @param length the size of the record's payload after the type
+     */
+    private void append(
+            final byte type,
+            final int length
+    ) {
+        if (this.buffer.remaining() < 4 + 1 + length) {
+            try {
+                this.compact();
+            } catch (final IOException e) {
+                throw new UncheckedIOException("Could not compact queue journal " + this.path, e);
+            }
+        }
+
+        this.pending = this.buffer.position();
+        this.buffer.putInt(0);
+        this.buffer.put(type);
+    }
+
+    /**
+     * Publishes the record written since {@link #append(byte, int)} by setting its length. Must hold the lock.
+     */
+    private void commit() {
+        this.buffer.putInt(this.pending, this.buffer.position() - this.pending - 4);
+    }
+
+    /**
+     * Writes a push record for the ticket. Must hold the lock.
+     *
+     * @param ticket the queued ticket
+     */
+    private void write(final @NotNull Ticket ticket) {
+        this.append(PUSH, pushLength(ticket));
+        this.putUuid(ticket.uuid());
+        this.buffer.put((byte) ticket.queueType().ordinal());
+        this.buffer.putLong(ticket.queuedAt());
+        this.buffer.putInt(ticket.rating());
+        this.buffer.put((byte) ticket.members().size());
+
+        for (final UUID member : ticket.members()) {
+            this.putUuid(member);
+        }
+
+        this.buffer.put((byte) ticket.kits().size());
+
+        for (final KitType kit : ticket.kits()) {
+            this.buffer.put((byte) kit.ordinal());
+        }
+
+        this.commit();
+    }
+
+    /**
+     * Size of a ticket's push record after the type byte.
+     *
+     * @param ticket the ticket
+     * @return the payload length in bytes
+     */
+    private static int pushLength(final @NotNull Ticket ticket) {
+        return 16 + 1 + 8 + 4 + 1 + 16 * ticket.members().size() + 1 + ticket.kits().size();
+    }
+
+    /**
+     * Writes a UUID as two longs. Must hold the lock.
+     *
+     * @param uuid the UUID
+     */
+    private void putUuid(final @NotNull UUID uuid) {
+        this.buffer.putLong(uuid.getMostSignificantBits());
+        this.buffer.putLong(uuid.getLeastSignificantBits());
+    }
+
+    /**
+     * Forces the mapped pages to disk.
+     */
+    private void force() {
+        final MappedByteBuffer current;
+
+        this.lock.lock();
+
+        try {
+            current = this.buffer;
+        } finally {
+            this.lock.unlock();
+        }
+
+        try {
+            current.force();
+        } catch (final Exception e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Rewrites the journal as one push record per live ticket into a new file, swaps it in and maps it. The
+     * file is at least twice the size of the live state. Must hold the lock, or run before the journal is shared.
+     *
+     * @throws IOException if the new file cannot be written or moved into place
+     */
+    private void compact() throws IOException {
+        final Path temp = this.path.resolveSibling(this.path.getFileName() + ".tmp");
+        final List<Ticket> tickets = new ArrayList<>(this.live.values());
+
+        int size = HEADER;
+
+        for (final Ticket ticket : tickets) {
+            size += 4 + 1 + pushLength(ticket);
+        }
+
+        final int capacity = Math.max(MIN_CAPACITY, Integer.highestOneBit(size) << 2);
+
+        try (final FileChannel channel = FileChannel.open(
+                temp,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ,
+                StandardOpenOption.WRITE
+        )) {
+            final MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+
+            this.buffer = mapped;
+            this.capacity = capacity;
+
+            mapped.putInt(MAGIC);
+            mapped.putInt(FORMAT);
+
+            for (final Ticket ticket : tickets) {
+                this.write(ticket);
+            }
+
+            mapped.force();
+        }
+
+        Files.move(temp, this.path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Replays a journal file into the live tickets, stopping at the first record that is not complete.
+     *
+     * @param data the file content
+     */
+    private void replay(final byte @NotNull [] data) {
+        final var in = ByteBuffer.wrap(data);
+
+        if (data.length < HEADER || in.getInt() != MAGIC || in.getInt() != FORMAT) {
+            System.err.println("Ignoring queue journal " + this.path + " with an unknown format");
+            return;
+        }
+
+        final KitType[] kitTypes = KitType.values();
+        final QueueType[] queueTypes = QueueType.values();
+
+        while (in.remaining() >= 4) {
+            final int length = in.getInt();
+
+            if (length <= 0 || length > in.remaining()) {
+                break;
+            }
+
+            final var record = in.slice(in.position(), length);
+            in.position(in.position() + length);
+
+            final byte type = record.get();
+            final UUID uuid = new UUID(record.getLong(), record.getLong());
+
+            switch (type) {
+                case PUSH -> {
+                    final QueueType queueType = queueTypes[record.get()];
+                    final long queuedAt = record.getLong();
+                    final int rating = record.getInt();
+                    final List<UUID> members = new ArrayList<>();
+
+                    for (int i = record.get(); i > 0; i--) {
+                        members.add(new UUID(record.getLong(), record.getLong()));
+                    }
+
+                    final List<KitType> kits = new ArrayList<>();
+
+                    for (int i = record.get(); i > 0; i--) {
+                        kits.add(kitTypes[record.get()]);
+                    }
+
+                    this.live.put(uuid, new Ticket(uuid, List.copyOf(members), queueType, List.copyOf(kits), queuedAt, rating));
+                }
+                case REMOVE -> this.live.remove(uuid);
+                case WITHDRAW -> {
+                    final Ticket ticket = this.live.get(uuid);
+
+                    if (ticket != null) {
+                        final List<KitType> kits = new ArrayList<>(ticket.kits());
+                        kits.remove(kitTypes[record.get()]);
+                        this.live.put(uuid, ticket.withKits(kits));
+                    }
+                }
+                default -> {
+                    System.err.println("Stopping queue journal replay at unknown record " + type);
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * A ticket as stored in the journal.
+     *
+     * @param uuid      the leader of the ticket
+     * @param members   every player of the ticket, the leader first
+     * @param queueType the queue type
+     * @param kits      the kits the ticket is still waiting for, the primary kit first
+     * @param queuedAt  the time the ticket joined the queue in milliseconds since the epoch
+     * @param rating    the ticket's rating
+     */
+    private record Ticket(
+            @NotNull UUID uuid,
+            @NotNull List<UUID> members,
+            @NotNull QueueType queueType,
+            @NotNull List<KitType> kits,
+            long queuedAt,
+            int rating
+    ) {
+
+        /**
+         * Copies the ticket with a different set of kits.
+         *
+         * @param kits the remaining kits
+         * @return the updated ticket
+         */
+        @NotNull
+        Ticket withKits(final @NotNull List<KitType> kits) {
+            return new Ticket(this.uuid, this.members, this.queueType, List.copyOf(kits), this.queuedAt, this.rating);
+        }
+
+        /**
+         * Expands the ticket into one queue entry per kit.
+         *
+         * @return the entries, the primary kit first
+         */
+        @NotNull
+        List<QueueEntry> entries() {
+            final List<QueueEntry> entries = new ArrayList<>(this.kits.size());
+
+            for (final KitType kit : this.kits) {
+                entries.add(new QueueEntry(this.uuid, this.members, this.queueType, kit, this.queuedAt, this.rating));
+            }
+
+            return entries;
+        }
+    }
+}
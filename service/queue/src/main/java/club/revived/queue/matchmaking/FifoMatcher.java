@@ -0,0 +1,62 @@
+package club.revived.queue.matchmaking;
+
+import club.revived.queue.QueueBucket;
+import club.revived.queue.QueueType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * FifoMatcher - matches the longest waiting entries of a bucket, first come first served.
+ *
+ * @author yyuh - DL
+ * @since 1/8/26
+ */
+public final class FifoMatcher implements Matcher {
+
+    private final int required;
+
+    /**
+     * Creates a matcher that fills matches of the given queue type in queue order.
+     *
+     * @param queueType the queue type of the bucket
+     */
+    public FifoMatcher(final @NotNull QueueType queueType) {
+        this.required = queueType.totalPlayers();
+    }
+
+    @Override
+    public void added(final @NotNull QueueBucket.Node node) {
+    }
+
+    @Override
+    public void removed(final @NotNull QueueBucket.Node node) {
+    }
+
+    /**
+     * Selects the oldest {@code totalPlayers()} nodes of the bucket.
+     *
+     * @param bucket the bucket to select from
+     * @param now    the current time, unused
+     * @return the oldest nodes, or {@code null} if the bucket does not hold a full match
+     */
+    @Override
+    public @Nullable List<QueueBucket.Node> select(
+            final @NotNull QueueBucket bucket,
+            final long now
+    ) {
+        if (bucket.size() < this.required) {
+            return null;
+        }
+
+        final List<QueueBucket.Node> nodes = new ArrayList<>(this.required);
+
+        for (var node = bucket.first(); node != null && nodes.size() < this.required; node = node.getNext()) {
+            nodes.add(node);
+        }
+
+        return nodes.size() == this.required ? nodes : null;
+    }
+}
@@ -0,0 +1,299 @@
+package club.revived.queue.matchmaking;
+
+import club.revived.queue.QueueBucket;
+import club.revived.queue.QueueType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+/**
+ * GroupMatcher - assembles two full teams out of groups of different sizes.
+ * <p>
+ * Entries are kept in one age-ordered set per group size. A team of size {@code t} can only be filled by
+ * groups whose sizes form a partition of {@code t}, and there are only a handful of those (two for duos,
+ * three for trios), so they are enumerated once up front. Selecting a match anchors the team of the oldest
+ * entry, tries every pair of partitions against the number of waiting groups per size and takes the oldest
+ * groups of each size for the pair whose youngest picked entry is the oldest. The cost depends on the team
+ * size only, plus {@code O(log n)} per picked entry, no matter how many groups are waiting.
+ * <p>
+ * If no match can be built around the oldest entry, e.g. a pair waiting for a solo player while two full
+ * groups are queued, the other entries are matched without it.
+ *
+ * @author yyuh - DL
+ * @since 1/8/26
+ */
+public final class GroupMatcher implements Matcher {
+
+    private static final Comparator<QueueBucket.Node> BY_AGE = Comparator
+            .comparingLong((QueueBucket.Node node) -> node.getEntry().queuedAt())
+            .thenComparingLong(QueueBucket.Node::getSequence);
+
+    private final int teamSize;
+    private final NavigableSet<QueueBucket.Node>[] bySize;
+
+    /**
+     * Partitions of every team remainder, {@code partitions.get(n)} holding the group counts per size
+     * (index = group size) of every way to fill {@code n} slots.
+     */
+    private final List<List<int[]>> partitions = new ArrayList<>();
+
+    private int players;
+
+    /**
+     * Creates a matcher for a bucket of the given queue type.
+     *
+     * @param queueType the queue type of the bucket
+     */
+    @SuppressWarnings("unchecked")
+    public GroupMatcher(final @NotNull QueueType queueType) {
+        this.teamSize = queueType.teamSize();
+        this.bySize = new NavigableSet[this.teamSize + 1];
+
+        for (int size = 1; size <= this.teamSize; size++) {
+            this.bySize[size] = new TreeSet<>(BY_AGE);
+        }
+
+        for (int slots = 0; slots <= this.teamSize; slots++) {
+            final List<int[]> result = new ArrayList<>();
+            this.partition(slots, this.teamSize, new int[this.teamSize + 1], result);
+            this.partitions.add(result);
+        }
+    }
+
+    @Override
+    public void added(final @NotNull QueueBucket.Node node) {
+        this.bySize[node.getEntry().size()].add(node);
+        this.players += node.getEntry().size();
+    }
+
+    @Override
+    public void removed(final @NotNull QueueBucket.Node node) {
+        if (this.bySize[node.getEntry().size()].remove(node)) {
+            this.players -= node.getEntry().size();
+        }
+    }
+
+    @Override
+    public int maxGroupSize() {
+        return this.teamSize;
+    }
+
+    /**
+     * Selects the next match, anchored on the oldest waiting entry if possible.
+     *
+     * @param bucket the bucket to select from
+     * @param now    the current time, unused
+     * @return the blue team's nodes followed by the red team's, or {@code null} if no two full teams can be formed
+     */
+    @Override
+    public @Nullable List<QueueBucket.Node> select(
+            final @NotNull QueueBucket bucket,
+            final long now
+    ) {
+        if (this.players < this.teamSize * 2) {
+            return null;
+        }
+
+        final QueueBucket.Node anchor = this.oldest();
+        final int[] available = new int[this.teamSize + 1];
+
+        for (int size = 1; size <= this.teamSize; size++) {
+            available[size] = this.bySize[size].size();
+        }
+
+        final int anchorSize = anchor.getEntry().size();
+        available[anchorSize]--;
+
+        final var anchored = this.best(
+                this.partitions.get(this.teamSize - anchorSize),
+                available,
+                anchor
+        );
+
+        if (anchored != null) {
+            return anchored;
+        }
+
+        available[anchorSize]++;
+        return this.best(this.partitions.get(this.teamSize), available, null);
+    }
+
+    /**
+     * Tries every combination of a first-team partition and a second-team partition and builds the match of
+     * the combination whose youngest picked entry joined the earliest.
+     *
+     * @param first     the partitions allowed for the first team (its remainder if anchored)
+     * @param available the number of waiting groups per size, excluding the anchor
+     * @param anchor    the entry fixed into the first team, or {@code null}
+     * @return the match, or {@code null} if no combination fits the waiting groups
+     */
+    @Nullable
+    private List<QueueBucket.Node> best(
+            final @NotNull List<int[]> first,
+            final int @NotNull [] available,
+            final @Nullable QueueBucket.Node anchor
+    ) {
+        int[] bestFirst = null;
+        int[] bestSecond = null;
+        long bestYoungest = Long.MAX_VALUE;
+
+        for (final int[] blue : first) {
+            for (final int[] red : this.partitions.get(this.teamSize)) {
+                final long youngest = this.youngest(blue, red, available, anchor);
+
+                if (youngest < bestYoungest) {
+                    bestYoungest = youngest;
+                    bestFirst = blue;
+                    bestSecond = red;
+                }
+            }
+        }
+
+        if (bestFirst == null) {
+            return null;
+        }
+
+        final List<QueueBucket.Node> blueTeam = new ArrayList<>(this.teamSize);
+        final List<QueueBucket.Node> redTeam = new ArrayList<>(this.teamSize);
+
+        if (anchor != null) {
+            blueTeam.add(anchor);
+        }
+
+        for (int size = 1; size <= this.teamSize; size++) {
+            final Iterator<QueueBucket.Node> oldest = this.bySize[size].iterator();
+
+            this.take(oldest, bestFirst[size], anchor, blueTeam);
+            this.take(oldest, bestSecond[size], anchor, redTeam);
+        }
+
+        blueTeam.addAll(redTeam);
+        return blueTeam;
+    }
+
+    /**
+     * Checks whether the two partitions fit the waiting groups and finds the enqueue time of the youngest
+     * entry they would take.
+     *
+     * @param blue      group counts per size of the first team
+     * @param red       group counts per size of the second team
+     * @param available the number of waiting groups per size, excluding the anchor
+     * @param anchor    the entry fixed into the first team, or {@code null}
+     * @return the enqueue time of the youngest picked entry, or {@link Long#MAX_VALUE} if the partitions do not fit
+     */
+    private long youngest(
+            final int @NotNull [] blue,
+            final int @NotNull [] red,
+            final int @NotNull [] available,
+            final @Nullable QueueBucket.Node anchor
+    ) {
+        long youngest = anchor == null ? Long.MIN_VALUE : anchor.getEntry().queuedAt();
+
+        for (int size = 1; size <= this.teamSize; size++) {
+            final int needed = blue[size] + red[size];
+
+            if (needed > available[size]) {
+                return Long.MAX_VALUE;
+            }
+
+            if (needed == 0) {
+                continue;
+            }
+
+            final Iterator<QueueBucket.Node> oldest = this.bySize[size].iterator();
+            QueueBucket.Node last = null;
+
+            for (int taken = 0; taken < needed; ) {
+                last = oldest.next();
+
+                if (last != anchor) {
+                    taken++;
+                }
+            }
+
+            youngest = Math.max(youngest, last.getEntry().queuedAt());
+        }
+
+        return youngest;
+    }
+
+    /**
+     * Moves the next {@code amount} entries of a size class into a team, skipping the anchor.
+     *
+     * @param oldest the size class iterator, oldest first
+     * @param amount the number of groups to take
+     * @param anchor the anchor to skip, or {@code null}
+     * @param team   the team to add to
+     */
+    private void take(
+            final @NotNull Iterator<QueueBucket.Node> oldest,
+            final int amount,
+            final @Nullable QueueBucket.Node anchor,
+            final @NotNull List<QueueBucket.Node> team
+    ) {
+        for (int taken = 0; taken < amount; ) {
+            final var node = oldest.next();
+
+            if (node != anchor) {
+                team.add(node);
+                taken++;
+            }
+        }
+    }
+
+    /**
+     * Finds the longest waiting entry over all size classes.
+     *
+     * @return the oldest node; the matcher must not be empty
+     */
+    @NotNull
+    private QueueBucket.Node oldest() {
+        QueueBucket.Node oldest = null;
+
+        for (int size = 1; size <= this.teamSize; size++) {
+            if (this.bySize[size].isEmpty()) {
+                continue;
+            }
+
+            final var candidate = this.bySize[size].first();
+
+            if (oldest == null || BY_AGE.compare(candidate, oldest) < 0) {
+                oldest = candidate;
+            }
+        }
+
+        return oldest;
+    }
+
+    /**
+     * Enumerates the partitions of {@code slots} into group sizes no larger than {@code max}.
+     *
+     * @param slots   the slots still to fill
+     * @param max     the largest group size still allowed, keeping partitions in non-increasing order
+     * @param counts  the group counts per size chosen so far
+     * @param result  the list every complete partition is copied into
+     */
+    private void partition(
+            final int slots,
+            final int max,
+            final int @NotNull [] counts,
+            final @NotNull List<int[]> result
+    ) {
+        if (slots == 0) {
+            result.add(counts.clone());
+            return;
+        }
+
+        for (int size = Math.min(slots, max); size >= 1; size--) {
+            counts[size]++;
+            this.partition(slots - size, size, counts, result);
+            counts[size]--;
+        }
+    }
+}
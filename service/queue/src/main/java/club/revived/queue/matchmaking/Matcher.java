@@ -0,0 +1,56 @@
+package club.revived.queue.matchmaking;
+
+import club.revived.queue.QueueBucket;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * Matcher - decides which entries of a bucket form the next match.
+ * <p>
+ * Every bucket owns one matcher. The bucket reports each node it links and unlinks, and asks the matcher
+ * for the next match while holding its monitor, so implementations need no synchronization of their own.
+ *
+ * @author yyuh - DL
+ * @since 1/8/26
+ */
+public interface Matcher {
+
+    /**
+     * Called after a node has been linked into the bucket.
+     *
+     * @param node the node that joined the bucket
+     */
+    void added(final @NotNull QueueBucket.Node node);
+
+    /**
+     * Called after a node has been unlinked from the bucket.
+     *
+     * @param node the node that left the bucket
+     */
+    void removed(final @NotNull QueueBucket.Node node);
+
+    /**
+     * Selects the nodes of the next match without unlinking them.
+     *
+     * @param bucket the bucket to select from
+     * @param now    the current time in milliseconds since the epoch
+     * @return the nodes of the match, the blue team first and the red team second, or {@code null} if no match can be made.
+     *         The teams are split where the members of the nodes add up to one team size.
+     */
+    @Nullable
+    List<QueueBucket.Node> select(
+            final @NotNull QueueBucket bucket,
+            final long now
+    );
+
+    /**
+     * The largest group this matcher can place. Solo matchers only handle single players.
+     *
+     * @return the maximum number of members per entry
+     */
+    default int maxGroupSize() {
+        return 1;
+    }
+}
@@ -0,0 +1,93 @@
+package club.revived.queue.matchmaking;
+
+import club.revived.queue.QueueBucket;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * MatchmakingLoop - runs matchmaking for a bucket as soon as it is signalled instead of on a fixed tick.
+ * <p>
+ * Signals are coalesced per bucket: a bucket that is already waiting to be matched is not enqueued twice,
+ * so a burst of pushes into one bucket results in a single matching pass that drains every full match.
+ * The matcher runs on one dedicated thread, which keeps matching for a bucket single-threaded.
+ *
+ * @author yyuh - DL
+ * @since 1/8/26
+ */
+public final class MatchmakingLoop {
+
+    private final Set<QueueBucket> pending = ConcurrentHashMap.newKeySet();
+    private final Queue<QueueBucket> ready = new ConcurrentLinkedQueue<>();
+
+    @NotNull
+    private final Consumer<QueueBucket> matcher;
+
+    @NotNull
+    private final Thread thread;
+
+    private volatile boolean running = true;
+
+    /**
+     * Creates the loop and starts its matching thread.
+     *
+     * @param matcher the callback that drains all possible matches out of a signalled bucket
+     */
+    public MatchmakingLoop(final @NotNull Consumer<QueueBucket> matcher) {
+        this.matcher = matcher;
+        this.thread = Thread.ofPlatform()
+                .name("queue-matchmaking")
+                .daemon()
+                .start(this::run);
+    }
+
+    /**
+     * Wakes the loop to match the given bucket. Does nothing if the bucket is already waiting to be matched.
+     *
+     * @param bucket the bucket that may hold a full match
+     */
+    public void signal(final @NotNull QueueBucket bucket) {
+        if (!this.pending.add(bucket)) {
+            return;
+        }
+
+        this.ready.add(bucket);
+        LockSupport.unpark(this.thread);
+    }
+
+    /**
+     * Stops the matching thread after its current pass.
+     */
+    public void shutdown() {
+        this.running = false;
+        LockSupport.unpark(this.thread);
+    }
+
+    /**
+     * Matching thread body: drains signalled buckets and parks while there is nothing to do.
+     */
+    private void run() {
+        while (this.running) {
+            final QueueBucket bucket = this.ready.poll();
+
+            if (bucket == null) {
+                LockSupport.park(this);
+                continue;
+            }
+
+            // Cleared before matching so pushes that arrive during the pass signal the bucket again
+            this.pending.remove(bucket);
+
+            try {
+                this.matcher.accept(bucket);
+            } catch (final Exception e) {
+                e.printStackTrace();
+            }
+        }
+    }
+}
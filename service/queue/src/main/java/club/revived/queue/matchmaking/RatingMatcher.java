@@ -0,0 +1,238 @@
+package club.revived.queue.matchmaking;
+
+import club.revived.queue.QueueBucket;
+import club.revived.queue.QueueType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+/**
+ * RatingMatcher - matches ranked buckets by rating proximity.
+ * <p>
+ * Entries are kept in a rating-ordered tree next to the bucket's FIFO order. A match is built around an
+ * anchor entry by walking outwards from its position in the tree and taking the closest ratings that lie
+ * inside the anchor's search window, so finding opponents costs {@code O(k log n)} for a match of
+ * {@code k} players. The window starts narrow and widens the longer the anchor has been waiting.
+ * <p>
+ * Newly added entries are tried as anchors on the next selection. Every {@link #SWEEP_INTERVAL_MS} all
+ * entries are walked oldest first, so entries whose window has grown in the meantime get matched too. The
+ * walk follows a second tree ordered by enqueue time and resumes at the anchor of the last match, so one
+ * sweep tries every entry once however many matches it makes.
+ *
+ * @author yyuh - DL
+ * @since 1/8/26
+ */
+public final class RatingMatcher implements Matcher {
+
+    private static final int BASE_WINDOW = 100;
+    private static final int WINDOW_GROWTH_PER_SECOND = 25;
+    private static final int MAX_WINDOW = 1_000;
+    private static final long SWEEP_INTERVAL_MS = 1_000;
+
+    private static final Comparator<QueueBucket.Node> BY_RATING = Comparator
+            .comparingInt((QueueBucket.Node node) -> node.getEntry().rating())
+            .thenComparingLong(node -> node.getEntry().queuedAt())
+            .thenComparingLong(QueueBucket.Node::getSequence);
+
+    private static final Comparator<QueueBucket.Node> BY_AGE = Comparator
+            .comparingLong((QueueBucket.Node node) -> node.getEntry().queuedAt())
+            .thenComparingLong(QueueBucket.Node::getSequence);
+
+    private final NavigableSet<QueueBucket.Node> byRating = new TreeSet<>(BY_RATING);
+    private final NavigableSet<QueueBucket.Node> byAge = new TreeSet<>(BY_AGE);
+    private final Deque<QueueBucket.Node> fresh = new ArrayDeque<>();
+
+    @NotNull
+    private final QueueType queueType;
+
+    private final int required;
+
+    private long lastSweep;
+    private boolean sweeping;
+
+    /**
+     * The anchor of the last match of the running sweep, which continues from there. {@code null} if the sweep
+     * has not made a match yet.
+     */
+    @Nullable
+    private QueueBucket.Node sweepCursor;
+
+    /**
+     * Creates a rating matcher for a bucket of the given queue type.
+     *
+     * @param queueType the queue type of the bucket
+     */
+    public RatingMatcher(final @NotNull QueueType queueType) {
+        this.queueType = queueType;
+        this.required = queueType.totalPlayers();
+    }
+
+    @Override
+    public void added(final @NotNull QueueBucket.Node node) {
+        this.byRating.add(node);
+        this.byAge.add(node);
+        this.fresh.addLast(node);
+    }
+
+    @Override
+    public void removed(final @NotNull QueueBucket.Node node) {
+        this.byRating.remove(node);
+        this.byAge.remove(node);
+    }
+
+    /**
+     * Selects the next match, trying fresh entries first and walking the whole bucket when a sweep is due.
+     * A sweep picks up at the anchor of its previous match. Usually the anchor has left the tree by then and
+     * only marks the position; if its match could not be taken it is tried again.
+     *
+     * @param bucket the bucket to select from
+     * @param now    the current time in milliseconds since the epoch
+     * @return the nodes of the match with balanced teams, or {@code null} if nobody can be matched right now
+     */
+    @Override
+    public @Nullable List<QueueBucket.Node> select(
+            final @NotNull QueueBucket bucket,
+            final long now
+    ) {
+        if (this.byRating.size() < this.required) {
+            this.fresh.clear();
+            return null;
+        }
+
+        QueueBucket.Node candidate;
+
+        while ((candidate = this.fresh.pollFirst()) != null) {
+            if (!candidate.isLinked()) {
+                continue;
+            }
+
+            final var match = this.matchAround(candidate, now);
+
+            if (match != null) {
+                return match;
+            }
+        }
+
+        if (!this.sweeping && now - this.lastSweep >= SWEEP_INTERVAL_MS) {
+            this.sweeping = true;
+        }
+
+        if (!this.sweeping) {
+            return null;
+        }
+
+        var anchor = this.sweepCursor == null ? this.byAge.first() : this.byAge.ceiling(this.sweepCursor);
+
+        for (; anchor != null; anchor = this.byAge.higher(anchor)) {
+            final var match = this.matchAround(anchor, now);
+
+            if (match != null) {
+                this.sweepCursor = anchor;
+                return match;
+            }
+        }
+
+        this.sweeping = false;
+        this.sweepCursor = null;
+        this.lastSweep = now;
+
+        return null;
+    }
+
+    /**
+     * Collects the closest-rated entries around the anchor that fit inside its search window.
+     *
+     * @param anchor the entry the match is built around
+     * @param now    the current time in milliseconds since the epoch
+     * @return the match with balanced teams, or {@code null} if the window holds too few entries
+     */
+    @Nullable
+    private List<QueueBucket.Node> matchAround(
+            final @NotNull QueueBucket.Node anchor,
+            final long now
+    ) {
+        final int rating = anchor.getEntry().rating();
+        final int window = this.window(anchor, now);
+
+        final List<QueueBucket.Node> picked = new ArrayList<>(this.required);
+        picked.add(anchor);
+
+        QueueBucket.Node lower = this.byRating.lower(anchor);
+        QueueBucket.Node higher = this.byRating.higher(anchor);
+
+        while (picked.size() < this.required) {
+            final int lowerDistance = lower == null ? Integer.MAX_VALUE : rating - lower.getEntry().rating();
+            final int higherDistance = higher == null ? Integer.MAX_VALUE : higher.getEntry().rating() - rating;
+
+            if (Math.min(lowerDistance, higherDistance) > window) {
+                return null;
+            }
+
+            if (lowerDistance <= higherDistance) {
+                picked.add(lower);
+                lower = this.byRating.lower(lower);
+            } else {
+                picked.add(higher);
+                higher = this.byRating.higher(higher);
+            }
+        }
+
+        return this.balance(picked);
+    }
+
+    /**
+     * Splits the picked entries into two teams by snake draft over their ratings (A B B A A B ...).
+     *
+     * @param picked the entries of the match
+     * @return the blue team followed by the red team
+     */
+    @NotNull
+    private List<QueueBucket.Node> balance(final @NotNull List<QueueBucket.Node> picked) {
+        if (this.queueType.teamSize() == 1) {
+            return picked;
+        }
+
+        picked.sort(BY_RATING.reversed());
+
+        final List<QueueBucket.Node> blue = new ArrayList<>(this.queueType.teamSize());
+        final List<QueueBucket.Node> red = new ArrayList<>(this.queueType.teamSize());
+
+        for (int i = 0; i < picked.size(); i++) {
+            final int round = i / 2;
+            final boolean first = i % 2 == 0;
+
+            if (first == (round % 2 == 0)) {
+                blue.add(picked.get(i));
+            } else {
+                red.add(picked.get(i));
+            }
+        }
+
+        blue.addAll(red);
+        return blue;
+    }
+
+    /**
+     * Computes the rating distance the entry currently accepts, widening with its wait time.
+     *
+     * @param node the waiting entry
+     * @param now  the current time in milliseconds since the epoch
+     * @return the accepted rating distance
+     */
+    private int window(
+            final @NotNull QueueBucket.Node node,
+            final long now
+    ) {
+        final long waitedSeconds = Math.max(0, now - node.getEntry().queuedAt()) / 1_000;
+        final long window = BASE_WINDOW + waitedSeconds * WINDOW_GROWTH_PER_SECOND;
+
+        return (int) Math.min(window, MAX_WINDOW);
+    }
+}
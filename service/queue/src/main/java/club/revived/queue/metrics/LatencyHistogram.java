@@ -0,0 +1,187 @@
+package club.revived.queue.metrics;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * LatencyHistogram - lock-free histogram over fixed, exponentially growing millisecond buckets.
+ * <p>
+ * Recording is a binary search over the bounds plus one atomic increment, so it is cheap enough for the
+ * matchmaking hot path. Percentiles are approximated by the upper bound of the bucket they fall into.
+ *
+ * @author yyuh - DL
+ * @since 1/8/26
+ */
+public final class LatencyHistogram {
+
+    private static final long[] DEFAULT_BOUNDS = {
+            1, 2, 5, 10, 25, 50, 100, 250, 500, 1_000, 2_500, 5_000,
+            10_000, 30_000, 60_000, 120_000, 300_000, 600_000
+    };
+
+    @NotNull
+    private final String name;
+
+    private final long[] bounds;
+    private final AtomicLongArray counts;
+    private final LongAdder sum = new LongAdder();
+    private final LongAdder count = new LongAdder();
+
+    /**
+     * Creates a histogram using the default millisecond bounds (1ms up to 10 minutes).
+     *
+     * @param name the name the histogram is reported under
+     */
+    public LatencyHistogram(final @NotNull String name) {
+        this(name, DEFAULT_BOUNDS);
+    }
+
+    /**
+     * Creates a histogram with custom inclusive upper bounds; values above the last bound land in an overflow bucket.
+     *
+     * @param name   the name the histogram is reported under
+     * @param bounds the ascending inclusive upper bounds of the buckets
+     */
+    public LatencyHistogram(
+            final @NotNull String name,
+            final long @NotNull [] bounds
+    ) {
+        this.name = name;
+        this.bounds = bounds.clone();
+        this.counts = new AtomicLongArray(bounds.length + 1);
+    }
+
+    /**
+     * Records a single observation.
+     *
+     * @param value the observed value; negative values are clamped to zero
+     */
+    public void record(final long value) {
+        final long clamped = Math.max(0, value);
+
+        this.counts.incrementAndGet(this.indexOf(clamped));
+        this.sum.add(clamped);
+        this.count.increment();
+    }
+
+    /**
+     * Approximates the given percentile by the upper bound of the bucket containing it.
+     *
+     * @param percentile the percentile between 0 and 1
+     * @return the bucket upper bound, {@link Long#MAX_VALUE} if it lies in the overflow bucket, or 0 without samples
+     */
+    public long percentile(final double percentile) {
+        final long total = this.count.sum();
+
+        if (total == 0) {
+            return 0;
+        }
+
+        final long rank = (long) Math.ceil(percentile * total);
+        long seen = 0;
+
+        for (int i = 0; i < this.counts.length(); i++) {
+            seen += this.counts.get(i);
+
+            if (seen >= rank) {
+                return i < this.bounds.length ? this.bounds[i] : Long.MAX_VALUE;
+            }
+        }
+
+        return Long.MAX_VALUE;
+    }
+
+    /**
+     * Finds the bucket a value belongs to.
+     *
+     * @param value the non-negative value
+     * @return the index of the first bound greater than or equal to the value, or the overflow index
+     */
+    private int indexOf(final long value) {
+        int low = 0;
+        int high = this.bounds.length;
+
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+
+            if (this.bounds[mid] < value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        return low;
+    }
+
+    /**
+     * The inclusive upper bounds of the non-overflow buckets.
+     *
+     * @return a copy of the bucket bounds
+     */
+    public long @NotNull [] getBounds() {
+        return bounds.clone();
+    }
+
+    /**
+     * The per-bucket counts, the last element being the overflow bucket.
+     *
+     * @return a snapshot of the bucket counts
+     */
+    public long @NotNull [] getCounts() {
+        final long[] snapshot = new long[this.counts.length()];
+
+        for (int i = 0; i < snapshot.length; i++) {
+            snapshot[i] = this.counts.get(i);
+        }
+
+        return snapshot;
+    }
+
+    /**
+     * Sum of all recorded values.
+     *
+     * @return the total of all observations
+     */
+    public long getSum() {
+        return sum.sum();
+    }
+
+    /**
+     * Number of recorded values.
+     *
+     * @return the amount of observations
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * The name this histogram is reported under.
+     *
+     * @return the histogram name
+     */
+    public @NotNull String getName() {
+        return name;
+    }
+
+    /**
+     * Formats the sample count and the p50, p90, p99 and max bucket bounds.
+     *
+     * @return a one-line summary of the histogram
+     */
+    @Override
+    public String toString() {
+        return String.format(
+                "%s count=%d p50<=%dms p90<=%dms p99<=%dms max<=%dms",
+                this.name,
+                this.getCount(),
+                this.percentile(0.5),
+                this.percentile(0.9),
+                this.percentile(0.99),
+                this.percentile(1.0)
+        );
+    }
+}
@@ -0,0 +1,391 @@
+package club.revived.queue.metrics;
+
+import club.revived.queue.GameQueue;
+import club.revived.queue.KitType;
+import club.revived.queue.QueueBucket;
+import club.revived.queue.cluster.broker.PublishBatcher;
+import club.revived.queue.cluster.messaging.HandlerDispatcher;
+import club.revived.queue.cluster.messaging.MessagingService;
+import com.google.gson.Gson;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+
+/**
+ * MetricsServer - built-in HTTP endpoint exposing the state of the queue service.
+ * <p>
+ * {@code GET /metrics} renders bucket depths, throughput counters, the time-to-match histogram, dispatch
+ * failures, message handler latencies, pending requests and outbound publish batches in the Prometheus text
+ * format. {@code GET /queue} renders every bucket with its waiting entries as JSON. Everything is rendered
+ * from lock-free counters and per-bucket snapshots, so scraping never blocks matchmaking for longer than
+ * copying one bucket.
+ *
+ * @author yyuh - DL
+ * @since 1/8/26
+ */
+public final class MetricsServer {
+
+    private static final String PROMETHEUS_CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+    private static final String JSON_CONTENT_TYPE = "application/json; charset=utf-8";
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99};
+
+    private final Gson gson = new Gson();
+
+    @NotNull
+    private final GameQueue gameQueue;
+
+    @NotNull
+    private final MessagingService messagingService;
+
+    @NotNull
+    private final PublishBatcher publisher;
+
+    @NotNull
+    private final String serviceId;
+
+    @NotNull
+    private final HttpServer server;
+
+    /**
+     * Creates the HTTP server and starts serving on the given port.
+     *
+     * @param port             the port to listen on
+     * @param gameQueue        the queue to report on
+     * @param messagingService the messaging service whose handler latencies are reported
+     * @param publisher        the batcher whose outbound publishes are reported
+     * @param serviceId        the id of this queue service
+     * @throws IllegalStateException if the port cannot be bound
+     */
+    public MetricsServer(
+            final int port,
+            final @NotNull GameQueue gameQueue,
+            final @NotNull MessagingService messagingService,
+            final @NotNull PublishBatcher publisher,
+            final @NotNull String serviceId
+    ) {
+        this.gameQueue = gameQueue;
+        this.messagingService = messagingService;
+        this.publisher = publisher;
+        this.serviceId = serviceId;
+
+        try {
+            this.server = HttpServer.create(new InetSocketAddress(port), 0);
+        } catch (final IOException e) {
+            throw new IllegalStateException("Metrics server failed to bind port " + port, e);
+        }
+
+        this.server.createContext("/metrics", exchange -> this.respond(exchange, PROMETHEUS_CONTENT_TYPE, this.renderMetrics()));
+        this.server.createContext("/queue", exchange -> this.respond(exchange, JSON_CONTENT_TYPE, this.renderQueue()));
+        this.server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        this.server.start();
+
+        System.out.printf("Serving metrics on port %d%n", port);
+    }
+
+    /**
+     * Stops the HTTP server immediately.
+     */
+    public void shutdown() {
+        this.server.stop(0);
+    }
+
+    /**
+     * Answers a GET request with the given body; every other method is rejected.
+     *
+     * @param exchange    the HTTP exchange
+     * @param contentType the content type of the body
+     * @param body        the response body
+     * @throws IOException if writing the response fails
+     */
+    private void respond(
+            final @NotNull HttpExchange exchange,
+            final @NotNull String contentType,
+            final @NotNull String body
+    ) throws IOException {
+        try (exchange) {
+            if (!exchange.getRequestMethod().equals("GET")) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+
+            final byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+
+            exchange.getResponseHeaders().set("Content-Type", contentType);
+            exchange.sendResponseHeaders(200, bytes.length);
+
+            try (final OutputStream output = exchange.getResponseBody()) {
+                output.write(bytes);
+            }
+        }
+    }
+
+    /**
+     * Renders all metrics in the Prometheus text exposition format.
+     *
+     * @return the metrics page
+     */
+    @NotNull
+    private String renderMetrics() {
+        final StringBuilder out = new StringBuilder(4_096);
+        final QueueMetrics metrics = this.gameQueue.getMetrics();
+
+        this.header(out, "queue_bucket_depth", "gauge", "Players waiting per kit and queue type.");
+        for (final QueueBucket bucket : this.gameQueue.getBuckets()) {
+            out.append("queue_bucket_depth{kit=\"").append(bucket.getKitType().name())
+                    .append("\",queue=\"").append(bucket.getQueueType().name())
+                    .append("\"} ").append(bucket.players()).append('\n');
+        }
+
+        this.header(out, "queue_bucket_entries", "gauge", "Entries (solo players and groups) waiting per kit and queue type.");
+        for (final QueueBucket bucket : this.gameQueue.getBuckets()) {
+            out.append("queue_bucket_entries{kit=\"").append(bucket.getKitType().name())
+                    .append("\",queue=\"").append(bucket.getQueueType().name())
+                    .append("\"} ").append(bucket.size()).append('\n');
+        }
+
+        final var estimator = this.gameQueue.getEstimator();
+
+        this.header(out, "queue_bucket_arrival_rate", "gauge", "Players joining per second per kit and queue type, exponentially weighted.");
+        for (final QueueBucket bucket : this.gameQueue.getBuckets()) {
+            out.append("queue_bucket_arrival_rate{kit=\"").append(bucket.getKitType().name())
+                    .append("\",queue=\"").append(bucket.getQueueType().name())
+                    .append("\"} ").append(estimator.arrivalRate(bucket.getKitType(), bucket.getQueueType())).append('\n');
+        }
+
+        this.header(out, "queue_bucket_match_rate", "gauge", "Players matched per second per kit and queue type, exponentially weighted.");
+        for (final QueueBucket bucket : this.gameQueue.getBuckets()) {
+            out.append("queue_bucket_match_rate{kit=\"").append(bucket.getKitType().name())
+                    .append("\",queue=\"").append(bucket.getQueueType().name())
+                    .append("\"} ").append(estimator.matchRate(bucket.getKitType(), bucket.getQueueType())).append('\n');
+        }
+
+        this.header(out, "queue_bucket_estimated_wait_seconds", "gauge", "Expected wait of a solo player joining now, -1 while unknown.");
+        for (final QueueBucket bucket : this.gameQueue.getBuckets()) {
+            final long estimate = estimator.estimate(bucket, 1);
+
+            out.append("queue_bucket_estimated_wait_seconds{kit=\"").append(bucket.getKitType().name())
+                    .append("\",queue=\"").append(bucket.getQueueType().name())
+                    .append("\"} ").append(estimate < 0 ? "-1" : this.seconds(estimate, 1_000D)).append('\n');
+        }
+
+        this.header(out, "queue_shard_owned", "gauge", "Whether this service holds the lease of the kit shard.");
+        for (final KitType kit : KitType.values()) {
+            out.append("queue_shard_owned{kit=\"").append(kit.name()).append("\"} ")
+                    .append(this.gameQueue.getShards().owns(kit) ? 1 : 0).append('\n');
+        }
+
+        this.counter(out, "queue_pushes_total", "Entries added to the queue.", metrics.getPushes());
+        this.counter(out, "queue_removals_total", "Entries that left the queue without a match.", metrics.getRemovals());
+        this.counter(out, "queue_matches_total", "Matches accepted by a duel server.", metrics.getMatches());
+        this.counter(out, "queue_matched_players_total", "Players that left the queue through a match.", metrics.getMatchedPlayers());
+        this.counter(out, "queue_dispatches_total", "Matches sent to a duel server.", metrics.getDispatches());
+        this.counter(out, "queue_dispatch_failures_total", "Match dispatches that were rejected, timed out or found no duel server.", metrics.getDispatchFailures());
+
+        final LatencyHistogram timeToMatch = metrics.getTimeToMatch();
+
+        this.header(out, "queue_time_to_match_seconds", "histogram", "Time between joining the queue and being matched.");
+        this.histogram(out, "queue_time_to_match_seconds", "", timeToMatch, 1_000D);
+
+        this.header(out, "queue_time_to_match_quantile_seconds", "gauge", "Approximate time-to-match quantiles.");
+        for (final double quantile : QUANTILES) {
+            out.append("queue_time_to_match_quantile_seconds{quantile=\"").append(quantile).append("\"} ")
+                    .append(this.seconds(timeToMatch.percentile(quantile), 1_000D)).append('\n');
+        }
+
+        this.header(out, "queue_message_handler_latency_seconds", "histogram", "Time spent in message handlers per payload type.");
+        for (final Map.Entry<String, LatencyHistogram> entry : new TreeMap<>(this.messagingService.getHandlerLatency()).entrySet()) {
+            this.histogram(out, "queue_message_handler_latency_seconds", "type=\"" + entry.getKey() + "\"", entry.getValue(), 1_000_000D);
+        }
+
+        final Map<String, HandlerDispatcher.Saturation> saturation = new TreeMap<>(this.messagingService.getHandlerSaturation());
+
+        this.header(out, "queue_message_handler_queued", "gauge", "Message handlers waiting to run per payload type.");
+        saturation.forEach((type, counters) -> out.append("queue_message_handler_queued{type=\"").append(type)
+                .append("\"} ").append(counters.queued()).append('\n'));
+
+        this.header(out, "queue_message_handler_queued_peak", "gauge", "Most message handlers ever waiting at once per payload type.");
+        saturation.forEach((type, counters) -> out.append("queue_message_handler_queued_peak{type=\"").append(type)
+                .append("\"} ").append(counters.peak()).append('\n'));
+
+        this.header(out, "queue_message_handler_submitted_total", "counter", "Message handlers queued per payload type.");
+        saturation.forEach((type, counters) -> out.append("queue_message_handler_submitted_total{type=\"").append(type)
+                .append("\"} ").append(counters.submitted()).append('\n'));
+
+        this.header(out, "queue_message_handler_rejected_total", "counter", "Message handlers dropped because their queue was full, per payload type.");
+        saturation.forEach((type, counters) -> out.append("queue_message_handler_rejected_total{type=\"").append(type)
+                .append("\"} ").append(counters.rejected()).append('\n'));
+
+        this.header(out, "queue_requests_in_flight", "gauge", "Requests and global requests waiting for their responses.");
+        out.append("queue_requests_in_flight ").append(this.messagingService.getRequestsInFlight()).append('\n');
+
+        this.header(out, "queue_request_timer_pending", "gauge", "Timeouts pending on the request timer.");
+        out.append("queue_request_timer_pending ").append(this.messagingService.getRequestTimer().getPending()).append('\n');
+
+        this.counter(out, "queue_requests_total", "Requests sent to a single service.", this.messagingService.getRequestsSent());
+        this.counter(out, "queue_request_timeouts_total", "Requests to a single service that timed out.", this.messagingService.getRequestTimeouts());
+        this.counter(out, "queue_messages_loopback_total", "Envelopes handed to this service in process instead of through Redis.", this.messagingService.getLoopbacks());
+
+        this.counter(out, "queue_publish_batches_total", "Outbound publish batches flushed to Redis.", this.publisher.getBatches());
+        this.counter(out, "queue_publish_messages_total", "Outbound messages flushed to Redis.", this.publisher.getPublished());
+        this.counter(out, "queue_publish_failed_total", "Outbound messages dropped because their batch failed.", this.publisher.getFailed());
+
+        this.header(out, "queue_publish_queued", "gauge", "Outbound messages waiting for the next batch.");
+        out.append("queue_publish_queued ").append(this.publisher.getQueued()).append('\n');
+
+        this.header(out, "queue_publish_batch_size", "histogram", "Messages per outbound publish batch.");
+        this.histogram(out, "queue_publish_batch_size", "", this.publisher.getBatchSizes(), 1D);
+
+        this.header(out, "queue_publish_flush_seconds", "histogram", "Time to publish one outbound batch pipelined.");
+        this.histogram(out, "queue_publish_flush_seconds", "", this.publisher.getFlushLatency(), 1_000_000D);
+
+        return out.toString();
+    }
+
+    /**
+     * Renders every bucket of this service with its waiting entries as JSON.
+     *
+     * @return the queue view
+     */
+    @NotNull
+    private String renderQueue() {
+        final long now = System.currentTimeMillis();
+        final List<BucketView> buckets = new ArrayList<>();
+        int size = 0;
+
+        for (final QueueBucket bucket : this.gameQueue.getBuckets()) {
+            final List<EntryView> entries = new ArrayList<>();
+
+            for (final var entry : bucket.entries()) {
+                entries.add(new EntryView(entry.uuid(), entry.members(), entry.rating(), entry.queuedAt(), now - entry.queuedAt()));
+            }
+
+            size += entries.size();
+            buckets.add(new BucketView(
+                    bucket.getKitType().name(),
+                    bucket.getQueueType().name(),
+                    this.gameQueue.getShards().owns(bucket.getKitType()),
+                    entries.size(),
+                    entries
+            ));
+        }
+
+        return this.gson.toJson(new QueueView(this.serviceId, now, size, buckets));
+    }
+
+    /**
+     * Writes the HELP and TYPE lines of a metric family.
+     *
+     * @param out  the output to append to
+     * @param name the metric family name
+     * @param type the Prometheus metric type
+     * @param help the description of the metric
+     */
+    private void header(
+            final @NotNull StringBuilder out,
+            final @NotNull String name,
+            final @NotNull String type,
+            final @NotNull String help
+    ) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    /**
+     * Writes a single unlabelled counter including its header.
+     *
+     * @param out   the output to append to
+     * @param name  the counter name
+     * @param help  the description of the counter
+     * @param value the current counter value
+     */
+    private void counter(
+            final @NotNull StringBuilder out,
+            final @NotNull String name,
+            final @NotNull String help,
+            final long value
+    ) {
+        this.header(out, name, "counter", help);
+        out.append(name).append(' ').append(value).append('\n');
+    }
+
+    /**
+     * Writes the cumulative buckets, sum and count of a histogram, converting its unit to seconds.
+     *
+     * @param out       the output to append to
+     * @param name      the metric family name
+     * @param labels    extra labels without braces, may be empty
+     * @param histogram the histogram to write
+     * @param perSecond how many histogram units make up one second
+     */
+    private void histogram(
+            final @NotNull StringBuilder out,
+            final @NotNull String name,
+            final @NotNull String labels,
+            final @NotNull LatencyHistogram histogram,
+            final double perSecond
+    ) {
+        final long[] bounds = histogram.getBounds();
+        final long[] counts = histogram.getCounts();
+        final String prefix = labels.isEmpty() ? "" : labels + ",";
+        long cumulative = 0;
+
+        for (int i = 0; i < bounds.length; i++) {
+            cumulative += counts[i];
+            out.append(name).append("_bucket{").append(prefix).append("le=\"")
+                    .append(this.seconds(bounds[i], perSecond)).append("\"} ").append(cumulative).append('\n');
+        }
+
+        cumulative += counts[bounds.length];
+        out.append(name).append("_bucket{").append(prefix).append("le=\"+Inf\"} ").append(cumulative).append('\n');
+
+        final String suffix = labels.isEmpty() ? "" : "{" + labels + "}";
+        out.append(name).append("_sum").append(suffix).append(' ').append(this.seconds(histogram.getSum(), perSecond)).append('\n');
+        out.append(name).append("_count").append(suffix).append(' ').append(cumulative).append('\n');
+    }
+
+    /**
+     * Formats a histogram value in seconds.
+     *
+     * @param value     the value in histogram units
+     * @param perSecond how many histogram units make up one second
+     * @return the value in seconds, {@code +Inf} for {@link Long#MAX_VALUE}
+     */
+    @NotNull
+    private String seconds(
+            final long value,
+            final double perSecond
+    ) {
+        if (value == Long.MAX_VALUE) {
+            return "+Inf";
+        }
+
+        return String.format(Locale.ROOT, "%.6f", value / perSecond);
+    }
+
+    /**
+     * JSON view of the whole queue service.
+     */
+    private record QueueView(String service, long timestamp, int size, List<BucketView> buckets) {}
+
+    /**
+     * JSON view of one bucket.
+     */
+    private record BucketView(String kit, String queue, boolean owned, int size, List<EntryView> entries) {}
+
+    /**
+     * JSON view of one waiting entry.
+     */
+    private record EntryView(UUID uuid, List<UUID> members, int rating, long queuedAt, long waitMillis) {}
+}
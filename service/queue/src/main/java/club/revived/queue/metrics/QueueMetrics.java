@@ -0,0 +1,135 @@
+package club.revived.queue.metrics;
+
+import club.revived.queue.QueueEntry;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * QueueMetrics - throughput counters of the game queue.
+ * <p>
+ * All counters only ever grow, rates are derived by whoever scrapes them.
+ *
+ * @author yyuh - DL
+ * @since 1/8/26
+ */
+public final class QueueMetrics {
+
+    private final LongAdder pushes = new LongAdder();
+    private final LongAdder removals = new LongAdder();
+    private final LongAdder matches = new LongAdder();
+    private final LongAdder matchedPlayers = new LongAdder();
+    private final LongAdder dispatches = new LongAdder();
+    private final LongAdder dispatchFailures = new LongAdder();
+    private final LatencyHistogram timeToMatch = new LatencyHistogram("time_to_match");
+
+    /**
+     * Counts an entry added to the queue.
+     */
+    public void recordPush() {
+        this.pushes.increment();
+    }
+
+    /**
+     * Counts an entry that left the queue without being matched.
+     */
+    public void recordRemoval() {
+        this.removals.increment();
+    }
+
+    /**
+     * Counts a match a duel server accepted and records the time-to-match of each of its entries.
+     *
+     * @param entries the matched entries
+     * @param now     the time of the match in milliseconds since the epoch
+     */
+    public void recordMatch(
+            final @NotNull List<QueueEntry> entries,
+            final long now
+    ) {
+        this.matches.increment();
+        for (final var entry : entries) {
+            this.matchedPlayers.add(entry.size());
+            this.timeToMatch.record(now - entry.queuedAt());
+        }
+    }
+
+    /**
+     * Counts a match sent to a duel server, whether or not it is accepted.
+     */
+    public void recordDispatch() {
+        this.dispatches.increment();
+    }
+
+    /**
+     * Counts a match that no duel server accepted, either because none was available or the chosen one
+     * rejected it or did not acknowledge it in time.
+     */
+    public void recordDispatchFailure() {
+        this.dispatchFailures.increment();
+    }
+
+    /**
+     * Number of entries added to the queue.
+     *
+     * @return the push count
+     */
+    public long getPushes() {
+        return pushes.sum();
+    }
+
+    /**
+     * Number of entries that left the queue without being matched.
+     *
+     * @return the removal count
+     */
+    public long getRemovals() {
+        return removals.sum();
+    }
+
+    /**
+     * Number of matches accepted by a duel server.
+     *
+     * @return the match count
+     */
+    public long getMatches() {
+        return matches.sum();
+    }
+
+    /**
+     * Number of entries that left the queue through a match.
+     *
+     * @return the matched entry count
+     */
+    public long getMatchedPlayers() {
+        return matchedPlayers.sum();
+    }
+
+    /**
+     * Number of matches sent to a duel server.
+     *
+     * @return the dispatch count
+     */
+    public long getDispatches() {
+        return dispatches.sum();
+    }
+
+    /**
+     * Number of failed match dispatches.
+     *
+     * @return the dispatch failure count
+     */
+    public long getDispatchFailures() {
+        return dispatchFailures.sum();
+    }
+
+    /**
+     * Histogram of the time between a player joining the queue and being matched.
+     *
+     * @return the time-to-match histogram in milliseconds
+     */
+    public @NotNull LatencyHistogram getTimeToMatch() {
+        return timeToMatch;
+    }
+}
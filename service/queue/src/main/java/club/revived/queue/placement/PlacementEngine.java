@@ -0,0 +1,308 @@
+package club.revived.queue.placement;
+
+import club.revived.queue.KitType;
+import club.revived.queue.cluster.messaging.impl.ArenaCapacity;
+import club.revived.queue.cluster.status.ServiceStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.LongSupplier;
+
+/**
+ * PlacementEngine - picks the duel server for a match from reported arena capacity.
+ * <p>
+ * Every duel server reports its ready arenas per arena type about once a second. A placement reserves one
+ * arena on the server with the most unreserved arenas for the kit, so a burst of matches between two
+ * reports is spread over all servers instead of piling onto one. Reservations expire after
+ * {@link #RESERVATION_TTL_MS}, by then the server's reports reflect the arenas it actually used. If every
+ * server is out of ready arenas the match goes to the available server with the fewest open reservations,
+ * which generates an arena on demand.
+ * <p>
+ * Placement only reads local state and never waits on a duel server.
+ *
+ * @author yyuh - DL
+ * @since 1/8/26
+ */
+public final class PlacementEngine {
+
+    public static final long RESERVATION_TTL_MS = 3_000;
+    public static final long REPORT_TIMEOUT_MS = 3_000;
+    public static final long SUSPEND_MS = 5_000;
+    private static final long FORGET_AFTER_MS = 60_000;
+
+    private final Map<String, Server> servers = new HashMap<>();
+
+    @NotNull
+    private final LongSupplier clock;
+
+    /**
+     * Creates a placement engine using the system clock.
+     */
+    public PlacementEngine() {
+        this(System::currentTimeMillis);
+    }
+
+    /**
+     * Creates a placement engine with a custom millisecond clock.
+     *
+     * @param clock the clock to read the current time in milliseconds from
+     */
+    public PlacementEngine(final @NotNull LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * Stores the latest capacity report of a duel server.
+     *
+     * @param capacity the report
+     */
+    public synchronized void update(final @NotNull ArenaCapacity capacity) {
+        this.servers.computeIfAbsent(capacity.serviceId(), _ -> new Server())
+                .update(capacity, this.clock.getAsLong());
+    }
+
+    /**
+     * Reserves an arena for a match of the given kit.
+     *
+     * @param kitType the kit of the match
+     * @return the reservation, or {@code null} if no available duel server has reported recently
+     */
+    @Nullable
+    public synchronized Reservation reserve(final @NotNull KitType kitType) {
+        return this.reserve(kitType, null);
+    }
+
+    /**
+     * Reserves an arena for a match of the given kit on any server but the excluded one.
+     *
+     * @param kitType the kit of the match
+     * @param exclude a server not to place the match on, or {@code null}
+     * @return the reservation, or {@code null} if no other available duel server has reported recently
+     */
+    @Nullable
+    public synchronized Reservation reserve(
+            final @NotNull KitType kitType,
+            final @Nullable String exclude
+    ) {
+        final long now = this.clock.getAsLong();
+
+        String best = null;
+        String arenaType = null;
+        int bestFree = -1;
+        int bestReserved = Integer.MAX_VALUE;
+
+        this.servers.values().removeIf(server -> now - server.reportedAt > FORGET_AFTER_MS);
+
+        for (final var entry : this.servers.entrySet()) {
+            final String serviceId = entry.getKey();
+            final Server server = entry.getValue();
+
+            if (serviceId.equals(exclude) || !server.isAvailable(now)) {
+                continue;
+            }
+
+            final String pool = server.kitArenas.get(kitType.name());
+
+            if (pool == null) {
+                continue;
+            }
+
+            server.expire(now);
+
+            final int free = Math.max(0, server.free(pool));
+            final int reserved = server.reservations.size();
+
+            if (free > bestFree || (free == bestFree && reserved < bestReserved)) {
+                best = serviceId;
+                arenaType = pool;
+                bestFree = free;
+                bestReserved = reserved;
+            }
+        }
+
+        if (best == null) {
+            return null;
+        }
+
+        final var reservation = new Reservation(UUID.randomUUID(), best, kitType, arenaType, now + RESERVATION_TTL_MS);
+        this.servers.get(best).reserve(reservation);
+
+        return reservation;
+    }
+
+    /**
+     * Drops a reservation before it expires, e.g. because the match could not be started with it.
+     *
+     * @param reservation the reservation to drop
+     */
+    public synchronized void release(final @NotNull Reservation reservation) {
+        final Server server = this.servers.get(reservation.serviceId());
+
+        if (server != null) {
+            server.release(reservation);
+        }
+    }
+
+    /**
+     * Stops placing matches on a duel server for {@link #SUSPEND_MS}, e.g. after it rejected or did not
+     * acknowledge a match.
+     *
+     * @param serviceId the id of the duel server
+     */
+    public synchronized void suspend(final @NotNull String serviceId) {
+        final Server server = this.servers.get(serviceId);
+
+        if (server != null) {
+            server.suspendedUntil = this.clock.getAsLong() + SUSPEND_MS;
+        }
+    }
+
+    /**
+     * Unreserved ready arenas for the kit on a duel server.
+     *
+     * @param serviceId the id of the duel server
+     * @param kitType   the kit
+     * @return the free arenas, 0 if the server is unknown, unavailable or does not support the kit
+     */
+    public synchronized int free(
+            final @NotNull String serviceId,
+            final @NotNull KitType kitType
+    ) {
+        final long now = this.clock.getAsLong();
+        final Server server = this.servers.get(serviceId);
+
+        if (server == null || !server.isAvailable(now)) {
+            return 0;
+        }
+
+        final String pool = server.kitArenas.get(kitType.name());
+
+        if (pool == null) {
+            return 0;
+        }
+
+        server.expire(now);
+        return Math.max(0, server.free(pool));
+    }
+
+    /**
+     * Open reservations on a duel server.
+     *
+     * @param serviceId the id of the duel server
+     * @return the reservations that are neither released nor expired, 0 if the server is unknown
+     */
+    public synchronized int reserved(final @NotNull String serviceId) {
+        final Server server = this.servers.get(serviceId);
+
+        if (server == null) {
+            return 0;
+        }
+
+        server.expire(this.clock.getAsLong());
+        return server.reservations.size();
+    }
+
+    /**
+     * Whether matches are kept off a duel server right now because it failed one, see {@link #suspend(String)}.
+     *
+     * @param serviceId the id of the duel server
+     * @return {@code true} while the server is suspended
+     */
+    public synchronized boolean isSuspended(final @NotNull String serviceId) {
+        final Server server = this.servers.get(serviceId);
+        return server != null && this.clock.getAsLong() < server.suspendedUntil;
+    }
+
+    /**
+     * Latest known state of one duel server.
+     */
+    private static final class Server {
+
+        /**
+         * Open reservations in expiry order; every reservation gets the same TTL, so that is creation order.
+         */
+        private final Deque<Reservation> reservations = new ArrayDeque<>();
+        private final Map<String, Integer> reservedPerPool = new HashMap<>();
+
+        private ServiceStatus status = ServiceStatus.STARTING;
+        private Map<String, Integer> freeArenas = Map.of();
+        private Map<String, String> kitArenas = Map.of();
+        private long reportedAt;
+        private long suspendedUntil;
+
+        /**
+         * Replaces the reported state.
+         *
+         * @param capacity the report
+         * @param now      the time the report was received
+         */
+        private void update(
+                final @NotNull ArenaCapacity capacity,
+                final long now
+        ) {
+            this.status = capacity.status();
+            this.freeArenas = capacity.freeArenas() == null ? Map.of() : capacity.freeArenas();
+            this.kitArenas = capacity.kitArenas() == null ? Map.of() : capacity.kitArenas();
+            this.reportedAt = now;
+        }
+
+        /**
+         * Whether the server is available, has reported recently and is not suspended.
+         *
+         * @param now the current time
+         * @return {@code true} if matches may be placed on the server
+         */
+        private boolean isAvailable(final long now) {
+            return this.status == ServiceStatus.AVAILABLE
+                    && now - this.reportedAt <= REPORT_TIMEOUT_MS
+                    && now >= this.suspendedUntil;
+        }
+
+        /**
+         * Adds a reservation.
+         *
+         * @param reservation the new reservation
+         */
+        private void reserve(final @NotNull Reservation reservation) {
+            this.reservations.addLast(reservation);
+            this.reservedPerPool.merge(reservation.arenaType(), 1, Integer::sum);
+        }
+
+        /**
+         * Removes a reservation before it expires.
+         *
+         * @param reservation the reservation to drop
+         */
+        private void release(final @NotNull Reservation reservation) {
+            if (this.reservations.remove(reservation)) {
+                this.reservedPerPool.merge(reservation.arenaType(), -1, Integer::sum);
+            }
+        }
+
+        /**
+         * Drops expired reservations from the head of the expiry order.
+         *
+         * @param now the current time
+         */
+        private void expire(final long now) {
+            while (!this.reservations.isEmpty() && this.reservations.peekFirst().expiresAt() <= now) {
+                this.reservedPerPool.merge(this.reservations.pollFirst().arenaType(), -1, Integer::sum);
+            }
+        }
+
+        /**
+         * Reported arenas of the pool minus the reservations taken from it.
+         *
+         * @param pool the arena type
+         * @return the unreserved arenas, may be negative when the server is overbooked
+         */
+        private int free(final @NotNull String pool) {
+            return this.freeArenas.getOrDefault(pool, 0) - this.reservedPerPool.getOrDefault(pool, 0);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package club.revived.queue.placement;
+
+import club.revived.queue.KitType;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.UUID;
+
+/**
+ * A short-lived claim on one arena of a duel server.
+ *
+ * @param id        the unique id of the reservation
+ * @param serviceId the duel server the arena is reserved on
+ * @param kitType   the kit the match is played with
+ * @param arenaType the arena pool the arena is taken from
+ * @param expiresAt when the reservation stops counting against the server, in milliseconds since the epoch
+ *
+ * @author yyuh - DL
+ * @since 1/8/26
+ */
+public record Reservation(
+        @NotNull UUID id,
+        @NotNull String serviceId,
+        @NotNull KitType kitType,
+        @NotNull String arenaType,
+        long expiresAt
+) {
+}
@@ -0,0 +1,19 @@
+package club.revived.queue.shard;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Lease - exclusive, expiring ownership of a key.
+ *
+ * @author yyuh - DL
+ * @since 1/8/26
+ *
+ * @param key   the leased key
+ * @param owner the id of the service holding the lease
+ * @param token the fencing token; strictly increasing every time the key changes hands
+ */
+public record Lease(
+        @NotNull String key,
+        @NotNull String owner,
+        long token
+) {}
@@ -0,0 +1,56 @@
+package club.revived.queue.shard;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * LeaseStore - storage for expiring, exclusive leases.
+ *
+ * @author yyuh - DL
+ * @since 1/8/26
+ */
+public interface LeaseStore {
+
+    /**
+     * Tries to take the lease on the key. Succeeds if the key is free, expired, or already held by the owner.
+     *
+     * @param key        the key to lease
+     * @param owner      the id of the requesting service
+     * @param ttlMillis  how long the lease stays valid without renewal
+     * @return the acquired lease, or {@code null} if another owner holds it
+     */
+    @Nullable
+    Lease acquire(
+            final @NotNull String key,
+            final @NotNull String owner,
+            final long ttlMillis
+    );
+
+    /**
+     * Extends a lease that is still held by its owner.
+     *
+     * @param lease     the lease to extend
+     * @param ttlMillis the new time to live
+     * @return {@code true} if the lease was extended, {@code false} if it has been lost
+     */
+    boolean renew(
+            final @NotNull Lease lease,
+            final long ttlMillis
+    );
+
+    /**
+     * Gives up a lease if it is still held by its owner.
+     *
+     * @param lease the lease to release
+     */
+    void release(final @NotNull Lease lease);
+
+    /**
+     * Looks up the current holder of the key.
+     *
+     * @param key the leased key
+     * @return the owner's id, or {@code null} if the key is not leased
+     */
+    @Nullable
+    String owner(final @NotNull String key);
+}
@@ -0,0 +1,108 @@
+package club.revived.queue.shard;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * LocalLeaseStore - in-process stand-in for {@link RedisLeaseStore}.
+ * <p>
+ * Has the same semantics as the Redis implementation, including fencing tokens, which lets several queue
+ * services share leases inside one JVM, for example to exercise shard failover locally.
+ *
+ * @author yyuh - DL
+ * @since 1/8/26
+ */
+public final class LocalLeaseStore implements LeaseStore {
+
+    private final Map<String, Held> leases = new HashMap<>();
+    private final Map<String, Long> tokens = new HashMap<>();
+
+    @NotNull
+    private final LongSupplier clock;
+
+    /**
+     * Creates a lease store using the system clock.
+     */
+    public LocalLeaseStore() {
+        this(System::currentTimeMillis);
+    }
+
+    /**
+     * Creates a lease store with a custom millisecond clock, e.g. to expire leases deterministically.
+     *
+     * @param clock the clock to read the current time in milliseconds from
+     */
+    public LocalLeaseStore(final @NotNull LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public synchronized @Nullable Lease acquire(
+            final @NotNull String key,
+            final @NotNull String owner,
+            final long ttlMillis
+    ) {
+        final long now = this.clock.getAsLong();
+        final Held held = this.leases.get(key);
+
+        if (held != null && held.expiresAt > now) {
+            if (!held.lease.owner().equals(owner)) {
+                return null;
+            }
+
+            this.leases.put(key, new Held(held.lease, now + ttlMillis));
+            return held.lease;
+        }
+
+        final long token = this.tokens.merge(key, 1L, Long::sum);
+        final Lease lease = new Lease(key, owner, token);
+
+        this.leases.put(key, new Held(lease, now + ttlMillis));
+        return lease;
+    }
+
+    @Override
+    public synchronized boolean renew(
+            final @NotNull Lease lease,
+            final long ttlMillis
+    ) {
+        final long now = this.clock.getAsLong();
+        final Held held = this.leases.get(lease.key());
+
+        if (held == null || held.expiresAt <= now || !held.lease.equals(lease)) {
+            return false;
+        }
+
+        this.leases.put(lease.key(), new Held(lease, now + ttlMillis));
+        return true;
+    }
+
+    @Override
+    public synchronized void release(final @NotNull Lease lease) {
+        final Held held = this.leases.get(lease.key());
+
+        if (held != null && held.lease.equals(lease)) {
+            this.leases.remove(lease.key());
+        }
+    }
+
+    @Override
+    public synchronized @Nullable String owner(final @NotNull String key) {
+        final Held held = this.leases.get(key);
+
+        if (held == null || held.expiresAt <= this.clock.getAsLong()) {
+            return null;
+        }
+
+        return held.lease.owner();
+    }
+
+    /**
+     * A lease together with its expiry time.
+     */
+    private record Held(Lease lease, long expiresAt) {}
+}
@@ -0,0 +1,191 @@
+package club.revived.queue.shard;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.JedisPoolConfig;
+
+import java.util.List;
+
+/**
+ * RedisLeaseStore - leases stored as expiring Redis keys.
+ * <p>
+ * A lease is the key {@code lease:<key>} holding {@code <owner>|<token>} with a millisecond expiry. The
+ * fencing token comes from {@code INCR lease:<key>:token} whenever the key changes hands. Every operation
+ * is a single Lua script, so checking the holder and changing the key happen atomically.
+ *
+ * @author yyuh - DL
+ * @since 1/8/26
+ */
+public final class RedisLeaseStore implements LeaseStore {
+
+    private static final String ACQUIRE = """
+            local current = redis.call('GET', KEYS[1])
+            if current then
+                local separator = string.find(current, '|', 1, true)
+                if string.sub(current, 1, separator - 1) == ARGV[1] then
+                    redis.call('PEXPIRE', KEYS[1], ARGV[2])
+                    return current
+                end
+                return false
+            end
+            local token = redis.call('INCR', KEYS[2])
+            local value = ARGV[1] .. '|' .. token
+            redis.call('SET', KEYS[1], value, 'PX', ARGV[2])
+            return value
+            """;
+
+    private static final String RENEW = """
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+                return redis.call('PEXPIRE', KEYS[1], ARGV[2])
+            end
+            return 0
+            """;
+
+    private static final String RELEASE = """
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+                return redis.call('DEL', KEYS[1])
+            end
+            return 0
+            """;
+
+    private final JedisPool jedisPool;
+
+    /**
+     * Creates a RedisLeaseStore connected to the specified Redis instance.
+     *
+     * @param host     the Redis server hostname or IP address
+     * @param port     the Redis server port
+     * @param password the Redis authentication password; empty string if no password is required
+     */
+    public RedisLeaseStore(
+            final String host,
+            final int port,
+            final String password
+    ) {
+        final JedisPoolConfig config = new JedisPoolConfig();
+        config.setMaxIdle(4);
+        config.setMaxTotal(8);
+
+        if (password.isEmpty()) {
+            this.jedisPool = new JedisPool(config, host, port, 0);
+        } else {
+            this.jedisPool = new JedisPool(config, host, port, 0, password, false);
+        }
+    }
+
+    @Override
+    public @Nullable Lease acquire(
+            final @NotNull String key,
+            final @NotNull String owner,
+            final long ttlMillis
+    ) {
+        try (final var jedis = this.jedisPool.getResource()) {
+            final Object value = jedis.eval(
+                    ACQUIRE,
+                    List.of(this.leaseKey(key), this.leaseKey(key) + ":token"),
+                    List.of(owner, String.valueOf(ttlMillis))
+            );
+
+            if (!(value instanceof final String held)) {
+                return null;
+            }
+
+            return this.parse(key, held);
+        } catch (final Exception e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    @Override
+    public boolean renew(
+            final @NotNull Lease lease,
+            final long ttlMillis
+    ) {
+        try (final var jedis = this.jedisPool.getResource()) {
+            final Object result = jedis.eval(
+                    RENEW,
+                    List.of(this.leaseKey(lease.key())),
+                    List.of(this.value(lease), String.valueOf(ttlMillis))
+            );
+
+            return result instanceof final Long updated && updated == 1L;
+        } catch (final Exception e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    @Override
+    public void release(final @NotNull Lease lease) {
+        try (final var jedis = this.jedisPool.getResource()) {
+            jedis.eval(
+                    RELEASE,
+                    List.of(this.leaseKey(lease.key())),
+                    List.of(this.value(lease))
+            );
+        } catch (final Exception e) {
+            e.printStackTrace();
+        }
+    }
+
+    @Override
+    public @Nullable String owner(final @NotNull String key) {
+        try (final var jedis = this.jedisPool.getResource()) {
+            final String held = jedis.get(this.leaseKey(key));
+
+            if (held == null) {
+                return null;
+            }
+
+            return this.parse(key, held).owner();
+        } catch (final Exception e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    /**
+     * Builds the Redis key a lease is stored under.
+     *
+     * @param key the leased key
+     * @return the Redis key
+     */
+    @NotNull
+    private String leaseKey(final @NotNull String key) {
+        return "lease:" + key;
+    }
+
+    /**
+     * Encodes the stored value of a lease.
+     *
+     * @param lease the lease
+     * @return {@code <owner>|<token>}
+     */
+    @NotNull
+    private String value(final @NotNull Lease lease) {
+        return lease.owner() + "|" + lease.token();
+    }
+
+    /**
+     * Decodes a stored lease value.
+     *
+     * @param key   the leased key
+     * @param value the stored {@code <owner>|<token>} value
+     * @return the decoded lease
+     */
+    @NotNull
+    private Lease parse(
+            final @NotNull String key,
+            final @NotNull String value
+    ) {
+        final int separator = value.lastIndexOf('|');
+
+        return new Lease(
+                key,
+                value.substring(0, separator),
+                Long.parseLong(value.substring(separator + 1))
+        );
+    }
+}
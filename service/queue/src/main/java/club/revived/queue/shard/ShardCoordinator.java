@@ -0,0 +1,329 @@
+package club.revived.queue.shard;
+
+import club.revived.queue.KitType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * ShardCoordinator - keeps the kit shards of one queue service in sync with the live queue services.
+ * <p>
+ * Each {@link KitType} is a shard. Its owner is chosen by {@link ShardRouter} over the services returned by
+ * the member supplier, and ownership is made exclusive by a lease per kit. Every {@link #RENEW_INTERVAL_MS}
+ * the coordinator renews the leases it holds, acquires the leases of kits assigned to it and releases kits
+ * that are now assigned elsewhere. When a service dies it disappears from the members, its kits are
+ * reassigned to the survivors, and they take the leases over as soon as the dead owner's leases expire.
+ * <p>
+ * Every kit also has a hot standby, the service the kit would be assigned to without its owner. The standby
+ * watches the lease every {@link #WATCH_INTERVAL_MS} and takes it the moment it is free, without waiting for
+ * the dead owner to drop out of the members, so matching resumes within one lease interval of a crash. It
+ * keeps a kit taken over that way for {@link #STANDBY_HOLD_MS} even though the kit is still assigned to the
+ * old owner, long enough for the membership to catch up. Every acquisition raises the kit's fencing token,
+ * which lets duel servers reject whatever an old owner still sends.
+ * <p>
+ * The coordinator does not depend on the cluster singleton, so several coordinators can share a
+ * {@link LocalLeaseStore} inside one JVM.
+ *
+ * @author yyuh - DL
+ * @since 1/8/26
+ */
+public final class ShardCoordinator {
+
+    public static final long LEASE_TTL_MS = 10_000;
+    public static final long RENEW_INTERVAL_MS = LEASE_TTL_MS / 3;
+    public static final long WATCH_INTERVAL_MS = LEASE_TTL_MS / 20;
+    public static final long STANDBY_HOLD_MS = LEASE_TTL_MS * 2;
+
+    private final Map<KitType, Lease> leases = new EnumMap<>(KitType.class);
+    private final Map<KitType, Long> takenOver = new EnumMap<>(KitType.class);
+    private final Set<KitType> watched = EnumSet.noneOf(KitType.class);
+    private final ScheduledExecutorService executorService = Executors.newSingleThreadScheduledExecutor();
+
+    private final long leaseTtl;
+
+    @NotNull
+    private final LeaseStore leaseStore;
+
+    @NotNull
+    private final String serviceId;
+
+    @NotNull
+    private final Supplier<Collection<String>> members;
+
+    @NotNull
+    private final Listener listener;
+
+    /**
+     * Creates a coordinator for the given queue service. Call {@link #start()} to begin claiming shards.
+     *
+     * @param leaseStore the store the kit leases live in
+     * @param serviceId  the id of this queue service
+     * @param members    supplies the ids of the other live queue services
+     * @param listener   notified whenever this service gains or loses a kit
+     */
+    public ShardCoordinator(
+            final @NotNull LeaseStore leaseStore,
+            final @NotNull String serviceId,
+            final @NotNull Supplier<Collection<String>> members,
+            final @NotNull Listener listener
+    ) {
+        this(leaseStore, serviceId, members, listener, LEASE_TTL_MS);
+    }
+
+    /**
+     * Creates a coordinator with a custom lease time to live; renewing and watching scale with it.
+     *
+     * @param leaseStore the store the kit leases live in
+     * @param serviceId  the id of this queue service
+     * @param members    supplies the ids of the other live queue services
+     * @param listener   notified whenever this service gains or loses a kit
+     * @param leaseTtl   how long a lease stays valid without renewal, in milliseconds
+     */
+    public ShardCoordinator(
+            final @NotNull LeaseStore leaseStore,
+            final @NotNull String serviceId,
+            final @NotNull Supplier<Collection<String>> members,
+            final @NotNull Listener listener,
+            final long leaseTtl
+    ) {
+        this.leaseStore = leaseStore;
+        this.serviceId = serviceId;
+        this.members = members;
+        this.listener = listener;
+        this.leaseTtl = leaseTtl;
+    }
+
+    /**
+     * Starts the periodic rebalance task and the standby watch.
+     */
+    public void start() {
+        final long renewInterval = this.leaseTtl * RENEW_INTERVAL_MS / LEASE_TTL_MS;
+        final long watchInterval = this.leaseTtl * WATCH_INTERVAL_MS / LEASE_TTL_MS;
+
+        this.executorService.scheduleAtFixedRate(() -> {
+            try {
+                this.rebalance();
+            } catch (final Exception e) {
+                e.printStackTrace();
+            }
+        }, 0, renewInterval, TimeUnit.MILLISECONDS);
+
+        this.executorService.scheduleAtFixedRate(() -> {
+            try {
+                this.watch();
+            } catch (final Exception e) {
+                e.printStackTrace();
+            }
+        }, watchInterval, watchInterval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the rebalance task and releases every held lease so the next owners do not have to wait for expiry.
+     * Each kit is released to the service it will be assigned to once this one is gone.
+     */
+    public void shutdown() {
+        this.executorService.shutdownNow();
+
+        synchronized (this.leases) {
+            this.leases.forEach((kit, lease) -> {
+                this.leaseStore.release(lease);
+                this.listener.released(kit, ShardRouter.ownerOf(kit.name(), this.members.get()));
+            });
+
+            this.leases.clear();
+        }
+    }
+
+    /**
+     * Renews, acquires and releases kit leases so this service owns exactly the kits assigned to it.
+     */
+    public void rebalance() {
+        synchronized (this.leases) {
+            final long now = System.currentTimeMillis();
+
+            for (final KitType kit : KitType.values()) {
+                final String assigned = this.assignedOwner(kit);
+                final Lease held = this.leases.get(kit);
+
+                if (held != null) {
+                    final Long since = this.takenOver.get(kit);
+                    final boolean standing = since != null && now - since < STANDBY_HOLD_MS * this.leaseTtl / LEASE_TTL_MS;
+
+                    if (!this.serviceId.equals(assigned) && !standing) {
+                        this.leases.remove(kit);
+                        this.takenOver.remove(kit);
+                        this.leaseStore.release(held);
+                        this.listener.released(kit, assigned);
+                    } else if (!this.leaseStore.renew(held, this.leaseTtl)) {
+                        this.leases.remove(kit);
+                        this.takenOver.remove(kit);
+                        this.listener.released(kit, this.leaseStore.owner(this.key(kit)));
+                    } else if (this.serviceId.equals(assigned)) {
+                        this.takenOver.remove(kit);
+                    }
+
+                    continue;
+                }
+
+                if (!this.serviceId.equals(assigned)) {
+                    continue;
+                }
+
+                final Lease lease = this.leaseStore.acquire(this.key(kit), this.serviceId, this.leaseTtl);
+
+                if (lease != null) {
+                    this.leases.put(kit, lease);
+                    this.listener.acquired(kit, lease);
+                }
+            }
+        }
+    }
+
+    /**
+     * Takes over every kit this service is the standby of whose lease has expired or been released. Only
+     * leases that were seen held before count, so a standby does not race a fresh owner to a kit nobody had.
+     */
+    public void watch() {
+        synchronized (this.leases) {
+            for (final KitType kit : KitType.values()) {
+                if (this.leases.containsKey(kit) || !this.serviceId.equals(this.standbyOf(kit))) {
+                    this.watched.remove(kit);
+                    continue;
+                }
+
+                if (this.leaseStore.owner(this.key(kit)) != null) {
+                    this.watched.add(kit);
+                    continue;
+                }
+
+                if (!this.watched.remove(kit)) {
+                    continue;
+                }
+
+                final Lease lease = this.leaseStore.acquire(this.key(kit), this.serviceId, this.leaseTtl);
+
+                if (lease != null) {
+                    System.out.printf("Taking over shard %s as its standby%n", kit);
+
+                    this.leases.put(kit, lease);
+                    this.takenOver.put(kit, System.currentTimeMillis());
+                    this.listener.acquired(kit, lease);
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks whether this service currently holds the lease of the kit.
+     *
+     * @param kit the kit shard
+     * @return {@code true} if this service may match the kit
+     */
+    public boolean owns(final @NotNull KitType kit) {
+        synchronized (this.leases) {
+            return this.leases.containsKey(kit);
+        }
+    }
+
+    /**
+     * Resolves the service the kit is assigned to by the current membership, whether or not it holds the lease yet.
+     *
+     * @param kit the kit shard
+     * @return the id of the assigned service
+     */
+    @NotNull
+    public String assignedOwner(final @NotNull KitType kit) {
+        final Collection<String> services = new TreeSet<>(this.members.get());
+        services.add(this.serviceId);
+
+        final String owner = ShardRouter.ownerOf(kit.name(), services);
+        return owner == null ? this.serviceId : owner;
+    }
+
+    /**
+     * Resolves the service that takes the kit over if its assigned owner dies, i.e. its owner without the
+     * assigned one.
+     *
+     * @param kit the kit shard
+     * @return the id of the standby service, or {@code null} if there is no other service
+     */
+    @Nullable
+    public String standbyOf(final @NotNull KitType kit) {
+        final Collection<String> services = new TreeSet<>(this.members.get());
+        services.add(this.serviceId);
+        services.remove(this.assignedOwner(kit));
+
+        return ShardRouter.ownerOf(kit.name(), services);
+    }
+
+    /**
+     * The lease this service holds on the kit.
+     *
+     * @param kit the kit shard
+     * @return the held lease, or {@code null} if the kit is not owned by this service
+     */
+    @Nullable
+    public Lease lease(final @NotNull KitType kit) {
+        synchronized (this.leases) {
+            return this.leases.get(kit);
+        }
+    }
+
+    /**
+     * Builds the lease key of a kit shard.
+     *
+     * @param kit the kit shard
+     * @return the lease key
+     */
+    @NotNull
+    private String key(final @NotNull KitType kit) {
+        return "queue:shard:" + kit.name();
+    }
+
+    /**
+     * The id of the queue service this coordinator runs for.
+     *
+     * @return the service id
+     */
+    public @NotNull String getServiceId() {
+        return serviceId;
+    }
+
+    /**
+     * Callback for shard ownership changes. Called on the coordinator's thread while it holds its lock.
+     */
+    public interface Listener {
+
+        /**
+         * This service became the owner of the kit.
+         *
+         * @param kit   the kit shard
+         * @param lease the acquired lease
+         */
+        void acquired(
+                final @NotNull KitType kit,
+                final @NotNull Lease lease
+        );
+
+        /**
+         * This service stopped owning the kit, either because it was reassigned or because the lease was lost.
+         *
+         * @param kit      the kit shard
+         * @param newOwner the service the kit's queued players should be handed to, or {@code null} if unknown
+         */
+        void released(
+                final @NotNull KitType kit,
+                final @Nullable String newOwner
+        );
+    }
+}
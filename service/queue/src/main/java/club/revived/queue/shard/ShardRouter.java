@@ -0,0 +1,77 @@
+package club.revived.queue.shard;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+
+/**
+ * ShardRouter - deterministic shard to service mapping by rendezvous (highest random weight) hashing.
+ * <p>
+ * Every service that sees the same set of queue services maps a shard to the same owner without any
+ * coordination. When a service leaves, only the shards it owned move. The lobby keeps an identical copy
+ * of this function, so both sides must hash exactly the same way.
+ *
+ * @author yyuh - DL
+ * @since 1/8/26
+ */
+public final class ShardRouter {
+
+    private ShardRouter() {
+    }
+
+    /**
+     * Picks the owner of a shard among the given services.
+     *
+     * @param shard    the shard key, e.g. the kit name
+     * @param services the ids of all live queue services
+     * @return the id of the owning service, or {@code null} if there are no services
+     */
+    @Nullable
+    public static String ownerOf(
+            final @NotNull String shard,
+            final @NotNull Collection<String> services
+    ) {
+        String owner = null;
+        long best = Long.MIN_VALUE;
+
+        for (final String service : services) {
+            final long weight = weight(shard, service);
+
+            if (owner == null || weight > best || (weight == best && service.compareTo(owner) < 0)) {
+                owner = service;
+                best = weight;
+            }
+        }
+
+        return owner;
+    }
+
+    /**
+     * Hashes the shard and service pair with 64-bit FNV-1a followed by a murmur3 finalizer.
+     *
+     * @param shard   the shard key
+     * @param service the service id
+     * @return the pair's weight
+     */
+    private static long weight(
+            final @NotNull String shard,
+            final @NotNull String service
+    ) {
+        long hash = 0xcbf29ce484222325L;
+
+        for (final byte b : (shard + '|' + service).getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+
+        return hash;
+    }
+}
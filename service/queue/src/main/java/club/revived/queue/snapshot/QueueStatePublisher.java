@@ -0,0 +1,346 @@
+package club.revived.queue.snapshot;
+
+import club.revived.queue.KitType;
+import club.revived.queue.QueueBucket;
+import club.revived.queue.QueueEntry;
+import club.revived.queue.QueueIndex;
+import club.revived.queue.QueueTicket;
+import club.revived.queue.QueueType;
+import club.revived.queue.cluster.broker.MessageBroker;
+import club.revived.queue.cluster.messaging.impl.QueueState;
+import club.revived.queue.cluster.messaging.impl.QueueStateResync;
+import club.revived.queue.estimate.WaitTimeEstimator;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * QueueStatePublisher - pushes this service's queue state to lobby replicas at a bounded rate.
+ * <p>
+ * The publisher listens to the {@link QueueIndex} and collects membership changes in a lock-free queue.
+ * At most every {@link #INTERVAL_MS} it coalesces them per ticket and publishes one {@link QueueState}
+ * carrying all bucket depths, wait estimates and the changes. Nothing is published while nothing changes,
+ * except a keep-alive every {@link #IDLE_INTERVAL_MS} so replicas can tell a quiet service from a dead one.
+ * Every replicated ticket carries all kits it still waits for and its rating, so a standby service can
+ * queue it again if this service dies.
+ * <p>
+ * A full snapshot of every queued entry is sent every {@link #FULL_INTERVAL_MS}, when a replica asks for
+ * one with a {@link QueueStateResync}, and when more than {@link #MAX_CHANGES} changes piled up, which is
+ * cheaper for everyone than a huge delta.
+ *
+ * @author yyuh - DL
+ * @since 1/8/26
+ */
+public final class QueueStatePublisher implements QueueIndex.Listener {
+
+    public static final String CHANNEL = "queue:state";
+    public static final String RESYNC_CHANNEL = "queue:state:resync";
+
+    private static final long INTERVAL_MS = 250;
+    private static final long IDLE_INTERVAL_MS = 2_000;
+    private static final long FULL_INTERVAL_MS = 60_000;
+    private static final int MAX_CHANGES = 2_048;
+
+    private final Queue<Change> changes = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean resync = new AtomicBoolean(true);
+    private final ScheduledExecutorService executorService = Executors.newSingleThreadScheduledExecutor();
+
+    @NotNull
+    private final MessageBroker broker;
+
+    @NotNull
+    private final String serviceId;
+
+    @NotNull
+    private final WaitTimeEstimator estimator;
+
+    private final long epoch = System.currentTimeMillis();
+
+    private QueueIndex index;
+    private List<QueueBucket> buckets = List.of();
+    private Map<KitType, int[]> lastDepths = Map.of();
+    private long version;
+    private long lastPublish;
+    private long lastFull;
+
+    /**
+     * Creates the publisher and listens for resync requests. Nothing is published before {@link #start(List)}.
+     *
+     * @param broker    the broker to publish on
+     * @param serviceId the id of this queue service
+     * @param estimator the source of the published wait estimates
+     */
+    public QueueStatePublisher(
+            final @NotNull MessageBroker broker,
+            final @NotNull String serviceId,
+            final @NotNull WaitTimeEstimator estimator
+    ) {
+        this.broker = broker;
+        this.serviceId = serviceId;
+        this.estimator = estimator;
+
+        broker.subscribe(RESYNC_CHANNEL, QueueStateResync.class, resync -> {
+            if (resync.serviceId() == null || resync.serviceId().equals(this.serviceId)) {
+                this.resync.set(true);
+            }
+        });
+    }
+
+    /**
+     * Starts publishing the state of the given index.
+     *
+     * @param index the queue index this publisher listens to
+     */
+    public void start(final @NotNull QueueIndex index) {
+        this.index = index;
+        this.buckets = index.buckets();
+        this.executorService.scheduleAtFixedRate(() -> {
+            try {
+                this.publish(System.currentTimeMillis());
+            } catch (final Exception e) {
+                e.printStackTrace();
+            }
+        }, INTERVAL_MS, INTERVAL_MS, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void added(final @NotNull QueueTicket ticket) {
+        final QueueEntry entry = ticket.getEntry();
+        this.changes.add(new Change(entry.uuid(), entry.members(), ticket));
+    }
+
+    @Override
+    public void removed(final @NotNull QueueEntry entry) {
+        this.changes.add(new Change(entry.uuid(), entry.members(), null));
+    }
+
+    @Override
+    public void withdrawn(
+            final @NotNull QueueTicket ticket,
+            final @NotNull QueueEntry entry
+    ) {
+        // Republished with the kits it has left, a standby must not queue it for the dropped one
+        this.changes.add(new Change(entry.uuid(), entry.members(), ticket));
+    }
+
+    /**
+     * Publishes the state if anything changed, a keep-alive or a full snapshot is due.
+     *
+     * @param now the current time in milliseconds since the epoch
+     */
+    private void publish(final long now) {
+        // Drained before the buckets are read, so a change racing the snapshot shows up again in the next delta
+        final Map<UUID, Change> pending = new LinkedHashMap<>();
+        Change change;
+
+        while ((change = this.changes.poll()) != null) {
+            // Keyed by the leader, the ticket is read when publishing, so the latest change wins
+            pending.remove(change.uuid());
+            pending.put(change.uuid(), change);
+        }
+
+        final Map<KitType, int[]> depths = this.depths();
+        final boolean full = this.resync.getAndSet(false)
+                || now - this.lastFull >= FULL_INTERVAL_MS
+                || pending.size() > MAX_CHANGES;
+
+        if (!full
+                && pending.isEmpty()
+                && this.sameDepths(depths)
+                && now - this.lastPublish < IDLE_INTERVAL_MS) {
+            return;
+        }
+
+        final List<QueueState.Entry> joined = new ArrayList<>();
+        final List<UUID> left = new ArrayList<>();
+
+        if (full) {
+            final Set<UUID> seen = new HashSet<>();
+
+            // A ticket waits in one bucket per kit but is replicated once, with all of its kits
+            for (final QueueBucket bucket : this.buckets) {
+                for (final QueueEntry entry : bucket.entries()) {
+                    if (!seen.add(entry.uuid())) {
+                        continue;
+                    }
+
+                    final QueueState.Entry state = this.toState(this.index.entries(entry.uuid()));
+
+                    if (state != null) {
+                        joined.add(state);
+                    }
+                }
+            }
+
+            this.lastFull = now;
+        } else {
+            for (final Change pendingChange : pending.values()) {
+                final QueueState.Entry state = pendingChange.ticket() == null
+                        ? null
+                        : this.toState(this.linked(pendingChange.ticket()));
+
+                if (state != null) {
+                    joined.add(state);
+                } else {
+                    left.addAll(pendingChange.members());
+                }
+            }
+        }
+
+        this.broker.publish(CHANNEL, new QueueState(
+                this.serviceId,
+                this.epoch,
+                ++this.version,
+                full,
+                now,
+                depths,
+                this.waits(),
+                joined,
+                left
+        ));
+
+        this.lastDepths = depths;
+        this.lastPublish = now;
+    }
+
+    /**
+     * Reads the player count of every bucket.
+     *
+     * @return queued players per kit, indexed by queue type ordinal
+     */
+    @NotNull
+    private Map<KitType, int[]> depths() {
+        final Map<KitType, int[]> depths = new EnumMap<>(KitType.class);
+
+        for (final QueueBucket bucket : this.buckets) {
+            depths.computeIfAbsent(bucket.getKitType(), _ -> new int[QueueType.values().length])
+                    [bucket.getQueueType().ordinal()] = bucket.players();
+        }
+
+        return depths;
+    }
+
+    /**
+     * Reads the wait estimate of every bucket for a solo player.
+     *
+     * @return estimated waits per kit, indexed by queue type ordinal
+     */
+    @NotNull
+    private Map<KitType, long[]> waits() {
+        final Map<KitType, long[]> waits = new EnumMap<>(KitType.class);
+
+        for (final QueueBucket bucket : this.buckets) {
+            waits.computeIfAbsent(bucket.getKitType(), _ -> new long[QueueType.values().length])
+                    [bucket.getQueueType().ordinal()] = this.estimator.estimate(bucket, 1);
+        }
+
+        return waits;
+    }
+
+    /**
+     * Compares bucket depths with the last published ones.
+     *
+     * @param depths the current depths
+     * @return {@code true} if no bucket changed
+     */
+    private boolean sameDepths(final @NotNull Map<KitType, int[]> depths) {
+        if (!depths.keySet().equals(this.lastDepths.keySet())) {
+            return false;
+        }
+
+        for (final var entry : depths.entrySet()) {
+            if (!Arrays.equals(entry.getValue(), this.lastDepths.get(entry.getKey()))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Lists the entries of every kit a ticket is still waiting for.
+     *
+     * @param ticket the ticket
+     * @return one entry per linked node, the primary kit first, or an empty list if the ticket left the queue
+     */
+    @NotNull
+    private List<QueueEntry> linked(final @NotNull QueueTicket ticket) {
+        if (!ticket.isQueued()) {
+            return List.of();
+        }
+
+        final List<QueueEntry> entries = new ArrayList<>(ticket.getNodes().size());
+
+        for (final QueueBucket.Node node : ticket.getNodes()) {
+            if (node.isLinked()) {
+                entries.add(node.getEntry());
+            }
+        }
+
+        return entries;
+    }
+
+    /**
+     * Converts the entries of one ticket to its replicated form.
+     *
+     * @param entries the ticket's entries, the primary kit first
+     * @return the replicated ticket, or {@code null} if it no longer waits for any kit
+     */
+    @Nullable
+    private QueueState.Entry toState(final @NotNull List<QueueEntry> entries) {
+        if (entries.isEmpty()) {
+            return null;
+        }
+
+        final QueueEntry primary = entries.getFirst();
+        final List<KitType> kitTypes = new ArrayList<>(entries.size());
+
+        for (final QueueEntry entry : entries) {
+            kitTypes.add(entry.kitType());
+        }
+
+        return new QueueState.Entry(
+                primary.members(),
+                kitTypes,
+                primary.queueType(),
+                primary.queuedAt(),
+                primary.rating()
+        );
+    }
+
+    /**
+     * Stops publishing.
+     */
+    public void shutdown() {
+        this.executorService.shutdownNow();
+    }
+
+    /**
+     * One ticket that entered, changed or left the index.
+     *
+     * @param uuid    the ticket's leader
+     * @param members every player of the ticket
+     * @param ticket  the ticket to read when publishing, {@code null} if it left
+     */
+    private record Change(
+            @NotNull UUID uuid,
+            @NotNull List<UUID> members,
+            @Nullable QueueTicket ticket
+    ) {
+    }
+}
@@ -0,0 +1,204 @@
+package club.revived.queue.snapshot;
+
+import club.revived.queue.KitType;
+import club.revived.queue.cluster.broker.MessageBroker;
+import club.revived.queue.cluster.broker.MessageHandler;
+import club.revived.queue.cluster.messaging.impl.QueueState;
+import club.revived.queue.cluster.messaging.impl.QueueStateResync;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * QueueStateReplica - hot copy of the tickets every other queue service publishes on {@code queue:state}.
+ * <p>
+ * Every queue service is the standby of some kits owned by the others. It tails their published state, so
+ * when it takes over a kit whose owner died it can queue the orphaned tickets again right away, with their
+ * original enqueue time, instead of everybody having to queue up anew. Services are replicated like the
+ * lobby does it: changes only apply on top of the previous version of the same run, anything else asks the
+ * service for a full snapshot.
+ * <p>
+ * A replica is only handed out by {@link #takeOver(KitType, long)} once its service stopped publishing for
+ * {@link #SILENT_MS}, so a live service handing a kit over on its own never has its tickets duplicated.
+ *
+ * @author yyuh - DL
+ * @since 1/8/26
+ */
+public final class QueueStateReplica implements MessageHandler<QueueState> {
+
+    private static final long SILENT_MS = 5_000;
+    private static final long EXPIRE_MS = 120_000;
+    private static final long RESYNC_INTERVAL_MS = 1_000;
+
+    private final Map<String, ServiceState> services = new ConcurrentHashMap<>();
+
+    @NotNull
+    private final MessageBroker broker;
+
+    @NotNull
+    private final String serviceId;
+
+    /**
+     * Subscribes to the queue state channel and asks every queue service for a full snapshot.
+     *
+     * @param broker    the broker the state is published on
+     * @param serviceId the id of this queue service, whose own state is ignored
+     */
+    public QueueStateReplica(
+            final @NotNull MessageBroker broker,
+            final @NotNull String serviceId
+    ) {
+        this.broker = broker;
+        this.serviceId = serviceId;
+
+        broker.subscribe(QueueStatePublisher.CHANNEL, QueueState.class, this);
+        broker.publish(QueueStatePublisher.RESYNC_CHANNEL, new QueueStateResync(null));
+    }
+
+    /**
+     * Applies a published state to the replica of its service.
+     *
+     * @param state the published state
+     */
+    @Override
+    public void handle(final @NotNull QueueState state) {
+        if (this.serviceId.equals(state.serviceId())) {
+            return;
+        }
+
+        final long now = System.currentTimeMillis();
+        final ServiceState service = this.services.computeIfAbsent(state.serviceId(), _ -> new ServiceState());
+        final boolean resync;
+
+        synchronized (service) {
+            resync = service.apply(state, now);
+        }
+
+        if (resync) {
+            this.broker.publish(QueueStatePublisher.RESYNC_CHANNEL, new QueueStateResync(state.serviceId()));
+        }
+
+        this.services.values().removeIf(other -> now - other.lastSeen > EXPIRE_MS);
+    }
+
+    /**
+     * Takes the tickets whose primary kit is the given one out of the replicas of every silent service.
+     * Each ticket is handed out once, so a second takeover of the same kit does not queue it twice.
+     *
+     * @param kitType the kit this service just took over
+     * @param now     the current time in milliseconds since the epoch
+     * @return the orphaned tickets, oldest first
+     */
+    @NotNull
+    public List<QueueState.Entry> takeOver(
+            final @NotNull KitType kitType,
+            final long now
+    ) {
+        final List<QueueState.Entry> orphaned = new ArrayList<>();
+
+        for (final ServiceState service : this.services.values()) {
+            synchronized (service) {
+                if (now - service.lastSeen < SILENT_MS) {
+                    continue;
+                }
+
+                final Iterator<QueueState.Entry> iterator = service.tickets.values().iterator();
+
+                while (iterator.hasNext()) {
+                    final QueueState.Entry entry = iterator.next();
+
+                    if (!entry.kitTypes().isEmpty() && entry.kitTypes().getFirst() == kitType) {
+                        orphaned.add(entry);
+                        iterator.remove();
+                    }
+                }
+            }
+        }
+
+        orphaned.sort((first, second) -> Long.compare(first.queuedAt(), second.queuedAt()));
+        return orphaned;
+    }
+
+    /**
+     * Replicated tickets of one queue service, keyed by their leader. Guarded by its own monitor.
+     */
+    private static final class ServiceState {
+
+        private final Map<UUID, QueueState.Entry> tickets = new HashMap<>();
+
+        private long epoch;
+        private long version;
+        private long lastSeen = System.currentTimeMillis();
+        private long lastResync;
+        private boolean synced;
+
+        /**
+         * Applies a published state. Tickets only change with a full snapshot or with the changes directly
+         * following the known version.
+         *
+         * @param state the published state
+         * @param now   the current time in milliseconds since the epoch
+         * @return {@code true} if a resync should be requested from the service
+         */
+        private boolean apply(
+                final @NotNull QueueState state,
+                final long now
+        ) {
+            this.lastSeen = now;
+
+            if (state.full()) {
+                this.tickets.clear();
+                this.join(state);
+
+                this.epoch = state.epoch();
+                this.version = state.version();
+                this.synced = true;
+                return false;
+            }
+
+            if (this.synced && state.epoch() == this.epoch && state.version() == this.version + 1) {
+                if (state.left() != null) {
+                    // Only leaders are keys, the other members of a group miss without harm
+                    state.left().forEach(this.tickets::remove);
+                }
+
+                this.join(state);
+                this.version = state.version();
+                return false;
+            }
+
+            // Stale tickets are still better than none if the service dies before the snapshot arrives
+            this.synced = false;
+
+            if (now - this.lastResync < RESYNC_INTERVAL_MS) {
+                return false;
+            }
+
+            this.lastResync = now;
+            return true;
+        }
+
+        /**
+         * Indexes every joined ticket under its leader, replacing what was known about it.
+         *
+         * @param state the published state
+         */
+        private void join(final @NotNull QueueState state) {
+            if (state.joined() == null) {
+                return;
+            }
+
+            for (final QueueState.Entry entry : state.joined()) {
+                if (!entry.members().isEmpty()) {
+                    this.tickets.put(entry.members().getFirst(), entry);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,274 @@
+package club.revived.queue;
+
+import club.revived.queue.cluster.broker.InMemoryMessageBroker;
+import club.revived.queue.cluster.cache.InMemoryGlobalCache;
+import club.revived.queue.cluster.cluster.Cluster;
+import club.revived.queue.cluster.cluster.ServiceType;
+import club.revived.queue.cluster.messaging.MessagingService;
+import club.revived.queue.cluster.messaging.impl.ArenaCapacity;
+import club.revived.queue.cluster.messaging.impl.MatchDispatch;
+import club.revived.queue.cluster.messaging.impl.MatchDispatchAck;
+import club.revived.queue.cluster.player.PlayerManager;
+import club.revived.queue.cluster.status.ServiceStatus;
+import club.revived.queue.shard.LocalLeaseStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * GameQueueDispatchTest - dispatching matches to a duel server and requeueing them when it cannot start them.
+ * <p>
+ * The queue service and a fake duel server share an in-memory broker. The duel server answers a dispatch
+ * with whatever the test hands it, so every outcome of the acknowledgement can be played through.
+ *
+ * @author yyuh - DL
+ * @since 1/8/26
+ */
+class GameQueueDispatchTest {
+
+    private static final String QUEUE_ID = "queue-test";
+    private static final String DUELS_ID = "duels-test";
+    private static final long AWAIT_MS = 10_000;
+
+    private final BlockingQueue<MatchDispatch> dispatches = new LinkedBlockingQueue<>();
+    private final BlockingQueue<Answer> answers = new LinkedBlockingQueue<>();
+
+    private final UUID first = UUID.randomUUID();
+    private final UUID second = UUID.randomUUID();
+    private final UUID third = UUID.randomUUID();
+
+    private final QueueEntry firstSword = new QueueEntry(this.first, QueueType.SOLO, KitType.SWORD, 1_000, 0);
+    private final QueueEntry firstAxe = new QueueEntry(this.first, QueueType.SOLO, KitType.AXE, 1_000, 0);
+    private final QueueEntry secondSword = new QueueEntry(this.second, QueueType.SOLO, KitType.SWORD, 2_000, 0);
+    private final QueueEntry thirdSword = new QueueEntry(this.third, QueueType.SOLO, KitType.SWORD, 3_000, 0);
+
+    private MessagingService duels;
+    private GameQueue gameQueue;
+
+    @BeforeEach
+    void setUp() {
+        final var broker = new InMemoryMessageBroker();
+
+        new Cluster(broker, new InMemoryGlobalCache(), ServiceType.QUEUE, QUEUE_ID);
+
+        // Holds every delivery back until the test hands it an answer
+        this.duels = new MessagingService(broker, DUELS_ID);
+        this.duels.registerHandler(MatchDispatch.class, dispatch -> {
+            this.dispatches.add(dispatch);
+
+            try {
+                final Answer answer = this.answers.poll(AWAIT_MS, TimeUnit.MILLISECONDS);
+
+                return answer == null || answer == Answer.SILENT
+                        ? null
+                        : new MatchDispatchAck(dispatch.matchId(), answer == Answer.ACCEPT);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+        });
+
+        for (final UUID player : List.of(this.first, this.second, this.third)) {
+            PlayerManager.getInstance().registerPlayer(player, player.toString().substring(0, 8), "lobby");
+        }
+
+        this.gameQueue = new GameQueue(new LocalLeaseStore());
+        await(() -> this.gameQueue.getShards().owns(KitType.SWORD) && this.gameQueue.getShards().owns(KitType.AXE));
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.gameQueue.getShards().shutdown();
+    }
+
+    @Test
+    void acceptedMatchKeepsReservationAndLeavesQueue() throws InterruptedException {
+        final MatchDispatch dispatch = this.match();
+        this.answers.add(Answer.ACCEPT);
+
+        assertEquals(List.of(this.first), dispatch.duelStart().blueTeam());
+        assertEquals(List.of(this.second), dispatch.duelStart().redTeam());
+
+        await(() -> this.gameQueue.getMetrics().getMatches() == 1);
+
+        assertEquals(1, this.gameQueue.getPlacement().reserved(DUELS_ID));
+        assertFalse(this.gameQueue.getPlacement().isSuspended(DUELS_ID));
+        assertEquals(0, this.gameQueue.getMetrics().getDispatchFailures());
+        assertEquals(List.of(this.thirdSword), this.entries(KitType.SWORD));
+        assertEquals(List.of(), this.entries(KitType.AXE));
+    }
+
+    @Test
+    void rejectedMatchIsRequeuedAtBucketHead() throws InterruptedException {
+        this.match();
+        this.answers.add(Answer.REJECT);
+
+        this.assertRequeued();
+    }
+
+    @Test
+    void unacknowledgedMatchIsAskedAgainThenRequeued() throws InterruptedException {
+        final MatchDispatch dispatch = this.match();
+        this.answers.add(Answer.SILENT);
+        this.answers.add(Answer.SILENT);
+
+        assertEquals(dispatch, this.dispatches.poll(AWAIT_MS, TimeUnit.MILLISECONDS));
+
+        this.assertRequeued();
+    }
+
+    @Test
+    void lostAcknowledgementIsRecoveredByRetry() throws InterruptedException {
+        final MatchDispatch dispatch = this.match();
+        this.answers.add(Answer.SILENT);
+        this.answers.add(Answer.ACCEPT);
+
+        assertEquals(dispatch, this.dispatches.poll(AWAIT_MS, TimeUnit.MILLISECONDS));
+
+        await(() -> this.gameQueue.getMetrics().getMatches() == 1);
+
+        assertEquals(0, this.gameQueue.getMetrics().getDispatchFailures());
+        assertEquals(1, this.gameQueue.getPlacement().reserved(DUELS_ID));
+        assertEquals(List.of(this.thirdSword), this.entries(KitType.SWORD));
+    }
+
+    @Test
+    void poppedEntriesWithoutServerAreRequeuedAtBucketHead() {
+        this.gameQueue.push(this.thirdSword);
+        this.gameQueue.pop(this.firstSword, this.secondSword);
+
+        await(() -> this.entries(KitType.SWORD).equals(List.of(this.firstSword, this.secondSword, this.thirdSword)));
+
+        assertEquals(0, this.gameQueue.getPlacement().reserved(DUELS_ID));
+        assertFalse(this.gameQueue.getPlacement().isSuspended(DUELS_ID));
+        assertTrue(this.gameQueue.getMetrics().getDispatchFailures() > 0);
+        assertTrue(this.dispatches.isEmpty());
+    }
+
+    @Test
+    void requeueSkipsOfflineAndRequeuedMembers() throws InterruptedException {
+        this.match();
+
+        // The first player queued again in the meantime, the second one left the network
+        final QueueEntry requeued = new QueueEntry(this.first, QueueType.SOLO, KitType.AXE, 9_000, 0);
+        this.gameQueue.push(requeued);
+        PlayerManager.getInstance().getNetworkPlayers().remove(this.second);
+
+        this.answers.add(Answer.REJECT);
+
+        await(() -> this.gameQueue.getMetrics().getDispatchFailures() == 1);
+        await(() -> this.entries(KitType.SWORD).equals(List.of(this.thirdSword)));
+
+        assertEquals(List.of(requeued), this.entries(KitType.AXE));
+    }
+
+    /**
+     * Reports capacity from the duel server, matches the first two players and waits for the dispatch. The
+     * third player queues while the duel server still holds its answer back.
+     *
+     * @return the dispatch the duel server received
+     */
+    private MatchDispatch match() throws InterruptedException {
+        this.duels.sendMessage(QUEUE_ID, this.capacity());
+        await(this::reports);
+
+        this.gameQueue.push(List.of(this.firstSword, this.firstAxe));
+        this.gameQueue.push(this.secondSword);
+
+        final MatchDispatch dispatch = this.dispatches.poll(AWAIT_MS, TimeUnit.MILLISECONDS);
+        assertNotNull(dispatch);
+
+        this.gameQueue.push(this.thirdSword);
+        return dispatch;
+    }
+
+    /**
+     * Asserts that the match was given up on: the reservation is gone, the duel server is suspended and both
+     * players wait again in front of the third one with their original entries, the first one for both kits.
+     */
+    private void assertRequeued() {
+        await(() -> this.gameQueue.getMetrics().getDispatchFailures() > 0);
+        await(() -> this.entries(KitType.SWORD).equals(List.of(this.firstSword, this.secondSword, this.thirdSword)));
+
+        assertEquals(0, this.gameQueue.getPlacement().reserved(DUELS_ID));
+        assertTrue(this.gameQueue.getPlacement().isSuspended(DUELS_ID));
+        assertEquals(0, this.gameQueue.getMetrics().getMatches());
+        assertEquals(List.of(this.firstAxe), this.entries(KitType.AXE));
+        assertNull(this.dispatches.poll());
+    }
+
+    /**
+     * Whether the duel server's capacity report has arrived, probed by reserving an arena and releasing it.
+     */
+    private boolean reports() {
+        final var reservation = this.gameQueue.getPlacement().reserve(KitType.SWORD);
+
+        if (reservation == null) {
+            return false;
+        }
+
+        this.gameQueue.getPlacement().release(reservation);
+        return true;
+    }
+
+    private ArenaCapacity capacity() {
+        return new ArenaCapacity(
+                DUELS_ID,
+                ServiceStatus.AVAILABLE,
+                Map.of("classic", 4),
+                Map.of(KitType.SWORD.name(), "classic", KitType.AXE.name(), "classic"),
+                System.currentTimeMillis()
+        );
+    }
+
+    private List<QueueEntry> entries(final KitType kit) {
+        for (final QueueBucket bucket : this.gameQueue.getBuckets()) {
+            if (bucket.getKitType() == kit && bucket.getQueueType() == QueueType.SOLO) {
+                return bucket.entries();
+            }
+        }
+
+        throw new IllegalStateException("No solo bucket for " + kit);
+    }
+
+    private static void await(final BooleanSupplier condition) {
+        final long deadline = System.currentTimeMillis() + AWAIT_MS;
+
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("Condition not met within " + AWAIT_MS + " ms");
+            }
+
+            try {
+                Thread.sleep(10);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail(e);
+            }
+        }
+    }
+
+    /**
+     * What the duel server does with one delivery of a dispatch.
+     */
+    private enum Answer {
+        ACCEPT,
+        REJECT,
+        SILENT
+    }
+}
@@ -0,0 +1,78 @@
+package club.revived.queue;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * QueueIndexTest - withdrawing kits from the index when they are handed over to another queue service.
+ *
+ * @author yyuh - DL
+ * @since 1/8/26
+ */
+class QueueIndexTest {
+
+    private final QueueIndex index = new QueueIndex();
+
+    @Test
+    void withdrawMovesTicketWithEveryMovedKit() {
+        final UUID player = UUID.randomUUID();
+        final List<QueueEntry> ticket = List.of(
+                new QueueEntry(player, QueueType.SOLO, KitType.AXE, 1_000, 0),
+                new QueueEntry(player, QueueType.SOLO, KitType.SWORD, 1_000, 0)
+        );
+
+        assertTrue(this.index.push(ticket));
+
+        // SWORD is drained first, the ticket must still keep its primary kit first
+        final var withdrawn = this.index.withdraw(EnumSet.of(KitType.SWORD, KitType.AXE));
+
+        assertEquals(List.of(ticket), withdrawn);
+        assertFalse(this.index.contains(player));
+        assertEquals(0, this.index.size());
+    }
+
+    @Test
+    void withdrawKeepsTicketWaitingForKitsThatStay() {
+        final UUID player = UUID.randomUUID();
+        final QueueEntry kept = new QueueEntry(player, QueueType.SOLO, KitType.UHC, 1_000, 0);
+
+        assertTrue(this.index.push(List.of(
+                new QueueEntry(player, QueueType.SOLO, KitType.SWORD, 1_000, 0),
+                kept
+        )));
+
+        assertEquals(List.of(), this.index.withdraw(EnumSet.of(KitType.SWORD)));
+        assertEquals(List.of(kept), this.index.entries(player));
+        assertEquals(0, this.index.bucket(KitType.SWORD, QueueType.SOLO).size());
+    }
+
+    @Test
+    void withdrawReturnsTicketsInQueueOrder() {
+        final QueueEntry first = new QueueEntry(UUID.randomUUID(), QueueType.SOLO, KitType.MACE, 1_000, 0);
+        final QueueEntry second = new QueueEntry(UUID.randomUUID(), QueueType.SOLO, KitType.MACE, 2_000, 0);
+        final QueueEntry duo = new QueueEntry(
+                UUID.randomUUID(),
+                List.of(UUID.randomUUID(), UUID.randomUUID()),
+                QueueType.DUO,
+                KitType.MACE,
+                3_000,
+                0
+        );
+
+        assertTrue(this.index.push(first));
+        assertTrue(this.index.push(second));
+        assertTrue(this.index.push(duo));
+
+        assertEquals(
+                List.of(List.of(first), List.of(second), List.of(duo)),
+                this.index.withdraw(EnumSet.of(KitType.MACE))
+        );
+    }
+}
@@ -0,0 +1,88 @@
+package club.revived.queue.cluster.messaging;
+
+import club.revived.queue.cluster.broker.InMemoryMessageBroker;
+import club.revived.queue.cluster.cluster.ClusterService;
+import club.revived.queue.cluster.cluster.ServiceType;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * GlobalRequestTest - a global request completes once every service answering its type has answered.
+ * <p>
+ * The window is far longer than the test waits, so a request that waited for a service which never answers
+ * would fail the test instead of completing late.
+ *
+ * @author yyuh - DL
+ * @since 1/8/26
+ */
+class GlobalRequestTest {
+
+    private static final long TIMEOUT_SECONDS = 5;
+    private static final Duration WINDOW = Duration.ofMinutes(1);
+
+    private final InMemoryMessageBroker broker = new InMemoryMessageBroker();
+    private final Map<String, ClusterService> services = new ConcurrentHashMap<>();
+
+    private final MessagingService sender = new MessagingService(this.broker, "queue-a", this.services);
+    private final MessagingService silent = new MessagingService(this.broker, "queue-b", this.services);
+    private final MessagingService bystander = new MessagingService(this.broker, "queue-c", this.services);
+
+    @Test
+    void serviceWithoutHandlerIsNotWaitedFor() throws Exception {
+        this.sender.registerHandler(Ping.class, ping -> new Pong("queue-a", ping.text()));
+        this.silent.registerHandler(Ping.class, ping -> new Pong("queue-b", ping.text()));
+        this.advertise();
+
+        final List<Pong> pongs = this.sender.sendGlobalRequest(new Ping("who"), Pong.class, WINDOW)
+                .get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+        assertEquals(2, pongs.size());
+    }
+
+    @Test
+    void handlerWithoutAnswerStillCountsAsAnswered() throws Exception {
+        this.sender.registerHandler(Ping.class, ping -> new Pong("queue-a", ping.text()));
+        this.silent.registerHandler(Ping.class, _ -> null);
+        this.advertise();
+
+        final List<Pong> pongs = this.sender.sendGlobalRequest(new Ping("who"), Pong.class, WINDOW)
+                .get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+        assertEquals(List.of(new Pong("queue-a", "who")), pongs);
+    }
+
+    /**
+     * Puts every service into the shared membership with the request types it handles, as its heartbeat would.
+     */
+    private void advertise() {
+        this.advertise("queue-a", this.sender);
+        this.advertise("queue-b", this.silent);
+        this.advertise("queue-c", this.bystander);
+    }
+
+    private void advertise(
+            final String id,
+            final MessagingService service
+    ) {
+        this.services.put(id, new ClusterService(
+                id,
+                "127.0.0.1",
+                ServiceType.QUEUE,
+                List.of(),
+                System.currentTimeMillis(),
+                MessagingService.CODECS,
+                service.getHandledRequests()
+        ));
+    }
+
+    record Ping(String text) implements Request {}
+
+    record Pong(String serviceId, String text) implements Response {}
+}
@@ -0,0 +1,253 @@
+package club.revived.queue.cluster.messaging;
+
+import club.revived.queue.cluster.broker.Delivery;
+import club.revived.queue.cluster.broker.InMemoryMessageBroker;
+import club.revived.queue.cluster.broker.MessageBroker;
+import club.revived.queue.cluster.broker.MessageHandler;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * MessagingDeliveryTest - deliveries of a broker that keeps messages are settled once their handler ran.
+ * <p>
+ * The receiving service reads through a broker that hands out recorded deliveries which are delivered again
+ * when rejected, like the Redis streams broker does, and runs its handlers on a single stripe that queues one
+ * handler, so a handler that blocks fills it up.
+ *
+ * @author yyuh - DL
+ * @since 1/8/26
+ */
+class MessagingDeliveryTest {
+
+    private static final long TIMEOUT_SECONDS = 5;
+
+    private final InMemoryMessageBroker broker = new InMemoryMessageBroker();
+    private final KeepingBroker keeping = new KeepingBroker(this.broker);
+    private final MessagingService sender = new MessagingService(this.broker, "queue-a");
+    private final MessagingService receiver = new MessagingService(
+            this.keeping,
+            "queue-b",
+            Map.of(),
+            new HandlerDispatcher(Executors.newVirtualThreadPerTaskExecutor(), 1, 1)
+    );
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        this.release.countDown();
+    }
+
+    @Test
+    void deliveryIsAcknowledgedOnceItsHandlerRan() throws Exception {
+        final CountDownLatch started = new CountDownLatch(1);
+
+        this.receiver.registerMessageHandler(Note.class, _ -> {
+            started.countDown();
+            this.awaitRelease();
+        });
+
+        this.sender.sendMessage("queue-b", new Note("first"));
+
+        assertTrue(started.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+
+        final Recorded delivery = this.keeping.deliveries.getFirst();
+        assertFalse(delivery.acked);
+
+        this.release.countDown();
+        await(() -> delivery.acked);
+
+        assertFalse(delivery.rejected);
+    }
+
+    @Test
+    void rejectedRequestIsHandedBackWithoutAnswer() throws Exception {
+        final CountDownLatch started = new CountDownLatch(1);
+
+        this.receiver.registerMessageHandler(Note.class, _ -> {
+            started.countDown();
+            this.awaitRelease();
+        });
+        this.receiver.registerHandler(Ping.class, ping -> new Pong(ping.text()));
+
+        // One note blocks the stripe, the second one fills its queue
+        this.sender.sendMessage("queue-b", new Note("running"));
+        assertTrue(started.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        this.sender.sendMessage("queue-b", new Note("queued"));
+
+        final CompletableFuture<Pong> pong = this.sender.sendRequest(
+                "queue-b",
+                new Ping("hello"),
+                Pong.class,
+                Duration.ofSeconds(TIMEOUT_SECONDS)
+        );
+
+        final Recorded request = this.keeping.deliveries.get(2);
+
+        // The broker delivers it again, so the sender keeps waiting instead of failing right away
+        assertTrue(request.rejected);
+        assertFalse(request.acked);
+        assertFalse(pong.isDone());
+
+        this.release.countDown();
+        await(() -> this.keeping.deliveries.subList(0, 2).stream().allMatch(delivery -> delivery.acked));
+
+        assertEquals(3, this.keeping.deliveries.size());
+    }
+
+    private void awaitRelease() {
+        try {
+            this.release.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void await(final BooleanSupplier condition) throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+
+        assertTrue(condition.getAsBoolean(), "condition not met within " + TIMEOUT_SECONDS + " s");
+    }
+
+    /**
+     * Hands out recorded deliveries that are delivered again when rejected, everything else goes to the
+     * in-memory broker.
+     */
+    private static final class KeepingBroker implements MessageBroker {
+
+        private final MessageBroker delegate;
+        private final List<Recorded> deliveries = new CopyOnWriteArrayList<>();
+
+        private KeepingBroker(final MessageBroker delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public <T> void publish(
+                final String topic,
+                final T message
+        ) {
+            this.delegate.publish(topic, message);
+        }
+
+        @Override
+        public <T> void subscribe(
+                final String topic,
+                final Class<T> type,
+                final MessageHandler<T> handler
+        ) {
+            this.delegate.subscribe(topic, type, handler);
+        }
+
+        @Override
+        public void publishRaw(
+                final String topic,
+                final byte[] message
+        ) {
+            this.delegate.publishRaw(topic, message);
+        }
+
+        @Override
+        public void subscribeRaw(
+                final String topic,
+                final MessageHandler<byte[]> handler
+        ) {
+            this.delegate.subscribeRaw(topic, handler);
+        }
+
+        @Override
+        public void subscribeDeliveries(
+                final String topic,
+                final MessageHandler<Delivery> handler
+        ) {
+            this.delegate.subscribeRaw(topic, message -> {
+                final Recorded delivery = new Recorded(message);
+                this.deliveries.add(delivery);
+                handler.handle(delivery);
+            });
+        }
+
+        @Override
+        public void unsubscribe(final String topic) {
+            this.delegate.unsubscribe(topic);
+        }
+
+        @Override
+        public Map<String, Integer> typeIds() {
+            return this.delegate.typeIds();
+        }
+
+        @Override
+        public int typeId(final String typeName) {
+            return this.delegate.typeId(typeName);
+        }
+
+        @Override
+        public <P> P connect(
+                final String host,
+                final int port,
+                final String password
+        ) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    /**
+     * A delivery that remembers how it was settled.
+     */
+    private static final class Recorded implements Delivery {
+
+        private final byte[] message;
+        private volatile boolean acked;
+        private volatile boolean rejected;
+
+        private Recorded(final byte[] message) {
+            this.message = message;
+        }
+
+        @Override
+        public byte @NotNull [] message() {
+            return this.message;
+        }
+
+        @Override
+        public void ack() {
+            this.acked = true;
+        }
+
+        @Override
+        public void reject() {
+            this.rejected = true;
+        }
+
+        @Override
+        public boolean redeliverable() {
+            return true;
+        }
+    }
+
+    record Note(String text) implements Message {}
+
+    record Ping(String text) implements Request {}
+
+    record Pong(String text) implements Response {}
+}
@@ -0,0 +1,99 @@
+package club.revived.queue.cluster.messaging;
+
+import club.revived.queue.cluster.broker.InMemoryMessageBroker;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * MessagingLoopbackTest - envelopes a service addresses to itself are handled in process, exactly once.
+ *
+ * @author yyuh - DL
+ * @since 1/8/26
+ */
+class MessagingLoopbackTest {
+
+    private static final long TIMEOUT_SECONDS = 5;
+    private static final long GRACE_MILLIS = 200;
+
+    private final InMemoryMessageBroker broker = new InMemoryMessageBroker();
+    private final MessagingService sender = new MessagingService(this.broker, "queue-a");
+    private final MessagingService peer = new MessagingService(this.broker, "queue-b");
+
+    @Test
+    void selfAddressedRequestIsAnsweredWithoutBroker() throws Exception {
+        final AtomicInteger published = new AtomicInteger();
+        this.broker.subscribeRaw("service-messages-queue-a", _ -> published.incrementAndGet());
+
+        this.sender.registerHandler(Ping.class, ping -> new Pong("queue-a", ping.text()));
+
+        final Pong pong = this.sender.sendRequest("queue-a", new Ping("hello"), Pong.class)
+                .get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+        assertEquals(new Pong("queue-a", "hello"), pong);
+        assertEquals(0, published.get());
+        assertEquals(2, this.sender.getLoopbacks());
+        assertEquals(0, this.sender.getRequestTimeouts());
+    }
+
+    @Test
+    void globalMessageReachesSenderExactlyOnce() throws Exception {
+        final AtomicInteger atSender = new AtomicInteger();
+        final AtomicInteger atPeer = new AtomicInteger();
+
+        this.sender.registerMessageHandler(Announcement.class, _ -> atSender.incrementAndGet());
+        this.peer.registerMessageHandler(Announcement.class, _ -> atPeer.incrementAndGet());
+
+        this.sender.sendGlobalMessage(new Announcement("restart"));
+
+        await(() -> atSender.get() > 0 && atPeer.get() > 0);
+
+        // Leaves the copy that came back through the broker time to show up if it were handled as well
+        Thread.sleep(GRACE_MILLIS);
+
+        assertEquals(1, atSender.get());
+        assertEquals(1, atPeer.get());
+        assertEquals(1, this.sender.getLoopbacks());
+    }
+
+    @Test
+    void globalRequestIsAnsweredOnceBySender() throws Exception {
+        final AtomicInteger handledBySender = new AtomicInteger();
+
+        this.sender.registerHandler(Ping.class, ping -> {
+            handledBySender.incrementAndGet();
+            return new Pong("queue-a", ping.text());
+        });
+        this.peer.registerHandler(Ping.class, ping -> new Pong("queue-b", ping.text()));
+
+        final List<Pong> pongs = this.sender.sendGlobalRequest(new Ping("who"), Pong.class, Duration.ofMillis(500))
+                .get(TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                .stream()
+                .sorted(Comparator.comparing(Pong::serviceId))
+                .toList();
+
+        assertEquals(List.of(new Pong("queue-a", "who"), new Pong("queue-b", "who")), pongs);
+        assertEquals(1, handledBySender.get());
+    }
+
+    private static void await(final BooleanSupplier condition) throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    record Ping(String text) implements Request {}
+
+    record Pong(String serviceId, String text) implements Response {}
+
+    record Announcement(String text) implements Message {}
+}
@@ -0,0 +1,304 @@
+package club.revived.queue.matchmaking;
+
+import club.revived.queue.KitType;
+import club.revived.queue.QueueBucket;
+import club.revived.queue.QueueEntry;
+import club.revived.queue.QueueType;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IntSummaryStatistics;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * RatingMatcherTest - match quality of the rating matcher in a simulated ranked queue.
+ * <p>
+ * Players arrive at a steady rate with normally distributed ratings and are matched on a simulated clock,
+ * so every run sees the same arrivals and makes the same matches. A bucket filled with tens of thousands of
+ * players before the first poll checks the matches and how the polling time grows with the bucket.
+ *
+ * @author yyuh - DL
+ * @since 1/8/26
+ */
+class RatingMatcherTest {
+
+    private static final int PLAYERS = 12_000;
+    private static final int ARRIVALS_PER_TICK = 2;
+    private static final long TICK_MS = 100;
+    private static final long DRAIN_MS = 60_000;
+
+    private static final int PREFILLED = 10_000;
+    private static final int SCALE = 4;
+    private static final int TIMED_RUNS = 5;
+
+    @Test
+    void simulatedQueueMatchesCloseRatingsQuickly() {
+        final Simulation simulation = new Simulation(QueueType.SOLO, 42L);
+        simulation.run();
+
+        // Only a few outliers at the far ends of the distribution may still be waiting after the drain
+        assertTrue(simulation.matchedPlayers >= PLAYERS - 2, "matched " + simulation.matchedPlayers);
+
+        final int[] spreads = simulation.spreads();
+        final long[] waits = simulation.waits();
+
+        assertTrue(percentile(spreads, 0.50) <= 60, "median spread " + percentile(spreads, 0.50));
+        assertTrue(percentile(spreads, 0.99) <= 200, "p99 spread " + percentile(spreads, 0.99));
+        assertTrue(percentile(spreads, 1.00) <= 1_000, "max spread " + percentile(spreads, 1.00));
+        assertTrue(percentile(waits, 0.50) <= 500, "median wait " + percentile(waits, 0.50));
+        assertTrue(percentile(waits, 0.99) <= 5_000, "p99 wait " + percentile(waits, 0.99));
+    }
+
+    @Test
+    void simulatedDuoQueueBalancesTeams() {
+        final Simulation simulation = new Simulation(QueueType.DUO, 7L);
+        simulation.run();
+
+        assertTrue(simulation.matchedPlayers >= PLAYERS - 4, "matched " + simulation.matchedPlayers);
+
+        final int[] spreads = simulation.spreads();
+        final int[] imbalances = simulation.imbalances();
+
+        assertTrue(percentile(spreads, 0.99) <= 400, "p99 spread " + percentile(spreads, 0.99));
+        assertTrue(percentile(imbalances, 0.50) <= 50, "median team imbalance " + percentile(imbalances, 0.50));
+        assertTrue(percentile(imbalances, 0.99) <= 200, "p99 team imbalance " + percentile(imbalances, 0.99));
+    }
+
+    @Test
+    void simulationIsDeterministic() {
+        final Simulation first = new Simulation(QueueType.SOLO, 42L);
+        final Simulation second = new Simulation(QueueType.SOLO, 42L);
+
+        first.run();
+        second.run();
+
+        assertEquals(first.matchedPlayers, second.matchedPlayers);
+        assertEquals(first.spreads, second.spreads);
+        assertEquals(first.waits, second.waits);
+    }
+
+    @Test
+    void outlierIsMatchedOnceItsWindowIsWideEnough() {
+        final QueueBucket bucket = new QueueBucket(KitType.SWORD, QueueType.SOLO, new RatingMatcher(QueueType.SOLO));
+
+        for (final int rating : List.of(1_000, 1_400)) {
+            final var entry = new QueueEntry(UUID.randomUUID(), QueueType.SOLO, KitType.SWORD, 0, rating);
+            bucket.addLast(new QueueBucket.Node(entry, bucket));
+        }
+
+        // A distance of 400 needs a window of 100 + 12 * 25, reached after twelve seconds
+        assertNull(bucket.pollMatch(0));
+        assertNull(bucket.pollMatch(11_000));
+        assertEquals(2, bucket.pollMatch(12_000).size());
+    }
+
+    @Test
+    void prefilledQueueMatchesCloseRatings() {
+        final QueueBucket bucket = prefilled(PREFILLED * SCALE, 42L);
+        final List<List<QueueBucket.Node>> matches = pollAll(bucket, 0);
+
+        // Only a few outliers at the far ends have nobody inside the narrowest window
+        assertTrue(matches.size() * 2 >= PREFILLED * SCALE - 10, "matched " + matches.size() * 2);
+
+        final int[] spreads = matches.stream().mapToInt(RatingMatcherTest::spread).toArray();
+
+        assertTrue(percentile(spreads, 0.50) <= 1, "median spread " + percentile(spreads, 0.50));
+        assertTrue(percentile(spreads, 0.99) <= 10, "p99 spread " + percentile(spreads, 0.99));
+        assertTrue(percentile(spreads, 1.00) <= 100, "max spread " + percentile(spreads, 1.00));
+    }
+
+    @Test
+    void pollingScalesWithQueueSize() {
+        final long small = fastestPoll(PREFILLED);
+        final long large = fastestPoll(PREFILLED * SCALE);
+
+        // Four times the entries cost a little over four times as long at O(n log n), sixteen times at O(n^2)
+        assertTrue(large <= small * SCALE * 2, "polling " + PREFILLED + " entries took " + small
+                + " ns, " + PREFILLED * SCALE + " took " + large + " ns");
+    }
+
+    /**
+     * Fills a ranked bucket with players who all queued at the same moment, before anything is polled.
+     *
+     * @param players the number of players
+     * @param seed    the seed of the ratings, drawn around 1500 with a standard deviation of 300
+     * @return the filled bucket
+     */
+    private static QueueBucket prefilled(
+            final int players,
+            final long seed
+    ) {
+        final Random random = new Random(seed);
+        final QueueBucket bucket = new QueueBucket(KitType.SWORD, QueueType.SOLO, new RatingMatcher(QueueType.SOLO));
+
+        for (int i = 0; i < players; i++) {
+            final int rating = (int) Math.round(1_500 + random.nextGaussian() * 300);
+            final var entry = new QueueEntry(UUID.randomUUID(), QueueType.SOLO, KitType.SWORD, 0, rating);
+
+            bucket.addLast(new QueueBucket.Node(entry, bucket));
+        }
+
+        return bucket;
+    }
+
+    private static List<List<QueueBucket.Node>> pollAll(
+            final QueueBucket bucket,
+            final long now
+    ) {
+        final List<List<QueueBucket.Node>> matches = new ArrayList<>();
+        List<QueueBucket.Node> match;
+
+        while ((match = bucket.pollMatch(now)) != null) {
+            matches.add(match);
+        }
+
+        return matches;
+    }
+
+    /**
+     * Times polling every match out of a prefilled bucket, keeping the fastest of {@link #TIMED_RUNS} runs so
+     * warm-up and collector pauses do not count.
+     *
+     * @param players the number of players in the bucket
+     * @return the fastest run in nanoseconds
+     */
+    private static long fastestPoll(final int players) {
+        long fastest = Long.MAX_VALUE;
+
+        for (int run = 0; run < TIMED_RUNS; run++) {
+            final QueueBucket bucket = prefilled(players, run);
+            final long start = System.nanoTime();
+
+            pollAll(bucket, 0);
+            fastest = Math.min(fastest, System.nanoTime() - start);
+        }
+
+        return fastest;
+    }
+
+    private static int spread(final List<QueueBucket.Node> match) {
+        final IntSummaryStatistics ratings = match.stream()
+                .mapToInt(node -> node.getEntry().rating())
+                .summaryStatistics();
+
+        return ratings.getMax() - ratings.getMin();
+    }
+
+    private static int percentile(
+            final int[] values,
+            final double percentile
+    ) {
+        final int[] sorted = values.clone();
+        Arrays.sort(sorted);
+
+        return sorted[(int) Math.ceil(percentile * sorted.length) - 1];
+    }
+
+    private static long percentile(
+            final long[] values,
+            final double percentile
+    ) {
+        final long[] sorted = values.clone();
+        Arrays.sort(sorted);
+
+        return sorted[(int) Math.ceil(percentile * sorted.length) - 1];
+    }
+
+    /**
+     * Feeds {@link #PLAYERS} players into one ranked bucket, {@link #ARRIVALS_PER_TICK} every {@link #TICK_MS},
+     * polls every match after each tick and keeps going for {@link #DRAIN_MS} once the last one arrived. Ratings
+     * are drawn around 1500 with a standard deviation of 300.
+     */
+    private static final class Simulation {
+
+        private final QueueType queueType;
+        private final Random random;
+        private final QueueBucket bucket;
+
+        private final List<Integer> spreads = new ArrayList<>();
+        private final List<Long> waits = new ArrayList<>();
+        private final List<Integer> imbalances = new ArrayList<>();
+
+        private int matchedPlayers;
+
+        private Simulation(
+                final QueueType queueType,
+                final long seed
+        ) {
+            this.queueType = queueType;
+            this.random = new Random(seed);
+            this.bucket = new QueueBucket(KitType.SWORD, queueType, new RatingMatcher(queueType));
+        }
+
+        private void run() {
+            final long arrivalEnd = PLAYERS / ARRIVALS_PER_TICK * TICK_MS;
+
+            for (long now = 0; now < arrivalEnd + DRAIN_MS; now += TICK_MS) {
+                if (now < arrivalEnd) {
+                    for (int i = 0; i < ARRIVALS_PER_TICK; i++) {
+                        final int rating = (int) Math.round(1_500 + this.random.nextGaussian() * 300);
+                        final var entry = new QueueEntry(UUID.randomUUID(), this.queueType, KitType.SWORD, now, rating);
+
+                        this.bucket.addLast(new QueueBucket.Node(entry, this.bucket));
+                    }
+                }
+
+                List<QueueBucket.Node> match;
+
+                while ((match = this.bucket.pollMatch(now)) != null) {
+                    this.record(match, now);
+                }
+            }
+        }
+
+        private void record(
+                final List<QueueBucket.Node> match,
+                final long now
+        ) {
+            assertEquals(this.queueType.totalPlayers(), match.size());
+
+            int min = Integer.MAX_VALUE;
+            int max = Integer.MIN_VALUE;
+            int blue = 0;
+            int red = 0;
+
+            for (int i = 0; i < match.size(); i++) {
+                final QueueEntry entry = match.get(i).getEntry();
+
+                min = Math.min(min, entry.rating());
+                max = Math.max(max, entry.rating());
+
+                if (i < this.queueType.teamSize()) {
+                    blue += entry.rating();
+                } else {
+                    red += entry.rating();
+                }
+
+                this.waits.add(now - entry.queuedAt());
+            }
+
+            this.spreads.add(max - min);
+            this.imbalances.add(Math.abs(blue - red));
+            this.matchedPlayers += match.size();
+        }
+
+        private int[] spreads() {
+            return this.spreads.stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        private long[] waits() {
+            return this.waits.stream().mapToLong(Long::longValue).toArray();
+        }
+
+        private int[] imbalances() {
+            return this.imbalances.stream().mapToInt(Integer::intValue).toArray();
+        }
+    }
+}
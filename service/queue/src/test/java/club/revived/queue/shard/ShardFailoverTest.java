@@ -0,0 +1,161 @@
+package club.revived.queue.shard;
+
+import club.revived.queue.KitType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * ShardFailoverTest - a standby queue service taking over the kits of an owner that died.
+ * <p>
+ * Both services share a {@link LocalLeaseStore} on a manual clock and are driven by calling their rebalance
+ * and watch steps directly, so lease expiry happens at exact points in time. The owner is killed by no longer
+ * stepping it, which leaves its leases to expire like those of a crashed process.
+ *
+ * @author yyuh - DL
+ * @since 1/8/26
+ */
+class ShardFailoverTest {
+
+    private static final String OWNER = "queue-a";
+    private static final String STANDBY = "queue-b";
+    private static final long WATCH_STEP_MS = ShardCoordinator.WATCH_INTERVAL_MS;
+
+    private final AtomicLong clock = new AtomicLong(1_000);
+    private final LocalLeaseStore store = new LocalLeaseStore(this.clock::get);
+
+    private final Events ownerEvents = new Events();
+    private final Events standbyEvents = new Events();
+
+    private ShardCoordinator owner;
+    private ShardCoordinator standby;
+    private KitType kit;
+
+    @BeforeEach
+    void setUp() {
+        // The dead owner stays a member until the heartbeats drop it, the standby covers its kits meanwhile
+        this.owner = new ShardCoordinator(this.store, OWNER, () -> List.of(STANDBY), this.ownerEvents);
+        this.standby = new ShardCoordinator(this.store, STANDBY, () -> List.of(OWNER), this.standbyEvents);
+
+        for (final KitType candidate : KitType.values()) {
+            if (this.owner.assignedOwner(candidate).equals(OWNER)) {
+                this.kit = candidate;
+                break;
+            }
+        }
+
+        assertNotNull(this.kit, "no kit is assigned to " + OWNER);
+        assertEquals(STANDBY, this.standby.standbyOf(this.kit));
+
+        this.owner.rebalance();
+        this.standby.rebalance();
+        this.standby.watch();
+
+        assertTrue(this.owner.owns(this.kit));
+        assertFalse(this.standby.owns(this.kit));
+    }
+
+    @Test
+    void standbyTakesOverWithinLeaseTtl() {
+        final long killedAt = this.clock.get();
+
+        // Watch steps up to the moment the last renewal of the dead owner runs out
+        while (this.clock.get() + WATCH_STEP_MS < killedAt + ShardCoordinator.LEASE_TTL_MS) {
+            this.clock.addAndGet(WATCH_STEP_MS);
+            this.standby.watch();
+
+            assertFalse(this.standby.owns(this.kit), "took over a live lease at " + (this.clock.get() - killedAt));
+        }
+
+        this.clock.set(killedAt + ShardCoordinator.LEASE_TTL_MS);
+        this.standby.watch();
+
+        assertTrue(this.standby.owns(this.kit));
+        assertEquals(List.of(this.kit), this.standbyEvents.acquired);
+        assertEquals(STANDBY, this.store.owner("queue:shard:" + this.kit.name()));
+    }
+
+    @Test
+    void staleFencingTokenIsRejected() {
+        final Lease stale = this.owner.lease(this.kit);
+        assertNotNull(stale);
+
+        this.clock.addAndGet(ShardCoordinator.LEASE_TTL_MS);
+        this.standby.watch();
+
+        final Lease current = this.standby.lease(this.kit);
+        assertNotNull(current);
+        assertTrue(current.token() > stale.token());
+
+        // The owner wakes up again with the lease it held before it stalled
+        assertFalse(this.store.renew(stale, ShardCoordinator.LEASE_TTL_MS));
+        assertNull(this.store.acquire(stale.key(), OWNER, ShardCoordinator.LEASE_TTL_MS));
+
+        this.store.release(stale);
+        assertEquals(STANDBY, this.store.owner(stale.key()));
+
+        this.owner.rebalance();
+
+        assertFalse(this.owner.owns(this.kit));
+        assertNull(this.owner.lease(this.kit));
+        assertEquals(List.of(STANDBY), this.ownerEvents.releasedTo);
+        assertTrue(this.standby.owns(this.kit));
+    }
+
+    @Test
+    void standbyKeepsKitWhileOwnerStaysAlive() {
+        for (int step = 0; step < 3 * ShardCoordinator.LEASE_TTL_MS / WATCH_STEP_MS; step++) {
+            this.clock.addAndGet(WATCH_STEP_MS);
+
+            if (step % (ShardCoordinator.RENEW_INTERVAL_MS / WATCH_STEP_MS) == 0) {
+                this.owner.rebalance();
+            }
+
+            this.standby.watch();
+        }
+
+        assertTrue(this.owner.owns(this.kit));
+        assertFalse(this.standby.owns(this.kit));
+        assertEquals(List.of(), this.standbyEvents.acquired);
+    }
+
+    /**
+     * Records what a coordinator reports for the kit under test.
+     */
+    private final class Events implements ShardCoordinator.Listener {
+
+        private final List<KitType> acquired = new ArrayList<>();
+        private final List<String> releasedTo = new ArrayList<>();
+
+        @Override
+        public void acquired(
+                final @NotNull KitType kit,
+                final @NotNull Lease lease
+        ) {
+            if (kit == ShardFailoverTest.this.kit) {
+                this.acquired.add(kit);
+            }
+        }
+
+        @Override
+        public void released(
+                final @NotNull KitType kit,
+                final @Nullable String newOwner
+        ) {
+            if (kit == ShardFailoverTest.this.kit) {
+                this.releasedTo.add(newOwner);
+            }
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package club.revived.queue.cluster.broker;
+
+import com.google.gson.Gson;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * InMemoryMessageBroker - in-process stand-in for {@link RedisBroker}.
+ * <p>
+ * Messages go through the same encoding as on Redis, typed ones as JSON and raw ones as they are, but are
+ * delivered synchronously on the publishing thread to every subscriber of the topic. Type ids are assigned
+ * from one counter, as the Redis hash does. One instance shared by several services lets a whole cluster run
+ * inside one JVM, and without network and subscriber threads in the way, benchmark numbers show the cost of
+ * the services themselves.
+ *
+ * @author yyuh - DL
+ * @since 1/8/26
+ */
+public final class InMemoryMessageBroker implements MessageBroker {
+
+    private final Map<String, List<MessageHandler<byte[]>>> subscriptions = new ConcurrentHashMap<>();
+    private final Map<String, Integer> typeIds = new ConcurrentHashMap<>();
+    private final AtomicInteger nextTypeId = new AtomicInteger();
+    private final Gson gson = new Gson();
+
+    /**
+     * Serializes the message to JSON and hands it to every subscriber of the topic.
+     *
+     * @param topic   the topic to publish to
+     * @param message the message object to serialize as JSON
+     */
+    @Override
+    public <T> void publish(
+            final String topic,
+            final T message
+    ) {
+        if (this.subscriptions.containsKey(topic)) {
+            this.publishRaw(topic, this.gson.toJson(message).getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Subscribes a handler to the JSON messages of a topic, deserialized to the given type.
+     *
+     * @param topic   the topic to subscribe to
+     * @param type    the class to deserialize messages into
+     * @param handler the handler invoked for each deserialized message
+     */
+    @Override
+    public <T> void subscribe(
+            final String topic,
+            final Class<T> type,
+            final MessageHandler<T> handler
+    ) {
+        this.subscribeRaw(topic, bytes -> handler.handle(this.gson.fromJson(new String(bytes, StandardCharsets.UTF_8), type)));
+    }
+
+    /**
+     * Hands the bytes to every subscriber of the topic, swallowing handler failures like the Redis subscriber does.
+     *
+     * @param topic   the topic to publish to
+     * @param message the encoded message
+     */
+    @Override
+    public void publishRaw(
+            final String topic,
+            final byte[] message
+    ) {
+        final List<MessageHandler<byte[]>> subscribers = this.subscriptions.get(topic);
+
+        if (subscribers == null) {
+            return;
+        }
+
+        for (final var subscriber : subscribers) {
+            try {
+                subscriber.handle(message);
+            } catch (final Exception e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * Subscribes a handler to the raw bytes published to a topic.
+     *
+     * @param topic   the topic to subscribe to
+     * @param handler the handler invoked with each message
+     */
+    @Override
+    public void subscribeRaw(
+            final String topic,
+            final MessageHandler<byte[]> handler
+    ) {
+        this.subscriptions.computeIfAbsent(topic, _ -> new CopyOnWriteArrayList<>()).add(handler);
+    }
+
+    /**
+     * Drops every handler subscribed to a topic.
+     *
+     * @param topic the topic to unsubscribe from
+     */
+    @Override
+    public void unsubscribe(final String topic) {
+        this.subscriptions.remove(topic);
+    }
+
+    /**
+     * The type ids assigned through this broker so far.
+     *
+     * @return the assigned type ids by type name
+     */
+    @Override
+    public Map<String, Integer> typeIds() {
+        return Map.copyOf(this.typeIds);
+    }
+
+    /**
+     * Looks up or assigns the type id, counting up from 1.
+     *
+     * @param typeName the simple name of the message type
+     * @return the type id
+     */
+    @Override
+    public int typeId(final String typeName) {
+        return this.typeIds.computeIfAbsent(typeName, _ -> this.nextTypeId.incrementAndGet());
+    }
+
+    /**
+     * There is nothing to connect to.
+     *
+     * @return always {@code null}
+     */
+    @Override
+    public <P> P connect(
+            final String host,
+            final int port,
+            final String password
+    ) {
+        return null;
+    }
+}
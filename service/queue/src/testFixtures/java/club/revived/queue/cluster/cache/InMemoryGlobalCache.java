@@ -0,0 +1,223 @@
+package club.revived.queue.cluster.cache;
+
+import com.google.gson.Gson;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.LongSupplier;
+
+/**
+ * InMemoryGlobalCache - in-process stand-in for {@link RedisCacheService}.
+ * <p>
+ * Has the same semantics as the Redis implementation: values and list elements are stored as JSON, so reads
+ * return copies, expiring keys disappear once their TTL has passed, and list removal follows {@code LREM}.
+ * One instance shared by several services lets a whole cluster run inside one JVM.
+ *
+ * @author yyuh - DL
+ * @since 1/8/26
+ */
+public final class InMemoryGlobalCache implements GlobalCache {
+
+    private static final long PERSISTENT = Long.MAX_VALUE;
+
+    private final Map<String, Value> values = new HashMap<>();
+    private final Gson gson = new Gson();
+
+    @NotNull
+    private final LongSupplier clock;
+
+    /**
+     * Creates a cache using the system clock.
+     */
+    public InMemoryGlobalCache() {
+        this(System::currentTimeMillis);
+    }
+
+    /**
+     * Creates a cache with a custom millisecond clock, e.g. to expire keys deterministically.
+     *
+     * @param clock the clock to read the current time in milliseconds from
+     */
+    public InMemoryGlobalCache(final @NotNull LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public synchronized <T> CompletableFuture<T> get(
+            final Class<T> clazz,
+            final String key
+    ) {
+        final Value value = this.live(key);
+
+        if (value != null && value.json() == null) {
+            return CompletableFuture.failedFuture(wrongType(key));
+        }
+
+        return CompletableFuture.completedFuture(value == null ? null : this.gson.fromJson(value.json(), clazz));
+    }
+
+    @Override
+    public synchronized <T> void set(
+            final String key,
+            final T t
+    ) {
+        this.values.put(key, new Value(this.gson.toJson(t), null, PERSISTENT));
+    }
+
+    @Override
+    public synchronized <T> void setEx(
+            final String key,
+            final T t,
+            final long seconds
+    ) {
+        this.values.put(key, new Value(this.gson.toJson(t), null, this.clock.getAsLong() + seconds * 1_000));
+    }
+
+    @Override
+    public synchronized <T> void push(
+            final String key,
+            final T t
+    ) {
+        final Value value = this.live(key);
+
+        if (value != null && value.list() == null) {
+            throw wrongType(key);
+        }
+
+        final List<String> list = value == null ? new ArrayList<>() : value.list();
+        list.add(this.gson.toJson(t));
+
+        this.values.put(key, new Value(null, list, value == null ? PERSISTENT : value.expiresAt()));
+    }
+
+    @Override
+    public synchronized CompletableFuture<Boolean> remove(final String key) {
+        return CompletableFuture.completedFuture(this.live(key) != null && this.values.remove(key) != null);
+    }
+
+    /**
+     * Removes elements equal to the JSON of the given object, as {@code LREM} does: up to {@code count} from
+     * the head if it is positive, up to {@code |count|} from the tail if it is negative, all if it is zero.
+     * A list left empty is removed.
+     */
+    @Override
+    public synchronized <T> void removeFromList(
+            final String key,
+            final T t,
+            final long count
+    ) {
+        final Value value = this.live(key);
+
+        if (value == null) {
+            return;
+        }
+
+        if (value.list() == null) {
+            throw wrongType(key);
+        }
+
+        final String json = this.gson.toJson(t);
+        final List<String> list = value.list();
+        final long limit = count == 0 ? Long.MAX_VALUE : Math.abs(count);
+        long removed = 0;
+
+        if (count >= 0) {
+            for (int i = 0; i < list.size() && removed < limit; ) {
+                if (list.get(i).equals(json)) {
+                    list.remove(i);
+                    removed++;
+                } else {
+                    i++;
+                }
+            }
+        } else {
+            for (int i = list.size() - 1; i >= 0 && removed < limit; i--) {
+                if (list.get(i).equals(json)) {
+                    list.remove(i);
+                    removed++;
+                }
+            }
+        }
+
+        if (list.isEmpty()) {
+            this.values.remove(key);
+        }
+    }
+
+    @Override
+    public synchronized <T> CompletableFuture<List<T>> getAll(
+            final String key,
+            final Class<T> clazz
+    ) {
+        final Value value = this.live(key);
+
+        if (value != null && value.list() == null) {
+            return CompletableFuture.failedFuture(wrongType(key));
+        }
+
+        final List<T> result = new ArrayList<>();
+
+        if (value != null) {
+            for (final String json : value.list()) {
+                result.add(this.gson.fromJson(json, clazz));
+            }
+        }
+
+        return CompletableFuture.completedFuture(result);
+    }
+
+    /**
+     * There is nothing to connect to.
+     *
+     * @return always {@code null}
+     */
+    @Override
+    public <P> P connect(
+            final String host,
+            final int port,
+            final String password
+    ) {
+        return null;
+    }
+
+    /**
+     * Looks up a key, dropping it if it has expired.
+     *
+     * @param key the key
+     * @return its value, or {@code null} if it does not exist (anymore)
+     */
+    private @Nullable Value live(final String key) {
+        final Value value = this.values.get(key);
+
+        if (value != null && value.expiresAt() <= this.clock.getAsLong()) {
+            this.values.remove(key);
+            return null;
+        }
+
+        return value;
+    }
+
+    /**
+     * The error Redis answers with when a key is used as the wrong kind of value.
+     *
+     * @param key the key
+     * @return the exception to fail with
+     */
+    private static IllegalStateException wrongType(final String key) {
+        return new IllegalStateException("WRONGTYPE Operation against a key holding the wrong kind of value: " + key);
+    }
+
+    /**
+     * A string or a list stored under a key.
+     *
+     * @param json      the JSON of a string value, or {@code null} for a list
+     * @param list      the JSON of the list elements, or {@code null} for a string value
+     * @param expiresAt when the key expires in milliseconds, {@link #PERSISTENT} if never
+     */
+    private record Value(@Nullable String json, @Nullable List<String> list, long expiresAt) {}
+}